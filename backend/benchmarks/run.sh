@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+# Build and run the JMH benchmarks with the GC profiler.
+# Results go to results/<version>-<git sha>.json so runs can be diffed
+# between releases (e.g. with https://jmh.morethan.io).
+# Extra arguments are passed to JMH, e.g. ./run.sh IncomeTaxBenchmark -p year=2025
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+echo "==> Installing backend jar"
+(cd .. && mvn install -DskipTests --batch-mode --no-transfer-progress)
+
+echo "==> Building benchmarks"
+mvn package --batch-mode --no-transfer-progress
+
+VERSION=$(mvn help:evaluate -Dexpression=project.version -q -DforceStdout)
+SHA=$(git rev-parse --short HEAD)
+mkdir -p results
+OUT="results/${VERSION}-${SHA}.json"
+
+echo "==> Running benchmarks, writing $OUT"
+java -jar target/benchmarks.jar -prof gc -rf json -rff "$OUT" "$@"
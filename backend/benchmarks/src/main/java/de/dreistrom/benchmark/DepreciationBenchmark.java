@@ -0,0 +1,80 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.expense.domain.DepreciationAsset;
+import de.dreistrom.expense.service.DepreciationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linear AfA over a user's asset register: full schedules (as materialized on
+ * create and dispose) and a single year's AfA, for small and large registers
+ * and short and long useful lives. Book values are read from the materialized
+ * schedule and are not benchmarked here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DepreciationBenchmark {
+
+    @Param({"1", "25", "250"})
+    public int assets;
+
+    /** 36 months: IT hardware; 156 months: office furniture (AfA-Tabelle). */
+    @Param({"36", "156"})
+    public int usefulLifeMonths;
+
+    // The computations are pure; the repositories and audit log are not touched
+    private final DepreciationService service = new DepreciationService(null, null, null, null);
+
+    private final int year = 2026;
+    private List<DepreciationAsset> register;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        register = new ArrayList<>(assets);
+        for (int i = 0; i < assets; i++) {
+            BigDecimal netCost = BigDecimal.valueOf(random.nextLong(80_000L, 5_000_000L), 2);
+            LocalDate acquired = LocalDate.of(2018 + random.nextInt(9), 1 + random.nextInt(12), 1);
+            BigDecimal annualAfa = netCost.multiply(new BigDecimal("12"))
+                    .divide(new BigDecimal(usefulLifeMonths), 2, RoundingMode.HALF_UP);
+            register.add(new DepreciationAsset(null, "Asset " + i, acquired,
+                    netCost, usefulLifeMonths, annualAfa));
+        }
+    }
+
+    @Benchmark
+    public void computeSchedule(Blackhole blackhole) {
+        for (DepreciationAsset asset : register) {
+            blackhole.consume(service.computeSchedule(asset));
+        }
+    }
+
+    @Benchmark
+    public void computeDepreciationForYear(Blackhole blackhole) {
+        for (DepreciationAsset asset : register) {
+            blackhole.consume(service.computeDepreciationForYear(asset, year));
+        }
+    }
+}
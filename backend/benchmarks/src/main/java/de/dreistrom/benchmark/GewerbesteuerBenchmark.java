@@ -0,0 +1,57 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.tax.dto.GewerbesteuerResult;
+import de.dreistrom.tax.service.GewerbesteuerCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gewerbesteuer and §35 credit from Gewerbe revenue below, around and well
+ * above the €24,500 Freibetrag.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GewerbesteuerBenchmark {
+
+    /** Gewerbe revenue in euros. */
+    @Param({"20000", "30000", "80000", "250000"})
+    public String revenue;
+
+    @Param({"250", "410", "490"})
+    public int hebesatz;
+
+    // compute() is pure; the aggregates service is only used by calculate()
+    private final GewerbesteuerCalculator calculator = new GewerbesteuerCalculator(null);
+
+    private BigDecimal income;
+    private BigDecimal expenses;
+    private BigDecimal incomeTax;
+
+    @Setup
+    public void setUp() {
+        income = new BigDecimal(revenue);
+        expenses = income.multiply(new BigDecimal("0.20"));
+        incomeTax = income.multiply(new BigDecimal("0.25"));
+    }
+
+    @Benchmark
+    public GewerbesteuerResult compute() {
+        return calculator.compute(income, expenses, incomeTax, hebesatz);
+    }
+}
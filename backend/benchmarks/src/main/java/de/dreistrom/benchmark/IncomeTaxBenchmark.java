@@ -0,0 +1,78 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.tax.domain.TaxYearParams;
+import de.dreistrom.tax.dto.TaxCalculationResult;
+import de.dreistrom.tax.service.IncomeTaxCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * §32a tariff: full assessment, progressive tax and marginal rate across
+ * the tariff zones (Grundfreibetrag, both progression zones, 42 % and 45 %).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncomeTaxBenchmark {
+
+    @Param({"2024", "2025"})
+    public int year;
+
+    /** Taxable income in euros. */
+    @Param({"11000", "16000", "45000", "120000", "300000"})
+    public String income;
+
+    private final IncomeTaxCalculator calculator = new IncomeTaxCalculator();
+
+    private TaxYearParams params;
+    private BigDecimal zvE;
+    private BigDecimal employment;
+    private BigDecimal freiberuf;
+    private BigDecimal gewerbe;
+    private BigDecimal freiberufExpenses;
+    private BigDecimal gewerbeExpenses;
+
+    @Setup
+    public void setUp() {
+        params = TaxYearParams.forYear(year);
+        zvE = new BigDecimal(income);
+
+        // Three-stream split of the same total: 60 % employment, 25 % Freiberuf, 15 % Gewerbe
+        employment = zvE.multiply(new BigDecimal("0.60"));
+        freiberuf = zvE.multiply(new BigDecimal("0.25"));
+        gewerbe = zvE.multiply(new BigDecimal("0.15"));
+        freiberufExpenses = freiberuf.multiply(new BigDecimal("0.10"));
+        gewerbeExpenses = gewerbe.multiply(new BigDecimal("0.20"));
+    }
+
+    @Benchmark
+    public TaxCalculationResult calculate() {
+        return calculator.calculate(params, employment, freiberuf, gewerbe,
+                freiberufExpenses, gewerbeExpenses);
+    }
+
+    @Benchmark
+    public BigDecimal computeProgressiveTax() {
+        return calculator.computeProgressiveTax(params, zvE);
+    }
+
+    @Benchmark
+    public BigDecimal computeMarginalRate() {
+        return calculator.computeMarginalRate(params, zvE);
+    }
+}
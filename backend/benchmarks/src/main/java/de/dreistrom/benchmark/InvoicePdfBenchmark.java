@@ -0,0 +1,75 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.domain.InvoiceStream;
+import de.dreistrom.invoicing.domain.LineItem;
+import de.dreistrom.invoicing.domain.VatTreatment;
+import de.dreistrom.invoicing.service.InvoicePdfService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice PDF rendering for short and long invoices under each VAT layout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoicePdfBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int lineItems;
+
+    @Param({"REGULAR", "SMALL_BUSINESS", "REVERSE_CHARGE"})
+    public VatTreatment vatTreatment;
+
+    private final InvoicePdfService service = new InvoicePdfService();
+
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        AppUser user = new AppUser("bench@dreistrom.de", "hash", "Max Mustermann IT-Beratung");
+        Client client = new Client(user, "Musterfirma GmbH", IncomeStream.FREIBERUF);
+
+        BigDecimal rate = vatTreatment == VatTreatment.REGULAR ? new BigDecimal("19") : BigDecimal.ZERO;
+        List<LineItem> items = new ArrayList<>(lineItems);
+        BigDecimal net = BigDecimal.ZERO;
+        for (int i = 0; i < lineItems; i++) {
+            BigDecimal quantity = BigDecimal.valueOf(1 + i % 8);
+            BigDecimal unitPrice = BigDecimal.valueOf(9_500 + 250L * i, 2);
+            items.add(new LineItem("Beratungsleistung Position " + (i + 1), quantity, unitPrice, rate));
+            net = net.add(quantity.multiply(unitPrice));
+        }
+        BigDecimal vat = net.multiply(rate).movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+
+        invoice = new Invoice(user, InvoiceStream.FREIBERUF, "FB-2026-0001", client,
+                LocalDate.of(2026, 3, 15), items, net, vat, net.add(vat), vatTreatment);
+    }
+
+    @Benchmark
+    public byte[] generatePdf() {
+        return service.generatePdf(invoice);
+    }
+}
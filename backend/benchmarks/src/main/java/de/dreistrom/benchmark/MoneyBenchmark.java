@@ -0,0 +1,98 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Money} against the {@code BigDecimal} code it replaced in the
+ * aggregation and threshold paths: convert per-stream cent sums to euros,
+ * subtract expenses and compare the result with a threshold and a ratio.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal GEWERBE_THRESHOLD = new BigDecimal("24500");
+    private static final BigDecimal ABFAERBUNG_RATIO = new BigDecimal("0.03");
+    private static final Money GEWERBE_THRESHOLD_MONEY = Money.ofEuros(24_500);
+
+    /** Number of user/year snapshots evaluated per invocation. */
+    @Param({"1", "100", "10000"})
+    public int snapshots;
+
+    private long[] income;
+    private long[] expenses;
+    private long[] selfEmployed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        income = new long[snapshots];
+        expenses = new long[snapshots];
+        selfEmployed = new long[snapshots];
+        for (int i = 0; i < snapshots; i++) {
+            income[i] = random.nextLong(0L, 20_000_000L);
+            expenses[i] = random.nextLong(0L, income[i] + 1);
+            selfEmployed[i] = income[i] + random.nextLong(0L, 20_000_000L);
+        }
+    }
+
+    @Benchmark
+    public int bigDecimal() {
+        int flagged = 0;
+        for (int i = 0; i < snapshots; i++) {
+            BigDecimal revenue = centsToEuros(income[i]);
+            BigDecimal profit = revenue.subtract(centsToEuros(expenses[i]));
+            BigDecimal total = centsToEuros(selfEmployed[i]);
+            BigDecimal share = total.signum() == 0
+                    ? BigDecimal.ZERO
+                    : revenue.divide(total, 4, RoundingMode.HALF_UP);
+            if (profit.compareTo(GEWERBE_THRESHOLD) > 0 || share.compareTo(ABFAERBUNG_RATIO) > 0) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    @Benchmark
+    public int money() {
+        int flagged = 0;
+        for (int i = 0; i < snapshots; i++) {
+            Money revenue = Money.ofCents(income[i]);
+            Money profit = revenue.subtract(Money.ofCents(expenses[i]));
+            Money total = Money.ofCents(selfEmployed[i]);
+            BigDecimal share = total.isZero()
+                    ? BigDecimal.ZERO
+                    : revenue.ratio(total, 4, RoundingMode.HALF_UP);
+            if (profit.isGreaterThan(GEWERBE_THRESHOLD_MONEY) || share.compareTo(ABFAERBUNG_RATIO) > 0) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    private static BigDecimal centsToEuros(long cents) {
+        return new BigDecimal(cents).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+    }
+}
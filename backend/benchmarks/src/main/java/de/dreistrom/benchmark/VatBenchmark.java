@@ -0,0 +1,62 @@
+package de.dreistrom.benchmark;
+
+import de.dreistrom.vat.service.VatCalculationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VAT extraction from gross amounts, as done per receipt and invoice line
+ * when building a UStVA period.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VatBenchmark {
+
+    @Param({"19", "7"})
+    public String rate;
+
+    /** Gross amounts extracted per invocation, e.g. receipts in a quarter. */
+    @Param({"1", "100", "1000"})
+    public int amounts;
+
+    // extractVat() is pure; the repositories are only used by calculate()
+    private final VatCalculationService service = new VatCalculationService(null, null);
+
+    private BigDecimal vatRate;
+    private BigDecimal[] gross;
+
+    @Setup
+    public void setUp() {
+        vatRate = new BigDecimal(rate);
+        Random random = new Random(42);
+        gross = new BigDecimal[amounts];
+        for (int i = 0; i < amounts; i++) {
+            gross[i] = BigDecimal.valueOf(random.nextLong(100L, 1_000_000L), 2);
+        }
+    }
+
+    @Benchmark
+    public void extractVat(Blackhole blackhole) {
+        for (BigDecimal amount : gross) {
+            blackhole.consume(service.extractVat(amount, vatRate));
+        }
+    }
+}
@@ -5,16 +5,27 @@ import de.dreistrom.audit.event.DomainEvent;
 import de.dreistrom.audit.repository.EventLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO event_log (aggregate_type, aggregate_id, event_type, payload, actor, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
     private final EventLogRepository eventLogRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Persist a domain event to the append-only event_log table.
@@ -36,6 +47,29 @@ public class AuditLogService {
         return saved;
     }
 
+    /**
+     * Persist many domain events with JDBC batching instead of one
+     * {@code save()} round trip each. Same transactional contract as
+     * {@link #persist(DomainEvent)}; all rows share one actor and timestamp.
+     */
+    public int persistAll(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        String actor = resolveActor();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, event) -> {
+            ps.setString(1, event.getAggregateType());
+            ps.setLong(2, event.getAggregateId());
+            ps.setString(3, event.getEventType());
+            ps.setString(4, event.toJsonPayload());
+            ps.setString(5, actor);
+            ps.setTimestamp(6, now);
+        });
+        log.debug("Audit events persisted: count={}, actor={}", events.size(), actor);
+        return events.size();
+    }
+
     private String resolveActor() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated()
@@ -0,0 +1,86 @@
+package de.dreistrom.bookkeeping.controller;
+
+import de.dreistrom.bookkeeping.domain.ExportFormat;
+import de.dreistrom.bookkeeping.service.LedgerExportService;
+import de.dreistrom.common.service.AppUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full-history ledger downloads for the Steuerberater handoff.
+ * The response is streamed while rows are read, so it has no size limit.
+ * <p>
+ * Base path: /api/v1/export
+ */
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+@Tag(name = "Ledger Export", description = "Streaming NDJSON/CSV dumps of income, expenses, invoices and payouts")
+public class LedgerExportController {
+
+    private final LedgerExportService exportService;
+
+    @GetMapping("/income")
+    @Operation(operationId = "exportIncome", summary = "Download all income entries",
+            responses = @ApiResponse(responseCode = "200", description = "NDJSON or CSV document"))
+    public ResponseEntity<StreamingResponseBody> exportIncome(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        Long userId = userDetails.getId();
+        return download("income", format, out -> exportService.exportIncome(userId, format, out));
+    }
+
+    @GetMapping("/expenses")
+    @Operation(operationId = "exportExpenses", summary = "Download all expense entries",
+            responses = @ApiResponse(responseCode = "200", description = "NDJSON or CSV document"))
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        Long userId = userDetails.getId();
+        return download("expenses", format, out -> exportService.exportExpenses(userId, format, out));
+    }
+
+    @GetMapping("/invoices")
+    @Operation(operationId = "exportInvoices", summary = "Download all invoices",
+            responses = @ApiResponse(responseCode = "200", description = "NDJSON or CSV document"))
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        Long userId = userDetails.getId();
+        return download("invoices", format, out -> exportService.exportInvoices(userId, format, out));
+    }
+
+    @GetMapping("/payouts")
+    @Operation(operationId = "exportPayouts", summary = "Download all app store payouts",
+            responses = @ApiResponse(responseCode = "200", description = "NDJSON or CSV document"))
+    public ResponseEntity<StreamingResponseBody> exportPayouts(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        Long userId = userDetails.getId();
+        return download("payouts", format, out -> exportService.exportPayouts(userId, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format,
+                                                                  StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .body(body);
+    }
+}
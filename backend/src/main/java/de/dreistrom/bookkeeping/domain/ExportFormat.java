@@ -0,0 +1,21 @@
+package de.dreistrom.bookkeeping.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Output formats for ledger exports.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /** One JSON object per line, same shape as the list endpoints. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Semicolon-separated with a header row, amounts as plain decimals. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+}
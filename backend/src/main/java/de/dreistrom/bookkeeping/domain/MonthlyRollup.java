@@ -0,0 +1,62 @@
+package de.dreistrom.bookkeeping.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Incrementally maintained income, allocated expense and output VAT totals
+ * per user and calendar month. Composite PK: (user_id, tax_year, tax_month).
+ * <p>
+ * Rows are written exclusively through atomic delta upserts in
+ * {@link de.dreistrom.bookkeeping.repository.MonthlyRollupRepository}.
+ */
+@Entity
+@Table(name = "monthly_rollup")
+@IdClass(MonthlyRollupId.class)
+@Getter
+@NoArgsConstructor
+public class MonthlyRollup {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Id
+    @Column(name = "tax_month", nullable = false)
+    private int taxMonth;
+
+    @Column(name = "income_employment_cents", nullable = false)
+    private long incomeEmploymentCents;
+
+    @Column(name = "income_freiberuf_cents", nullable = false)
+    private long incomeFreiberufCents;
+
+    @Column(name = "income_gewerbe_cents", nullable = false)
+    private long incomeGewerbeCents;
+
+    @Column(name = "expense_freiberuf_cents", nullable = false)
+    private long expenseFreiberufCents;
+
+    @Column(name = "expense_gewerbe_cents", nullable = false)
+    private long expenseGewerbeCents;
+
+    @Column(name = "expense_personal_cents", nullable = false)
+    private long expensePersonalCents;
+
+    @Column(name = "expense_total_cents", nullable = false)
+    private long expenseTotalCents;
+
+    @Column(name = "vat_cents", nullable = false)
+    private long vatCents;
+
+    @Column(name = "updated_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant updatedAt;
+}
@@ -0,0 +1,37 @@
+package de.dreistrom.bookkeeping.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for monthly_rollup table.
+ */
+public class MonthlyRollupId implements Serializable {
+
+    private Long userId;
+    private int taxYear;
+    private int taxMonth;
+
+    public MonthlyRollupId() {}
+
+    public MonthlyRollupId(Long userId, int taxYear, int taxMonth) {
+        this.userId = userId;
+        this.taxYear = taxYear;
+        this.taxMonth = taxMonth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonthlyRollupId that = (MonthlyRollupId) o;
+        return taxYear == that.taxYear
+                && taxMonth == that.taxMonth
+                && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, taxYear, taxMonth);
+    }
+}
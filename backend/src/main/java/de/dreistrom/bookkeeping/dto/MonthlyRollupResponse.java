@@ -0,0 +1,20 @@
+package de.dreistrom.bookkeeping.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One month of the dashboard time series. Expenses are split by allocation
+ * rule; {@code expenseTotal} also includes expenses without a rule.
+ */
+public record MonthlyRollupResponse(
+        int year,
+        int month,
+        BigDecimal incomeEmployment,
+        BigDecimal incomeFreiberuf,
+        BigDecimal incomeGewerbe,
+        BigDecimal expenseFreiberuf,
+        BigDecimal expenseGewerbe,
+        BigDecimal expensePersonal,
+        BigDecimal expenseTotal,
+        BigDecimal vat
+) {}
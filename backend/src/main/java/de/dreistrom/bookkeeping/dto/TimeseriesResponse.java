@@ -0,0 +1,13 @@
+package de.dreistrom.bookkeeping.dto;
+
+import java.util.List;
+
+/**
+ * Month-by-month totals from January of {@code fromYear} to December of
+ * {@code toYear}; months without data are present with zero amounts.
+ */
+public record TimeseriesResponse(
+        int fromYear,
+        int toYear,
+        List<MonthlyRollupResponse> months
+) {}
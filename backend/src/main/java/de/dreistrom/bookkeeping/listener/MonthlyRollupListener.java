@@ -0,0 +1,134 @@
+package de.dreistrom.bookkeeping.listener;
+
+import de.dreistrom.bookkeeping.service.MonthlyRollupService;
+import de.dreistrom.bookkeeping.service.MonthlyRollupService.ExpenseAmount;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.MoneyConverter;
+import de.dreistrom.expense.domain.AllocatedCents;
+import de.dreistrom.expense.event.AllocationRuleModified;
+import de.dreistrom.expense.event.ExpenseBatchImported;
+import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.event.ExpenseEntryDeleted;
+import de.dreistrom.expense.event.ExpenseEntryModified;
+import de.dreistrom.income.event.IncomeBatchImported;
+import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.event.IncomeEntryDeleted;
+import de.dreistrom.income.event.IncomeEntryModified;
+import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Keeps the monthly_rollup projection in step with income, expense and invoice
+ * writes. Listeners run synchronously in the publishing transaction, so the
+ * projection commits or rolls back together with the source rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlyRollupListener {
+
+    private static final MoneyConverter MONEY = new MoneyConverter();
+
+    private final MonthlyRollupService monthlyRollupService;
+
+    @EventListener
+    public void onIncomeCreated(IncomeEntryCreated event) {
+        monthlyRollupService.recordIncome(event.getUserId(), event.getStreamType(),
+                event.getEntryDate(), cents(event.getAmount()));
+    }
+
+    @EventListener
+    public void onIncomeModified(IncomeEntryModified event) {
+        monthlyRollupService.recordIncome(event.getUserId(), event.getStreamType(),
+                event.getBeforeDate(), -cents(event.getBeforeAmount()));
+        monthlyRollupService.recordIncome(event.getUserId(), event.getStreamType(),
+                event.getAfterDate(), cents(event.getAfterAmount()));
+    }
+
+    @EventListener
+    public void onIncomeDeleted(IncomeEntryDeleted event) {
+        monthlyRollupService.recordIncome(event.getUserId(), event.getStreamType(),
+                event.getEntryDate(), -cents(event.getAmount()));
+    }
+
+    @EventListener
+    public void onIncomeBatchImported(IncomeBatchImported event) {
+        monthlyRollupService.recordIncomeByMonth(event.getUserId(), event.getCentsByMonth());
+    }
+
+    /**
+     * An invoice creates its linked income entry without an
+     * {@link IncomeEntryCreated} event, so both its gross income and its
+     * output VAT are recorded here.
+     */
+    @EventListener
+    public void onInvoiceCreated(InvoiceCreated event) {
+        monthlyRollupService.recordIncome(event.getUserId(),
+                IncomeStream.valueOf(event.getStreamType()), event.getInvoiceDate(),
+                cents(event.getGrossTotal()));
+        monthlyRollupService.recordVat(event.getUserId(), event.getInvoiceDate(),
+                cents(event.getVat()));
+    }
+
+    @EventListener
+    public void onInvoiceVatChanged(InvoiceVatChanged event) {
+        monthlyRollupService.recordVat(event.getUserId(), event.getBeforeDate(),
+                -cents(event.getBeforeVat()));
+        monthlyRollupService.recordVat(event.getUserId(), event.getAfterDate(),
+                cents(event.getAfterVat()));
+    }
+
+    @EventListener
+    public void onExpenseCreated(ExpenseEntryCreated event) {
+        monthlyRollupService.recordExpense(event.getUserId(), event.getEntryDate(),
+                cents(event.getAmount()), event.getAllocatedCents());
+    }
+
+    @EventListener
+    public void onExpenseModified(ExpenseEntryModified event) {
+        monthlyRollupService.recordExpense(event.getUserId(), event.getBeforeDate(),
+                -cents(event.getBeforeAmount()), negate(event.getBeforeAllocatedCents()));
+        monthlyRollupService.recordExpense(event.getUserId(), event.getAfterDate(),
+                cents(event.getAfterAmount()), event.getAfterAllocatedCents());
+    }
+
+    @EventListener
+    public void onExpenseDeleted(ExpenseEntryDeleted event) {
+        monthlyRollupService.recordExpense(event.getUserId(), event.getEntryDate(),
+                -cents(event.getAmount()), negate(event.getAllocatedCents()));
+    }
+
+    @EventListener
+    public void onExpenseBatchImported(ExpenseBatchImported event) {
+        List<ExpenseAmount> expenses = event.getEntries().stream()
+                .map(e -> new ExpenseAmount(e.getEntryDate(), cents(e.getAmount()), e.getAllocatedCents()))
+                .toList();
+        monthlyRollupService.recordExpenses(event.getUserId(), expenses);
+    }
+
+    /**
+     * New percentages re-split every expense that uses the rule, across all
+     * months, so the user's rollup is rebuilt rather than patched.
+     */
+    @EventListener
+    public void onAllocationRuleModified(AllocationRuleModified event) {
+        if (event.getBeforeFreiberuf() != event.getAfterFreiberuf()
+                || event.getBeforeGewerbe() != event.getAfterGewerbe()
+                || event.getBeforePersonal() != event.getAfterPersonal()) {
+            monthlyRollupService.rebuild(event.getUserId());
+        }
+    }
+
+    private static AllocatedCents negate(AllocatedCents split) {
+        return split == null ? null : split.negate();
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0L : MONEY.convertToDatabaseColumn(amount);
+    }
+}
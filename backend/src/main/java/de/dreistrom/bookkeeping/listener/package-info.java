@@ -0,0 +1,4 @@
+/**
+ * bookkeeping module — event listeners.
+ */
+package de.dreistrom.bookkeeping.listener;
@@ -0,0 +1,94 @@
+package de.dreistrom.bookkeeping.repository;
+
+import de.dreistrom.bookkeeping.domain.MonthlyRollup;
+import de.dreistrom.bookkeeping.domain.MonthlyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, MonthlyRollupId> {
+
+    /**
+     * All months with data for a user in a year range, oldest first: one range
+     * scan on the primary key. Returned as a scalar projection so that reads
+     * after upserts in the same transaction see the latest values.
+     */
+    @Query("SELECT r.taxYear AS taxYear, r.taxMonth AS taxMonth, " +
+           "r.incomeEmploymentCents AS incomeEmploymentCents, " +
+           "r.incomeFreiberufCents AS incomeFreiberufCents, " +
+           "r.incomeGewerbeCents AS incomeGewerbeCents, " +
+           "r.expenseFreiberufCents AS expenseFreiberufCents, " +
+           "r.expenseGewerbeCents AS expenseGewerbeCents, " +
+           "r.expensePersonalCents AS expensePersonalCents, " +
+           "r.expenseTotalCents AS expenseTotalCents, " +
+           "r.vatCents AS vatCents " +
+           "FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.taxYear BETWEEN :fromYear AND :toYear " +
+           "ORDER BY r.taxYear, r.taxMonth")
+    List<MonthTotals> findRange(@Param("userId") Long userId,
+                                @Param("fromYear") int fromYear,
+                                @Param("toYear") int toYear);
+
+    /**
+     * Atomically add deltas to one month, creating the row on first use.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollup " +
+                   "(user_id, tax_year, tax_month, income_employment_cents, income_freiberuf_cents, " +
+                   "income_gewerbe_cents, expense_freiberuf_cents, expense_gewerbe_cents, " +
+                   "expense_personal_cents, expense_total_cents, vat_cents, updated_at) " +
+                   "VALUES (:userId, :taxYear, :taxMonth, :incomeEmployment, :incomeFreiberuf, " +
+                   ":incomeGewerbe, :expenseFreiberuf, :expenseGewerbe, :expensePersonal, " +
+                   ":expenseTotal, :vat, CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "income_employment_cents = income_employment_cents + :incomeEmployment, " +
+                   "income_freiberuf_cents = income_freiberuf_cents + :incomeFreiberuf, " +
+                   "income_gewerbe_cents = income_gewerbe_cents + :incomeGewerbe, " +
+                   "expense_freiberuf_cents = expense_freiberuf_cents + :expenseFreiberuf, " +
+                   "expense_gewerbe_cents = expense_gewerbe_cents + :expenseGewerbe, " +
+                   "expense_personal_cents = expense_personal_cents + :expensePersonal, " +
+                   "expense_total_cents = expense_total_cents + :expenseTotal, " +
+                   "vat_cents = vat_cents + :vat, " +
+                   "updated_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int addDelta(@Param("userId") Long userId,
+                 @Param("taxYear") int taxYear,
+                 @Param("taxMonth") int taxMonth,
+                 @Param("incomeEmployment") long incomeEmployment,
+                 @Param("incomeFreiberuf") long incomeFreiberuf,
+                 @Param("incomeGewerbe") long incomeGewerbe,
+                 @Param("expenseFreiberuf") long expenseFreiberuf,
+                 @Param("expenseGewerbe") long expenseGewerbe,
+                 @Param("expensePersonal") long expensePersonal,
+                 @Param("expenseTotal") long expenseTotal,
+                 @Param("vat") long vat);
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollup WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    interface MonthTotals {
+        int getTaxYear();
+
+        int getTaxMonth();
+
+        long getIncomeEmploymentCents();
+
+        long getIncomeFreiberufCents();
+
+        long getIncomeGewerbeCents();
+
+        long getExpenseFreiberufCents();
+
+        long getExpenseGewerbeCents();
+
+        long getExpensePersonalCents();
+
+        long getExpenseTotalCents();
+
+        long getVatCents();
+    }
+}
@@ -0,0 +1,163 @@
+package de.dreistrom.bookkeeping.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dreistrom.bookkeeping.domain.ExportFormat;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.mapper.ExpenseEntryMapper;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.mapper.IncomeEntryMapper;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.integration.domain.AppStorePayout;
+import de.dreistrom.integration.dto.PayoutResponse;
+import de.dreistrom.integration.repository.AppStorePayoutRepository;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.mapper.InvoiceMapper;
+import de.dreistrom.invoicing.repository.InvoiceRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Full-history ledger dumps for the Steuerberater handoff.
+ * <p>
+ * Rows are read through repository streams and written one at a time, each
+ * entity being detached once written, so memory use does not grow with the
+ * size of the ledger. CSV follows the conventions of
+ * {@code AnnualTaxExportService.generateCsv}: semicolon separator, header row,
+ * amounts in EUR as plain decimals with two places.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerExportService {
+
+    private static final List<String> INCOME_HEADER = List.of(
+            "ID", "Datum", "Einkunftsart", "Betrag EUR", "Waehrung", "Quelle",
+            "Kunde", "Rechnung", "Beschreibung");
+    private static final List<String> EXPENSE_HEADER = List.of(
+            "ID", "Datum", "Kategorie", "Betrag EUR", "Aufteilungsregel", "Beleg",
+            "Beschreibung");
+    private static final List<String> INVOICE_HEADER = List.of(
+            "ID", "Nummer", "Datum", "Faellig", "Einkunftsart", "Kunde", "Netto EUR",
+            "USt EUR", "Brutto EUR", "Waehrung", "USt-Behandlung", "Status");
+    private static final List<String> PAYOUT_HEADER = List.of(
+            "ID", "Datum", "Plattform", "Region", "Waehrung", "Brutto", "Provision",
+            "Netto", "USt", "Produkt-ID", "Produkt", "Menge", "Import");
+
+    private final IncomeEntryRepository incomeEntryRepository;
+    private final ExpenseEntryRepository expenseEntryRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final AppStorePayoutRepository appStorePayoutRepository;
+    private final IncomeEntryMapper incomeEntryMapper;
+    private final ExpenseEntryMapper expenseEntryMapper;
+    private final InvoiceMapper invoiceMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportIncome(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<IncomeEntry> rows = incomeEntryRepository.streamByUserId(userId)) {
+            write(rows, format, out, INCOME_HEADER, incomeEntryMapper::toResponse, e -> List.of(
+                    e.getId(), e.getEntryDate(), e.getStreamType(), fmt(e.getAmount()),
+                    e.getCurrency(), nvl(e.getSource()),
+                    e.getClient() == null ? "" : e.getClient().getName(),
+                    nvl(e.getInvoiceId()), nvl(e.getDescription())));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportExpenses(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<ExpenseEntry> rows = expenseEntryRepository.streamByUserId(userId)) {
+            write(rows, format, out, EXPENSE_HEADER, expenseEntryMapper::toResponse, e -> List.of(
+                    e.getId(), e.getEntryDate(), e.getCategory(), fmt(e.getAmount()),
+                    e.getAllocationRule() == null ? "" : e.getAllocationRule().getName(),
+                    nvl(e.getReceiptDocId()), nvl(e.getDescription())));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportInvoices(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Invoice> rows = invoiceRepository.streamByUserId(userId)) {
+            write(rows, format, out, INVOICE_HEADER, invoiceMapper::toResponse, i -> List.of(
+                    i.getId(), i.getNumber(), i.getInvoiceDate(), nvl(i.getDueDate()),
+                    i.getStreamType(), i.getClient() == null ? "" : i.getClient().getName(),
+                    fmt(i.getNetTotal()), fmt(i.getVat()), fmt(i.getGrossTotal()),
+                    i.getCurrency(), i.getVatTreatment(), i.getStatus()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPayouts(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<AppStorePayout> rows = appStorePayoutRepository.streamByUserId(userId)) {
+            write(rows, format, out, PAYOUT_HEADER, PayoutResponse::from, p -> List.of(
+                    p.getId(), p.getReportDate(), p.getPlatform(), p.getRegion(),
+                    p.getCurrency(), fmt(p.getGrossRevenue()), fmt(p.getCommission()),
+                    fmt(p.getNetRevenue()), fmt(p.getVat()), nvl(p.getProductId()),
+                    nvl(p.getProductName()), p.getQuantity(), p.getImportBatchId()));
+        }
+    }
+
+    private <T> void write(Stream<T> rows, ExportFormat format, OutputStream out,
+                           List<String> csvHeader, Function<T, ?> toJson,
+                           Function<T, List<?>> toCsv) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(writer, csvHeader);
+        }
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); ) {
+            T row = it.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, toCsv.apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(toJson.apply(row)));
+                writer.write('\n');
+            }
+            entityManager.detach(row);
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(';');
+            }
+            writer.write(escape(String.valueOf(fields.get(i))));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Quote free-text fields that would otherwise break the row.
+     */
+    static String escape(String value) {
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Object nvl(Object value) {
+        return value == null ? "" : value;
+    }
+
+    private static String fmt(BigDecimal amount) {
+        if (amount == null) return "0.00";
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+}
@@ -0,0 +1,221 @@
+package de.dreistrom.bookkeeping.service;
+
+import de.dreistrom.bookkeeping.dto.MonthlyRollupResponse;
+import de.dreistrom.bookkeeping.dto.TimeseriesResponse;
+import de.dreistrom.bookkeeping.repository.MonthlyRollupRepository;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.expense.domain.AllocatedCents;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.invoicing.repository.InvoiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the monthly_rollup projection (user, year, month → income per
+ * stream, allocated expenses, output VAT) and serves dashboard time series
+ * from it.
+ * <p>
+ * The {@code record*} methods take signed cent deltas and are called from
+ * {@link de.dreistrom.bookkeeping.listener.MonthlyRollupListener} inside the
+ * transaction that published the domain event, so the projection commits or
+ * rolls back with the underlying rows. {@link #rebuild} recomputes a user's
+ * rows from the source tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonthlyRollupService {
+
+    /** Upper bound on the span of one time-series request. */
+    static final int MAX_YEARS = 20;
+
+    private static final int INCOME_EMPLOYMENT = 0;
+    private static final int INCOME_FREIBERUF = 1;
+    private static final int INCOME_GEWERBE = 2;
+    private static final int EXPENSE_FREIBERUF = 3;
+    private static final int EXPENSE_GEWERBE = 4;
+    private static final int EXPENSE_PERSONAL = 5;
+    private static final int EXPENSE_TOTAL = 6;
+    private static final int VAT = 7;
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final IncomeEntryRepository incomeEntryRepository;
+    private final ExpenseEntryRepository expenseEntryRepository;
+    private final InvoiceRepository invoiceRepository;
+
+    @Transactional
+    public void recordIncome(Long userId, IncomeStream streamType, LocalDate date, long cents) {
+        long[] delta = new long[8];
+        delta[incomeSlot(streamType)] = cents;
+        apply(userId, YearMonth.from(date), delta);
+    }
+
+    /**
+     * Add an expense with the split stored on its entry, so the rollup shares
+     * match the EÜR and tax totals. Pass negated cents and split to remove an
+     * entry. A {@code null} split only counts towards the total.
+     */
+    @Transactional
+    public void recordExpense(Long userId, LocalDate date, long cents, AllocatedCents split) {
+        long[] delta = new long[8];
+        addExpense(delta, cents, split);
+        apply(userId, YearMonth.from(date), delta);
+    }
+
+    /**
+     * Add a batch of expenses in one upsert per month; used for batch imports.
+     */
+    @Transactional
+    public void recordExpenses(Long userId, List<ExpenseAmount> expenses) {
+        Map<YearMonth, long[]> deltas = new TreeMap<>();
+        for (ExpenseAmount expense : expenses) {
+            addExpense(deltas.computeIfAbsent(YearMonth.from(expense.date()), m -> new long[8]),
+                    expense.cents(), expense.split());
+        }
+        deltas.forEach((month, delta) -> apply(userId, month, delta));
+    }
+
+    private static void addExpense(long[] delta, long cents, AllocatedCents split) {
+        if (split != null) {
+            delta[EXPENSE_FREIBERUF] += split.freiberufCents();
+            delta[EXPENSE_GEWERBE] += split.gewerbeCents();
+            delta[EXPENSE_PERSONAL] += split.personalCents();
+        }
+        delta[EXPENSE_TOTAL] += cents;
+    }
+
+    @Transactional
+    public void recordVat(Long userId, LocalDate date, long cents) {
+        long[] delta = new long[8];
+        delta[VAT] = cents;
+        apply(userId, YearMonth.from(date), delta);
+    }
+
+    /**
+     * Add pre-aggregated income per month and stream in one upsert per month;
+     * used for batch imports.
+     */
+    @Transactional
+    public void recordIncomeByMonth(Long userId, Map<YearMonth, Map<IncomeStream, Long>> centsByMonth) {
+        centsByMonth.forEach((month, byStream) -> {
+            long[] delta = new long[8];
+            byStream.forEach((stream, cents) -> delta[incomeSlot(stream)] += cents);
+            apply(userId, month, delta);
+        });
+    }
+
+    /**
+     * Replace all of a user's rollup rows with values recomputed from
+     * income_entry, expense_entry and invoice.
+     *
+     * @return the number of months written
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        Map<YearMonth, long[]> months = new TreeMap<>();
+        for (Object[] row : incomeEntryRepository.sumCentsByMonth(userId)) {
+            long[] m = months.computeIfAbsent(month(row), k -> new long[8]);
+            m[INCOME_EMPLOYMENT] = cents(row[2]);
+            m[INCOME_FREIBERUF] = cents(row[3]);
+            m[INCOME_GEWERBE] = cents(row[4]);
+        }
+        for (Object[] row : expenseEntryRepository.sumAllocatedCentsByMonth(userId)) {
+            long[] m = months.computeIfAbsent(month(row), k -> new long[8]);
+            m[EXPENSE_FREIBERUF] = cents(row[2]);
+            m[EXPENSE_GEWERBE] = cents(row[3]);
+            m[EXPENSE_PERSONAL] = cents(row[4]);
+            m[EXPENSE_TOTAL] = cents(row[5]);
+        }
+        for (Object[] row : invoiceRepository.sumVatCentsByMonth(userId)) {
+            months.computeIfAbsent(month(row), k -> new long[8])[VAT] = cents(row[2]);
+        }
+
+        monthlyRollupRepository.deleteByUserId(userId);
+        months.forEach((month, values) -> apply(userId, month, values));
+
+        log.info("Monthly rollup rebuilt: userId={}, months={}", userId, months.size());
+        return months.size();
+    }
+
+    /**
+     * Month-by-month totals for the given year range from a single range read.
+     */
+    @Transactional(readOnly = true)
+    public TimeseriesResponse timeseries(Long userId, int fromYear, int toYear) {
+        if (toYear < fromYear) {
+            throw new IllegalArgumentException("toYear must not be before fromYear");
+        }
+        if (toYear - fromYear >= MAX_YEARS) {
+            throw new IllegalArgumentException("At most " + MAX_YEARS + " years per request");
+        }
+
+        Map<YearMonth, MonthlyRollupRepository.MonthTotals> stored = new HashMap<>();
+        for (MonthlyRollupRepository.MonthTotals row
+                : monthlyRollupRepository.findRange(userId, fromYear, toYear)) {
+            stored.put(YearMonth.of(row.getTaxYear(), row.getTaxMonth()), row);
+        }
+
+        List<MonthlyRollupResponse> months = new ArrayList<>((toYear - fromYear + 1) * 12);
+        for (YearMonth m = YearMonth.of(fromYear, 1); m.getYear() <= toYear; m = m.plusMonths(1)) {
+            MonthlyRollupRepository.MonthTotals row = stored.get(m);
+            months.add(row == null ? emptyMonth(m) : toResponse(row));
+        }
+        return new TimeseriesResponse(fromYear, toYear, months);
+    }
+
+    private void apply(Long userId, YearMonth month, long[] d) {
+        monthlyRollupRepository.addDelta(userId, month.getYear(), month.getMonthValue(),
+                d[INCOME_EMPLOYMENT], d[INCOME_FREIBERUF], d[INCOME_GEWERBE],
+                d[EXPENSE_FREIBERUF], d[EXPENSE_GEWERBE], d[EXPENSE_PERSONAL],
+                d[EXPENSE_TOTAL], d[VAT]);
+    }
+
+    private static int incomeSlot(IncomeStream streamType) {
+        return switch (streamType) {
+            case EMPLOYMENT -> INCOME_EMPLOYMENT;
+            case FREIBERUF -> INCOME_FREIBERUF;
+            case GEWERBE -> INCOME_GEWERBE;
+        };
+    }
+
+    private static MonthlyRollupResponse toResponse(MonthlyRollupRepository.MonthTotals row) {
+        return new MonthlyRollupResponse(row.getTaxYear(), row.getTaxMonth(),
+                euros(row.getIncomeEmploymentCents()), euros(row.getIncomeFreiberufCents()),
+                euros(row.getIncomeGewerbeCents()), euros(row.getExpenseFreiberufCents()),
+                euros(row.getExpenseGewerbeCents()), euros(row.getExpensePersonalCents()),
+                euros(row.getExpenseTotalCents()), euros(row.getVatCents()));
+    }
+
+    private static MonthlyRollupResponse emptyMonth(YearMonth m) {
+        BigDecimal zero = euros(0L);
+        return new MonthlyRollupResponse(m.getYear(), m.getMonthValue(),
+                zero, zero, zero, zero, zero, zero, zero, zero);
+    }
+
+    private static YearMonth month(Object[] row) {
+        return YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+    }
+
+    private static long cents(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static BigDecimal euros(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /** One expense of a batch: booking date, signed cents and stored split. */
+    public record ExpenseAmount(LocalDate date, long cents, AllocatedCents split) {}
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 
 @Entity
@@ -27,6 +28,14 @@ public class ThresholdAlert {
     @Column(name = "alert_type", nullable = false)
     private ThresholdAlertType alertType;
 
+    /** Tax year for state-tracking alerts; null for one-off notifications. */
+    @Column(name = "tax_year")
+    private Integer taxYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_state")
+    private ThresholdAlertState state;
+
     @Convert(converter = MoneyConverter.class)
     @Column(name = "current_value_cents", nullable = false)
     private BigDecimal currentValue;
@@ -65,16 +74,55 @@ public class ThresholdAlert {
         this.alertType = alertType;
         this.currentValue = currentValue;
         this.thresholdValue = thresholdValue;
-        this.thresholdPercent = thresholdValue.signum() == 0
-                ? BigDecimal.ZERO
-                : currentValue.multiply(new BigDecimal("100"))
-                        .divide(thresholdValue, 2, java.math.RoundingMode.HALF_UP);
+        this.thresholdPercent = percentOf(currentValue, thresholdValue);
         this.message = message;
         this.triggeredAt = Instant.now();
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * State-tracking alert: one row per user, tax year and type, moved between
+     * states by {@link #transitionTo}.
+     */
+    public ThresholdAlert(AppUser user, ThresholdAlertType alertType, int taxYear,
+                          ThresholdAlertState state, BigDecimal currentValue,
+                          BigDecimal thresholdValue, String message) {
+        this(user, alertType, currentValue, thresholdValue, message);
+        this.taxYear = taxYear;
+        this.state = state;
+    }
+
+    /**
+     * Record a state change. Escalations re-open the alert for acknowledgement.
+     */
+    public void transitionTo(ThresholdAlertState newState, BigDecimal currentValue,
+                             BigDecimal thresholdValue, String message) {
+        if (state == null || newState.compareTo(state) > 0) {
+            this.acknowledged = false;
+            this.acknowledgedAt = null;
+        }
+        this.state = newState;
+        this.currentValue = currentValue;
+        this.thresholdValue = thresholdValue;
+        this.thresholdPercent = percentOf(currentValue, thresholdValue);
+        this.message = message;
+        this.triggeredAt = Instant.now();
+        this.updatedAt = Instant.now();
+    }
+
+    private static final BigDecimal MAX_PERCENT = new BigDecimal("999.99");
+
+    /** Usage in percent, capped to the DECIMAL(5,2) column range. */
+    private static BigDecimal percentOf(BigDecimal currentValue, BigDecimal thresholdValue) {
+        if (thresholdValue.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return currentValue.multiply(new BigDecimal("100"))
+                .divide(thresholdValue, 2, RoundingMode.HALF_UP)
+                .min(MAX_PERCENT);
+    }
+
     public void acknowledge() {
         this.acknowledged = true;
         this.acknowledgedAt = Instant.now();
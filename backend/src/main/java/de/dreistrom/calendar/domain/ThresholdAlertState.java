@@ -0,0 +1,10 @@
+package de.dreistrom.calendar.domain;
+
+/**
+ * Edge-triggered state of a per-user/year threshold. Ordered from least to most severe.
+ */
+public enum ThresholdAlertState {
+    BELOW,
+    WARNING,
+    EXCEEDED
+}
@@ -7,5 +7,7 @@ public enum ThresholdAlertType {
     GEWST_FREIBETRAG,
     VAT_THRESHOLD,
     RESERVE_SHORTFALL,
-    CUSTOM
+    CUSTOM,
+    BILANZIERUNG,
+    MANDATORY_FILING
 }
@@ -16,4 +16,7 @@ public interface ThresholdAlertRepository extends JpaRepository<ThresholdAlert,
     List<ThresholdAlert> findByUserIdOrderByTriggeredAtDesc(Long userId);
 
     long countByUserIdAndAcknowledgedFalse(Long userId);
+
+    /** State-tracking rows for a user and tax year (at most one per alert type). */
+    List<ThresholdAlert> findByUserIdAndTaxYear(Long userId, Integer taxYear);
 }
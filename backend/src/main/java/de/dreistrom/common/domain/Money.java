@@ -0,0 +1,173 @@
+package de.dreistrom.common.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Euro amount held as a primitive {@code long} of cents.
+ * <p>
+ * Addition, subtraction and comparison are exact integer operations and throw
+ * {@link ArithmeticException} on overflow instead of wrapping. Operations that
+ * can produce fractions of a cent ({@link #multiply(long, long, RoundingMode)},
+ * {@link #percent}, {@link #ratio}) take an explicit {@link RoundingMode} and
+ * are computed in {@code long} arithmetic; only {@link #ratio} creates a
+ * {@link BigDecimal}, for its result. Use {@link #toEuros()} at API boundaries
+ * (DTOs, calculators that still take {@code BigDecimal}).
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L,
+            100_000_000L, 1_000_000_000L, 10_000_000_000L
+    };
+
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Cents from a nullable aggregate (e.g. {@code SUM} over no rows).
+     */
+    public static Money ofCents(Long cents) {
+        return cents == null ? ZERO : ofCents(cents.longValue());
+    }
+
+    public static Money ofEuros(long euros) {
+        return ofCents(Math.multiplyExact(euros, 100L));
+    }
+
+    /**
+     * Whole cents from a euro amount, rounding HALF_UP as {@link MoneyConverter} does.
+     */
+    public static Money ofEuros(BigDecimal euros) {
+        return ofCents(euros.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact());
+    }
+
+    public Money add(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money subtract(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public Money multiply(long factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    /**
+     * {@code this × numerator / denominator}, rounded to whole cents.
+     */
+    public Money multiply(long numerator, long denominator, RoundingMode rounding) {
+        return ofCents(divide(Math.multiplyExact(cents, numerator), denominator, rounding));
+    }
+
+    /**
+     * {@code percent} % of this amount, rounded to whole cents.
+     */
+    public Money percent(long percent, RoundingMode rounding) {
+        return multiply(percent, 100L, rounding);
+    }
+
+    /**
+     * {@code this / denominator} as a decimal with {@code scale} fraction digits
+     * (0–10), e.g. a share of revenue or the utilization of a threshold.
+     *
+     * @throws ArithmeticException if {@code denominator} is zero
+     */
+    public BigDecimal ratio(Money denominator, int scale, RoundingMode rounding) {
+        if (denominator.cents == 0L) {
+            throw new ArithmeticException("Ratio to zero amount");
+        }
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported scale: " + scale);
+        }
+        long scaled = Math.multiplyExact(cents, POWERS_OF_TEN[scale]);
+        return BigDecimal.valueOf(divide(scaled, denominator.cents, rounding), scale);
+    }
+
+    public Money max(Money other) {
+        return cents >= other.cents ? this : other;
+    }
+
+    public Money min(Money other) {
+        return cents <= other.cents ? this : other;
+    }
+
+    public boolean isZero() {
+        return cents == 0L;
+    }
+
+    public boolean isPositive() {
+        return cents > 0L;
+    }
+
+    public boolean isNegative() {
+        return cents < 0L;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return cents > other.cents;
+    }
+
+    public boolean isLessThan(Money other) {
+        return cents < other.cents;
+    }
+
+    /**
+     * Euro amount with scale 2.
+     */
+    public BigDecimal toEuros() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    /**
+     * Plain euro amount, e.g. {@code 1234.50}.
+     */
+    @Override
+    public String toString() {
+        return toEuros().toPlainString();
+    }
+
+    /**
+     * Integer division with {@link BigDecimal}-compatible rounding.
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend - divisor * quotient;
+        if (remainder == 0L) {
+            return quotient;
+        }
+
+        // Sign of the exact result: +1 or -1
+        int signum = 1 | (int) ((dividend ^ divisor) >> (Long.SIZE - 1));
+        boolean increment = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                long absRemainder = Math.abs(remainder);
+                long towardHalf = absRemainder - (Math.abs(divisor) - absRemainder);
+                if (towardHalf == 0L) {
+                    yield rounding == RoundingMode.HALF_UP
+                            || (rounding == RoundingMode.HALF_EVEN && (quotient & 1L) != 0L);
+                }
+                yield towardHalf > 0L;
+            }
+        };
+        return increment ? quotient + signum : quotient;
+    }
+}
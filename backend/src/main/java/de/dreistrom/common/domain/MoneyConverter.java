@@ -4,25 +4,20 @@ import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 /**
  * JPA converter: BIGINT cents in the database <-> BigDecimal euros in Java.
- * Uses RoundingMode.HALF_UP with 2 decimal places.
+ * Uses RoundingMode.HALF_UP with 2 decimal places, via {@link Money}.
  */
 @Converter(autoApply = false)
 public class MoneyConverter implements AttributeConverter<BigDecimal, Long> {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-
     @Override
     public Long convertToDatabaseColumn(BigDecimal attribute) {
         if (attribute == null) {
             return null;
         }
-        return attribute.multiply(HUNDRED)
-                .setScale(0, RoundingMode.HALF_UP)
-                .longValueExact();
+        return Money.ofEuros(attribute).cents();
     }
 
     @Override
@@ -30,7 +25,6 @@ public class MoneyConverter implements AttributeConverter<BigDecimal, Long> {
         if (dbData == null) {
             return null;
         }
-        return new BigDecimal(dbData)
-                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+        return Money.ofCents(dbData.longValue()).toEuros();
     }
 }
@@ -0,0 +1,39 @@
+package de.dreistrom.common.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. {@code next} is the opaque cursor for
+ * the following page, or {@code null} on the last page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String next
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Build a page from a query that fetched up to {@code limit + 1} rows; the
+     * extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, KeysetCursor> keyOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(items, keyOf.apply(items.getLast()).encode());
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                    "limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
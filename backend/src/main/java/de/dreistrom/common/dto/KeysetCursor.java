@@ -0,0 +1,40 @@
+package de.dreistrom.common.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page, ordered by
+ * {@code (date DESC, id DESC)}. Clients only see the opaque
+ * {@link #encode() encoded} form.
+ */
+public record KeysetCursor(LocalDate date, long id) {
+
+    /** Sorts after every real row, so the first page uses the same query as later ones. */
+    public static final KeysetCursor START = new KeysetCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((date + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode a cursor previously returned as {@code next}; {@code null} or blank
+     * yields {@link #START}.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new KeysetCursor(LocalDate.parse(raw.substring(0, sep)),
+                    Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
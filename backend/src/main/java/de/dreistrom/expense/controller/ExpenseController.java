@@ -2,16 +2,19 @@ package de.dreistrom.expense.controller;
 
 import de.dreistrom.common.Idempotent;
 import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.dto.CursorPage;
 import de.dreistrom.common.service.AppUserDetails;
 import de.dreistrom.expense.domain.DepreciationAsset;
 import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.dto.CreateExpenseEntryRequest;
 import de.dreistrom.expense.dto.ExpenseEntryResponse;
+import de.dreistrom.expense.dto.ExpenseSuggestion;
 import de.dreistrom.expense.dto.UpdateExpenseEntryRequest;
 import de.dreistrom.expense.mapper.ExpenseEntryMapper;
 import de.dreistrom.expense.repository.DepreciationAssetRepository;
 import de.dreistrom.expense.service.DepreciationService;
 import de.dreistrom.expense.service.DepreciationYearEntry;
+import de.dreistrom.expense.service.ExpenseClassifier;
 import de.dreistrom.expense.service.ExpenseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -44,6 +47,7 @@ public class ExpenseController {
 
     private final ExpenseService expenseService;
     private final DepreciationService depreciationService;
+    private final ExpenseClassifier expenseClassifier;
     private final DepreciationAssetRepository depreciationAssetRepository;
     private final ExpenseEntryMapper expenseEntryMapper;
     private final EntityManager entityManager;
@@ -100,6 +104,39 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseEntryMapper.toResponseList(entries));
     }
 
+    @GetMapping("/page")
+    @Operation(operationId = "listExpensesPage",
+            summary = "List expense entries newest first, one keyset page at a time",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of expense entries with next cursor"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+            })
+    public ResponseEntity<CursorPage<ExpenseEntryResponse>> listPage(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(expenseService
+                .listPage(userDetails.getId(), cursor, limit)
+                .map(expenseEntryMapper::toResponse));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(operationId = "suggestExpenseClassification",
+            summary = "Suggest category and allocation rule from the user's past expenses",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestion found"),
+                    @ApiResponse(responseCode = "204", description = "No similar past expense")
+            })
+    public ResponseEntity<ExpenseSuggestion> suggest(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam String text) {
+
+        return expenseClassifier.suggest(userDetails.getId(), text)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     @GetMapping("/{id}")
     @Operation(operationId = "getExpense", summary = "Get an expense entry by ID",
             responses = {
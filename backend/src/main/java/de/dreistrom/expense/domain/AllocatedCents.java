@@ -0,0 +1,12 @@
+package de.dreistrom.expense.domain;
+
+/**
+ * Stored Freiberuf/Gewerbe/Personal split of one expense entry in cents, as
+ * written to the {@code *_cents} columns of expense_entry.
+ */
+public record AllocatedCents(long freiberufCents, long gewerbeCents, long personalCents) {
+
+    public AllocatedCents negate() {
+        return new AllocatedCents(-freiberufCents, -gewerbeCents, -personalCents);
+    }
+}
@@ -0,0 +1,38 @@
+package de.dreistrom.expense.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized AfA of one asset in one tax year.
+ * Composite PK: (asset_id, tax_year).
+ * <p>
+ * Rows are written exclusively through native statements in
+ * {@link de.dreistrom.expense.repository.DepreciationScheduleRepository}
+ * when an asset is created or disposed.
+ */
+@Entity
+@Table(name = "depreciation_schedule")
+@IdClass(DepreciationScheduleEntryId.class)
+@Getter
+@NoArgsConstructor
+public class DepreciationScheduleEntry {
+
+    @Id
+    @Column(name = "asset_id", nullable = false)
+    private Long assetId;
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "afa_cents", nullable = false)
+    private long afaCents;
+
+    @Column(name = "closing_book_value_cents", nullable = false)
+    private long closingBookValueCents;
+}
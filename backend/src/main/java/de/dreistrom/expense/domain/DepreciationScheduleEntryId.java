@@ -0,0 +1,34 @@
+package de.dreistrom.expense.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for depreciation_schedule table.
+ */
+public class DepreciationScheduleEntryId implements Serializable {
+
+    private Long assetId;
+    private int taxYear;
+
+    public DepreciationScheduleEntryId() {}
+
+    public DepreciationScheduleEntryId(Long assetId, int taxYear) {
+        this.assetId = assetId;
+        this.taxYear = taxYear;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DepreciationScheduleEntryId that = (DepreciationScheduleEntryId) o;
+        return taxYear == that.taxYear
+                && Objects.equals(assetId, that.assetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(assetId, taxYear);
+    }
+}
@@ -1,12 +1,14 @@
 package de.dreistrom.expense.domain;
 
 import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.common.domain.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 
@@ -47,6 +49,16 @@ public class ExpenseEntry {
     @Column(length = 500)
     private String description;
 
+    /** Amount share per stream; null when no allocation rule is set. */
+    @Column(name = "freiberuf_cents")
+    private Long freiberufCents;
+
+    @Column(name = "gewerbe_cents")
+    private Long gewerbeCents;
+
+    @Column(name = "personal_cents")
+    private Long personalCents;
+
     @Column(name = "created_at", nullable = false, updatable = false,
             columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
     private Instant createdAt;
@@ -70,6 +82,7 @@ public class ExpenseEntry {
         this.allocationRule = allocationRule;
         this.receiptDocId = receiptDocId;
         this.description = description;
+        applyAllocation();
     }
 
     public void update(BigDecimal amount, String category, LocalDate entryDate,
@@ -81,5 +94,37 @@ public class ExpenseEntry {
         this.receiptDocId = receiptDocId;
         this.description = description;
         this.updatedAt = Instant.now();
+        applyAllocation();
+    }
+
+    /**
+     * The stored split, or {@code null} if the entry has no allocation rule.
+     */
+    public AllocatedCents getAllocatedCents() {
+        return freiberufCents == null ? null
+                : new AllocatedCents(freiberufCents, gewerbeCents, personalCents);
+    }
+
+    /**
+     * Split the amount by the allocation rule with cumulative rounding, so the
+     * shares always add up to the amount: Freiberuf is rounded half-up,
+     * Gewerbe is the rounded Freiberuf+Gewerbe share minus Freiberuf, and
+     * Personal takes the rest. Must match
+     * {@link de.dreistrom.expense.repository.ExpenseEntryRepository#reapplyAllocation}.
+     */
+    private void applyAllocation() {
+        if (allocationRule == null) {
+            this.freiberufCents = null;
+            this.gewerbeCents = null;
+            this.personalCents = null;
+            return;
+        }
+        Money total = Money.ofEuros(amount);
+        Money freiberuf = total.percent(allocationRule.getFreiberufPct(), RoundingMode.HALF_UP);
+        Money business = total.percent(
+                allocationRule.getFreiberufPct() + allocationRule.getGewerbePct(), RoundingMode.HALF_UP);
+        this.freiberufCents = freiberuf.cents();
+        this.gewerbeCents = business.subtract(freiberuf).cents();
+        this.personalCents = total.subtract(business).cents();
     }
 }
@@ -0,0 +1,15 @@
+package de.dreistrom.expense.dto;
+
+/**
+ * Category and allocation rule suggested for a new expense from the user's
+ * booking history.
+ *
+ * @param confidence     similarity of the best matching past booking, 0 to 1
+ * @param matchedEntries number of past expenses booked with this combination
+ */
+public record ExpenseSuggestion(
+        String category,
+        Long allocationRuleId,
+        double confidence,
+        long matchedEntries
+) {}
@@ -5,11 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
 import de.dreistrom.expense.domain.AllocationRule;
+import lombok.Getter;
 
 public class AllocationRuleCreated extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    @Getter
+    private final Long userId;
     private final String name;
     private final short freiberufPct;
     private final short gewerbePct;
@@ -17,6 +20,7 @@ public class AllocationRuleCreated extends DomainEvent {
 
     public AllocationRuleCreated(AllocationRule rule) {
         super("AllocationRule", rule.getId(), "ALLOCATION_RULE_CREATED");
+        this.userId = rule.getUser().getId();
         this.name = rule.getName();
         this.freiberufPct = rule.getFreiberufPct();
         this.gewerbePct = rule.getGewerbePct();
@@ -4,11 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
+import lombok.Getter;
 
+@Getter
 public class AllocationRuleModified extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private final Long userId;
     private final String beforeName;
     private final String afterName;
     private final short beforeFreiberuf;
@@ -18,12 +21,13 @@ public class AllocationRuleModified extends DomainEvent {
     private final short beforePersonal;
     private final short afterPersonal;
 
-    public AllocationRuleModified(Long ruleId,
+    public AllocationRuleModified(Long ruleId, Long userId,
                                   String beforeName, String afterName,
                                   short beforeFreiberuf, short afterFreiberuf,
                                   short beforeGewerbe, short afterGewerbe,
                                   short beforePersonal, short afterPersonal) {
         super("AllocationRule", ruleId, "ALLOCATION_RULE_MODIFIED");
+        this.userId = userId;
         this.beforeName = beforeName;
         this.afterName = afterName;
         this.beforeFreiberuf = beforeFreiberuf;
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
 import de.dreistrom.expense.domain.DepreciationAsset;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,7 +14,10 @@ public class DepreciationAssetCreated extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    @Getter
+    private final Long userId;
     private final String name;
+    @Getter
     private final LocalDate acquisitionDate;
     private final BigDecimal netCost;
     private final int usefulLifeMonths;
@@ -22,6 +26,7 @@ public class DepreciationAssetCreated extends DomainEvent {
 
     public DepreciationAssetCreated(DepreciationAsset asset) {
         super("DepreciationAsset", asset.getId(), "DEPRECIATION_ASSET_CREATED");
+        this.userId = asset.getUser().getId();
         this.name = asset.getName();
         this.acquisitionDate = asset.getAcquisitionDate();
         this.netCost = asset.getNetCost();
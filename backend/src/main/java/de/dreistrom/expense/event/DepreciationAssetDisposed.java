@@ -0,0 +1,24 @@
+package de.dreistrom.expense.event;
+
+import de.dreistrom.expense.domain.DepreciationAsset;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an asset is disposed, which ends its depreciation from the
+ * disposal month on. Not written to the audit log.
+ */
+@Getter
+public class DepreciationAssetDisposed {
+
+    private final Long assetId;
+    private final Long userId;
+    private final LocalDate disposalDate;
+
+    public DepreciationAssetDisposed(DepreciationAsset asset) {
+        this.assetId = asset.getId();
+        this.userId = asset.getUser().getId();
+        this.disposalDate = asset.getDisposalDate();
+    }
+}
@@ -0,0 +1,29 @@
+package de.dreistrom.expense.event;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Published once per batch insert in place of one {@link ExpenseEntryCreated}
+ * per row, so projections and caches are updated once per batch. The per-row
+ * created events are still written to the audit log and carried here for
+ * projections that need the individual amounts.
+ */
+@Getter
+public class ExpenseBatchImported {
+
+    private final Long userId;
+    private final List<ExpenseEntryCreated> entries;
+    private final Set<Integer> years;
+
+    public ExpenseBatchImported(Long userId, List<ExpenseEntryCreated> entries) {
+        this.userId = userId;
+        this.entries = List.copyOf(entries);
+        this.years = entries.stream()
+                .map(e -> e.getEntryDate().getYear())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
+import de.dreistrom.expense.domain.AllocatedCents;
 import de.dreistrom.expense.domain.ExpenseEntry;
 import lombok.Getter;
 
@@ -15,19 +16,40 @@ public class ExpenseEntryCreated extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private final Long userId;
     private final BigDecimal amount;
     private final String category;
     private final LocalDate entryDate;
     private final Long allocationRuleId;
+    private final AllocatedCents allocatedCents;
     private final boolean gwg;
 
     public ExpenseEntryCreated(ExpenseEntry entry, boolean gwg) {
         super("ExpenseEntry", entry.getId(), "EXPENSE_ENTRY_CREATED");
+        this.userId = entry.getUser().getId();
         this.amount = entry.getAmount();
         this.category = entry.getCategory();
         this.entryDate = entry.getEntryDate();
         this.allocationRuleId = entry.getAllocationRule() != null
                 ? entry.getAllocationRule().getId() : null;
+        this.allocatedCents = entry.getAllocatedCents();
+        this.gwg = gwg;
+    }
+
+    /**
+     * For entries inserted outside the persistence context (batch import),
+     * where the managed {@link ExpenseEntry} carries no id.
+     */
+    public ExpenseEntryCreated(Long entryId, Long userId, BigDecimal amount, String category,
+                               LocalDate entryDate, Long allocationRuleId,
+                               AllocatedCents allocatedCents, boolean gwg) {
+        super("ExpenseEntry", entryId, "EXPENSE_ENTRY_CREATED");
+        this.userId = userId;
+        this.amount = amount;
+        this.category = category;
+        this.entryDate = entryDate;
+        this.allocationRuleId = allocationRuleId;
+        this.allocatedCents = allocatedCents;
         this.gwg = gwg;
     }
 
@@ -0,0 +1,33 @@
+package de.dreistrom.expense.event;
+
+import de.dreistrom.expense.domain.AllocatedCents;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when an expense entry is deleted so that projections can remove
+ * its contribution. Not written to the audit log.
+ */
+@Getter
+public class ExpenseEntryDeleted {
+
+    private final Long entryId;
+    private final Long userId;
+    private final BigDecimal amount;
+    private final LocalDate entryDate;
+    private final Long allocationRuleId;
+    private final AllocatedCents allocatedCents;
+
+    public ExpenseEntryDeleted(ExpenseEntry entry) {
+        this.entryId = entry.getId();
+        this.userId = entry.getUser().getId();
+        this.amount = entry.getAmount();
+        this.entryDate = entry.getEntryDate();
+        this.allocationRuleId = entry.getAllocationRule() != null
+                ? entry.getAllocationRule().getId() : null;
+        this.allocatedCents = entry.getAllocatedCents();
+    }
+}
@@ -4,32 +4,47 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
+import de.dreistrom.expense.domain.AllocatedCents;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@Getter
 public class ExpenseEntryModified extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private final Long userId;
     private final BigDecimal beforeAmount;
     private final BigDecimal afterAmount;
     private final String beforeCategory;
     private final String afterCategory;
     private final LocalDate beforeDate;
     private final LocalDate afterDate;
+    private final Long beforeAllocationRuleId;
+    private final Long afterAllocationRuleId;
+    private final AllocatedCents beforeAllocatedCents;
+    private final AllocatedCents afterAllocatedCents;
 
-    public ExpenseEntryModified(Long entryId,
+    public ExpenseEntryModified(Long entryId, Long userId,
                                 BigDecimal beforeAmount, BigDecimal afterAmount,
                                 String beforeCategory, String afterCategory,
-                                LocalDate beforeDate, LocalDate afterDate) {
+                                LocalDate beforeDate, LocalDate afterDate,
+                                Long beforeAllocationRuleId, Long afterAllocationRuleId,
+                                AllocatedCents beforeAllocatedCents, AllocatedCents afterAllocatedCents) {
         super("ExpenseEntry", entryId, "EXPENSE_ENTRY_MODIFIED");
+        this.userId = userId;
         this.beforeAmount = beforeAmount;
         this.afterAmount = afterAmount;
         this.beforeCategory = beforeCategory;
         this.afterCategory = afterCategory;
         this.beforeDate = beforeDate;
         this.afterDate = afterDate;
+        this.beforeAllocationRuleId = beforeAllocationRuleId;
+        this.afterAllocationRuleId = afterAllocationRuleId;
+        this.beforeAllocatedCents = beforeAllocatedCents;
+        this.afterAllocatedCents = afterAllocatedCents;
     }
 
     @Override
@@ -40,11 +55,17 @@ public class ExpenseEntryModified extends DomainEvent {
             before.put("amount", beforeAmount.toPlainString());
             before.put("category", beforeCategory);
             before.put("entryDate", beforeDate.toString());
+            if (beforeAllocationRuleId != null) {
+                before.put("allocationRuleId", beforeAllocationRuleId);
+            }
 
             ObjectNode after = node.putObject("after");
             after.put("amount", afterAmount.toPlainString());
             after.put("category", afterCategory);
             after.put("entryDate", afterDate.toString());
+            if (afterAllocationRuleId != null) {
+                after.put("allocationRuleId", afterAllocationRuleId);
+            }
 
             return MAPPER.writeValueAsString(node);
         } catch (JsonProcessingException e) {
@@ -0,0 +1,30 @@
+package de.dreistrom.expense.listener;
+
+import de.dreistrom.expense.service.DepreciationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materializes the depreciation schedule of assets that have none on
+ * startup, i.e. assets created before depreciation_schedule existed. The
+ * schedule's rounding follows {@code DepreciationService}, so it is filled
+ * here rather than in the migration.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepreciationScheduleBackfill {
+
+    private final DepreciationService depreciationService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int scheduled = depreciationService.materializeMissingSchedules();
+        if (scheduled > 0) {
+            log.info("Materialized depreciation schedules for {} assets", scheduled);
+        }
+    }
+}
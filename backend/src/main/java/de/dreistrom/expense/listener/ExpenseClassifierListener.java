@@ -0,0 +1,56 @@
+package de.dreistrom.expense.listener;
+
+import de.dreistrom.expense.event.ExpenseBatchImported;
+import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.event.ExpenseEntryDeleted;
+import de.dreistrom.expense.event.ExpenseEntryModified;
+import de.dreistrom.expense.service.ExpenseClassifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Retires the user's cached classifier index on every expense write, once
+ * while the write is in flight and again after its transaction completes,
+ * so an index built from the pre-commit rows is not kept.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseClassifierListener {
+
+    private final ExpenseClassifier expenseClassifier;
+
+    @EventListener
+    public void onExpenseCreated(ExpenseEntryCreated event) {
+        invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseModified(ExpenseEntryModified event) {
+        invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseDeleted(ExpenseEntryDeleted event) {
+        invalidate(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseBatchImported(ExpenseBatchImported event) {
+        invalidate(event.getUserId());
+    }
+
+    private void invalidate(Long userId) {
+        expenseClassifier.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    expenseClassifier.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * expense module — listener layer.
+ */
+package de.dreistrom.expense.listener;
@@ -0,0 +1,79 @@
+package de.dreistrom.expense.repository;
+
+import de.dreistrom.expense.domain.DepreciationScheduleEntry;
+import de.dreistrom.expense.domain.DepreciationScheduleEntryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DepreciationScheduleRepository
+        extends JpaRepository<DepreciationScheduleEntry, DepreciationScheduleEntryId> {
+
+    @Modifying
+    @Query(value = "DELETE FROM depreciation_schedule WHERE asset_id = :assetId",
+           nativeQuery = true)
+    int deleteByAssetId(@Param("assetId") Long assetId);
+
+    @Modifying
+    @Query(value = "INSERT INTO depreciation_schedule " +
+                   "(asset_id, tax_year, user_id, afa_cents, closing_book_value_cents) " +
+                   "VALUES (:assetId, :taxYear, :userId, :afaCents, :closingBookValueCents)",
+           nativeQuery = true)
+    int insert(@Param("assetId") Long assetId,
+               @Param("taxYear") int taxYear,
+               @Param("userId") Long userId,
+               @Param("afaCents") long afaCents,
+               @Param("closingBookValueCents") long closingBookValueCents);
+
+    /**
+     * Closing book value at the end of the latest scheduled year up to
+     * {@code taxYear}, or {@code null} if the asset was acquired later.
+     */
+    @Query(value = "SELECT closing_book_value_cents FROM depreciation_schedule " +
+                   "WHERE asset_id = :assetId AND tax_year <= :taxYear " +
+                   "ORDER BY tax_year DESC LIMIT 1",
+           nativeQuery = true)
+    Long findClosingBookValueCents(@Param("assetId") Long assetId,
+                                   @Param("taxYear") int taxYear);
+
+    /**
+     * The year's AfA of all assets of a user, split by the allocation rule of
+     * the linked expense entry. Each asset's share is rounded to the cent
+     * before summing; assets without a rule count towards the total only.
+     */
+    @Query(value = "SELECT " +
+                   "COALESCE(SUM(ROUND(s.afa_cents * r.freiberuf_pct / 100.0)), 0) AS freiberufCents, " +
+                   "COALESCE(SUM(ROUND(s.afa_cents * r.gewerbe_pct / 100.0)), 0) AS gewerbeCents, " +
+                   "COALESCE(SUM(ROUND(s.afa_cents * r.personal_pct / 100.0)), 0) AS personalCents, " +
+                   "COALESCE(SUM(s.afa_cents), 0) AS totalCents " +
+                   "FROM depreciation_schedule s " +
+                   "JOIN depreciation_asset a ON a.id = s.asset_id " +
+                   "LEFT JOIN expense_entry e ON e.id = a.expense_entry_id " +
+                   "LEFT JOIN allocation_rule r ON r.id = e.allocation_rule_id " +
+                   "WHERE s.user_id = :userId AND s.tax_year = :taxYear",
+           nativeQuery = true)
+    StreamAfaTotals sumStreamTotals(@Param("userId") Long userId,
+                                    @Param("taxYear") int taxYear);
+
+    /**
+     * Ids of assets that have no schedule rows yet, e.g. assets created
+     * before the schedule was materialized.
+     */
+    @Query(value = "SELECT a.id FROM depreciation_asset a " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM depreciation_schedule s WHERE s.asset_id = a.id)",
+           nativeQuery = true)
+    List<Long> findUnscheduledAssetIds();
+
+    interface StreamAfaTotals {
+        long getFreiberufCents();
+
+        long getGewerbeCents();
+
+        long getPersonalCents();
+
+        long getTotalCents();
+    }
+}
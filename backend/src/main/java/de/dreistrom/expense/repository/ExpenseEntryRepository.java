@@ -1,12 +1,18 @@
 package de.dreistrom.expense.repository;
 
 import de.dreistrom.expense.domain.ExpenseEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long> {
 
@@ -19,15 +25,37 @@ public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long
     List<ExpenseEntry> findByUserIdAndCategoryAndEntryDateBetween(
             Long userId, String category, LocalDate from, LocalDate to);
 
+    /**
+     * Keyset page ordered by {@code (entryDate DESC, id DESC)}, starting strictly
+     * after the given position. Served from idx_expense_user_date_alloc.
+     */
+    @Query("SELECT e FROM ExpenseEntry e LEFT JOIN FETCH e.allocationRule " +
+           "WHERE e.user.id = :userId " +
+           "AND (e.entryDate < :afterDate OR (e.entryDate = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.entryDate DESC, e.id DESC")
+    List<ExpenseEntry> findPage(@Param("userId") Long userId,
+                                @Param("afterDate") LocalDate afterDate,
+                                @Param("afterId") long afterId,
+                                Limit limit);
+
+    /**
+     * Full history in ledger order for export. Rows are fetched from the
+     * database in chunks; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM ExpenseEntry e LEFT JOIN FETCH e.allocationRule " +
+           "WHERE e.user.id = :userId ORDER BY e.entryDate, e.id")
+    Stream<ExpenseEntry> streamByUserId(@Param("userId") Long userId);
+
     /**
      * Sum allocated Freiberuf expense cents in a date range.
-     * INNER JOIN excludes expenses without an allocation rule.
+     * Expenses without an allocation rule have no share and are excluded.
+     * Served from idx_expense_user_date_alloc without reading table rows.
      */
-    @Query(value = "SELECT SUM(e.amount_cents * ar.freiberuf_pct / 100) " +
-                   "FROM expense_entry e " +
-                   "INNER JOIN allocation_rule ar ON e.allocation_rule_id = ar.id " +
-                   "WHERE e.user_id = :userId " +
-                   "AND e.entry_date BETWEEN :from AND :to",
+    @Query(value = "SELECT SUM(freiberuf_cents) FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "AND entry_date BETWEEN :from AND :to",
            nativeQuery = true)
     Long sumCentsFreiberufByDateRange(@Param("userId") Long userId,
                                      @Param("from") LocalDate from,
@@ -35,13 +63,11 @@ public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long
 
     /**
      * Sum allocated Gewerbe expense cents in a date range.
-     * INNER JOIN excludes expenses without an allocation rule.
+     * Expenses without an allocation rule have no share and are excluded.
      */
-    @Query(value = "SELECT SUM(e.amount_cents * ar.gewerbe_pct / 100) " +
-                   "FROM expense_entry e " +
-                   "INNER JOIN allocation_rule ar ON e.allocation_rule_id = ar.id " +
-                   "WHERE e.user_id = :userId " +
-                   "AND e.entry_date BETWEEN :from AND :to",
+    @Query(value = "SELECT SUM(gewerbe_cents) FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "AND entry_date BETWEEN :from AND :to",
            nativeQuery = true)
     Long sumCentsGewerbeByDateRange(@Param("userId") Long userId,
                                    @Param("from") LocalDate from,
@@ -49,18 +75,71 @@ public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long
 
     /**
      * Sum allocated Personal expense cents in a date range.
-     * INNER JOIN excludes expenses without an allocation rule.
+     * Expenses without an allocation rule have no share and are excluded.
      */
-    @Query(value = "SELECT SUM(e.amount_cents * ar.personal_pct / 100) " +
-                   "FROM expense_entry e " +
-                   "INNER JOIN allocation_rule ar ON e.allocation_rule_id = ar.id " +
-                   "WHERE e.user_id = :userId " +
-                   "AND e.entry_date BETWEEN :from AND :to",
+    @Query(value = "SELECT SUM(personal_cents) FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "AND entry_date BETWEEN :from AND :to",
            nativeQuery = true)
     Long sumCentsPersonalByDateRange(@Param("userId") Long userId,
                                     @Param("from") LocalDate from,
                                     @Param("to") LocalDate to);
 
+    /**
+     * Allocated Freiberuf, Gewerbe and Personal cents plus the gross total in one
+     * pass. Returns a single row {@code [freiberuf, gewerbe, personal, total]};
+     * each column is null when no entries match. Expenses without an allocation
+     * rule count towards the gross total only, matching the per-column queries.
+     */
+    @Query(value = "SELECT SUM(freiberuf_cents), SUM(gewerbe_cents), " +
+                   "SUM(personal_cents), SUM(amount_cents) " +
+                   "FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "AND entry_date BETWEEN :from AND :to",
+           nativeQuery = true)
+    List<Object[]> sumAllocatedCentsByDateRange(@Param("userId") Long userId,
+                                                @Param("from") LocalDate from,
+                                                @Param("to") LocalDate to);
+
+    /**
+     * Re-split every expense of a rule after its percentages changed, with the
+     * same cumulative rounding as {@code ExpenseEntry}. Clears the persistence
+     * context afterwards so already loaded entries cannot write their old split
+     * back on a later flush.
+     *
+     * @param businessPct Freiberuf plus Gewerbe percentage
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE expense_entry SET " +
+                   "freiberuf_cents = ROUND(amount_cents * :freiberufPct / 100.0), " +
+                   "gewerbe_cents = ROUND(amount_cents * :businessPct / 100.0) " +
+                   "- ROUND(amount_cents * :freiberufPct / 100.0), " +
+                   "personal_cents = amount_cents - ROUND(amount_cents * :businessPct / 100.0) " +
+                   "WHERE allocation_rule_id = :ruleId",
+           nativeQuery = true)
+    int reapplyAllocation(@Param("ruleId") Long ruleId,
+                          @Param("freiberufPct") int freiberufPct,
+                          @Param("businessPct") int businessPct);
+
+    /**
+     * Gross expense cents per allocation rule in a date range, one row
+     * {@code [ruleId, freiberufPct, gewerbePct, personalPct, sumCents]} per rule
+     * with entries. {@code sumCents × pct / 100} summed over the rules gives the
+     * allocated totals of {@link #sumAllocatedCentsByDateRange} up to the
+     * per-entry rounding.
+     */
+    @Query(value = "SELECT ar.id, ar.freiberuf_pct, ar.gewerbe_pct, ar.personal_pct, " +
+                   "SUM(e.amount_cents) " +
+                   "FROM expense_entry e " +
+                   "JOIN allocation_rule ar ON e.allocation_rule_id = ar.id " +
+                   "WHERE e.user_id = :userId " +
+                   "AND e.entry_date BETWEEN :from AND :to " +
+                   "GROUP BY ar.id, ar.freiberuf_pct, ar.gewerbe_pct, ar.personal_pct",
+           nativeQuery = true)
+    List<Object[]> sumCentsByAllocationRule(@Param("userId") Long userId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
     /**
      * Sum total gross expense cents in a date range (no allocation JOIN).
      */
@@ -71,4 +150,32 @@ public interface ExpenseEntryRepository extends JpaRepository<ExpenseEntry, Long
     Long sumCentsByDateRange(@Param("userId") Long userId,
                              @Param("from") LocalDate from,
                              @Param("to") LocalDate to);
+
+    /**
+     * Distinct booking patterns of a user, one row
+     * {@code [description, category, allocationRuleId, count]} per combination.
+     * Feeds the per-user index of {@code ExpenseClassifier}.
+     */
+    @Query(value = "SELECT description, category, allocation_rule_id, COUNT(*) " +
+                   "FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "GROUP BY description, category, allocation_rule_id",
+           nativeQuery = true)
+    List<Object[]> countBookingPatterns(@Param("userId") Long userId);
+
+    /**
+     * Per-month allocated expenses for a user across all years, one row
+     * {@code [year, month, freiberuf, gewerbe, personal, total]} per month with
+     * entries, summed from the stored per-entry split.
+     */
+    @Query(value = "SELECT YEAR(entry_date), MONTH(entry_date), " +
+                   "COALESCE(SUM(freiberuf_cents), 0), " +
+                   "COALESCE(SUM(gewerbe_cents), 0), " +
+                   "COALESCE(SUM(personal_cents), 0), " +
+                   "SUM(amount_cents) " +
+                   "FROM expense_entry " +
+                   "WHERE user_id = :userId " +
+                   "GROUP BY YEAR(entry_date), MONTH(entry_date)",
+           nativeQuery = true)
+    List<Object[]> sumAllocatedCentsByMonth(@Param("userId") Long userId);
 }
@@ -7,6 +7,7 @@ import de.dreistrom.expense.domain.AllocationRule;
 import de.dreistrom.expense.event.AllocationRuleCreated;
 import de.dreistrom.expense.event.AllocationRuleModified;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ import java.util.List;
 public class AllocationRuleService {
 
     private final AllocationRuleRepository allocationRuleRepository;
+    private final ExpenseEntryRepository expenseEntryRepository;
     private final AuditLogService auditLogService;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -47,9 +49,13 @@ public class AllocationRuleService {
         short beforePersonal = rule.getPersonalPct();
 
         rule.update(name, freiberufPct, gewerbePct, personalPct);
+        if (beforeFreiberuf != freiberufPct || beforeGewerbe != gewerbePct
+                || beforePersonal != personalPct) {
+            expenseEntryRepository.reapplyAllocation(ruleId, freiberufPct, freiberufPct + gewerbePct);
+        }
 
         AllocationRuleModified event = new AllocationRuleModified(
-                ruleId, beforeName, name,
+                ruleId, userId, beforeName, name,
                 beforeFreiberuf, freiberufPct,
                 beforeGewerbe, gewerbePct,
                 beforePersonal, personalPct);
@@ -2,11 +2,14 @@ package de.dreistrom.expense.service;
 
 import de.dreistrom.audit.service.AuditLogService;
 import de.dreistrom.common.controller.EntityNotFoundException;
-import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.expense.domain.DepreciationAsset;
-import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.event.DepreciationAssetDisposed;
 import de.dreistrom.expense.repository.DepreciationAssetRepository;
+import de.dreistrom.expense.repository.DepreciationScheduleRepository;
+import de.dreistrom.expense.repository.DepreciationScheduleRepository.StreamAfaTotals;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,7 +24,9 @@ import java.util.List;
 public class DepreciationService {
 
     private final DepreciationAssetRepository depreciationAssetRepository;
+    private final DepreciationScheduleRepository depreciationScheduleRepository;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Compute depreciation for a specific calendar year using linear method
@@ -81,22 +86,21 @@ public class DepreciationService {
     }
 
     /**
-     * Compute remaining book value as of a given date.
+     * Remaining book value as of a given date, read from the materialized
+     * schedule: the closing value of the latest scheduled year up to the
+     * date's year.
      */
+    @Transactional(readOnly = true)
     public BigDecimal computeRemainingBookValue(DepreciationAsset asset, LocalDate asOfDate) {
         if (asset.isDisposed() && !asOfDate.isBefore(asset.getDisposalDate())) {
             return BigDecimal.ZERO;
         }
 
-        int acquisitionYear = asset.getAcquisitionDate().getYear();
-        int asOfYear = asOfDate.getYear();
-
-        BigDecimal totalDepreciated = BigDecimal.ZERO;
-        for (int year = acquisitionYear; year <= asOfYear; year++) {
-            totalDepreciated = totalDepreciated.add(computeDepreciationForYear(asset, year));
-        }
-
-        BigDecimal remaining = asset.getNetCost().subtract(totalDepreciated);
+        Long closingCents = depreciationScheduleRepository.findClosingBookValueCents(
+                asset.getId(), asOfDate.getYear());
+        BigDecimal remaining = closingCents != null
+                ? Money.ofCents(closingCents).toEuros()
+                : asset.getNetCost();
         return remaining.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP);
     }
 
@@ -146,9 +150,40 @@ public class DepreciationService {
         }
 
         asset.dispose(disposalDate);
+        materializeSchedule(asset);
+        eventPublisher.publishEvent(new DepreciationAssetDisposed(asset));
         return asset;
     }
 
+    /**
+     * Rewrite the asset's rows in depreciation_schedule from
+     * {@link #computeSchedule}. Called whenever an asset is created or disposed.
+     */
+    @Transactional
+    public void materializeSchedule(DepreciationAsset asset) {
+        depreciationScheduleRepository.deleteByAssetId(asset.getId());
+        Long userId = asset.getUser().getId();
+        for (DepreciationYearEntry entry : computeSchedule(asset)) {
+            depreciationScheduleRepository.insert(asset.getId(), entry.year(), userId,
+                    Money.ofEuros(entry.depreciation()).cents(),
+                    Money.ofEuros(entry.remainingBookValue()).cents());
+        }
+    }
+
+    /**
+     * Materialize the schedule of every asset that has none yet.
+     *
+     * @return number of assets scheduled
+     */
+    @Transactional
+    public int materializeMissingSchedules() {
+        List<Long> assetIds = depreciationScheduleRepository.findUnscheduledAssetIds();
+        for (DepreciationAsset asset : depreciationAssetRepository.findAllById(assetIds)) {
+            materializeSchedule(asset);
+        }
+        return assetIds.size();
+    }
+
     /**
      * Compute total depreciation per stream for a given year.
      * Uses allocation_rule from the linked expense_entry to split depreciation.
@@ -156,41 +191,12 @@ public class DepreciationService {
      */
     @Transactional(readOnly = true)
     public StreamDepreciationSummary computeStreamTotalsForYear(Long userId, int year) {
-        List<DepreciationAsset> assets = depreciationAssetRepository.findByUserId(userId);
-
-        BigDecimal freiberuf = BigDecimal.ZERO;
-        BigDecimal gewerbe = BigDecimal.ZERO;
-        BigDecimal personal = BigDecimal.ZERO;
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (DepreciationAsset asset : assets) {
-            BigDecimal yearDepreciation = computeDepreciationForYear(asset, year);
-            if (yearDepreciation.signum() == 0) {
-                continue;
-            }
-
-            total = total.add(yearDepreciation);
-
-            ExpenseEntry expense = asset.getExpenseEntry();
-            AllocationRule rule = expense != null ? expense.getAllocationRule() : null;
-            if (rule != null) {
-                freiberuf = freiberuf.add(yearDepreciation
-                        .multiply(new BigDecimal(rule.getFreiberufPct()))
-                        .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
-                gewerbe = gewerbe.add(yearDepreciation
-                        .multiply(new BigDecimal(rule.getGewerbePct()))
-                        .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
-                personal = personal.add(yearDepreciation
-                        .multiply(new BigDecimal(rule.getPersonalPct()))
-                        .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
-            }
-        }
-
+        StreamAfaTotals totals = depreciationScheduleRepository.sumStreamTotals(userId, year);
         return new StreamDepreciationSummary(
-                freiberuf.setScale(2, RoundingMode.HALF_UP),
-                gewerbe.setScale(2, RoundingMode.HALF_UP),
-                personal.setScale(2, RoundingMode.HALF_UP),
-                total.setScale(2, RoundingMode.HALF_UP));
+                Money.ofCents(totals.getFreiberufCents()).toEuros(),
+                Money.ofCents(totals.getGewerbeCents()).toEuros(),
+                Money.ofCents(totals.getPersonalCents()).toEuros(),
+                Money.ofCents(totals.getTotalCents()).toEuros());
     }
 
     @Transactional(readOnly = true)
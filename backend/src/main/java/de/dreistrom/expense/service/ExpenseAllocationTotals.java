@@ -0,0 +1,34 @@
+package de.dreistrom.expense.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+
+/**
+ * Allocated expense cents per stream plus the gross total for a date range.
+ * Expenses without an allocation rule only count towards {@code totalCents}.
+ */
+public record ExpenseAllocationTotals(
+        long freiberufCents,
+        long gewerbeCents,
+        long personalCents,
+        long totalCents
+) {
+
+    public static final ExpenseAllocationTotals EMPTY = new ExpenseAllocationTotals(0L, 0L, 0L, 0L);
+
+    /** Business share: FREIBERUF + GEWERBE. */
+    public long businessCents() {
+        return freiberufCents + gewerbeCents;
+    }
+
+    /**
+     * Allocated cents for a self-employed stream. Employment has no allocation
+     * column and yields 0.
+     */
+    public long centsFor(IncomeStream stream) {
+        return switch (stream) {
+            case EMPLOYMENT -> 0L;
+            case FREIBERUF -> freiberufCents;
+            case GEWERBE -> gewerbeCents;
+        };
+    }
+}
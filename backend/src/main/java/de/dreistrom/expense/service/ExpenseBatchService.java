@@ -0,0 +1,154 @@
+package de.dreistrom.expense.service;
+
+import de.dreistrom.audit.service.AuditLogService;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.MoneyConverter;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.dto.CreateExpenseEntryRequest;
+import de.dreistrom.expense.event.ExpenseBatchImported;
+import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk insert of expense entries for imports.
+ * <p>
+ * Rows are written with JDBC batching; the per-stream shares are computed by
+ * {@link ExpenseEntry} itself so they match single-entry writes. The
+ * {@code EXPENSE_ENTRY_CREATED} audit events are written in one batch and a
+ * single {@link ExpenseBatchImported} is published instead of a created event
+ * per row. Unlike {@link ExpenseService#create}, no depreciation asset is
+ * created for amounts above the GWG threshold; imported lines are reviewed
+ * by the user first.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseBatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO expense_entry (user_id, amount_cents, currency, category, entry_date, "
+            + "allocation_rule_id, receipt_doc_id, description, freiberuf_cents, gewerbe_cents, "
+            + "personal_cents, created_at, updated_at) "
+            + "VALUES (?, ?, 'EUR', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+    private static final MoneyConverter MONEY = new MoneyConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AllocationRuleRepository allocationRuleRepository;
+    private final ExpenseService expenseService;
+    private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    /**
+     * Insert already validated entries for a user.
+     *
+     * @return generated ids in the order of {@code requests}
+     * @throws IllegalArgumentException if an allocation rule is not the user's
+     */
+    @Transactional
+    public List<Long> importEntries(Long userId, List<CreateExpenseEntryRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        AppUser user = entityManager.getReference(AppUser.class, userId);
+        Map<Long, AllocationRule> rules = allocationRuleRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(AllocationRule::getId, Function.identity()));
+
+        List<ExpenseEntry> entries = new ArrayList<>(requests.size());
+        for (CreateExpenseEntryRequest r : requests) {
+            AllocationRule rule = null;
+            if (r.allocationRuleId() != null) {
+                rule = rules.get(r.allocationRuleId());
+                if (rule == null) {
+                    throw new IllegalArgumentException("Allocation rule not found: " + r.allocationRuleId());
+                }
+            }
+            entries.add(new ExpenseEntry(user, r.amount(), r.category(), r.entryDate(),
+                    rule, r.receiptDocId(), r.description()));
+        }
+
+        List<Long> ids = insert(userId, entries);
+
+        List<ExpenseEntryCreated> events = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            ExpenseEntry e = entries.get(i);
+            events.add(new ExpenseEntryCreated(ids.get(i), userId, e.getAmount(), e.getCategory(),
+                    e.getEntryDate(), requests.get(i).allocationRuleId(), e.getAllocatedCents(),
+                    expenseService.isGwg(e.getAmount())));
+        }
+        auditLogService.persistAll(events);
+        eventPublisher.publishEvent(new ExpenseBatchImported(userId, events));
+
+        log.info("Batch expense import: userId={}, created={}", userId, ids.size());
+        return ids;
+    }
+
+    private List<Long> insert(Long userId, List<ExpenseEntry> entries) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Long> ids = new ArrayList<>(entries.size());
+
+        for (int from = 0; from < entries.size(); from += BATCH_SIZE) {
+            List<ExpenseEntry> chunk = entries.subList(from, Math.min(from + BATCH_SIZE, entries.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ExpenseEntry e = chunk.get(i);
+                            ps.setLong(1, userId);
+                            ps.setLong(2, MONEY.convertToDatabaseColumn(e.getAmount()));
+                            ps.setString(3, e.getCategory());
+                            ps.setObject(4, e.getEntryDate());
+                            ps.setObject(5, e.getAllocationRule() != null
+                                    ? e.getAllocationRule().getId() : null, Types.BIGINT);
+                            ps.setObject(6, e.getReceiptDocId(), Types.BIGINT);
+                            ps.setString(7, e.getDescription());
+                            ps.setObject(8, e.getFreiberufCents(), Types.BIGINT);
+                            ps.setObject(9, e.getGewerbeCents(), Types.BIGINT);
+                            ps.setObject(10, e.getPersonalCents(), Types.BIGINT);
+                            ps.setTimestamp(11, now);
+                            ps.setTimestamp(12, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+
+        if (ids.size() != entries.size()) {
+            throw new IllegalStateException("Expected " + entries.size()
+                    + " generated keys, got " + ids.size());
+        }
+        return ids;
+    }
+}
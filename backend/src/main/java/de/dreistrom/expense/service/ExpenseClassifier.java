@@ -0,0 +1,137 @@
+package de.dreistrom.expense.service;
+
+import de.dreistrom.expense.dto.ExpenseSuggestion;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Suggests category and allocation rule for a new expense from the user's
+ * own booking history.
+ * <p>
+ * Each user's history is compiled into an {@link ExpenseClassifierIndex} on
+ * first use and kept in memory for the {@code dreistrom.expense.classifier.max-users}
+ * most recently active users. Each cached user carries a history version;
+ * expense writes bump it (see {@code ExpenseClassifierListener}) and the next
+ * suggestion rebuilds the index. Evicting a user drops the version with it.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExpenseClassifier {
+
+    /**
+     * Category of imported expenses that had no confident suggestion. Such
+     * entries are left out of the index so they are never suggested.
+     */
+    public static final String UNCLASSIFIED_CATEGORY = "Unkategorisiert";
+
+    private final ExpenseEntryRepository expenseEntryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dreistrom.expense.classifier.max-users:1000}")
+    private int maxUsers;
+
+    @Value("${dreistrom.expense.classifier.min-confidence:0.35}")
+    private double minConfidence;
+
+    /** Access-ordered, so the eldest entry is the least recently used user. */
+    private final Map<Long, Slot> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Slot> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    private Timer suggestTimer;
+    private Timer buildTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("dreistrom.expense.classifier.cached.users", this, c -> c.cachedUsers())
+                .description("Users with a classifier index in memory")
+                .register(meterRegistry);
+        suggestTimer = Timer.builder("dreistrom.expense.classifier.suggest")
+                .description("Time to answer a suggestion from a cached index")
+                .register(meterRegistry);
+        buildTimer = Timer.builder("dreistrom.expense.classifier.build")
+                .description("Time to load a user's history and build the index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Suggestion for an expense described by {@code text}, or empty if no past
+     * booking is similar enough.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExpenseSuggestion> suggest(Long userId, String text) {
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        ExpenseClassifierIndex index = index(userId);
+        return suggestTimer.record(() -> index.suggest(text, minConfidence));
+    }
+
+    /**
+     * Mark the user's history as changed; the cached index is rebuilt on the
+     * next suggestion.
+     */
+    public void invalidate(Long userId) {
+        Slot slot;
+        synchronized (indexes) {
+            slot = indexes.get(userId);
+        }
+        // Users without a slot have nothing cached and nothing being built
+        if (slot != null) {
+            slot.version.incrementAndGet();
+        }
+    }
+
+    private ExpenseClassifierIndex index(Long userId) {
+        Slot slot;
+        synchronized (indexes) {
+            slot = indexes.computeIfAbsent(userId, id -> new Slot());
+        }
+        long version = slot.version.get();
+        CachedIndex cached = slot.cached.get();
+        if (cached != null && cached.version() == version) {
+            return cached.index();
+        }
+
+        // Built outside the lock; a write landing meanwhile bumps the slot's
+        // version past the one stored here, so the next call rebuilds
+        ExpenseClassifierIndex index = buildTimer.record(() -> ExpenseClassifierIndex.build(
+                expenseEntryRepository.countBookingPatterns(userId).stream()
+                        .filter(row -> !UNCLASSIFIED_CATEGORY.equals(row[1]))
+                        .toList()));
+        // Never let a slower, older build replace a newer one
+        slot.cached.accumulateAndGet(new CachedIndex(version, index),
+                (old, fresh) -> old != null && old.version() > fresh.version() ? old : fresh);
+        return index;
+    }
+
+    private int cachedUsers() {
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+    /** Cache entry of one user: history version plus the last built index. */
+    private static final class Slot {
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicReference<CachedIndex> cached = new AtomicReference<>();
+    }
+
+    private record CachedIndex(long version, ExpenseClassifierIndex index) {}
+}
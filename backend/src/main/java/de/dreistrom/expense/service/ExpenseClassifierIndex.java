@@ -0,0 +1,157 @@
+package de.dreistrom.expense.service;
+
+import de.dreistrom.expense.dto.ExpenseSuggestion;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable inverted index over one user's booking patterns.
+ * <p>
+ * A pattern is a distinct (description, category, allocation rule)
+ * combination. Its text is broken into word tokens and padded character
+ * trigrams, so "AWS Rechnung 03/2024" still matches "aws-rechnung april".
+ * Digits are dropped because invoice numbers and months only add noise.
+ * A query is scored against every pattern sharing a feature with it by the
+ * IDF-weighted Dice coefficient of the two feature sets.
+ */
+final class ExpenseClassifierIndex {
+
+    private final String[] categories;
+    private final Long[] ruleIds;
+    private final long[] counts;
+    /** Sum of feature weights per pattern, the Dice denominator. */
+    private final float[] weights;
+    private final Map<String, Posting> postings;
+
+    private ExpenseClassifierIndex(String[] categories, Long[] ruleIds, long[] counts,
+                                   float[] weights, Map<String, Posting> postings) {
+        this.categories = categories;
+        this.ruleIds = ruleIds;
+        this.counts = counts;
+        this.weights = weights;
+        this.postings = postings;
+    }
+
+    /**
+     * @param rows {@code [description, category, allocationRuleId, count]} as
+     *             returned by {@code ExpenseEntryRepository.countBookingPatterns}
+     */
+    static ExpenseClassifierIndex build(List<Object[]> rows) {
+        int n = rows.size();
+        String[] categories = new String[n];
+        Long[] ruleIds = new Long[n];
+        long[] counts = new long[n];
+        Map<String, List<Integer>> docsByFeature = new HashMap<>();
+        List<Set<String>> featuresByDoc = new ArrayList<>(n);
+
+        for (int doc = 0; doc < n; doc++) {
+            Object[] row = rows.get(doc);
+            categories[doc] = (String) row[1];
+            ruleIds[doc] = row[2] != null ? ((Number) row[2]).longValue() : null;
+            counts[doc] = ((Number) row[3]).longValue();
+
+            String text = row[0] != null ? row[0] + " " + categories[doc] : categories[doc];
+            Set<String> features = features(text);
+            featuresByDoc.add(features);
+            for (String feature : features) {
+                docsByFeature.computeIfAbsent(feature, f -> new ArrayList<>()).add(doc);
+            }
+        }
+
+        Map<String, Posting> postings = new HashMap<>(docsByFeature.size() * 4 / 3 + 1);
+        docsByFeature.forEach((feature, docs) -> postings.put(feature, new Posting(
+                idf(n, docs.size()), docs.stream().mapToInt(Integer::intValue).toArray())));
+
+        float[] weights = new float[n];
+        for (int doc = 0; doc < n; doc++) {
+            for (String feature : featuresByDoc.get(doc)) {
+                weights[doc] += postings.get(feature).idf();
+            }
+        }
+        return new ExpenseClassifierIndex(categories, ruleIds, counts, weights, postings);
+    }
+
+    int size() {
+        return categories.length;
+    }
+
+    /**
+     * Best matching category and rule, or empty if no pattern reaches
+     * {@code minConfidence}. Among equally similar patterns the one booked
+     * more often wins.
+     */
+    Optional<ExpenseSuggestion> suggest(String text, double minConfidence) {
+        Set<String> features = features(text);
+        float[] shared = new float[categories.length];
+        float queryWeight = 0;
+        for (String feature : features) {
+            Posting posting = postings.get(feature);
+            if (posting == null) {
+                // Unknown features count with the weight of the rarest known one
+                queryWeight += idf(categories.length, 1);
+                continue;
+            }
+            queryWeight += posting.idf();
+            for (int doc : posting.docs()) {
+                shared[doc] += posting.idf();
+            }
+        }
+
+        int best = -1;
+        double bestScore = 0;
+        for (int doc = 0; doc < shared.length; doc++) {
+            if (shared[doc] == 0) {
+                continue;
+            }
+            double score = 2 * shared[doc] / (queryWeight + weights[doc]);
+            if (score > bestScore || (score == bestScore && counts[doc] > counts[best])) {
+                best = doc;
+                bestScore = score;
+            }
+        }
+        if (best < 0 || bestScore < minConfidence) {
+            return Optional.empty();
+        }
+
+        long matched = 0;
+        for (int doc = 0; doc < categories.length; doc++) {
+            if (categories[doc].equals(categories[best]) && Objects.equals(ruleIds[doc], ruleIds[best])) {
+                matched += counts[doc];
+            }
+        }
+        return Optional.of(new ExpenseSuggestion(categories[best], ruleIds[best],
+                Math.min(1.0, bestScore), matched));
+    }
+
+    static Set<String> features(String text) {
+        Set<String> features = new LinkedHashSet<>();
+        if (text == null) {
+            return features;
+        }
+        for (String word : text.toLowerCase(Locale.GERMAN).split("[^\\p{L}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            features.add("w:" + word);
+            String padded = " " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                features.add(padded.substring(i, i + 3));
+            }
+        }
+        return features;
+    }
+
+    private static float idf(int docs, int docFrequency) {
+        return (float) Math.log(1 + (double) docs / docFrequency);
+    }
+
+    private record Posting(float idf, int[] docs) {}
+}
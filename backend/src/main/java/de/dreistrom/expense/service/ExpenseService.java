@@ -3,17 +3,22 @@ package de.dreistrom.expense.service;
 import de.dreistrom.audit.service.AuditLogService;
 import de.dreistrom.common.controller.EntityNotFoundException;
 import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.dto.CursorPage;
+import de.dreistrom.common.dto.KeysetCursor;
+import de.dreistrom.expense.domain.AllocatedCents;
 import de.dreistrom.expense.domain.AllocationRule;
 import de.dreistrom.expense.domain.DepreciationAsset;
 import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.event.DepreciationAssetCreated;
 import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.event.ExpenseEntryDeleted;
 import de.dreistrom.expense.event.ExpenseEntryModified;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
 import de.dreistrom.expense.repository.DepreciationAssetRepository;
 import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +40,7 @@ public class ExpenseService {
     private final ExpenseEntryRepository expenseEntryRepository;
     private final AllocationRuleRepository allocationRuleRepository;
     private final DepreciationAssetRepository depreciationAssetRepository;
+    private final DepreciationService depreciationService;
     private final AuditLogService auditLogService;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -73,13 +79,17 @@ public class ExpenseService {
         BigDecimal beforeAmount = entry.getAmount();
         String beforeCategory = entry.getCategory();
         LocalDate beforeDate = entry.getEntryDate();
+        Long beforeRuleId = entry.getAllocationRule() != null
+                ? entry.getAllocationRule().getId() : null;
+        AllocatedCents beforeAllocated = entry.getAllocatedCents();
 
         AllocationRule rule = resolveAllocationRule(allocationRuleId, userId);
         entry.update(amount, category, entryDate, rule, receiptDocId, description);
 
         ExpenseEntryModified modifiedEvent = new ExpenseEntryModified(
-                entryId, beforeAmount, amount, beforeCategory, category,
-                beforeDate, entryDate);
+                entryId, userId, beforeAmount, amount, beforeCategory, category,
+                beforeDate, entryDate, beforeRuleId, allocationRuleId,
+                beforeAllocated, entry.getAllocatedCents());
         auditLogService.persist(modifiedEvent);
         eventPublisher.publishEvent(modifiedEvent);
 
@@ -96,6 +106,19 @@ public class ExpenseService {
         return expenseEntryRepository.findByUserId(userId);
     }
 
+    /**
+     * Newest-first page of a user's expense entries. {@code cursor} is the
+     * {@code next} value of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseEntry> listPage(Long userId, String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<ExpenseEntry> rows = expenseEntryRepository.findPage(
+                userId, after.date(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, e -> new KeysetCursor(e.getEntryDate(), e.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<ExpenseEntry> listByCategory(Long userId, String category) {
         return expenseEntryRepository.findByUserIdAndCategory(userId, category);
@@ -117,6 +140,7 @@ public class ExpenseService {
     public void delete(Long entryId, Long userId) {
         ExpenseEntry entry = getOwnedEntry(entryId, userId);
         expenseEntryRepository.delete(entry);
+        eventPublisher.publishEvent(new ExpenseEntryDeleted(entry));
     }
 
     /**
@@ -141,6 +165,7 @@ public class ExpenseService {
         DepreciationAsset asset = new DepreciationAsset(user, name, acquisitionDate,
                 netCost, usefulLifeMonths, annualAfa, expenseEntry);
         DepreciationAsset saved = depreciationAssetRepository.save(asset);
+        depreciationService.materializeSchedule(saved);
 
         DepreciationAssetCreated event = new DepreciationAssetCreated(saved);
         auditLogService.persist(event);
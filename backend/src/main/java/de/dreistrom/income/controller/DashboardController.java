@@ -1,5 +1,7 @@
 package de.dreistrom.income.controller;
 
+import de.dreistrom.bookkeeping.dto.TimeseriesResponse;
+import de.dreistrom.bookkeeping.service.MonthlyRollupService;
 import de.dreistrom.common.service.AppUserDetails;
 import de.dreistrom.income.dto.AbfaerbungStatusResponse;
 import de.dreistrom.income.dto.ArbZGResponse;
@@ -18,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -35,6 +38,7 @@ public class DashboardController {
     private final GewerbesteuerThresholdService gewerbesteuerThresholdService;
     private final MandatoryFilingService mandatoryFilingService;
     private final ArbZGService arbZGService;
+    private final MonthlyRollupService monthlyRollupService;
     private final UnifiedSseEmitterService sseEmitterService;
 
     @GetMapping("/abfaerbung")
@@ -82,6 +86,31 @@ public class DashboardController {
                 arbZGService.getStatus(userDetails.getId(), effectiveYear));
     }
 
+    @GetMapping("/timeseries")
+    @Operation(summary = "Get monthly income, allocated expenses and VAT for a range of years",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One entry per month, oldest first"),
+                    @ApiResponse(responseCode = "400", description = "Invalid year range")
+            })
+    public ResponseEntity<TimeseriesResponse> getTimeseries(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(required = false) Integer fromYear,
+            @RequestParam(required = false) Integer toYear) {
+        int effectiveTo = toYear != null ? toYear : LocalDate.now().getYear();
+        int effectiveFrom = fromYear != null ? fromYear : effectiveTo - 2;
+        return ResponseEntity.ok(
+                monthlyRollupService.timeseries(userDetails.getId(), effectiveFrom, effectiveTo));
+    }
+
+    @PostMapping("/timeseries/rebuild")
+    @Operation(summary = "Recompute the monthly rollup from all income, expense and invoice rows",
+            responses = @ApiResponse(responseCode = "204", description = "Rollup rebuilt"))
+    public ResponseEntity<Void> rebuildTimeseries(
+            @AuthenticationPrincipal AppUserDetails userDetails) {
+        monthlyRollupService.rebuild(userDetails.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @Operation(summary = "Subscribe to dashboard events via SSE",
             responses = @ApiResponse(responseCode = "200", description = "SSE event stream"))
@@ -4,14 +4,17 @@ import de.dreistrom.common.Idempotent;
 import de.dreistrom.common.controller.EntityNotFoundException;
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.dto.CursorPage;
 import de.dreistrom.common.service.AppUserDetails;
 import de.dreistrom.income.domain.Client;
 import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.dto.CreateIncomeEntryRequest;
+import de.dreistrom.income.dto.IncomeBatchResult;
 import de.dreistrom.income.dto.IncomeEntryResponse;
 import de.dreistrom.income.dto.UpdateIncomeEntryRequest;
 import de.dreistrom.income.mapper.IncomeEntryMapper;
 import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.service.IncomeBatchService;
 import de.dreistrom.income.service.IncomeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.headers.Header;
@@ -20,6 +23,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -43,6 +47,7 @@ import java.util.List;
 public class IncomeController {
 
     private final IncomeService incomeService;
+    private final IncomeBatchService incomeBatchService;
     private final IncomeEntryMapper incomeEntryMapper;
     private final ClientRepository clientRepository;
     private final EntityManager entityManager;
@@ -74,6 +79,40 @@ public class IncomeController {
                 .body(response);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Idempotent
+    @Operation(operationId = "createIncomeEntriesBatch",
+            summary = "Create many income entries from a JSON array",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed; see per-row errors"),
+                    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+            })
+    public ResponseEntity<IncomeBatchResult> createBatch(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean abortOnError,
+            @RequestBody List<CreateIncomeEntryRequest> requests) {
+
+        return ResponseEntity.ok(
+                incomeBatchService.importJson(userDetails.getId(), requests, abortOnError));
+    }
+
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    @Idempotent
+    @Operation(operationId = "createIncomeEntriesBatchCsv",
+            summary = "Create many income entries from CSV (streamType, amount, entryDate, source, clientId, description)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed; see per-row errors"),
+                    @ApiResponse(responseCode = "400", description = "Malformed CSV, empty or oversized batch")
+            })
+    public ResponseEntity<IncomeBatchResult> createBatchCsv(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean abortOnError,
+            @RequestBody String csvContent) {
+
+        return ResponseEntity.ok(
+                incomeBatchService.importCsv(userDetails.getId(), csvContent, abortOnError));
+    }
+
     @GetMapping
     @Operation(operationId = "listIncomeEntries", summary = "List income entries with optional filters",
             responses = @ApiResponse(responseCode = "200", description = "List of income entries"))
@@ -99,6 +138,24 @@ public class IncomeController {
         return ResponseEntity.ok(incomeEntryMapper.toResponseList(entries));
     }
 
+    @GetMapping("/page")
+    @Operation(operationId = "listIncomeEntriesPage",
+            summary = "List income entries newest first, one keyset page at a time",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of income entries with next cursor"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+            })
+    public ResponseEntity<CursorPage<IncomeEntryResponse>> listPage(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(required = false) IncomeStream streamType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(incomeService
+                .listPage(userDetails.getId(), streamType, cursor, limit)
+                .map(incomeEntryMapper::toResponse));
+    }
+
     @GetMapping("/{id}")
     @Operation(operationId = "getIncomeEntry", summary = "Get an income entry by ID",
             responses = {
@@ -0,0 +1,47 @@
+package de.dreistrom.income.domain;
+
+import de.dreistrom.common.domain.IncomeStream;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Incrementally maintained income total per user, tax year and stream.
+ * Composite PK: (user_id, tax_year, stream_type).
+ * <p>
+ * Rows are written exclusively through atomic delta upserts in
+ * {@link de.dreistrom.income.repository.IncomeYearTotalRepository} from the
+ * same transaction that mutates the underlying income_entry rows.
+ */
+@Entity
+@Table(name = "income_year_totals")
+@IdClass(IncomeYearTotalId.class)
+@Getter
+@NoArgsConstructor
+public class IncomeYearTotal {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stream_type", nullable = false)
+    private IncomeStream streamType;
+
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    @Column(name = "entry_count", nullable = false)
+    private int entryCount;
+
+    @Column(name = "updated_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant updatedAt;
+}
@@ -0,0 +1,39 @@
+package de.dreistrom.income.domain;
+
+import de.dreistrom.common.domain.IncomeStream;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for income_year_totals table.
+ */
+public class IncomeYearTotalId implements Serializable {
+
+    private Long userId;
+    private int taxYear;
+    private IncomeStream streamType;
+
+    public IncomeYearTotalId() {}
+
+    public IncomeYearTotalId(Long userId, int taxYear, IncomeStream streamType) {
+        this.userId = userId;
+        this.taxYear = taxYear;
+        this.streamType = streamType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IncomeYearTotalId that = (IncomeYearTotalId) o;
+        return taxYear == that.taxYear
+                && Objects.equals(userId, that.userId)
+                && streamType == that.streamType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, taxYear, streamType);
+    }
+}
@@ -0,0 +1,12 @@
+package de.dreistrom.income.dto;
+
+import java.util.Map;
+
+/**
+ * Combined {@code dashboard-update} SSE payload: only the tiles that changed
+ * since the last push, keyed by tile name (e.g. "abfaerbung", "feature-flags").
+ */
+public record DashboardUpdate(
+        int year,
+        Map<String, Object> tiles
+) {}
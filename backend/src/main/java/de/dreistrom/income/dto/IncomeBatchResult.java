@@ -0,0 +1,18 @@
+package de.dreistrom.income.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch income import. {@code row} in each error is 1-based and
+ * refers to the position in the submitted JSON array or the CSV data rows
+ * (header excluded).
+ */
+public record IncomeBatchResult(
+        int received,
+        int created,
+        int failed,
+        boolean aborted,
+        List<RowError> errors
+) {
+    public record RowError(int row, String message) {}
+}
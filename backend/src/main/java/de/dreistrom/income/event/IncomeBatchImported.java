@@ -0,0 +1,33 @@
+package de.dreistrom.income.event;
+
+import de.dreistrom.common.domain.IncomeStream;
+import lombok.Getter;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published once per committed batch import in place of one
+ * {@link IncomeEntryCreated} per row, so downstream evaluation runs once per
+ * affected year. The per-row created events are still written to the audit log.
+ * {@code centsByMonth} carries the imported amounts per calendar month and
+ * stream for monthly projections.
+ */
+@Getter
+public class IncomeBatchImported {
+
+    private final Long userId;
+    private final Map<Integer, Set<IncomeStream>> streamsByYear;
+    private final Map<YearMonth, Map<IncomeStream, Long>> centsByMonth;
+    private final int entryCount;
+
+    public IncomeBatchImported(Long userId, Map<Integer, Set<IncomeStream>> streamsByYear,
+                               Map<YearMonth, Map<IncomeStream, Long>> centsByMonth,
+                               int entryCount) {
+        this.userId = userId;
+        this.streamsByYear = Map.copyOf(streamsByYear);
+        this.centsByMonth = Map.copyOf(centsByMonth);
+        this.entryCount = entryCount;
+    }
+}
@@ -4,33 +4,52 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
+import de.dreistrom.common.domain.IncomeStream;
 import de.dreistrom.income.domain.IncomeEntry;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@Getter
 public class IncomeEntryCreated extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
-    private final String streamType;
+    private final Long userId;
+    private final IncomeStream streamType;
     private final BigDecimal amount;
     private final LocalDate entryDate;
     private final String source;
 
     public IncomeEntryCreated(IncomeEntry entry) {
         super("IncomeEntry", entry.getId(), "INCOME_ENTRY_CREATED");
-        this.streamType = entry.getStreamType().name();
+        this.userId = entry.getUser().getId();
+        this.streamType = entry.getStreamType();
         this.amount = entry.getAmount();
         this.entryDate = entry.getEntryDate();
         this.source = entry.getSource();
     }
 
+    /**
+     * For entries inserted outside the persistence context (batch import),
+     * where no managed {@link IncomeEntry} exists.
+     */
+    public IncomeEntryCreated(Long entryId, Long userId, IncomeStream streamType,
+                              BigDecimal amount, LocalDate entryDate, String source) {
+        super("IncomeEntry", entryId, "INCOME_ENTRY_CREATED");
+        this.userId = userId;
+        this.streamType = streamType;
+        this.amount = amount;
+        this.entryDate = entryDate;
+        this.source = source;
+    }
+
     @Override
     public String toJsonPayload() {
         try {
             ObjectNode node = MAPPER.createObjectNode();
-            node.put("streamType", streamType);
+            node.put("streamType", streamType.name());
             node.put("amount", amount.toPlainString());
             node.put("entryDate", entryDate.toString());
             if (source != null) {
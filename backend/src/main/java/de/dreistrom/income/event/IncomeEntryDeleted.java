@@ -0,0 +1,30 @@
+package de.dreistrom.income.event;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.IncomeEntry;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when an income entry is deleted so that projections can remove
+ * its contribution. Not written to the audit log.
+ */
+@Getter
+public class IncomeEntryDeleted {
+
+    private final Long entryId;
+    private final Long userId;
+    private final IncomeStream streamType;
+    private final BigDecimal amount;
+    private final LocalDate entryDate;
+
+    public IncomeEntryDeleted(IncomeEntry entry) {
+        this.entryId = entry.getId();
+        this.userId = entry.getUser().getId();
+        this.streamType = entry.getStreamType();
+        this.amount = entry.getAmount();
+        this.entryDate = entry.getEntryDate();
+    }
+}
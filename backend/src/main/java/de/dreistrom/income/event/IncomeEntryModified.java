@@ -4,14 +4,19 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
+import de.dreistrom.common.domain.IncomeStream;
+import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+@Getter
 public class IncomeEntryModified extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private final Long userId;
+    private final IncomeStream streamType;
     private final BigDecimal beforeAmount;
     private final BigDecimal afterAmount;
     private final LocalDate beforeDate;
@@ -19,11 +24,13 @@ public class IncomeEntryModified extends DomainEvent {
     private final String beforeSource;
     private final String afterSource;
 
-    public IncomeEntryModified(Long entryId,
+    public IncomeEntryModified(Long entryId, Long userId, IncomeStream streamType,
                                BigDecimal beforeAmount, BigDecimal afterAmount,
                                LocalDate beforeDate, LocalDate afterDate,
                                String beforeSource, String afterSource) {
         super("IncomeEntry", entryId, "INCOME_ENTRY_MODIFIED");
+        this.userId = userId;
+        this.streamType = streamType;
         this.beforeAmount = beforeAmount;
         this.afterAmount = afterAmount;
         this.beforeDate = beforeDate;
@@ -1,10 +1,14 @@
 package de.dreistrom.income.event;
 
+import de.dreistrom.calendar.domain.ThresholdAlertState;
 import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
+/**
+ * Published when a user/year threshold changes state ({@code previousState} → {@code state}).
+ */
 @Getter
 public class ThresholdAlert {
 
@@ -13,15 +17,20 @@ public class ThresholdAlert {
     private final BigDecimal gewerbeRevenue;
     private final Long userId;
     private final int year;
+    private final ThresholdAlertState state;
+    private final ThresholdAlertState previousState;
     private final Instant occurredAt;
 
     public ThresholdAlert(ThresholdType type, BigDecimal ratio,
-                          BigDecimal gewerbeRevenue, Long userId, int year) {
+                          BigDecimal gewerbeRevenue, Long userId, int year,
+                          ThresholdAlertState state, ThresholdAlertState previousState) {
         this.type = type;
         this.ratio = ratio;
         this.gewerbeRevenue = gewerbeRevenue;
         this.userId = userId;
         this.year = year;
+        this.state = state;
+        this.previousState = previousState;
         this.occurredAt = Instant.now();
     }
 }
@@ -1,57 +1,32 @@
 package de.dreistrom.income.listener;
 
-import de.dreistrom.common.sse.UnifiedSseEmitterService;
 import de.dreistrom.income.event.ThresholdAlert;
-import de.dreistrom.income.event.ThresholdType;
-import de.dreistrom.income.service.ArbZGService;
-import de.dreistrom.income.service.DashboardService;
-import de.dreistrom.income.service.FeatureFlagService;
-import de.dreistrom.income.service.GewerbesteuerThresholdService;
-import de.dreistrom.income.service.MandatoryFilingService;
-import de.dreistrom.vat.service.KleinunternehmerStatusService;
+import de.dreistrom.income.service.DashboardPushService;
+import de.dreistrom.income.service.DashboardTile;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.util.EnumSet;
+
 @Component
 @RequiredArgsConstructor
 public class SseThresholdListener {
 
-    private final UnifiedSseEmitterService sseEmitterService;
-    private final DashboardService dashboardService;
-    private final KleinunternehmerStatusService kleinunternehmerStatusService;
-    private final GewerbesteuerThresholdService gewerbesteuerThresholdService;
-    private final MandatoryFilingService mandatoryFilingService;
-    private final ArbZGService arbZGService;
-    private final FeatureFlagService featureFlagService;
+    private final DashboardPushService dashboardPushService;
 
     @EventListener
     public void onThresholdAlert(ThresholdAlert alert) {
-        Long userId = alert.getUserId();
-        int year = alert.getYear();
-
-        switch (alert.getType()) {
-            case ABFAERBUNG -> sseEmitterService.send(userId, "abfaerbung",
-                    dashboardService.getAbfaerbungStatus(userId, year));
-
-            case KLEINUNTERNEHMER_CURRENT_YEAR, KLEINUNTERNEHMER_PROJECTED ->
-                    sseEmitterService.send(userId, "kleinunternehmer",
-                            kleinunternehmerStatusService.getStatus(userId, year));
-
-            case GEWERBESTEUER_FREIBETRAG, BILANZIERUNG ->
-                    sseEmitterService.send(userId, "gewerbesteuer",
-                            gewerbesteuerThresholdService.getStatus(userId, year));
-
-            case MANDATORY_FILING -> sseEmitterService.send(userId, "mandatory-filing",
-                    mandatoryFilingService.getStatus(userId, year));
-
-            case SOCIAL_INSURANCE, ARBZG_HOURS ->
-                    sseEmitterService.send(userId, "social-insurance",
-                            arbZGService.getStatus(userId, year));
-        }
-
-        // Push updated feature flags on every threshold change
-        sseEmitterService.send(userId, "feature-flags",
-                featureFlagService.getFlags(userId, year));
+        DashboardTile tile = switch (alert.getType()) {
+            case ABFAERBUNG -> DashboardTile.ABFAERBUNG;
+            case KLEINUNTERNEHMER_CURRENT_YEAR, KLEINUNTERNEHMER_PROJECTED -> DashboardTile.KLEINUNTERNEHMER;
+            case GEWERBESTEUER_FREIBETRAG, BILANZIERUNG -> DashboardTile.GEWERBESTEUER;
+            case MANDATORY_FILING -> DashboardTile.MANDATORY_FILING;
+            case SOCIAL_INSURANCE, ARBZG_HOURS -> DashboardTile.SOCIAL_INSURANCE;
+        };
+
+        // Feature flags follow every threshold change
+        dashboardPushService.markDirty(alert.getUserId(), alert.getYear(),
+                EnumSet.of(tile, DashboardTile.FEATURE_FLAGS));
     }
 }
@@ -0,0 +1,97 @@
+package de.dreistrom.income.listener;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.event.IncomeBatchImported;
+import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.event.IncomeEntryDeleted;
+import de.dreistrom.income.event.IncomeEntryModified;
+import de.dreistrom.income.service.DashboardPushService;
+import de.dreistrom.income.service.DashboardTile;
+import de.dreistrom.income.service.ThresholdEvaluationScheduler;
+import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+
+/**
+ * Queues a threshold evaluation once the income write has committed, so the
+ * writer's request does not pay for the rule queries. Deletions and invoice
+ * changes are followed too, so a falling total can de-escalate a stored
+ * WARNING or EXCEEDED state without waiting for an unrelated write.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThresholdEvaluationListener {
+
+    private final ThresholdEvaluationScheduler thresholdEvaluationScheduler;
+    private final DashboardPushService dashboardPushService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIncomeCreated(IncomeEntryCreated event) {
+        thresholdEvaluationScheduler.schedule(event.getUserId(),
+                event.getEntryDate().getYear(), event.getStreamType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIncomeModified(IncomeEntryModified event) {
+        int beforeYear = event.getBeforeDate().getYear();
+        int afterYear = event.getAfterDate().getYear();
+        if (beforeYear != afterYear) {
+            thresholdEvaluationScheduler.schedule(event.getUserId(), beforeYear,
+                    event.getStreamType());
+        }
+        thresholdEvaluationScheduler.schedule(event.getUserId(), afterYear,
+                event.getStreamType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIncomeDeleted(IncomeEntryDeleted event) {
+        thresholdEvaluationScheduler.schedule(event.getUserId(),
+                event.getEntryDate().getYear(), event.getStreamType());
+    }
+
+    /**
+     * An invoice books its linked income entry without an
+     * {@link IncomeEntryCreated} event.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoiceCreated(InvoiceCreated event) {
+        thresholdEvaluationScheduler.schedule(event.getUserId(),
+                event.getInvoiceDate().getYear(), IncomeStream.valueOf(event.getStreamType()));
+    }
+
+    /**
+     * DRAFT updates, cancellations and deletions change the revenue the rules
+     * see for the invoice's stream.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoiceVatChanged(InvoiceVatChanged event) {
+        IncomeStream stream = IncomeStream.valueOf(event.getStreamType());
+        int beforeYear = event.getBeforeDate().getYear();
+        int afterYear = event.getAfterDate().getYear();
+        if (beforeYear != afterYear) {
+            thresholdEvaluationScheduler.schedule(event.getUserId(), beforeYear, stream);
+        }
+        thresholdEvaluationScheduler.schedule(event.getUserId(), afterYear, stream);
+    }
+
+    /**
+     * A batch import commits many entries at once: queue one evaluation per
+     * affected year and refresh the feature-flag tile, which otherwise only
+     * follows threshold transitions.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onIncomeBatchImported(IncomeBatchImported event) {
+        event.getStreamsByYear().forEach((year, streams) -> {
+            for (IncomeStream stream : streams) {
+                thresholdEvaluationScheduler.schedule(event.getUserId(), year, stream);
+            }
+            dashboardPushService.markDirty(event.getUserId(), year,
+                    EnumSet.of(DashboardTile.FEATURE_FLAGS));
+        });
+    }
+}
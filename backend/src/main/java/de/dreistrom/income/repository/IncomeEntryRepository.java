@@ -2,12 +2,17 @@ package de.dreistrom.income.repository;
 
 import de.dreistrom.common.domain.IncomeStream;
 import de.dreistrom.income.domain.IncomeEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface IncomeEntryRepository extends JpaRepository<IncomeEntry, Long> {
 
@@ -20,6 +25,42 @@ public interface IncomeEntryRepository extends JpaRepository<IncomeEntry, Long>
     List<IncomeEntry> findByUserIdAndStreamTypeAndEntryDateBetween(
             Long userId, IncomeStream streamType, LocalDate from, LocalDate to);
 
+    /**
+     * Keyset page ordered by {@code (entryDate DESC, id DESC)}, starting strictly
+     * after the given position. Served from idx_income_user_date.
+     */
+    @Query("SELECT e FROM IncomeEntry e LEFT JOIN FETCH e.client " +
+           "WHERE e.user.id = :userId " +
+           "AND (e.entryDate < :afterDate OR (e.entryDate = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.entryDate DESC, e.id DESC")
+    List<IncomeEntry> findPage(@Param("userId") Long userId,
+                               @Param("afterDate") LocalDate afterDate,
+                               @Param("afterId") long afterId,
+                               Limit limit);
+
+    /**
+     * Keyset page for one stream; served from idx_income_user_stream_date.
+     */
+    @Query("SELECT e FROM IncomeEntry e LEFT JOIN FETCH e.client " +
+           "WHERE e.user.id = :userId AND e.streamType = :streamType " +
+           "AND (e.entryDate < :afterDate OR (e.entryDate = :afterDate AND e.id < :afterId)) " +
+           "ORDER BY e.entryDate DESC, e.id DESC")
+    List<IncomeEntry> findPageByStream(@Param("userId") Long userId,
+                                       @Param("streamType") IncomeStream streamType,
+                                       @Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") long afterId,
+                                       Limit limit);
+
+    /**
+     * Full history in ledger order for export. Rows are fetched from the
+     * database in chunks; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM IncomeEntry e LEFT JOIN FETCH e.client " +
+           "WHERE e.user.id = :userId ORDER BY e.entryDate, e.id")
+    Stream<IncomeEntry> streamByUserId(@Param("userId") Long userId);
+
     /**
      * Sum amount_cents for a given user, stream type and year.
      * Returns the total in cents, or null if no entries exist.
@@ -46,4 +87,19 @@ public interface IncomeEntryRepository extends JpaRepository<IncomeEntry, Long>
     Long sumCentsSelfEmployedByDateRange(@Param("userId") Long userId,
                                         @Param("yearStart") LocalDate yearStart,
                                         @Param("yearEnd") LocalDate yearEnd);
+
+    /**
+     * Per-month income for a user across all years, one row
+     * {@code [year, month, employment, freiberuf, gewerbe]} per month with entries.
+     * Used to rebuild the monthly_rollup projection.
+     */
+    @Query(value = "SELECT YEAR(entry_date), MONTH(entry_date), " +
+                   "SUM(CASE WHEN stream_type = 'EMPLOYMENT' THEN amount_cents ELSE 0 END), " +
+                   "SUM(CASE WHEN stream_type = 'FREIBERUF' THEN amount_cents ELSE 0 END), " +
+                   "SUM(CASE WHEN stream_type = 'GEWERBE' THEN amount_cents ELSE 0 END) " +
+                   "FROM income_entry " +
+                   "WHERE user_id = :userId " +
+                   "GROUP BY YEAR(entry_date), MONTH(entry_date)",
+           nativeQuery = true)
+    List<Object[]> sumCentsByMonth(@Param("userId") Long userId);
 }
@@ -0,0 +1,52 @@
+package de.dreistrom.income.repository;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.IncomeYearTotal;
+import de.dreistrom.income.domain.IncomeYearTotalId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface IncomeYearTotalRepository extends JpaRepository<IncomeYearTotal, IncomeYearTotalId> {
+
+    /**
+     * Per-stream totals (at most three rows) for a user and tax year.
+     * Returned as a scalar projection so that repeated reads within one
+     * transaction always see the latest upserted values instead of
+     * entities cached in the persistence context.
+     */
+    @Query("SELECT t.streamType AS streamType, t.totalCents AS totalCents " +
+           "FROM IncomeYearTotal t " +
+           "WHERE t.userId = :userId AND t.taxYear = :taxYear")
+    List<StreamTotal> findStreamTotals(@Param("userId") Long userId,
+                                       @Param("taxYear") int taxYear);
+
+    /**
+     * Atomically add a delta to the running total, creating the row on first use.
+     * A single upsert statement avoids read-modify-write races between
+     * concurrent income writes for the same user/year/stream.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO income_year_totals " +
+                   "(user_id, tax_year, stream_type, total_cents, entry_count, updated_at) " +
+                   "VALUES (:userId, :taxYear, :streamType, :deltaCents, :deltaCount, CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "total_cents = total_cents + :deltaCents, " +
+                   "entry_count = entry_count + :deltaCount, " +
+                   "updated_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int addDelta(@Param("userId") Long userId,
+                 @Param("taxYear") int taxYear,
+                 @Param("streamType") String streamType,
+                 @Param("deltaCents") long deltaCents,
+                 @Param("deltaCount") int deltaCount);
+
+    interface StreamTotal {
+        IncomeStream getStreamType();
+
+        long getTotalCents();
+    }
+}
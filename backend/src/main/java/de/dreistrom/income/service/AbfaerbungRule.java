@@ -0,0 +1,47 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.event.ThresholdType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Abfärbung (§15 Abs. 3 Nr. 1 EStG): Gewerbe revenue above 3% of self-employed
+ * revenue AND above €24,500 taints the Freiberuf stream.
+ */
+@Slf4j
+@Component
+public class AbfaerbungRule implements ThresholdRule {
+
+    private static final BigDecimal RATIO_THRESHOLD = new BigDecimal("0.03");
+    private static final Money AMOUNT_THRESHOLD = Money.ofEuros(24_500);
+
+    @Override
+    public List<ThresholdObservation> evaluate(ThresholdSnapshot snapshot) {
+        Money gewerbe = snapshot.gewerbeRevenue();
+        Money total = snapshot.selfEmployedRevenue();
+
+        BigDecimal ratio = BigDecimal.ZERO.setScale(4);
+        if (!gewerbe.isZero() && !total.isZero()) {
+            ratio = gewerbe.ratio(total, 4, RoundingMode.HALF_UP);
+        }
+
+        boolean exceeded = ratio.compareTo(RATIO_THRESHOLD) > 0
+                && gewerbe.isGreaterThan(AMOUNT_THRESHOLD);
+        if (exceeded) {
+            log.warn("Abfaerbung threshold exceeded: ratio={}, gewerbeRevenue={} EUR, userId={}, year={}",
+                    ratio, gewerbe, snapshot.userId(), snapshot.year());
+        }
+
+        // Both limits must be crossed, so the binding one is the smaller utilization
+        BigDecimal utilization = ratio.divide(RATIO_THRESHOLD, 4, RoundingMode.HALF_UP)
+                .min(gewerbe.ratio(AMOUNT_THRESHOLD, 4, RoundingMode.HALF_UP));
+
+        return List.of(ThresholdObservation.exceededIf(exceeded, ThresholdType.ABFAERBUNG,
+                ratio, gewerbe.toEuros(), AMOUNT_THRESHOLD.toEuros(), utilization));
+    }
+}
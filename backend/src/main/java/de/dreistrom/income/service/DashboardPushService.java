@@ -0,0 +1,118 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.sse.UnifiedSseEmitterService;
+import de.dreistrom.income.dto.DashboardUpdate;
+import de.dreistrom.vat.service.KleinunternehmerStatusService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Debounced dashboard push over the unified SSE stream.
+ * <p>
+ * Callers mark tiles dirty per user/year. The first mark opens a window of
+ * {@code dreistrom.sse.dashboard-push-window-ms}; when it closes, each dirty tile
+ * is recomputed once and sent in a single {@code dashboard-update} event.
+ * Users without an open SSE connection are skipped without recomputing anything.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardPushService {
+
+    static final String EVENT_NAME = "dashboard-update";
+
+    private final UnifiedSseEmitterService sseEmitterService;
+    private final DashboardService dashboardService;
+    private final KleinunternehmerStatusService kleinunternehmerStatusService;
+    private final GewerbesteuerThresholdService gewerbesteuerThresholdService;
+    private final MandatoryFilingService mandatoryFilingService;
+    private final ArbZGService arbZGService;
+    private final FeatureFlagService featureFlagService;
+
+    @Value("${dreistrom.sse.dashboard-push-window-ms:250}")
+    private long pushWindowMs;
+
+    private final ConcurrentHashMap<UserYear, Set<DashboardTile>> dirty = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dashboard-push");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+    }
+
+    /**
+     * Mark tiles as changed; they are pushed with the next flush for this user/year.
+     */
+    public void markDirty(Long userId, int year, Set<DashboardTile> tiles) {
+        UserYear key = new UserYear(userId, year);
+        boolean[] opened = {false};
+
+        dirty.compute(key, (k, existing) -> {
+            Set<DashboardTile> set = existing;
+            if (set == null) {
+                set = EnumSet.noneOf(DashboardTile.class);
+                opened[0] = true;
+            }
+            set.addAll(tiles);
+            return set;
+        });
+
+        if (opened[0]) {
+            flusher.schedule(() -> flush(key), pushWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(UserYear key) {
+        Set<DashboardTile> tiles = dirty.remove(key);
+        if (tiles == null || !sseEmitterService.isConnected(key.userId())) {
+            return;
+        }
+
+        try {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            for (DashboardTile tile : tiles) {
+                payload.put(tile.key(), compute(tile, key.userId(), key.year()));
+            }
+            sseEmitterService.send(key.userId(), EVENT_NAME, new DashboardUpdate(key.year(), payload));
+        } catch (RuntimeException e) {
+            log.error("Dashboard push failed: userId={}, year={}", key.userId(), key.year(), e);
+        }
+    }
+
+    private Object compute(DashboardTile tile, Long userId, int year) {
+        return switch (tile) {
+            case ABFAERBUNG -> dashboardService.getAbfaerbungStatus(userId, year);
+            case KLEINUNTERNEHMER -> kleinunternehmerStatusService.getStatus(userId, year);
+            case GEWERBESTEUER -> gewerbesteuerThresholdService.getStatus(userId, year);
+            case MANDATORY_FILING -> mandatoryFilingService.getStatus(userId, year);
+            case SOCIAL_INSURANCE -> arbZGService.getStatus(userId, year);
+            case FEATURE_FLAGS -> featureFlagService.getFlags(userId, year);
+        };
+    }
+
+    private record UserYear(Long userId, int year) {
+    }
+}
@@ -0,0 +1,24 @@
+package de.dreistrom.income.service;
+
+/**
+ * Dashboard tiles refreshed over SSE. The key matches the tile's entry in
+ * {@link de.dreistrom.income.dto.DashboardUpdate#tiles()}.
+ */
+public enum DashboardTile {
+    ABFAERBUNG("abfaerbung"),
+    KLEINUNTERNEHMER("kleinunternehmer"),
+    GEWERBESTEUER("gewerbesteuer"),
+    MANDATORY_FILING("mandatory-filing"),
+    SOCIAL_INSURANCE("social-insurance"),
+    FEATURE_FLAGS("feature-flags");
+
+    private final String key;
+
+    DashboardTile(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -1,19 +1,16 @@
 package de.dreistrom.income.service;
 
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.income.domain.Client;
 import de.dreistrom.income.domain.ClientType;
 import de.dreistrom.income.dto.UserFeatureFlags;
 import de.dreistrom.income.repository.ClientRepository;
-import de.dreistrom.income.repository.IncomeEntryRepository;
 import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
 import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,41 +27,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FeatureFlagService {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-    private static final long MICRO_THRESHOLD_CENTS = 500_000L;    // €5,000
-    private static final long SMALL_THRESHOLD_CENTS = 10_000_000L; // €100,000
-    private static final long BILANZIERUNG_APPROACH_REVENUE_CENTS = 20_000_000L; // €200,000
-    private static final long BILANZIERUNG_APPROACH_PROFIT_CENTS = 2_000_000L;   // €20,000
-    private static final long FILING_THRESHOLD_CENTS = 41_000L;    // €410
-    private static final long OSS_THRESHOLD_CENTS = 1_000_000L;    // €10,000
+    private static final Money MICRO_THRESHOLD = Money.ofEuros(5_000);
+    private static final Money SMALL_THRESHOLD = Money.ofEuros(100_000);
+    private static final Money BILANZIERUNG_APPROACH_REVENUE = Money.ofEuros(200_000);
+    private static final Money BILANZIERUNG_APPROACH_PROFIT = Money.ofEuros(20_000);
+    private static final Money FILING_THRESHOLD = Money.ofEuros(410);
+    private static final Money OSS_THRESHOLD = Money.ofEuros(10_000);
 
-    private final IncomeEntryRepository incomeEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
     private final ClientRepository clientRepository;
     private final SocialInsuranceEntryRepository socialInsuranceEntryRepository;
 
     @Transactional(readOnly = true)
     public UserFeatureFlags getFlags(Long userId, int year) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
-
         // ── Income stream activity ─────────────────────────────────
-        Long employmentCents = incomeEntryRepository.sumCentsByStreamAndDateRange(
-                userId, "EMPLOYMENT", yearStart, yearEnd);
-        Long freiberufCents = incomeEntryRepository.sumCentsByStreamAndDateRange(
-                userId, "FREIBERUF", yearStart, yearEnd);
-        Long gewerbeCents = incomeEntryRepository.sumCentsByStreamAndDateRange(
-                userId, "GEWERBE", yearStart, yearEnd);
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        StreamIncomeTotals totals = aggregates.income();
+        Money employment = Money.ofCents(totals.employmentCents());
+        Money gewerbe = Money.ofCents(totals.gewerbeCents());
 
-        boolean hasEmployment = employmentCents != null && employmentCents > 0;
-        boolean hasFreiberuf = freiberufCents != null && freiberufCents > 0;
-        boolean hasGewerbe = gewerbeCents != null && gewerbeCents > 0;
+        boolean hasEmployment = employment.isPositive();
+        boolean hasFreiberuf = totals.freiberufCents() > 0;
+        boolean hasGewerbe = gewerbe.isPositive();
 
         int activeStreams = (hasEmployment ? 1 : 0) + (hasFreiberuf ? 1 : 0) + (hasGewerbe ? 1 : 0);
         boolean hasMultipleStreams = activeStreams >= 2;
 
-        long selfEmployedCents = (freiberufCents != null ? freiberufCents : 0L)
-                + (gewerbeCents != null ? gewerbeCents : 0L);
-        long totalCents = selfEmployedCents + (employmentCents != null ? employmentCents : 0L);
+        Money selfEmployed = Money.ofCents(totals.selfEmployedCents());
 
         // ── Client analysis ────────────────────────────────────────
         List<Client> activeClients = clientRepository.findByUserIdAndActiveTrue(userId);
@@ -85,9 +74,9 @@ public class FeatureFlagService {
 
         // ── Complexity level ───────────────────────────────────────
         int complexityLevel;
-        if (selfEmployedCents < MICRO_THRESHOLD_CENTS) {
+        if (selfEmployed.isLessThan(MICRO_THRESHOLD)) {
             complexityLevel = 1; // micro
-        } else if (selfEmployedCents < SMALL_THRESHOLD_CENTS) {
+        } else if (selfEmployed.isLessThan(SMALL_THRESHOLD)) {
             complexityLevel = 2; // small
         } else {
             complexityLevel = 3; // medium
@@ -107,15 +96,15 @@ public class FeatureFlagService {
 
         // Bilanzierung: show when approaching §141 AO thresholds
         boolean showBilanzierung = hasGewerbe
-                && (gewerbeCents > BILANZIERUNG_APPROACH_REVENUE_CENTS
-                || computeGewerbeProfit(userId, yearStart, yearEnd, gewerbeCents)
-                > BILANZIERUNG_APPROACH_PROFIT_CENTS);
+                && (gewerbe.isGreaterThan(BILANZIERUNG_APPROACH_REVENUE)
+                || gewerbe.subtract(Money.ofCents(aggregates.expenses().gewerbeCents()))
+                .isGreaterThan(BILANZIERUNG_APPROACH_PROFIT));
 
         // Social insurance: show when user has both employment and self-employment
         boolean showSocialInsurance = hasEmployment && anySelfEmployed;
 
         // Mandatory filing: show when self-employed income > €410
-        boolean showMandatoryFiling = selfEmployedCents > FILING_THRESHOLD_CENTS;
+        boolean showMandatoryFiling = selfEmployed.isGreaterThan(FILING_THRESHOLD);
 
         // ArbZG: show when user tracks working hours
         boolean showArbZG = hasSocialInsuranceData && hasEmployment && anySelfEmployed;
@@ -127,13 +116,13 @@ public class FeatureFlagService {
         boolean showExpenseAllocation = hasMultipleStreams;
 
         // Vorauszahlungen: show when filing obligation exists
-        boolean showVorauszahlungen = selfEmployedCents > FILING_THRESHOLD_CENTS;
+        boolean showVorauszahlungen = selfEmployed.isGreaterThan(FILING_THRESHOLD);
 
         // Tax estimation: show when any meaningful income (above micro threshold)
-        boolean showTaxEstimation = anySelfEmployed && selfEmployedCents >= MICRO_THRESHOLD_CENTS;
+        boolean showTaxEstimation = anySelfEmployed && !selfEmployed.isLessThan(MICRO_THRESHOLD);
 
         // OSS: show when EU B2C clients and self-employed revenue > €10,000
-        boolean showOss = hasEuB2cClients && selfEmployedCents > OSS_THRESHOLD_CENTS;
+        boolean showOss = hasEuB2cClients && selfEmployed.isGreaterThan(OSS_THRESHOLD);
 
         // Zusammenfassende Meldung: show when EU B2B clients (reverse charge)
         boolean showZm = hasEuB2bClients;
@@ -151,13 +140,6 @@ public class FeatureFlagService {
         );
     }
 
-    private long computeGewerbeProfit(Long userId, LocalDate yearStart, LocalDate yearEnd,
-                                      long gewerbeRevenueCents) {
-        // Simplified profit estimation (revenue only, expense lookup optional)
-        // Full profit calculation is in GewerbesteuerThresholdService
-        return gewerbeRevenueCents;
-    }
-
     private static boolean isEuCountry(String countryCode) {
         return EU_COUNTRIES.contains(countryCode);
     }
@@ -0,0 +1,69 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.event.ThresholdType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Gewerbesteuer thresholds, evaluated on Gewerbe income changes:
+ * <ul>
+ *   <li>Freibetrag: profit > €24,500 → Gewerbesteuer due</li>
+ *   <li>Bilanzierungspflicht §141 AO: revenue > €800,000 OR profit > €80,000</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class GewerbesteuerRule implements ThresholdRule {
+
+    private static final Money FREIBETRAG = Money.ofEuros(24_500);
+    private static final Money BILANZIERUNG_REVENUE = Money.ofEuros(800_000);
+    private static final Money BILANZIERUNG_PROFIT = Money.ofEuros(80_000);
+
+    @Override
+    public boolean appliesTo(IncomeStream trigger) {
+        return trigger == IncomeStream.GEWERBE;
+    }
+
+    @Override
+    public List<ThresholdObservation> evaluate(ThresholdSnapshot snapshot) {
+        Long userId = snapshot.userId();
+        int year = snapshot.year();
+
+        Money gewerbeRevenue = snapshot.gewerbeRevenue();
+        Money profit = gewerbeRevenue.subtract(snapshot.gewerbeExpenses()).max(Money.ZERO);
+
+        BigDecimal freibetragRatio = profit.ratio(FREIBETRAG, 4, RoundingMode.HALF_UP);
+        boolean freibetragExceeded = profit.isGreaterThan(FREIBETRAG);
+        if (freibetragExceeded) {
+            log.warn("GewSt Freibetrag exceeded: profit={} EUR, userId={}, year={}",
+                    profit, userId, year);
+        }
+
+        boolean bilanzierung = gewerbeRevenue.isGreaterThan(BILANZIERUNG_REVENUE)
+                || profit.isGreaterThan(BILANZIERUNG_PROFIT);
+        if (bilanzierung) {
+            log.warn("Bilanzierungspflicht triggered: revenue={} EUR, profit={} EUR, userId={}, year={}",
+                    gewerbeRevenue, profit, userId, year);
+        }
+        // Either limit triggers, so the binding one is the larger utilization
+        BigDecimal bilanzierungUtilization =
+                gewerbeRevenue.ratio(BILANZIERUNG_REVENUE, 4, RoundingMode.HALF_UP)
+                        .max(profit.ratio(BILANZIERUNG_PROFIT, 4, RoundingMode.HALF_UP));
+
+        return List.of(
+                ThresholdObservation.exceededIf(freibetragExceeded,
+                        ThresholdType.GEWERBESTEUER_FREIBETRAG,
+                        freibetragRatio, gewerbeRevenue.toEuros(), FREIBETRAG.toEuros(),
+                        freibetragRatio),
+                ThresholdObservation.exceededIf(bilanzierung,
+                        ThresholdType.BILANZIERUNG,
+                        BigDecimal.ONE, gewerbeRevenue.toEuros(), BILANZIERUNG_REVENUE.toEuros(),
+                        bilanzierungUtilization));
+    }
+}
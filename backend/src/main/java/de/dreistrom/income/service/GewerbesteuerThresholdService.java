@@ -1,16 +1,11 @@
 package de.dreistrom.income.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.income.dto.GewerbesteuerThresholdResponse;
-import de.dreistrom.income.repository.IncomeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
-
 /**
  * Computes Gewerbesteuer threshold status for the dashboard:
  * <ul>
@@ -22,44 +17,30 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class GewerbesteuerThresholdService {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-    private static final BigDecimal FREIBETRAG = new BigDecimal("24500");
-    private static final BigDecimal BILANZIERUNG_REVENUE = new BigDecimal("800000");
-    private static final BigDecimal BILANZIERUNG_PROFIT = new BigDecimal("80000");
+    private static final Money FREIBETRAG = Money.ofEuros(24_500);
+    private static final Money BILANZIERUNG_REVENUE = Money.ofEuros(800_000);
+    private static final Money BILANZIERUNG_PROFIT = Money.ofEuros(80_000);
 
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
 
     @Transactional(readOnly = true)
     public GewerbesteuerThresholdResponse getStatus(Long userId, int year) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
-
-        BigDecimal gewerbeRevenue = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, "GEWERBE", yearStart, yearEnd));
-        BigDecimal gewerbeExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsGewerbeByDateRange(userId, yearStart, yearEnd));
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        Money gewerbeRevenue = Money.ofCents(aggregates.income().gewerbeCents());
+        Money gewerbeExpenses = Money.ofCents(aggregates.expenses().gewerbeCents());
 
-        BigDecimal gewerbeProfit = gewerbeRevenue.subtract(gewerbeExpenses).max(BigDecimal.ZERO);
+        Money gewerbeProfit = gewerbeRevenue.subtract(gewerbeExpenses).max(Money.ZERO);
 
         return new GewerbesteuerThresholdResponse(
                 year,
-                gewerbeProfit,
-                FREIBETRAG,
-                gewerbeProfit.compareTo(FREIBETRAG) > 0,
-                gewerbeRevenue,
-                BILANZIERUNG_REVENUE,
-                gewerbeRevenue.compareTo(BILANZIERUNG_REVENUE) > 0,
-                BILANZIERUNG_PROFIT,
-                gewerbeProfit.compareTo(BILANZIERUNG_PROFIT) > 0
+                gewerbeProfit.toEuros(),
+                FREIBETRAG.toEuros(),
+                gewerbeProfit.isGreaterThan(FREIBETRAG),
+                gewerbeRevenue.toEuros(),
+                BILANZIERUNG_REVENUE.toEuros(),
+                gewerbeRevenue.isGreaterThan(BILANZIERUNG_REVENUE),
+                BILANZIERUNG_PROFIT.toEuros(),
+                gewerbeProfit.isGreaterThan(BILANZIERUNG_PROFIT)
         );
     }
-
-    private BigDecimal centsToEuros(Long cents) {
-        if (cents == null) {
-            return BigDecimal.ZERO;
-        }
-        return new BigDecimal(cents).divide(HUNDRED, 2, RoundingMode.HALF_UP);
-    }
 }
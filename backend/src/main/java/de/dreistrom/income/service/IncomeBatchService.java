@@ -0,0 +1,379 @@
+package de.dreistrom.income.service;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvException;
+import de.dreistrom.audit.service.AuditLogService;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.MoneyConverter;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.income.dto.CreateIncomeEntryRequest;
+import de.dreistrom.income.dto.IncomeBatchResult;
+import de.dreistrom.income.dto.IncomeBatchResult.RowError;
+import de.dreistrom.income.event.IncomeBatchImported;
+import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.repository.ClientRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of income entries from a JSON array or a CSV upload.
+ * <p>
+ * All rows are validated before anything is written. Valid rows are inserted with
+ * JDBC batching, their {@code INCOME_ENTRY_CREATED} audit events are written in
+ * one batch, and the income_year_totals projection receives one upsert per
+ * (year, stream). Instead of a created event per row, a single
+ * {@link IncomeBatchImported} is published so threshold and feature-flag
+ * evaluation runs once per affected year after commit.
+ * <p>
+ * Invalid rows are reported and skipped; with {@code abortOnError} any invalid
+ * row rejects the whole batch and nothing is written.
+ * <p>
+ * CSV layout: header row with {@code streamType, amount, entryDate} and optional
+ * {@code source, clientId, description} in any order; separator {@code ,} or
+ * {@code ;}; amounts with decimal point or comma; dates as ISO or dd.MM.yyyy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncomeBatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO income_entry (user_id, stream_type, amount_cents, currency, entry_date, "
+            + "source, client_id, description, created_at, updated_at) "
+            + "VALUES (?, ?, ?, 'EUR', ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+    private static final DateTimeFormatter GERMAN_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final MoneyConverter MONEY = new MoneyConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final ClientRepository clientRepository;
+    private final IncomeTotalsService incomeTotalsService;
+    private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${dreistrom.income.batch.max-rows:10000}")
+    private int maxRows;
+
+    @Transactional
+    public IncomeBatchResult importJson(Long userId, List<CreateIncomeEntryRequest> requests,
+                                        boolean abortOnError) {
+        List<ParsedRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new ParsedRow(i + 1, requests.get(i), null));
+        }
+        return importRows(userId, rows, abortOnError);
+    }
+
+    @Transactional
+    public IncomeBatchResult importCsv(Long userId, String csvContent, boolean abortOnError) {
+        return importRows(userId, parseCsv(csvContent), abortOnError);
+    }
+
+    /**
+     * Insert entries that were validated by the caller, e.g. lines of a bank
+     * statement import, with the same side effects as a batch import.
+     *
+     * @return generated ids in the order of {@code requests}
+     */
+    @Transactional
+    public List<Long> importEntries(Long userId, List<CreateIncomeEntryRequest> requests) {
+        return requests.isEmpty() ? List.of() : write(userId, requests);
+    }
+
+    private IncomeBatchResult importRows(Long userId, List<ParsedRow> rows, boolean abortOnError) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Batch contains no rows");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException(
+                    "Batch of " + rows.size() + " rows exceeds the limit of " + maxRows);
+        }
+
+        Map<Long, IncomeStream> clientStreams = clientRepository.findByUserId(userId).stream()
+                .collect(Collectors.toMap(Client::getId, Client::getStreamType));
+
+        List<RowError> errors = new ArrayList<>();
+        List<CreateIncomeEntryRequest> valid = new ArrayList<>(rows.size());
+        for (ParsedRow row : rows) {
+            String error = row.error() != null ? row.error() : validate(row.request(), clientStreams);
+            if (error != null) {
+                errors.add(new RowError(row.row(), error));
+            } else {
+                valid.add(row.request());
+            }
+        }
+
+        if (!errors.isEmpty() && abortOnError) {
+            return new IncomeBatchResult(rows.size(), 0, errors.size(), true, errors);
+        }
+        if (valid.isEmpty()) {
+            return new IncomeBatchResult(rows.size(), 0, errors.size(), false, errors);
+        }
+
+        write(userId, valid);
+
+        log.info("Batch income import: userId={}, received={}, created={}, failed={}",
+                userId, rows.size(), valid.size(), errors.size());
+        return new IncomeBatchResult(rows.size(), valid.size(), errors.size(), false, errors);
+    }
+
+    private List<Long> write(Long userId, List<CreateIncomeEntryRequest> requests) {
+        List<Long> ids = insert(userId, requests);
+
+        List<IncomeEntryCreated> events = new ArrayList<>(requests.size());
+        Map<Integer, Map<IncomeStream, long[]>> totals = new TreeMap<>();
+        Map<YearMonth, Map<IncomeStream, Long>> centsByMonth = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateIncomeEntryRequest r = requests.get(i);
+            long cents = MONEY.convertToDatabaseColumn(r.amount());
+            events.add(new IncomeEntryCreated(ids.get(i), userId, r.streamType(),
+                    MONEY.convertToEntityAttribute(cents), r.entryDate(), r.source()));
+
+            long[] sum = totals.computeIfAbsent(r.entryDate().getYear(),
+                    y -> new EnumMap<>(IncomeStream.class))
+                    .computeIfAbsent(r.streamType(), s -> new long[2]);
+            sum[0] += cents;
+            sum[1]++;
+            centsByMonth.computeIfAbsent(YearMonth.from(r.entryDate()),
+                    m -> new EnumMap<>(IncomeStream.class))
+                    .merge(r.streamType(), cents, Long::sum);
+        }
+        auditLogService.persistAll(events);
+
+        Map<Integer, Set<IncomeStream>> streamsByYear = new HashMap<>();
+        totals.forEach((year, byStream) -> {
+            byStream.forEach((stream, sum) ->
+                    incomeTotalsService.recordBulkCreated(userId, stream, year, sum[0], (int) sum[1]));
+            streamsByYear.put(year, EnumSet.copyOf(byStream.keySet()));
+        });
+        eventPublisher.publishEvent(new IncomeBatchImported(userId, streamsByYear, centsByMonth,
+                requests.size()));
+        return ids;
+    }
+
+    private String validate(CreateIncomeEntryRequest request, Map<Long, IncomeStream> clientStreams) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<CreateIncomeEntryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        Long clientId = request.clientId();
+        if (clientId != null) {
+            IncomeStream clientStream = clientStreams.get(clientId);
+            if (clientStream == null) {
+                return "Client not found: " + clientId;
+            }
+            if (clientStream != request.streamType()) {
+                return "Client stream type " + clientStream
+                        + " does not match income stream type " + request.streamType();
+            }
+        }
+        return null;
+    }
+
+    private List<Long> insert(Long userId, List<CreateIncomeEntryRequest> requests) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Long> ids = new ArrayList<>(requests.size());
+
+        for (int from = 0; from < requests.size(); from += BATCH_SIZE) {
+            List<CreateIncomeEntryRequest> chunk =
+                    requests.subList(from, Math.min(from + BATCH_SIZE, requests.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            CreateIncomeEntryRequest r = chunk.get(i);
+                            ps.setLong(1, userId);
+                            ps.setString(2, r.streamType().name());
+                            ps.setLong(3, MONEY.convertToDatabaseColumn(r.amount()));
+                            ps.setObject(4, r.entryDate());
+                            ps.setString(5, r.source());
+                            ps.setObject(6, r.clientId(), Types.BIGINT);
+                            ps.setString(7, r.description());
+                            ps.setTimestamp(8, now);
+                            ps.setTimestamp(9, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+
+        if (ids.size() != requests.size()) {
+            throw new IllegalStateException("Expected " + requests.size()
+                    + " generated keys, got " + ids.size());
+        }
+        return ids;
+    }
+
+    // ── CSV parsing ─────────────────────────────────────────────────────
+
+    private List<ParsedRow> parseCsv(String csvContent) {
+        if (csvContent == null || csvContent.isBlank()) {
+            throw new IllegalArgumentException("CSV content is empty");
+        }
+        String firstLine = csvContent.lines().findFirst().orElse("");
+        char separator = firstLine.chars().filter(c -> c == ';').count()
+                > firstLine.chars().filter(c -> c == ',').count() ? ';' : ',';
+
+        List<ParsedRow> rows = new ArrayList<>();
+        try (CSVReader reader = new CSVReaderBuilder(new StringReader(csvContent))
+                .withCSVParser(new CSVParserBuilder().withSeparator(separator).build())
+                .build()) {
+
+            Map<String, Integer> columns = headerIndex(reader.readNext());
+
+            String[] line;
+            int row = 0;
+            while ((line = reader.readNext()) != null) {
+                if (isBlank(line)) {
+                    continue;
+                }
+                row++;
+                rows.add(parseLine(row, line, columns));
+            }
+        } catch (IOException | CsvException e) {
+            throw new IllegalArgumentException("Invalid CSV format: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    private static Map<String, Integer> headerIndex(String[] header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV header row is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("streamtype", "amount", "entrydate")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static ParsedRow parseLine(int row, String[] fields, Map<String, Integer> columns) {
+        String stream = field(fields, columns, "streamtype");
+        String amount = field(fields, columns, "amount");
+        String date = field(fields, columns, "entrydate");
+        String clientId = field(fields, columns, "clientid");
+
+        try {
+            return new ParsedRow(row, new CreateIncomeEntryRequest(
+                    stream == null ? null : IncomeStream.valueOf(stream.toUpperCase(Locale.ROOT)),
+                    amount == null ? null : parseAmount(amount),
+                    date == null ? null : parseDate(date),
+                    field(fields, columns, "source"),
+                    clientId == null ? null : Long.valueOf(clientId),
+                    field(fields, columns, "description")), null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return new ParsedRow(row, null, "Unparseable row: " + e.getMessage());
+        }
+    }
+
+    private static String field(String[] fields, Map<String, Integer> columns, String name) {
+        Integer idx = columns.get(name);
+        if (idx == null || idx >= fields.length) {
+            return null;
+        }
+        String value = fields[idx].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Accepts {@code 1234.56}, {@code 1234,56}, {@code 1.234,56}, {@code 1,234.56}
+     * and {@code 1.234.567}. A single separator followed by exactly three digits,
+     * such as {@code 1.234} or {@code 1,234}, could be either a thousands or a
+     * decimal separator and is rejected rather than guessed.
+     */
+    static BigDecimal parseAmount(String raw) {
+        String s = raw.replace(" ", "").replace("€", "");
+        int comma = s.lastIndexOf(',');
+        int dot = s.lastIndexOf('.');
+        if (comma >= 0 && dot >= 0) {
+            // Both present: the later one is the decimal separator
+            s = comma > dot
+                    ? s.replace(".", "").replace(',', '.')
+                    : s.replace(",", "");
+        } else if (comma >= 0 || dot >= 0) {
+            char separator = comma >= 0 ? ',' : '.';
+            int last = Math.max(comma, dot);
+            if (s.indexOf(separator) != last) {
+                s = s.replace(String.valueOf(separator), "");
+            } else if (s.length() - last - 1 == 3) {
+                throw new IllegalArgumentException("Ambiguous amount " + raw
+                        + ": write 1234, 1234,00 or 1.234,00");
+            } else {
+                s = s.replace(separator, '.');
+            }
+        }
+        return new BigDecimal(s);
+    }
+
+    private static LocalDate parseDate(String raw) {
+        return raw.indexOf('.') > 0 ? LocalDate.parse(raw, GERMAN_DATE) : LocalDate.parse(raw);
+    }
+
+    private static boolean isBlank(String[] line) {
+        for (String f : line) {
+            if (!f.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record ParsedRow(int row, CreateIncomeEntryRequest request, String error) {
+    }
+}
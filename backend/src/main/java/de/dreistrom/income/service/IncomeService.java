@@ -4,13 +4,17 @@ import de.dreistrom.audit.service.AuditLogService;
 import de.dreistrom.common.controller.EntityNotFoundException;
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.dto.CursorPage;
+import de.dreistrom.common.dto.KeysetCursor;
 import de.dreistrom.income.domain.Client;
 import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.event.IncomeEntryDeleted;
 import de.dreistrom.income.event.IncomeEntryModified;
 import de.dreistrom.income.repository.IncomeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +27,7 @@ import java.util.List;
 public class IncomeService {
 
     private final IncomeEntryRepository incomeEntryRepository;
+    private final IncomeTotalsService incomeTotalsService;
     private final AuditLogService auditLogService;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -33,6 +38,7 @@ public class IncomeService {
         IncomeEntry entry = new IncomeEntry(user, streamType, amount, entryDate,
                 source, client, description);
         IncomeEntry saved = incomeEntryRepository.save(entry);
+        incomeTotalsService.recordCreated(saved);
 
         IncomeEntryCreated event = new IncomeEntryCreated(saved);
         auditLogService.persist(event);
@@ -59,9 +65,12 @@ public class IncomeService {
         String beforeSource = entry.getSource();
 
         entry.update(amount, entryDate, source, client, description);
+        incomeTotalsService.recordModified(entry.getUser().getId(), streamType,
+                beforeAmount, beforeDate, amount, entryDate);
 
         IncomeEntryModified modifiedEvent = new IncomeEntryModified(
-                entryId, beforeAmount, amount, beforeDate, entryDate,
+                entryId, entry.getUser().getId(), streamType,
+                beforeAmount, amount, beforeDate, entryDate,
                 beforeSource, source);
         auditLogService.persist(modifiedEvent);
         eventPublisher.publishEvent(modifiedEvent);
@@ -79,6 +88,23 @@ public class IncomeService {
         return incomeEntryRepository.findByUserId(userId);
     }
 
+    /**
+     * Newest-first page of a user's income entries, optionally for one stream.
+     * {@code cursor} is the {@code next} value of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<IncomeEntry> listPage(Long userId, IncomeStream streamType,
+                                            String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<IncomeEntry> rows = streamType == null
+                ? incomeEntryRepository.findPage(userId, after.date(), after.id(),
+                        Limit.of(limit + 1))
+                : incomeEntryRepository.findPageByStream(userId, streamType,
+                        after.date(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, e -> new KeysetCursor(e.getEntryDate(), e.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<IncomeEntry> listByDateRange(Long userId, LocalDate from, LocalDate to) {
         return incomeEntryRepository.findByUserIdAndEntryDateBetween(userId, from, to);
@@ -108,6 +134,8 @@ public class IncomeService {
         if (!entry.getUser().getId().equals(userId)) {
             throw new EntityNotFoundException("IncomeEntry", entryId);
         }
+        incomeTotalsService.recordDeleted(entry);
         incomeEntryRepository.delete(entry);
+        eventPublisher.publishEvent(new IncomeEntryDeleted(entry));
     }
 }
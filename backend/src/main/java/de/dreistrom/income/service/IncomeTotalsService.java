@@ -0,0 +1,100 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.repository.IncomeYearTotalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Maintains the income_year_totals projection (user, year, stream → cents, count)
+ * and serves O(1) per-year income totals to dashboards, monitors and tax services.
+ * <p>
+ * Every write path that creates, modifies or deletes an income_entry must call
+ * the matching {@code record*} method inside its own transaction so that the
+ * projection commits or rolls back together with the entry.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncomeTotalsService {
+
+    private final IncomeYearTotalRepository incomeYearTotalRepository;
+
+    @Transactional
+    public void recordCreated(IncomeEntry entry) {
+        apply(entry.getUser().getId(), entry.getStreamType(), entry.getEntryDate().getYear(),
+                toCents(entry.getAmount()), 1);
+    }
+
+    @Transactional
+    public void recordDeleted(IncomeEntry entry) {
+        apply(entry.getUser().getId(), entry.getStreamType(), entry.getEntryDate().getYear(),
+                -toCents(entry.getAmount()), -1);
+    }
+
+    /**
+     * Add a pre-aggregated group of new entries (same user, stream and year) in
+     * one upsert; used by the batch import.
+     */
+    @Transactional
+    public void recordBulkCreated(Long userId, IncomeStream streamType, int year,
+                                  long totalCents, int count) {
+        apply(userId, streamType, year, totalCents, count);
+    }
+
+    /**
+     * Move an entry's contribution from its previous amount/date to the new one.
+     * A date change across a year boundary shifts both the amount and the count.
+     */
+    @Transactional
+    public void recordModified(Long userId, IncomeStream streamType,
+                               BigDecimal beforeAmount, LocalDate beforeDate,
+                               BigDecimal afterAmount, LocalDate afterDate) {
+        long beforeCents = toCents(beforeAmount);
+        long afterCents = toCents(afterAmount);
+        int beforeYear = beforeDate.getYear();
+        int afterYear = afterDate.getYear();
+
+        if (beforeYear == afterYear) {
+            if (beforeCents != afterCents) {
+                apply(userId, streamType, afterYear, afterCents - beforeCents, 0);
+            }
+            return;
+        }
+        apply(userId, streamType, beforeYear, -beforeCents, -1);
+        apply(userId, streamType, afterYear, afterCents, 1);
+    }
+
+    /**
+     * Per-stream income totals for a user and calendar year, read from the projection.
+     */
+    @Transactional(readOnly = true)
+    public StreamIncomeTotals forYear(Long userId, int year) {
+        long employment = 0L;
+        long freiberuf = 0L;
+        long gewerbe = 0L;
+        for (IncomeYearTotalRepository.StreamTotal row
+                : incomeYearTotalRepository.findStreamTotals(userId, year)) {
+            switch (row.getStreamType()) {
+                case EMPLOYMENT -> employment = row.getTotalCents();
+                case FREIBERUF -> freiberuf = row.getTotalCents();
+                case GEWERBE -> gewerbe = row.getTotalCents();
+            }
+        }
+        return new StreamIncomeTotals(employment, freiberuf, gewerbe);
+    }
+
+    private void apply(Long userId, IncomeStream streamType, int year,
+                       long deltaCents, int deltaCount) {
+        incomeYearTotalRepository.addDelta(userId, year, streamType.name(), deltaCents, deltaCount);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
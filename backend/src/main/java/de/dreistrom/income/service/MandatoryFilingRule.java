@@ -0,0 +1,42 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.event.ThresholdType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Mandatory filing threshold per §46 Abs. 2 Nr. 1 EStG.
+ * Filing is required when Nebeneinkünfte (FREIBERUF + GEWERBE) exceed €410.
+ */
+@Slf4j
+@Component
+public class MandatoryFilingRule implements ThresholdRule {
+
+    private static final Money THRESHOLD = Money.ofEuros(410);
+
+    @Override
+    public boolean appliesTo(IncomeStream trigger) {
+        return trigger != IncomeStream.EMPLOYMENT;
+    }
+
+    @Override
+    public List<ThresholdObservation> evaluate(ThresholdSnapshot snapshot) {
+        Money nebeneinkuenfte = snapshot.selfEmployedRevenue();
+        BigDecimal ratio = nebeneinkuenfte.ratio(THRESHOLD, 4, RoundingMode.HALF_UP);
+
+        boolean exceeded = nebeneinkuenfte.isGreaterThan(THRESHOLD);
+        if (exceeded) {
+            log.info("Mandatory filing triggered: Nebeneinkünfte={} EUR > {} EUR, userId={}, year={}",
+                    nebeneinkuenfte, THRESHOLD, snapshot.userId(), snapshot.year());
+        }
+
+        return List.of(ThresholdObservation.exceededIf(exceeded, ThresholdType.MANDATORY_FILING,
+                ratio, nebeneinkuenfte.toEuros(), THRESHOLD.toEuros(), ratio));
+    }
+}
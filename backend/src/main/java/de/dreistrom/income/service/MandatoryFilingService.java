@@ -1,13 +1,12 @@
 package de.dreistrom.income.service;
 
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.income.dto.MandatoryFilingResponse;
 import de.dreistrom.income.repository.IncomeEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 
 /**
@@ -18,8 +17,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class MandatoryFilingService {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-    private static final BigDecimal THRESHOLD = new BigDecimal("410");
+    private static final Money THRESHOLD = Money.ofEuros(410);
 
     private final IncomeEntryRepository incomeEntryRepository;
 
@@ -28,17 +26,14 @@ public class MandatoryFilingService {
         LocalDate yearStart = LocalDate.of(year, 1, 1);
         LocalDate yearEnd = LocalDate.of(year, 12, 31);
 
-        Long selfEmployedCents = incomeEntryRepository.sumCentsSelfEmployedByDateRange(
-                userId, yearStart, yearEnd);
-        BigDecimal nebeneinkuenfte = selfEmployedCents != null
-                ? new BigDecimal(selfEmployedCents).divide(HUNDRED, 2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
+        Money nebeneinkuenfte = Money.ofCents(incomeEntryRepository.sumCentsSelfEmployedByDateRange(
+                userId, yearStart, yearEnd));
 
         return new MandatoryFilingResponse(
                 year,
-                nebeneinkuenfte,
-                THRESHOLD,
-                nebeneinkuenfte.compareTo(THRESHOLD) > 0
+                nebeneinkuenfte.toEuros(),
+                THRESHOLD.toEuros(),
+                nebeneinkuenfte.isGreaterThan(THRESHOLD)
         );
     }
 }
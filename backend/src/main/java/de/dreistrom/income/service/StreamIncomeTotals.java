@@ -0,0 +1,28 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+
+/**
+ * Per-stream income totals in cents for a given user and tax year.
+ */
+public record StreamIncomeTotals(
+        long employmentCents,
+        long freiberufCents,
+        long gewerbeCents
+) {
+
+    public static final StreamIncomeTotals EMPTY = new StreamIncomeTotals(0L, 0L, 0L);
+
+    /** Nebeneinkünfte: FREIBERUF + GEWERBE. */
+    public long selfEmployedCents() {
+        return freiberufCents + gewerbeCents;
+    }
+
+    public long centsFor(IncomeStream stream) {
+        return switch (stream) {
+            case EMPLOYMENT -> employmentCents;
+            case FREIBERUF -> freiberufCents;
+            case GEWERBE -> gewerbeCents;
+        };
+    }
+}
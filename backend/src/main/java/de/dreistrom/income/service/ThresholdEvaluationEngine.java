@@ -0,0 +1,72 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.event.ThresholdAlert;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evaluates all registered {@link ThresholdRule}s for a user/year in a single pass.
+ * <p>
+ * The aggregates every rule needs are loaded once into a {@link ThresholdSnapshot}
+ * (income projection + Gewerbe expenses), so the query cost per income write is
+ * constant regardless of how many rules are registered. Observations go through
+ * {@link ThresholdStateMachine}; only state transitions are published.
+ */
+@Service
+@RequiredArgsConstructor
+public class ThresholdEvaluationEngine {
+
+    private final IncomeEntryRepository incomeEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
+    private final List<ThresholdRule> rules;
+    private final ThresholdStateMachine thresholdStateMachine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Evaluate thresholds for the user/year of the given income entry.
+     * Unknown entries are ignored.
+     */
+    public List<ThresholdAlert> evaluateForEntry(Long entryId) {
+        IncomeEntry entry = incomeEntryRepository.findById(entryId).orElse(null);
+        if (entry == null) {
+            return List.of();
+        }
+        return evaluate(entry.getUser().getId(), entry.getEntryDate().getYear(),
+                Set.of(entry.getStreamType()));
+    }
+
+    /**
+     * Run every rule applicable to at least one of {@code triggers} against one
+     * snapshot and publish an alert for each threshold whose state changed.
+     */
+    @Transactional
+    public List<ThresholdAlert> evaluate(Long userId, int year, Set<IncomeStream> triggers) {
+        ThresholdSnapshot snapshot = loadSnapshot(userId, year, triggers);
+
+        List<ThresholdObservation> observations = new ArrayList<>();
+        for (ThresholdRule rule : rules) {
+            if (triggers.stream().anyMatch(rule::appliesTo)) {
+                observations.addAll(rule.evaluate(snapshot));
+            }
+        }
+
+        List<ThresholdAlert> alerts = thresholdStateMachine.apply(userId, year, observations);
+        alerts.forEach(eventPublisher::publishEvent);
+        return alerts;
+    }
+
+    private ThresholdSnapshot loadSnapshot(Long userId, int year, Set<IncomeStream> triggers) {
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        return new ThresholdSnapshot(userId, year, triggers, aggregates.income(),
+                aggregates.expenses().gewerbeCents());
+    }
+}
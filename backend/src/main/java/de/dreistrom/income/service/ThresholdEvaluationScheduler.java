@@ -0,0 +1,187 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link ThresholdEvaluationEngine} off the writer's thread.
+ * <p>
+ * Requests are coalesced per user/year: the first request opens a window of
+ * {@code dreistrom.threshold.coalesce-window-ms}; every further request for the
+ * same user/year inside that window only adds its trigger stream. When the window
+ * closes, one evaluation runs on a bounded worker pool. When the worker queue is
+ * full the window is extended by another {@code coalesce-window-ms} instead of
+ * running the evaluation on the timer thread, which would stall every other
+ * user's window; requests arriving meanwhile keep folding into it. The same
+ * happens while an earlier evaluation of the same user/year is still running,
+ * so evaluations of one user/year never overlap.
+ * <p>
+ * Metrics: {@code dreistrom.threshold.pending} (open windows),
+ * {@code dreistrom.threshold.queue.depth} (evaluations waiting for a worker),
+ * {@code dreistrom.threshold.evaluation.lag} (first request → evaluation start),
+ * {@code dreistrom.threshold.coalesced} (requests folded into an open window) and
+ * {@code dreistrom.threshold.deferred} (windows extended because the queue was full
+ * or the user/year was still being evaluated).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ThresholdEvaluationScheduler {
+
+    private final ThresholdEvaluationEngine thresholdEvaluationEngine;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dreistrom.threshold.coalesce-window-ms:500}")
+    private long coalesceWindowMs;
+
+    @Value("${dreistrom.threshold.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${dreistrom.threshold.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final ConcurrentHashMap<UserYear, Pending> pending = new ConcurrentHashMap<>();
+
+    /** User/years with an evaluation running; marked before their window is removed. */
+    private final Set<UserYear> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService windowTimer;
+    private ThreadPoolExecutor workers;
+    private Timer lagTimer;
+    private Counter coalescedCounter;
+    private Counter deferredCounter;
+
+    @PostConstruct
+    void start() {
+        windowTimer = Executors.newSingleThreadScheduledExecutor(namedThreads("threshold-window"));
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("threshold-eval"));
+
+        Gauge.builder("dreistrom.threshold.pending", pending, ConcurrentHashMap::size)
+                .description("User/year evaluation windows currently open")
+                .register(meterRegistry);
+        Gauge.builder("dreistrom.threshold.queue.depth", workers, w -> w.getQueue().size())
+                .description("Threshold evaluations waiting for a worker")
+                .register(meterRegistry);
+        lagTimer = Timer.builder("dreistrom.threshold.evaluation.lag")
+                .description("Time from the first coalesced request to evaluation start")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("dreistrom.threshold.coalesced")
+                .description("Evaluation requests folded into an already open window")
+                .register(meterRegistry);
+        deferredCounter = Counter.builder("dreistrom.threshold.deferred")
+                .description("Windows extended because the worker queue was full or the user/year was busy")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        windowTimer.shutdownNow();
+        workers.shutdown();
+    }
+
+    /**
+     * Request a threshold evaluation for the user/year after the current window.
+     */
+    public void schedule(Long userId, int year, IncomeStream trigger) {
+        UserYear key = new UserYear(userId, year);
+        boolean[] opened = {false};
+
+        pending.compute(key, (k, existing) -> {
+            Pending p = existing;
+            if (p == null) {
+                p = new Pending(System.nanoTime());
+                opened[0] = true;
+            }
+            p.triggers.add(trigger);
+            return p;
+        });
+
+        if (opened[0]) {
+            windowTimer.schedule(() -> dispatch(key), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        } else {
+            coalescedCounter.increment();
+        }
+    }
+
+    private void dispatch(UserYear key) {
+        if (inFlight.contains(key)) {
+            deferredCounter.increment();
+            windowTimer.schedule(() -> dispatch(key), coalesceWindowMs, TimeUnit.MILLISECONDS);
+            return;
+        }
+        try {
+            workers.execute(() -> run(key));
+        } catch (RejectedExecutionException e) {
+            if (workers.isShutdown()) {
+                return;
+            }
+            // Queue full: keep the window open and retry later
+            deferredCounter.increment();
+            log.warn("Threshold worker queue full, deferring evaluation: userId={}, year={}",
+                    key.userId(), key.year());
+            windowTimer.schedule(() -> dispatch(key), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run(UserYear key) {
+        // Marked first: a window opened after the removal below sees the mark
+        inFlight.add(key);
+        try {
+            Pending p = pending.remove(key);
+            if (p == null) {
+                return;
+            }
+            lagTimer.record(System.nanoTime() - p.openedAtNanos, TimeUnit.NANOSECONDS);
+
+            thresholdEvaluationEngine.evaluate(key.userId(), key.year(), p.triggers);
+        } catch (RuntimeException e) {
+            log.error("Threshold evaluation failed: userId={}, year={}",
+                    key.userId(), key.year(), e);
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private record UserYear(Long userId, int year) {
+    }
+
+    private static final class Pending {
+        private final long openedAtNanos;
+        private final Set<IncomeStream> triggers = EnumSet.noneOf(IncomeStream.class);
+
+        private Pending(long openedAtNanos) {
+            this.openedAtNanos = openedAtNanos;
+        }
+    }
+}
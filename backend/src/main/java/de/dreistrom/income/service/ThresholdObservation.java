@@ -0,0 +1,38 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.calendar.domain.ThresholdAlertState;
+import de.dreistrom.income.event.ThresholdType;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one {@link ThresholdRule} check, reported whether or not the
+ * threshold is crossed so the state machine can detect transitions in both directions.
+ *
+ * @param state          state implied by the current figures, without hysteresis
+ * @param ratio          rule-specific ratio carried on the published alert
+ * @param value          observed value in EUR (revenue, profit, projection …)
+ * @param thresholdValue limit the value is compared against, in EUR
+ * @param utilization    normalised distance to the limit: 1.0 is the EXCEEDED boundary
+ * @param warningAt      utilization at which WARNING starts, or null if the rule has none
+ */
+public record ThresholdObservation(
+        ThresholdType type,
+        ThresholdAlertState state,
+        BigDecimal ratio,
+        BigDecimal value,
+        BigDecimal thresholdValue,
+        BigDecimal utilization,
+        BigDecimal warningAt
+) {
+
+    /** Observation for a rule that is either below or exceeded. */
+    public static ThresholdObservation exceededIf(boolean exceeded, ThresholdType type,
+                                                  BigDecimal ratio, BigDecimal value,
+                                                  BigDecimal thresholdValue,
+                                                  BigDecimal utilization) {
+        return new ThresholdObservation(type,
+                exceeded ? ThresholdAlertState.EXCEEDED : ThresholdAlertState.BELOW,
+                ratio, value, thresholdValue, utilization, null);
+    }
+}
@@ -0,0 +1,27 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+
+import java.util.List;
+
+/**
+ * A single threshold check evaluated by {@link ThresholdEvaluationEngine}.
+ * Rules are pure functions of the pre-loaded {@link ThresholdSnapshot} and must
+ * not issue their own queries; anything they need belongs in the snapshot.
+ */
+public interface ThresholdRule {
+
+    /**
+     * Whether a write to the given stream can change this rule's outcome.
+     * Defaults to every stream.
+     */
+    default boolean appliesTo(IncomeStream trigger) {
+        return true;
+    }
+
+    /**
+     * One observation per threshold type the rule covers, including those
+     * currently below their limit.
+     */
+    List<ThresholdObservation> evaluate(ThresholdSnapshot snapshot);
+}
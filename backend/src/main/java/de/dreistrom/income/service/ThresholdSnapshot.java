@@ -0,0 +1,34 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.Money;
+
+import java.util.Set;
+
+/**
+ * User/year aggregates loaded once per threshold evaluation and shared by all rules.
+ *
+ * @param triggers           streams of the income writes that caused the evaluation
+ * @param income             per-stream income totals for the year
+ * @param gewerbeExpenseCents Gewerbe share of allocated business expenses for the year
+ */
+public record ThresholdSnapshot(
+        Long userId,
+        int year,
+        Set<IncomeStream> triggers,
+        StreamIncomeTotals income,
+        long gewerbeExpenseCents
+) {
+
+    public Money gewerbeRevenue() {
+        return Money.ofCents(income.gewerbeCents());
+    }
+
+    public Money selfEmployedRevenue() {
+        return Money.ofCents(income.selfEmployedCents());
+    }
+
+    public Money gewerbeExpenses() {
+        return Money.ofCents(gewerbeExpenseCents);
+    }
+}
@@ -0,0 +1,115 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.calendar.domain.ThresholdAlertState;
+import de.dreistrom.calendar.domain.ThresholdAlertType;
+import de.dreistrom.calendar.repository.ThresholdAlertRepository;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.event.ThresholdAlert;
+import de.dreistrom.income.event.ThresholdType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Edge-triggered threshold state per user, tax year and type, persisted in
+ * threshold_alert. An observation only yields a {@link ThresholdAlert} when it
+ * moves the stored state.
+ * <p>
+ * Escalation is immediate. De-escalation has hysteresis: a state is held while
+ * utilization stays within {@code dreistrom.threshold.hysteresis} below the point
+ * where that state was entered, so figures hovering at a limit do not flap.
+ */
+@Component
+@RequiredArgsConstructor
+public class ThresholdStateMachine {
+
+    private final ThresholdAlertRepository thresholdAlertRepository;
+    private final AppUserRepository appUserRepository;
+
+    @Value("${dreistrom.threshold.hysteresis:0.05}")
+    private BigDecimal hysteresis;
+
+    /**
+     * Apply observations for one user/year and return the transitions as alerts.
+     * Missing state rows count as {@link ThresholdAlertState#BELOW}.
+     */
+    @Transactional
+    public List<ThresholdAlert> apply(Long userId, int year, List<ThresholdObservation> observations) {
+        Map<ThresholdAlertType, de.dreistrom.calendar.domain.ThresholdAlert> stored =
+                new EnumMap<>(ThresholdAlertType.class);
+        for (var row : thresholdAlertRepository.findByUserIdAndTaxYear(userId, year)) {
+            stored.put(row.getAlertType(), row);
+        }
+
+        List<ThresholdAlert> transitions = new ArrayList<>();
+        for (ThresholdObservation obs : observations) {
+            ThresholdAlertType alertType = alertTypeFor(obs.type());
+            var row = stored.get(alertType);
+            ThresholdAlertState previous = row != null && row.getState() != null
+                    ? row.getState() : ThresholdAlertState.BELOW;
+            ThresholdAlertState next = resolve(obs, previous);
+            if (next == previous) {
+                continue;
+            }
+
+            String message = obs.type() + ": " + previous + " → " + next;
+            if (row == null) {
+                thresholdAlertRepository.save(new de.dreistrom.calendar.domain.ThresholdAlert(
+                        appUserRepository.getReferenceById(userId), alertType, year, next,
+                        obs.value(), obs.thresholdValue(), message));
+            } else {
+                row.transitionTo(next, obs.value(), obs.thresholdValue(), message);
+            }
+            transitions.add(new ThresholdAlert(obs.type(), obs.ratio(), obs.value(),
+                    userId, year, next, previous));
+        }
+        return transitions;
+    }
+
+    /**
+     * Escalate straight to the observed state; when falling, stop at the highest
+     * state whose entry point (minus the hysteresis band) is still reached.
+     */
+    ThresholdAlertState resolve(ThresholdObservation obs, ThresholdAlertState previous) {
+        ThresholdAlertState observed = obs.state();
+        if (observed.compareTo(previous) >= 0) {
+            return observed;
+        }
+        for (int i = previous.ordinal(); i > observed.ordinal(); i--) {
+            ThresholdAlertState candidate = ThresholdAlertState.values()[i];
+            BigDecimal entry = entryPoint(candidate, obs);
+            if (entry != null && obs.utilization().compareTo(entry.subtract(hysteresis)) >= 0) {
+                return candidate;
+            }
+        }
+        return observed;
+    }
+
+    private static BigDecimal entryPoint(ThresholdAlertState state, ThresholdObservation obs) {
+        return switch (state) {
+            case EXCEEDED -> BigDecimal.ONE;
+            case WARNING -> obs.warningAt();
+            case BELOW -> null;
+        };
+    }
+
+    private static ThresholdAlertType alertTypeFor(ThresholdType type) {
+        return switch (type) {
+            case ABFAERBUNG -> ThresholdAlertType.ABFAERBUNG_RATIO;
+            case KLEINUNTERNEHMER_CURRENT_YEAR -> ThresholdAlertType.KLEINUNTERNEHMER_CURRENT;
+            case KLEINUNTERNEHMER_PROJECTED -> ThresholdAlertType.KLEINUNTERNEHMER_PROJECTED;
+            case GEWERBESTEUER_FREIBETRAG -> ThresholdAlertType.GEWST_FREIBETRAG;
+            case BILANZIERUNG -> ThresholdAlertType.BILANZIERUNG;
+            case MANDATORY_FILING -> ThresholdAlertType.MANDATORY_FILING;
+            case SOCIAL_INSURANCE, ARBZG_HOURS -> throw new IllegalArgumentException(
+                    "No persisted threshold state for " + type);
+        };
+    }
+}
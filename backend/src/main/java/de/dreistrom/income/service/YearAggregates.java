@@ -0,0 +1,16 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.expense.service.ExpenseAllocationTotals;
+
+/**
+ * Everything the tax, threshold and feature-flag services need about a
+ * user's year: income per stream and allocated expenses per stream.
+ */
+public record YearAggregates(
+        StreamIncomeTotals income,
+        ExpenseAllocationTotals expenses
+) {
+
+    public static final YearAggregates EMPTY =
+            new YearAggregates(StreamIncomeTotals.EMPTY, ExpenseAllocationTotals.EMPTY);
+}
@@ -0,0 +1,25 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.expense.service.ExpenseTotalsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads {@link YearAggregates} in two round trips: one read of the
+ * income_year_totals projection and one grouped expense allocation query.
+ */
+@Service
+@RequiredArgsConstructor
+public class YearAggregatesService {
+
+    private final IncomeTotalsService incomeTotalsService;
+    private final ExpenseTotalsService expenseTotalsService;
+
+    @Transactional(readOnly = true)
+    public YearAggregates forYear(Long userId, int year) {
+        return new YearAggregates(
+                incomeTotalsService.forYear(userId, year),
+                expenseTotalsService.forYear(userId, year));
+    }
+}
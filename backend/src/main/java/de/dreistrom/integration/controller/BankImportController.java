@@ -0,0 +1,51 @@
+package de.dreistrom.integration.controller;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.service.AppUserDetails;
+import de.dreistrom.integration.dto.BankImportResult;
+import de.dreistrom.integration.service.BankStatementImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+@RestController
+@RequestMapping("/api/v1/bank-import")
+@RequiredArgsConstructor
+@Tag(name = "Bank import", description = "Import bank statements as expense and income entries")
+public class BankImportController {
+
+    private final BankStatementImporter bankStatementImporter;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(operationId = "importBankStatement",
+            summary = "Import a CAMT.053 XML or bank CSV statement; known transactions are skipped",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statement imported"),
+                    @ApiResponse(responseCode = "400", description = "Unrecognized or malformed statement")
+            })
+    public ResponseEntity<BankImportResult> importStatement(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String account,
+            @RequestParam(required = false) IncomeStream incomeStream,
+            @RequestParam(defaultValue = "UTF-8") Charset charset) throws IOException {
+
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(bankStatementImporter.importStatement(
+                    userDetails.getId(), input, charset, account, incomeStream));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.dreistrom.integration.controller;
+
+import de.dreistrom.common.service.AppUserDetails;
+import de.dreistrom.integration.dto.ConfirmMatchRequest;
+import de.dreistrom.integration.dto.ReconciliationResult;
+import de.dreistrom.integration.dto.ReviewItemResponse;
+import de.dreistrom.integration.service.ReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/reconciliation")
+@RequiredArgsConstructor
+@Tag(name = "Reconciliation", description = "Match imported bank credits to open invoices")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping("/run")
+    @Operation(operationId = "runReconciliation",
+            summary = "Match open bank credits booked in the period; confident matches mark invoices PAID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Reconciliation finished"),
+                    @ApiResponse(responseCode = "400", description = "Invalid period")
+            })
+    public ResponseEntity<ReconciliationResult> run(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        return ResponseEntity.ok(reconciliationService.reconcile(userDetails.getId(), from, to));
+    }
+
+    @GetMapping("/review")
+    @Operation(operationId = "listReconciliationReview",
+            summary = "List bank credits with ambiguous invoice candidates",
+            responses = @ApiResponse(responseCode = "200", description = "Review queue"))
+    public ResponseEntity<List<ReviewItemResponse>> listReview(
+            @AuthenticationPrincipal AppUserDetails userDetails) {
+
+        return ResponseEntity.ok(reconciliationService.listReview(userDetails.getId()));
+    }
+
+    @PostMapping("/review/{transactionId}/confirm")
+    @Operation(operationId = "confirmReconciliationMatch",
+            summary = "Settle a bank credit against an invoice, which becomes PAID",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Match confirmed"),
+                    @ApiResponse(responseCode = "400", description = "Already matched or invalid status transition"),
+                    @ApiResponse(responseCode = "404", description = "Bank transaction or invoice not found")
+            })
+    public ResponseEntity<Void> confirm(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @PathVariable Long transactionId,
+            @Valid @RequestBody ConfirmMatchRequest request) {
+
+        reconciliationService.confirm(userDetails.getId(), transactionId, request.invoiceId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/review/{transactionId}/dismiss")
+    @Operation(operationId = "dismissReconciliationItem",
+            summary = "Leave a bank credit out of further reconciliation runs",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Credit dismissed"),
+                    @ApiResponse(responseCode = "404", description = "Bank transaction not found")
+            })
+    public ResponseEntity<Void> dismiss(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @PathVariable Long transactionId) {
+
+        reconciliationService.dismiss(userDetails.getId(), transactionId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,102 @@
+package de.dreistrom.integration.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One imported bank statement line. {@code amountCents} is signed: negative
+ * for debits.
+ * <p>
+ * Rows are inserted in batches by
+ * {@link de.dreistrom.integration.service.BankStatementImporter}; the
+ * expense or income entry booked from the line is referenced by id.
+ * Credits that were not booked are settled against open invoices by {@link de.dreistrom.integration.service.ReconciliationService}.
+ */
+@Entity
+@Table(name = "bank_transaction",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bank_transaction_dedup",
+                columnNames = {"user_id", "dedup_hash"}))
+@Getter
+@NoArgsConstructor
+public class BankTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 34)
+    private String account;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(name = "value_date")
+    private LocalDate valueDate;
+
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(length = 255)
+    private String counterparty;
+
+    @Column(length = 1000)
+    private String reference;
+
+    @Column(name = "dedup_hash", nullable = false, length = 64)
+    private String dedupHash;
+
+    @Column(name = "import_batch_id", nullable = false, length = 36)
+    private String importBatchId;
+
+    @Column(name = "expense_entry_id")
+    private Long expenseEntryId;
+
+    @Column(name = "income_entry_id")
+    private Long incomeEntryId;
+
+    @Column(name = "invoice_id")
+    private Long invoiceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "match_status", nullable = false)
+    private MatchStatus matchStatus = MatchStatus.UNMATCHED;
+
+    @Column(name = "match_score", precision = 4, scale = 3)
+    private BigDecimal matchScore;
+
+    @Column(name = "created_at", nullable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant createdAt;
+
+    public void matchInvoice(Long invoiceId, BigDecimal score) {
+        this.invoiceId = invoiceId;
+        this.matchStatus = MatchStatus.MATCHED;
+        this.matchScore = score;
+    }
+
+    public void markForReview() {
+        this.matchStatus = MatchStatus.REVIEW;
+        this.matchScore = null;
+    }
+
+    public void markUnmatched() {
+        this.matchStatus = MatchStatus.UNMATCHED;
+        this.matchScore = null;
+    }
+
+    public void dismiss() {
+        this.matchStatus = MatchStatus.DISMISSED;
+        this.matchScore = null;
+    }
+}
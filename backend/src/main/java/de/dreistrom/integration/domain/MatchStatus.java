@@ -0,0 +1,8 @@
+package de.dreistrom.integration.domain;
+
+public enum MatchStatus {
+    UNMATCHED,
+    MATCHED,
+    REVIEW,
+    DISMISSED
+}
@@ -0,0 +1,34 @@
+package de.dreistrom.integration.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Open invoice proposed for a bank transaction in review.
+ * Composite PK: (bank_transaction_id, invoice_id).
+ * <p>
+ * Rows are written exclusively through native statements in
+ * {@link de.dreistrom.integration.service.ReconciliationService}, which
+ * replaces a transaction's candidates on every run.
+ */
+@Entity
+@Table(name = "reconciliation_candidate")
+@IdClass(ReconciliationCandidateId.class)
+@Getter
+@NoArgsConstructor
+public class ReconciliationCandidate {
+
+    @Id
+    @Column(name = "bank_transaction_id", nullable = false)
+    private Long bankTransactionId;
+
+    @Id
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(nullable = false, precision = 4, scale = 3)
+    private BigDecimal score;
+}
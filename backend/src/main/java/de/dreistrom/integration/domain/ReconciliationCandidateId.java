@@ -0,0 +1,34 @@
+package de.dreistrom.integration.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for reconciliation_candidate table.
+ */
+public class ReconciliationCandidateId implements Serializable {
+
+    private Long bankTransactionId;
+    private Long invoiceId;
+
+    public ReconciliationCandidateId() {}
+
+    public ReconciliationCandidateId(Long bankTransactionId, Long invoiceId) {
+        this.bankTransactionId = bankTransactionId;
+        this.invoiceId = invoiceId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReconciliationCandidateId that = (ReconciliationCandidateId) o;
+        return Objects.equals(bankTransactionId, that.bankTransactionId)
+                && Objects.equals(invoiceId, that.invoiceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bankTransactionId, invoiceId);
+    }
+}
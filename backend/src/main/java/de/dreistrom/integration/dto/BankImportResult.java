@@ -0,0 +1,22 @@
+package de.dreistrom.integration.dto;
+
+/**
+ * Outcome of a bank statement import.
+ *
+ * @param transactions   statement lines read from the file
+ * @param duplicates     lines skipped because they were imported before
+ * @param skipped        CSV rows without a parseable booking date or amount
+ * @param expensesCreated debits booked as expense entries
+ * @param classified     of those, entries whose category and allocation rule
+ *                       were pre-filled from the user's history
+ * @param incomeCreated  credits booked as income entries
+ */
+public record BankImportResult(
+        String importBatchId,
+        int transactions,
+        int duplicates,
+        int skipped,
+        int expensesCreated,
+        int classified,
+        int incomeCreated
+) {}
@@ -0,0 +1,7 @@
+package de.dreistrom.integration.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record ConfirmMatchRequest(
+        @NotNull Long invoiceId
+) {}
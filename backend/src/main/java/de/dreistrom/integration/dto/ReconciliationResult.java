@@ -0,0 +1,16 @@
+package de.dreistrom.integration.dto;
+
+/**
+ * Outcome of a reconciliation run.
+ *
+ * @param transactions credits considered
+ * @param matched      credits settled against an invoice, which is now PAID
+ * @param review       credits with ambiguous candidates awaiting confirmation
+ * @param unmatched    credits without a plausible invoice
+ */
+public record ReconciliationResult(
+        int transactions,
+        int matched,
+        int review,
+        int unmatched
+) {}
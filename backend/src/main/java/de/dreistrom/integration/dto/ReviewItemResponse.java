@@ -0,0 +1,27 @@
+package de.dreistrom.integration.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bank credit in review with its best candidate invoices, highest score first.
+ */
+public record ReviewItemResponse(
+        Long transactionId,
+        LocalDate bookingDate,
+        BigDecimal amount,
+        String counterparty,
+        String reference,
+        List<Candidate> candidates
+) {
+
+    public record Candidate(
+            Long invoiceId,
+            String number,
+            String clientName,
+            BigDecimal grossTotal,
+            LocalDate dueDate,
+            BigDecimal score
+    ) {}
+}
@@ -2,13 +2,18 @@ package de.dreistrom.integration.repository;
 
 import de.dreistrom.integration.domain.AppStorePayout;
 import de.dreistrom.integration.domain.PayoutPlatform;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AppStorePayoutRepository extends JpaRepository<AppStorePayout, Long> {
@@ -22,6 +27,16 @@ public interface AppStorePayoutRepository extends JpaRepository<AppStorePayout,
             Long userId, PayoutPlatform platform, LocalDate reportDate,
             String productId, String region, String importBatchId);
 
+    /**
+     * Full history in ledger order for export. Rows are fetched from the
+     * database in chunks; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM AppStorePayout p " +
+           "WHERE p.user.id = :userId ORDER BY p.reportDate, p.id")
+    Stream<AppStorePayout> streamByUserId(@Param("userId") Long userId);
+
     @Query("SELECT COALESCE(SUM(p.netRevenue), 0) FROM AppStorePayout p " +
            "WHERE p.user.id = :userId AND p.platform = :platform " +
            "AND p.reportDate BETWEEN :from AND :to")
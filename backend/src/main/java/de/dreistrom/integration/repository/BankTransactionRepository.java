@@ -0,0 +1,46 @@
+package de.dreistrom.integration.repository;
+
+import de.dreistrom.integration.domain.BankTransaction;
+import de.dreistrom.integration.domain.MatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BankTransactionRepository extends JpaRepository<BankTransaction, Long> {
+
+    List<BankTransaction> findByImportBatchIdOrderByBookingDateAscIdAsc(String importBatchId);
+
+    /**
+     * The subset of {@code hashes} already imported for the user, served from
+     * uk_bank_transaction_dedup.
+     */
+    @Query(value = "SELECT dedup_hash FROM bank_transaction " +
+                   "WHERE user_id = :userId AND dedup_hash IN (:hashes)",
+           nativeQuery = true)
+    List<String> findExistingHashes(@Param("userId") Long userId,
+                                    @Param("hashes") Collection<String> hashes);
+
+    Optional<BankTransaction> findByIdAndUserId(Long id, Long userId);
+
+    List<BankTransaction> findByUserIdAndMatchStatusOrderByBookingDateAscIdAsc(Long userId, MatchStatus matchStatus);
+
+    /**
+     * Credits in the given states booked in {@code [from, to]}, in booking
+     * order. Served from idx_bank_transaction_user_status.
+     */
+    @Query("SELECT t FROM BankTransaction t " +
+           "WHERE t.userId = :userId AND t.matchStatus IN :statuses AND t.amountCents > 0 " +
+           "AND t.bookingDate BETWEEN :from AND :to " +
+           "ORDER BY t.bookingDate, t.id")
+    List<BankTransaction> findCredits(@Param("userId") Long userId,
+                                      @Param("statuses") Collection<MatchStatus> statuses,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+}
@@ -0,0 +1,24 @@
+package de.dreistrom.integration.repository;
+
+import de.dreistrom.integration.domain.ReconciliationCandidate;
+import de.dreistrom.integration.domain.ReconciliationCandidateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReconciliationCandidateRepository
+        extends JpaRepository<ReconciliationCandidate, ReconciliationCandidateId> {
+
+    List<ReconciliationCandidate> findByBankTransactionIdInOrderByScoreDesc(Collection<Long> bankTransactionIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM reconciliation_candidate WHERE bank_transaction_id IN (:bankTransactionIds)",
+           nativeQuery = true)
+    int deleteByBankTransactionIds(@Param("bankTransactionIds") Collection<Long> bankTransactionIds);
+}
@@ -0,0 +1,250 @@
+package de.dreistrom.integration.service;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvException;
+import de.dreistrom.common.domain.Money;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for the CSV account exports of German banks (Sparkasse
+ * CAMT-CSV, DKB, ING, comdirect, Volks- und Raiffeisenbanken and similar).
+ * <p>
+ * Exports differ in preamble lines, column names and order, so the header is
+ * located by looking for a booking date and an amount column among the first
+ * {@value #MAX_PREAMBLE_ROWS} rows and columns are then resolved by name.
+ * Amounts are either signed, split into Soll/Haben columns, or carry an
+ * S/H indicator column. Rows without a parseable booking date or amount,
+ * such as balance footers, are counted as skipped.
+ */
+final class BankCsvStatementParser {
+
+    static final int MAX_PREAMBLE_ROWS = 30;
+
+    private static final DateTimeFormatter GERMAN_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter GERMAN_SHORT_DATE = DateTimeFormatter.ofPattern("dd.MM.yy");
+
+    private static final List<String> BOOKING_DATE = List.of(
+            "buchungstag", "buchungsdatum", "buchung", "datum");
+    private static final List<String> VALUE_DATE = List.of(
+            "valutadatum", "valuta", "wertstellung", "wertstellungsdatum", "valuta datum");
+    private static final List<String> AMOUNT = List.of(
+            "betrag", "betrag (eur)", "betrag (€)", "betrag in eur", "umsatz", "umsatz in eur");
+    private static final List<String> DEBIT = List.of("soll", "soll (eur)");
+    private static final List<String> CREDIT = List.of("haben", "haben (eur)");
+    private static final List<String> DEBIT_CREDIT_INDICATOR = List.of("soll/haben", "s/h");
+    private static final List<String> COUNTERPARTY = List.of(
+            "beguenstigter/zahlungspflichtiger", "begünstigter/zahlungspflichtiger",
+            "auftraggeber / begünstigter", "auftraggeber/begünstigter",
+            "name zahlungsbeteiligter", "zahlungsempfänger*in", "zahlungspflichtige*r",
+            "empfänger", "auftraggeber", "name");
+    private static final List<String> REFERENCE = List.of("verwendungszweck", "buchungstext");
+    private static final List<String> ACCOUNT = List.of(
+            "auftragskonto", "iban auftragskonto", "kontonummer/iban");
+    private static final List<String> CURRENCY = List.of("waehrung", "währung");
+
+    private BankCsvStatementParser() {
+    }
+
+    /**
+     * @param defaultAccount IBAN for exports without an account column
+     * @return number of data rows skipped as unparseable
+     * @throws IllegalArgumentException if no header row is found
+     */
+    static int parse(BufferedReader input, String defaultAccount, Consumer<BankStatementLine> sink) {
+        char separator = detectSeparator(input);
+        try (CSVReader reader = new CSVReaderBuilder(input)
+                .withCSVParser(new CSVParserBuilder().withSeparator(separator).build())
+                .build()) {
+
+            Columns columns = null;
+            for (int row = 0; row < MAX_PREAMBLE_ROWS && columns == null; row++) {
+                String[] line = reader.readNext();
+                if (line == null) {
+                    break;
+                }
+                columns = Columns.of(line);
+            }
+            if (columns == null) {
+                throw new IllegalArgumentException(
+                        "No bank CSV header with booking date and amount columns found");
+            }
+
+            int skipped = 0;
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                if (isBlank(line)) {
+                    continue;
+                }
+                BankStatementLine parsed = columns.parse(line, defaultAccount);
+                if (parsed == null) {
+                    skipped++;
+                } else {
+                    sink.accept(parsed);
+                }
+            }
+            return skipped;
+        } catch (IOException | CsvException e) {
+            throw new IllegalArgumentException("Invalid bank CSV: " + e.getMessage());
+        }
+    }
+
+    /**
+     * German exports use {@code ;}; fall back to {@code ,} when the first
+     * kilobytes contain no semicolon.
+     */
+    private static char detectSeparator(BufferedReader input) {
+        try {
+            char[] head = new char[8192];
+            input.mark(head.length);
+            int read = input.read(head);
+            input.reset();
+            for (int i = 0; i < read; i++) {
+                if (head[i] == ';') {
+                    return ';';
+                }
+            }
+            return ',';
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable bank CSV: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts German {@code -1.234,56} as well as {@code -1234.56}. A single
+     * separator followed by exactly three digits ({@code 1.234}) could mean
+     * either and is rejected, which skips the line.
+     */
+    static BigDecimal parseAmount(String raw) {
+        String s = raw.replace(" ", "").replace("\u00A0", "").replace("€", "").replace("EUR", "");
+        int comma = s.lastIndexOf(',');
+        int dot = s.lastIndexOf('.');
+        if (comma >= 0 && dot >= 0) {
+            s = comma > dot
+                    ? s.replace(".", "").replace(',', '.')
+                    : s.replace(",", "");
+        } else if (comma >= 0 || dot >= 0) {
+            char separator = comma >= 0 ? ',' : '.';
+            int last = Math.max(comma, dot);
+            if (s.indexOf(separator) != last) {
+                s = s.replace(String.valueOf(separator), "");
+            } else if (s.length() - last - 1 == 3) {
+                throw new NumberFormatException("Ambiguous amount " + raw);
+            } else {
+                s = s.replace(separator, '.');
+            }
+        }
+        return new BigDecimal(s);
+    }
+
+    private static LocalDate parseDate(String raw) {
+        if (raw.indexOf('.') < 0) {
+            return LocalDate.parse(raw);
+        }
+        return raw.length() == 8 ? LocalDate.parse(raw, GERMAN_SHORT_DATE) : LocalDate.parse(raw, GERMAN_DATE);
+    }
+
+    private static boolean isBlank(String[] line) {
+        for (String f : line) {
+            if (!f.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Columns(int bookingDate, int valueDate, int amount, int debit, int credit,
+                           int indicator, int counterparty, int reference, int account,
+                           int currency) {
+
+        /** Resolve columns if {@code header} is the header row, else null. */
+        static Columns of(String[] header) {
+            String[] names = new String[header.length];
+            for (int i = 0; i < header.length; i++) {
+                names[i] = header[i].replace("\uFEFF", "").trim().toLowerCase(Locale.GERMAN);
+            }
+            int bookingDate = find(names, BOOKING_DATE);
+            int amount = find(names, AMOUNT);
+            int debit = find(names, DEBIT);
+            int credit = find(names, CREDIT);
+            if (bookingDate < 0 || (amount < 0 && (debit < 0 || credit < 0))) {
+                return null;
+            }
+            return new Columns(bookingDate, find(names, VALUE_DATE), amount, debit, credit,
+                    find(names, DEBIT_CREDIT_INDICATOR), find(names, COUNTERPARTY),
+                    find(names, REFERENCE), find(names, ACCOUNT), find(names, CURRENCY));
+        }
+
+        /** The line, or null if it has no parseable booking date or amount. */
+        BankStatementLine parse(String[] fields, String defaultAccount) {
+            try {
+                String date = field(fields, bookingDate);
+                if (date == null) {
+                    return null;
+                }
+                BigDecimal value;
+                if (amount >= 0) {
+                    String raw = field(fields, amount);
+                    if (raw == null) {
+                        return null;
+                    }
+                    value = parseAmount(raw);
+                    String sh = field(fields, indicator);
+                    if (sh != null && sh.equalsIgnoreCase("S") && value.signum() > 0) {
+                        value = value.negate();
+                    }
+                } else {
+                    String soll = field(fields, debit);
+                    String haben = field(fields, credit);
+                    if (soll == null && haben == null) {
+                        return null;
+                    }
+                    value = soll != null ? parseAmount(soll).abs().negate() : parseAmount(haben).abs();
+                }
+
+                String valueDateRaw = field(fields, valueDate);
+                String accountValue = field(fields, account);
+                String currencyValue = field(fields, currency);
+                return new BankStatementLine(
+                        accountValue != null ? accountValue.replace(" ", "") : defaultAccount,
+                        parseDate(date),
+                        valueDateRaw != null ? parseDate(valueDateRaw) : null,
+                        Money.ofEuros(value).cents(),
+                        currencyValue != null ? currencyValue.toUpperCase(Locale.ROOT) : "EUR",
+                        field(fields, counterparty),
+                        field(fields, reference));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        private static int find(String[] names, List<String> candidates) {
+            for (String candidate : candidates) {
+                for (int i = 0; i < names.length; i++) {
+                    if (names[i].equals(candidate)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static String field(String[] fields, int idx) {
+            if (idx < 0 || idx >= fields.length) {
+                return null;
+            }
+            String value = fields[idx].trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
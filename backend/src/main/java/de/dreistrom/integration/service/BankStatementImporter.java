@@ -0,0 +1,288 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.expense.dto.CreateExpenseEntryRequest;
+import de.dreistrom.expense.dto.ExpenseSuggestion;
+import de.dreistrom.expense.service.ExpenseBatchService;
+import de.dreistrom.expense.service.ExpenseClassifier;
+import de.dreistrom.income.dto.CreateIncomeEntryRequest;
+import de.dreistrom.income.service.IncomeBatchService;
+import de.dreistrom.integration.domain.MatchStatus;
+import de.dreistrom.integration.dto.BankImportResult;
+import de.dreistrom.integration.repository.BankTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports bank statements (CAMT.053 XML or German bank CSV) as a stream.
+ * <p>
+ * Lines are read one at a time and processed in chunks of
+ * {@value #CHUNK_SIZE}: each chunk is checked against the user's dedup hashes
+ * in bank_transaction, then new debits are booked as expense entries and, if
+ * an income stream is given, new credits as income entries, both through the
+ * modules' JDBC batch inserts. Expense category and allocation rule are
+ * pre-filled by {@link ExpenseClassifier}; lines without a confident
+ * suggestion are booked as
+ * {@value ExpenseClassifier#UNCLASSIFIED_CATEGORY}. Every line is
+ * recorded in bank_transaction with a link to the entry booked from it; lines
+ * left unbooked are settled later by {@link ReconciliationService}.
+ * <p>
+ * Leave the income stream unset when the user's payments are invoiced in
+ * DreiStrom: the invoice already created the income entry, and its credits
+ * are only recorded for reconciliation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BankStatementImporter {
+
+    static final String SOURCE = "Bank-Import";
+    static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO bank_transaction (user_id, account, booking_date, value_date, amount_cents, "
+            + "currency, counterparty, reference, dedup_hash, import_batch_id, expense_entry_id, "
+            + "income_entry_id, match_status, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BankTransactionRepository bankTransactionRepository;
+    private final ExpenseClassifier expenseClassifier;
+    private final ExpenseBatchService expenseBatchService;
+    private final IncomeBatchService incomeBatchService;
+
+    /**
+     * @param charset        encoding of CSV uploads; XML declares its own
+     * @param defaultAccount IBAN for CSV exports without an account column
+     * @param incomeStream   stream to book credits as, or null to only record them
+     * @throws IllegalArgumentException if the file is neither CAMT.053 nor a
+     *                                  recognizable bank CSV
+     */
+    @Transactional
+    public BankImportResult importStatement(Long userId, InputStream input, Charset charset,
+                                            String defaultAccount, IncomeStream incomeStream) {
+        Batch batch = new Batch(userId, UUID.randomUUID().toString(), incomeStream);
+        BufferedInputStream in = new BufferedInputStream(input);
+        int skipped;
+        if (isXml(in)) {
+            CamtStatementParser.parse(in, batch::add);
+            skipped = 0;
+        } else {
+            skipped = BankCsvStatementParser.parse(
+                    new BufferedReader(new InputStreamReader(in, charset)),
+                    defaultAccount != null ? defaultAccount.replace(" ", "") : "",
+                    batch::add);
+        }
+        batch.flush();
+
+        log.info("Bank statement import: userId={}, batch={}, transactions={}, duplicates={}, "
+                        + "skipped={}, expenses={}, classified={}, income={}",
+                userId, batch.batchId, batch.transactions, batch.duplicates, skipped,
+                batch.expensesCreated, batch.classified, batch.incomeCreated);
+        return new BankImportResult(batch.batchId, batch.transactions, batch.duplicates, skipped,
+                batch.expensesCreated, batch.classified, batch.incomeCreated);
+    }
+
+    /**
+     * Statement lines of one import, buffered up to a chunk. Occurrences of
+     * the same (account, date, amount, reference) within the file are
+     * numbered into the hash, so two identical card payments on one day
+     * stay two lines while a re-import of the file still matches both.
+     */
+    private final class Batch {
+
+        private final Long userId;
+        private final String batchId;
+        private final IncomeStream incomeStream;
+        private final Map<String, Integer> occurrences = new HashMap<>();
+        private final List<BankStatementLine> lines = new ArrayList<>(CHUNK_SIZE);
+        private final List<String> hashes = new ArrayList<>(CHUNK_SIZE);
+
+        private int transactions;
+        private int duplicates;
+        private int expensesCreated;
+        private int classified;
+        private int incomeCreated;
+
+        Batch(Long userId, String batchId, IncomeStream incomeStream) {
+            this.userId = userId;
+            this.batchId = batchId;
+            this.incomeStream = incomeStream;
+        }
+
+        void add(BankStatementLine line) {
+            String key = String.join("|", line.account(), line.bookingDate().toString(),
+                    Long.toString(line.amountCents()), normalize(line.reference()));
+            int occurrence = occurrences.merge(key, 1, Integer::sum);
+            lines.add(line);
+            hashes.add(sha256(key + "|" + occurrence));
+            transactions++;
+            if (lines.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (lines.isEmpty()) {
+                return;
+            }
+            Set<String> existing = new HashSet<>(
+                    bankTransactionRepository.findExistingHashes(userId, hashes));
+
+            List<Row> rows = new ArrayList<>(lines.size());
+            List<CreateExpenseEntryRequest> expenses = new ArrayList<>();
+            List<CreateIncomeEntryRequest> income = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i++) {
+                if (existing.contains(hashes.get(i))) {
+                    duplicates++;
+                    continue;
+                }
+                BankStatementLine line = lines.get(i);
+                Row row = new Row(line, hashes.get(i));
+                rows.add(row);
+                if (!"EUR".equals(line.currency()) || line.amountCents() == 0) {
+                    continue;
+                }
+                BigDecimal amount = Money.ofCents(Math.abs(line.amountCents())).toEuros();
+                String description = truncate(describe(line), 500);
+                if (line.amountCents() < 0) {
+                    row.expenseIndex = expenses.size();
+                    expenses.add(expenseRequest(line, amount, description));
+                } else if (incomeStream != null) {
+                    row.incomeIndex = income.size();
+                    income.add(new CreateIncomeEntryRequest(incomeStream, amount,
+                            line.bookingDate(), SOURCE, null, description));
+                }
+            }
+
+            List<Long> expenseIds = expenseBatchService.importEntries(userId, expenses);
+            List<Long> incomeIds = incomeBatchService.importEntries(userId, income);
+            insert(rows, expenseIds, incomeIds);
+            expensesCreated += expenseIds.size();
+            incomeCreated += incomeIds.size();
+
+            lines.clear();
+            hashes.clear();
+        }
+
+        private CreateExpenseEntryRequest expenseRequest(BankStatementLine line, BigDecimal amount,
+                                                         String description) {
+            Optional<ExpenseSuggestion> suggestion = expenseClassifier.suggest(userId, description);
+            if (suggestion.isPresent()) {
+                classified++;
+            }
+            return new CreateExpenseEntryRequest(amount,
+                    suggestion.map(ExpenseSuggestion::category).orElse(ExpenseClassifier.UNCLASSIFIED_CATEGORY),
+                    line.bookingDate(),
+                    suggestion.map(ExpenseSuggestion::allocationRuleId).orElse(null),
+                    null, description);
+        }
+
+        private void insert(List<Row> rows, List<Long> expenseIds, List<Long> incomeIds) {
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, CHUNK_SIZE, (ps, row) -> {
+                BankStatementLine line = row.line;
+                ps.setLong(1, userId);
+                ps.setString(2, truncate(line.account(), 34));
+                ps.setObject(3, line.bookingDate());
+                ps.setObject(4, line.valueDate(), Types.DATE);
+                ps.setLong(5, line.amountCents());
+                ps.setString(6, truncate(line.currency(), 3));
+                ps.setString(7, truncate(line.counterparty(), 255));
+                ps.setString(8, truncate(line.reference(), 1000));
+                ps.setString(9, row.hash);
+                ps.setString(10, batchId);
+                ps.setObject(11, row.expenseIndex >= 0 ? expenseIds.get(row.expenseIndex) : null, Types.BIGINT);
+                ps.setObject(12, row.incomeIndex >= 0 ? incomeIds.get(row.incomeIndex) : null, Types.BIGINT);
+                ps.setString(13, (row.expenseIndex >= 0 || row.incomeIndex >= 0
+                        ? MatchStatus.MATCHED : MatchStatus.UNMATCHED).name());
+                ps.setTimestamp(14, now);
+            });
+        }
+    }
+
+    private static final class Row {
+        final BankStatementLine line;
+        final String hash;
+        int expenseIndex = -1;
+        int incomeIndex = -1;
+
+        Row(BankStatementLine line, String hash) {
+            this.line = line;
+            this.hash = hash;
+        }
+    }
+
+    /** XML if the first non-blank character after an optional BOM is {@code <}. */
+    private static boolean isXml(BufferedInputStream in) {
+        try {
+            byte[] head = new byte[64];
+            in.mark(head.length);
+            int read = in.read(head);
+            in.reset();
+            for (int i = 0; i < read; i++) {
+                int b = head[i] & 0xFF;
+                if (b == 0xEF || b == 0xBB || b == 0xBF || Character.isWhitespace(b)) {
+                    continue;
+                }
+                return b == '<';
+            }
+            return false;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable bank statement: " + e.getMessage());
+        }
+    }
+
+    private static String describe(BankStatementLine line) {
+        if (line.counterparty() == null) {
+            return line.reference();
+        }
+        return line.reference() == null ? line.counterparty() : line.counterparty() + " – " + line.reference();
+    }
+
+    private static String normalize(String reference) {
+        return reference == null ? ""
+                : reference.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package de.dreistrom.integration.service;
+
+import java.time.LocalDate;
+
+/**
+ * One booked line of a bank statement as read by a parser.
+ *
+ * @param account      IBAN of the statement account, empty if unknown
+ * @param amountCents  signed amount; negative for debits
+ * @param counterparty creditor of a debit or debtor of a credit
+ * @param reference    remittance information (Verwendungszweck)
+ */
+public record BankStatementLine(
+        String account,
+        LocalDate bookingDate,
+        LocalDate valueDate,
+        long amountCents,
+        String currency,
+        String counterparty,
+        String reference
+) {}
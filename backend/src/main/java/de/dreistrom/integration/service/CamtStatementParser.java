@@ -0,0 +1,191 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.common.domain.Money;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader for ISO 20022 CAMT.053 bank-to-customer statements
+ * (versions .001.02 to .001.08).
+ * <p>
+ * The document is read with StAX one element at a time, so only the entry
+ * being assembled is held in memory. Each booked {@code Ntry} becomes one
+ * {@link BankStatementLine}; pending entries are skipped. Counterparty and
+ * remittance text come from the first transaction details of the entry;
+ * batch bookings are imported as one line.
+ */
+final class CamtStatementParser {
+
+    private static final XMLInputFactory FACTORY = secureFactory();
+
+    private final List<String> path = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+
+    private String account = "";
+    private Entry entry;
+
+    private CamtStatementParser() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the document is not well-formed or
+     *                                  an entry lacks amount or booking date
+     */
+    static void parse(InputStream input, Consumer<BankStatementLine> sink) {
+        new CamtStatementParser().read(input, sink);
+    }
+
+    private void read(InputStream input, Consumer<BankStatementLine> sink) {
+        try {
+            XMLStreamReader reader = FACTORY.createXMLStreamReader(input);
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT -> start(reader);
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(reader.getText());
+                        case XMLStreamConstants.END_ELEMENT -> end(sink);
+                        default -> { }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Invalid CAMT.053 document: " + e.getMessage());
+        }
+    }
+
+    private void start(XMLStreamReader reader) {
+        String name = reader.getLocalName();
+        path.add(name);
+        text.setLength(0);
+        if ("Stmt".equals(name)) {
+            account = "";
+        } else if ("Ntry".equals(name)) {
+            entry = new Entry();
+        } else if ("Amt".equals(name) && entry != null && parentIs("Ntry")) {
+            entry.currency = reader.getAttributeValue(null, "Ccy");
+        }
+    }
+
+    private void end(Consumer<BankStatementLine> sink) {
+        String value = text.toString().trim();
+        text.setLength(0);
+
+        if (entry == null) {
+            if (endsWith("Acct", "Id", "IBAN")) {
+                account = value;
+            }
+        } else if (endsWith("Ntry", "Amt")) {
+            entry.amount = value;
+        } else if (endsWith("Ntry", "CdtDbtInd")) {
+            entry.debit = "DBIT".equals(value);
+        } else if ((endsWith("Ntry", "Sts") || endsWith("Ntry", "Sts", "Cd")) && !value.isEmpty()) {
+            entry.pending = "PDNG".equals(value) || "INFO".equals(value);
+        } else if (endsWith("Ntry", "BookgDt", "Dt") || endsWith("Ntry", "BookgDt", "DtTm")) {
+            entry.bookingDate = date(value);
+        } else if (endsWith("Ntry", "ValDt", "Dt") || endsWith("Ntry", "ValDt", "DtTm")) {
+            entry.valueDate = date(value);
+        } else if (endsWith("RltdPties", "Cdtr", "Nm") || endsWith("RltdPties", "Cdtr", "Pty", "Nm")) {
+            entry.creditor = first(entry.creditor, value);
+        } else if (endsWith("RltdPties", "Dbtr", "Nm") || endsWith("RltdPties", "Dbtr", "Pty", "Nm")) {
+            entry.debtor = first(entry.debtor, value);
+        } else if (endsWith("RmtInf", "Ustrd")) {
+            if (entry.transactions == 0 && !value.isEmpty()) {
+                entry.remittance.add(value);
+            }
+        } else if (endsWith("Ntry", "AddtlNtryInf")) {
+            entry.additionalInfo = value;
+        } else if (endsWith("NtryDtls", "TxDtls")) {
+            entry.transactions++;
+        } else if ("Ntry".equals(path.get(path.size() - 1))) {
+            emit(sink);
+            entry = null;
+        }
+        path.remove(path.size() - 1);
+    }
+
+    private void emit(Consumer<BankStatementLine> sink) {
+        if (entry.pending) {
+            return;
+        }
+        if (entry.amount == null || entry.bookingDate == null) {
+            throw new IllegalArgumentException("CAMT.053 entry without amount or booking date");
+        }
+        long cents;
+        try {
+            cents = Money.ofEuros(new BigDecimal(entry.amount)).cents();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid CAMT.053 amount: " + entry.amount);
+        }
+        String reference = entry.remittance.isEmpty()
+                ? entry.additionalInfo
+                : String.join(" ", entry.remittance);
+        sink.accept(new BankStatementLine(account, entry.bookingDate, entry.valueDate,
+                entry.debit ? -cents : cents,
+                entry.currency != null ? entry.currency : "EUR",
+                entry.debit ? entry.creditor : entry.debtor,
+                reference));
+    }
+
+    private boolean endsWith(String... names) {
+        int offset = path.size() - names.length;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].equals(path.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean parentIs(String name) {
+        return path.size() >= 2 && name.equals(path.get(path.size() - 2));
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid CAMT.053 date: " + value);
+        }
+    }
+
+    private static String first(String current, String value) {
+        return current != null || value.isEmpty() ? current : value;
+    }
+
+    private static XMLInputFactory secureFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    private static final class Entry {
+        String amount;
+        String currency;
+        boolean debit;
+        boolean pending;
+        LocalDate bookingDate;
+        LocalDate valueDate;
+        String creditor;
+        String debtor;
+        String additionalInfo;
+        int transactions;
+        final List<String> remittance = new ArrayList<>();
+    }
+}
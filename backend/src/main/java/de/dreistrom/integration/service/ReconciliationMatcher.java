@@ -0,0 +1,226 @@
+package de.dreistrom.integration.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory matcher of bank credits against a user's open invoices.
+ * <p>
+ * Invoices are indexed by gross amount in cents and by normalized invoice
+ * number, so each credit only scores the invoices of its exact amount plus
+ * those whose number appears in its reference text. A run over {@code n}
+ * credits and {@code m} invoices is {@code O(n + m)} apart from amount
+ * collisions.
+ * <p>
+ * A candidate's score adds {@value #AMOUNT_WEIGHT} for the exact amount, up
+ * to {@value #DATE_WEIGHT} for a booking date close to the due date, falling
+ * to zero at the edge of the date window, {@value #NUMBER_WEIGHT} for the
+ * invoice number in the reference and {@value #PARTY_WEIGHT} for the client
+ * name in counterparty or reference; reported scores are capped at 1. The
+ * best candidate is matched when it reaches the auto threshold with a clear
+ * margin over the runner-up; it is then removed from the indexes, so one
+ * invoice settles at most one credit.
+ */
+final class ReconciliationMatcher {
+
+    static final double AMOUNT_WEIGHT = 0.6;
+    static final double DATE_WEIGHT = 0.2;
+    static final double NUMBER_WEIGHT = 0.4;
+    static final double PARTY_WEIGHT = 0.1;
+
+    /** Due date assumed for invoices without one. */
+    static final int DEFAULT_PAYMENT_TERM_DAYS = 14;
+
+    /** Payments booked this long before the invoice date still count. */
+    private static final int EARLY_PAYMENT_DAYS = 7;
+
+    static final int MAX_CANDIDATES = 3;
+
+    /** Longest run of reference tokens joined to look up an invoice number. */
+    private static final int MAX_NUMBER_TOKENS = 4;
+
+    private static final Set<String> PARTY_STOPWORDS = Set.of("gmbh", "mbh", "und", "ohg", "gbr");
+
+    record OpenInvoice(Long id, long grossCents, LocalDate invoiceDate, LocalDate dueDate,
+                       String number, String clientName) {
+
+        LocalDate expectedDate() {
+            return dueDate != null ? dueDate : invoiceDate.plusDays(DEFAULT_PAYMENT_TERM_DAYS);
+        }
+    }
+
+    record Candidate(OpenInvoice invoice, double score) {}
+
+    enum Decision { MATCHED, REVIEW, UNMATCHED }
+
+    /** Ranking uses the uncapped sum, so a number match still separates two full scores. */
+    private record Scored(OpenInvoice invoice, double raw) {
+
+        Candidate candidate() {
+            return new Candidate(invoice, Math.min(1, raw));
+        }
+    }
+
+    /**
+     * @param candidates the match for {@code MATCHED}, the best candidates
+     *                   for {@code REVIEW}, empty otherwise
+     */
+    record Outcome(Decision decision, List<Candidate> candidates) {}
+
+    private final Map<Long, List<OpenInvoice>> byAmount = new HashMap<>();
+    private final Map<String, OpenInvoice> byNumber = new HashMap<>();
+    private final Map<Long, Set<String>> partyTokens = new HashMap<>();
+    private final double autoThreshold;
+    private final double reviewThreshold;
+    private final double minMargin;
+    private final int dateWindowDays;
+
+    ReconciliationMatcher(List<OpenInvoice> invoices, double autoThreshold, double reviewThreshold,
+                          double minMargin, int dateWindowDays) {
+        this.autoThreshold = autoThreshold;
+        this.reviewThreshold = reviewThreshold;
+        this.minMargin = minMargin;
+        this.dateWindowDays = dateWindowDays;
+        for (OpenInvoice invoice : invoices) {
+            byAmount.computeIfAbsent(invoice.grossCents(), k -> new ArrayList<>()).add(invoice);
+            if (invoice.number() != null) {
+                byNumber.put(normalizeNumber(invoice.number()), invoice);
+            }
+            partyTokens.put(invoice.id(), partyTokens(invoice.clientName()));
+        }
+    }
+
+    /**
+     * Score the open invoices for one credit and decide on it.
+     */
+    Outcome match(long amountCents, LocalDate bookingDate, String counterparty, String reference) {
+        Set<String> numberKeys = numberKeys(reference);
+        Set<OpenInvoice> pool = new LinkedHashSet<>();
+        for (OpenInvoice invoice : byAmount.getOrDefault(amountCents, List.of())) {
+            if (withinWindow(invoice, bookingDate)) {
+                pool.add(invoice);
+            }
+        }
+        for (String key : numberKeys) {
+            OpenInvoice invoice = byNumber.get(key);
+            if (invoice != null) {
+                pool.add(invoice);
+            }
+        }
+        if (pool.isEmpty()) {
+            return new Outcome(Decision.UNMATCHED, List.of());
+        }
+
+        Set<String> text = partyTokens((counterparty == null ? "" : counterparty)
+                + " " + (reference == null ? "" : reference));
+        List<Scored> scored = new ArrayList<>(pool.size());
+        for (OpenInvoice invoice : pool) {
+            scored.add(new Scored(invoice, score(invoice, amountCents, bookingDate, numberKeys, text)));
+        }
+        scored.sort(Comparator.comparingDouble(Scored::raw).reversed());
+
+        Scored best = scored.get(0);
+        double runnerUp = scored.size() > 1 ? scored.get(1).raw() : 0;
+        if (best.raw() >= autoThreshold && best.raw() - runnerUp >= minMargin) {
+            remove(best.invoice());
+            return new Outcome(Decision.MATCHED, List.of(best.candidate()));
+        }
+        if (best.raw() >= reviewThreshold) {
+            return new Outcome(Decision.REVIEW, scored.stream()
+                    .limit(MAX_CANDIDATES)
+                    .map(Scored::candidate)
+                    .toList());
+        }
+        return new Outcome(Decision.UNMATCHED, List.of());
+    }
+
+    private double score(OpenInvoice invoice, long amountCents, LocalDate bookingDate,
+                         Set<String> numberKeys, Set<String> text) {
+        double score = 0;
+        if (invoice.grossCents() == amountCents) {
+            score += AMOUNT_WEIGHT;
+        }
+        long days = Math.abs(ChronoUnit.DAYS.between(invoice.expectedDate(), bookingDate));
+        if (days < dateWindowDays) {
+            score += DATE_WEIGHT * (1 - (double) days / dateWindowDays);
+        }
+        if (invoice.number() != null && numberKeys.contains(normalizeNumber(invoice.number()))) {
+            score += NUMBER_WEIGHT;
+        }
+        for (String token : partyTokens.get(invoice.id())) {
+            if (text.contains(token)) {
+                score += PARTY_WEIGHT;
+                break;
+            }
+        }
+        return score;
+    }
+
+    private boolean withinWindow(OpenInvoice invoice, LocalDate bookingDate) {
+        return !bookingDate.isBefore(invoice.invoiceDate().minusDays(EARLY_PAYMENT_DAYS))
+                && Math.abs(ChronoUnit.DAYS.between(invoice.expectedDate(), bookingDate)) <= dateWindowDays;
+    }
+
+    private void remove(OpenInvoice invoice) {
+        List<OpenInvoice> bucket = byAmount.get(invoice.grossCents());
+        bucket.remove(invoice);
+        if (bucket.isEmpty()) {
+            byAmount.remove(invoice.grossCents());
+        }
+        if (invoice.number() != null) {
+            byNumber.remove(normalizeNumber(invoice.number()));
+        }
+    }
+
+    /**
+     * Invoice numbers are compared without separators, so "FR-2026-001"
+     * is found in "FR 2026 001" and "fr2026001".
+     */
+    static String normalizeNumber(String number) {
+        return number.replaceAll("[^\\p{Alnum}]", "").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Every run of up to {@value #MAX_NUMBER_TOKENS} consecutive alphanumeric
+     * tokens of the reference, joined without separators.
+     */
+    static Set<String> numberKeys(String reference) {
+        if (reference == null || reference.isBlank()) {
+            return Set.of();
+        }
+        String[] tokens = reference.toUpperCase(Locale.ROOT).split("[^\\p{Alnum}]+");
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < tokens.length; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int j = i; j < Math.min(tokens.length, i + MAX_NUMBER_TOKENS); j++) {
+                key.append(tokens[j]);
+                if (!key.isEmpty()) {
+                    keys.add(key.toString());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> partyTokens(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        Set<String> tokens = new HashSet<>();
+        for (String token : text.toLowerCase(Locale.GERMAN).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 3 && !PARTY_STOPWORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
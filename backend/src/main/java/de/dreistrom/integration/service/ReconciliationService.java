@@ -0,0 +1,207 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.common.controller.EntityNotFoundException;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.integration.domain.BankTransaction;
+import de.dreistrom.integration.domain.MatchStatus;
+import de.dreistrom.integration.domain.ReconciliationCandidate;
+import de.dreistrom.integration.domain.ReconciliationCandidateId;
+import de.dreistrom.integration.dto.ReconciliationResult;
+import de.dreistrom.integration.dto.ReviewItemResponse;
+import de.dreistrom.integration.repository.BankTransactionRepository;
+import de.dreistrom.integration.repository.ReconciliationCandidateRepository;
+import de.dreistrom.integration.service.ReconciliationMatcher.Candidate;
+import de.dreistrom.integration.service.ReconciliationMatcher.OpenInvoice;
+import de.dreistrom.integration.service.ReconciliationMatcher.Outcome;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.domain.InvoiceStatus;
+import de.dreistrom.invoicing.repository.InvoiceRepository;
+import de.dreistrom.invoicing.service.InvoiceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Settles imported bank credits against the user's open (SENT or OVERDUE)
+ * invoices.
+ * <p>
+ * A run loads the open invoices once into a {@link ReconciliationMatcher}
+ * and walks the unmatched and in-review credits of the period in booking
+ * order. Confident matches mark the invoice PAID through
+ * {@link InvoiceService#updateStatus}; ambiguous credits go to the review
+ * queue with their best candidates, which the user confirms or dismisses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliationService {
+
+    private static final String INSERT_CANDIDATE_SQL =
+            "INSERT INTO reconciliation_candidate (bank_transaction_id, invoice_id, score) VALUES (?, ?, ?)";
+
+    private static final List<MatchStatus> OPEN_STATUSES = List.of(MatchStatus.UNMATCHED, MatchStatus.REVIEW);
+    private static final List<InvoiceStatus> PAYABLE_STATUSES = List.of(InvoiceStatus.SENT, InvoiceStatus.OVERDUE);
+
+    private final BankTransactionRepository bankTransactionRepository;
+    private final ReconciliationCandidateRepository candidateRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${dreistrom.reconciliation.auto-threshold:0.8}")
+    private double autoThreshold;
+
+    @Value("${dreistrom.reconciliation.review-threshold:0.4}")
+    private double reviewThreshold;
+
+    @Value("${dreistrom.reconciliation.min-margin:0.15}")
+    private double minMargin;
+
+    @Value("${dreistrom.reconciliation.date-window-days:60}")
+    private int dateWindowDays;
+
+    /**
+     * Match the user's open credits booked in {@code [from, to]}. Credits in
+     * review are scored again, so invoices created since are considered.
+     */
+    @Transactional
+    public ReconciliationResult reconcile(Long userId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<BankTransaction> credits = bankTransactionRepository.findCredits(userId, OPEN_STATUSES, from, to);
+        if (credits.isEmpty()) {
+            return new ReconciliationResult(0, 0, 0, 0);
+        }
+
+        List<OpenInvoice> invoices = invoiceRepository.findByUserIdAndStatusIn(userId, PAYABLE_STATUSES).stream()
+                .map(i -> new OpenInvoice(i.getId(), Money.ofEuros(i.getGrossTotal()).cents(),
+                        i.getInvoiceDate(), i.getDueDate(), i.getNumber(), i.getClient().getName()))
+                .toList();
+        ReconciliationMatcher matcher = new ReconciliationMatcher(
+                invoices, autoThreshold, reviewThreshold, minMargin, dateWindowDays);
+
+        candidateRepository.deleteByBankTransactionIds(credits.stream().map(BankTransaction::getId).toList());
+
+        int matched = 0;
+        int review = 0;
+        List<Object[]> candidateRows = new ArrayList<>();
+        for (BankTransaction tx : credits) {
+            Outcome outcome = matcher.match(tx.getAmountCents(), tx.getBookingDate(),
+                    tx.getCounterparty(), tx.getReference());
+            switch (outcome.decision()) {
+                case MATCHED -> {
+                    Candidate match = outcome.candidates().get(0);
+                    invoiceService.updateStatus(match.invoice().id(), userId, InvoiceStatus.PAID);
+                    tx.matchInvoice(match.invoice().id(), score(match.score()));
+                    matched++;
+                }
+                case REVIEW -> {
+                    tx.markForReview();
+                    for (Candidate candidate : outcome.candidates()) {
+                        candidateRows.add(new Object[]{tx.getId(), candidate.invoice().id(),
+                                score(candidate.score())});
+                    }
+                    review++;
+                }
+                case UNMATCHED -> tx.markUnmatched();
+            }
+        }
+        if (!candidateRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CANDIDATE_SQL, candidateRows);
+        }
+
+        log.info("Bank reconciliation: userId={}, credits={}, invoices={}, matched={}, review={}",
+                userId, credits.size(), invoices.size(), matched, review);
+        return new ReconciliationResult(credits.size(), matched, review, credits.size() - matched - review);
+    }
+
+    /**
+     * Credits awaiting confirmation, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<ReviewItemResponse> listReview(Long userId) {
+        List<BankTransaction> pending = bankTransactionRepository
+                .findByUserIdAndMatchStatusOrderByBookingDateAscIdAsc(userId, MatchStatus.REVIEW);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<ReconciliationCandidate>> candidates = candidateRepository
+                .findByBankTransactionIdInOrderByScoreDesc(pending.stream().map(BankTransaction::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ReconciliationCandidate::getBankTransactionId));
+        Map<Long, Invoice> invoices = invoiceRepository.findAllById(candidates.values().stream()
+                        .flatMap(List::stream).map(ReconciliationCandidate::getInvoiceId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Invoice::getId, Function.identity()));
+
+        return pending.stream()
+                .map(tx -> new ReviewItemResponse(tx.getId(), tx.getBookingDate(),
+                        Money.ofCents(tx.getAmountCents()).toEuros(), tx.getCounterparty(), tx.getReference(),
+                        candidates.getOrDefault(tx.getId(), List.of()).stream()
+                                .map(c -> {
+                                    Invoice invoice = invoices.get(c.getInvoiceId());
+                                    return new ReviewItemResponse.Candidate(invoice.getId(),
+                                            invoice.getNumber(), invoice.getClient().getName(),
+                                            invoice.getGrossTotal(), invoice.getDueDate(), c.getScore());
+                                })
+                                .toList()))
+                .toList();
+    }
+
+    /**
+     * Settle a credit against an invoice chosen by the user, which becomes
+     * PAID. The invoice need not be one of the proposed candidates.
+     */
+    @Transactional
+    public void confirm(Long userId, Long transactionId, Long invoiceId) {
+        BankTransaction tx = getOwnedCredit(userId, transactionId);
+        if (tx.getMatchStatus() == MatchStatus.MATCHED) {
+            throw new IllegalArgumentException("Bank transaction is already matched: " + transactionId);
+        }
+        BigDecimal score = candidateRepository.findById(new ReconciliationCandidateId(transactionId, invoiceId))
+                .map(ReconciliationCandidate::getScore)
+                .orElse(null);
+        invoiceService.updateStatus(invoiceId, userId, InvoiceStatus.PAID);
+        tx.matchInvoice(invoiceId, score);
+        candidateRepository.deleteByBankTransactionIds(List.of(transactionId));
+    }
+
+    /**
+     * Leave a credit out of further runs, e.g. a refund or private transfer.
+     */
+    @Transactional
+    public void dismiss(Long userId, Long transactionId) {
+        BankTransaction tx = getOwnedCredit(userId, transactionId);
+        if (tx.getMatchStatus() == MatchStatus.MATCHED) {
+            throw new IllegalArgumentException("Bank transaction is already matched: " + transactionId);
+        }
+        tx.dismiss();
+        candidateRepository.deleteByBankTransactionIds(List.of(transactionId));
+    }
+
+    private BankTransaction getOwnedCredit(Long userId, Long transactionId) {
+        BankTransaction tx = bankTransactionRepository.findByIdAndUserId(transactionId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("BankTransaction", transactionId));
+        if (tx.getAmountCents() <= 0) {
+            throw new IllegalArgumentException("Only credits can be matched to invoices: " + transactionId);
+        }
+        return tx;
+    }
+
+    private static BigDecimal score(double score) {
+        return BigDecimal.valueOf(score).setScale(3, RoundingMode.HALF_UP);
+    }
+}
@@ -2,6 +2,7 @@ package de.dreistrom.invoicing.controller;
 
 import de.dreistrom.common.Idempotent;
 import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.dto.CursorPage;
 import de.dreistrom.common.service.AppUserDetails;
 import de.dreistrom.invoicing.domain.Invoice;
 import de.dreistrom.invoicing.domain.InvoiceStatus;
@@ -109,6 +110,23 @@ public class InvoiceController {
         return ResponseEntity.ok(invoiceMapper.toResponseList(invoices));
     }
 
+    @GetMapping("/page")
+    @Operation(operationId = "listInvoicesPage",
+            summary = "List invoices newest first, one keyset page at a time",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Page of invoices with next cursor"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+            })
+    public ResponseEntity<CursorPage<InvoiceResponse>> listPage(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+
+        return ResponseEntity.ok(invoiceService
+                .listPage(userDetails.getId(), cursor, limit)
+                .map(invoiceMapper::toResponse));
+    }
+
     @GetMapping("/{id}")
     @Operation(operationId = "getInvoice", summary = "Get an invoice by ID",
             responses = {
@@ -5,8 +5,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 /**
- * Tracks the next invoice number per stream type and fiscal year.
- * Composite PK: (stream_type, fiscal_year).
+ * Tracks the next invoice number per user, stream type and fiscal year.
+ * Composite PK: (user_id, stream_type, fiscal_year).
+ * <p>
+ * The counter is advanced by an atomic upsert in
+ * {@link de.dreistrom.invoicing.repository.InvoiceSequenceRepository#increment}.
  */
 @Entity
 @Table(name = "invoice_sequence")
@@ -15,6 +18,10 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class InvoiceSequence {
 
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
     @Id
     @Enumerated(EnumType.STRING)
     @Column(name = "stream_type", nullable = false)
@@ -27,18 +34,10 @@ public class InvoiceSequence {
     @Column(name = "next_value", nullable = false)
     private int nextValue = 1;
 
-    public InvoiceSequence(InvoiceStream streamType, int fiscalYear) {
+    public InvoiceSequence(Long userId, InvoiceStream streamType, int fiscalYear) {
+        this.userId = userId;
         this.streamType = streamType;
         this.fiscalYear = fiscalYear;
         this.nextValue = 1;
     }
-
-    /**
-     * Returns the current value and increments the counter.
-     */
-    public int getAndIncrement() {
-        int current = this.nextValue;
-        this.nextValue = current + 1;
-        return current;
-    }
 }
@@ -8,12 +8,14 @@ import java.util.Objects;
  */
 public class InvoiceSequenceId implements Serializable {
 
+    private Long userId;
     private InvoiceStream streamType;
     private int fiscalYear;
 
     public InvoiceSequenceId() {}
 
-    public InvoiceSequenceId(InvoiceStream streamType, int fiscalYear) {
+    public InvoiceSequenceId(Long userId, InvoiceStream streamType, int fiscalYear) {
+        this.userId = userId;
         this.streamType = streamType;
         this.fiscalYear = fiscalYear;
     }
@@ -23,11 +25,13 @@ public class InvoiceSequenceId implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         InvoiceSequenceId that = (InvoiceSequenceId) o;
-        return fiscalYear == that.fiscalYear && streamType == that.streamType;
+        return fiscalYear == that.fiscalYear
+                && Objects.equals(userId, that.userId)
+                && streamType == that.streamType;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(streamType, fiscalYear);
+        return Objects.hash(userId, streamType, fiscalYear);
     }
 }
@@ -5,15 +5,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.dreistrom.audit.event.DomainEvent;
 import de.dreistrom.invoicing.domain.Invoice;
+import lombok.Getter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
+@Getter
 public class InvoiceCreated extends DomainEvent {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private final Long userId;
     private final String streamType;
     private final String number;
+    private final LocalDate invoiceDate;
     private final BigDecimal netTotal;
     private final BigDecimal vat;
     private final BigDecimal grossTotal;
@@ -22,8 +27,10 @@ public class InvoiceCreated extends DomainEvent {
 
     public InvoiceCreated(Invoice invoice) {
         super("Invoice", invoice.getId(), "INVOICE_CREATED");
+        this.userId = invoice.getUser().getId();
         this.streamType = invoice.getStreamType().name();
         this.number = invoice.getNumber();
+        this.invoiceDate = invoice.getInvoiceDate();
         this.netTotal = invoice.getNetTotal();
         this.vat = invoice.getVat();
         this.grossTotal = invoice.getGrossTotal();
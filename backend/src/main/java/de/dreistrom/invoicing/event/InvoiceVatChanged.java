@@ -0,0 +1,36 @@
+package de.dreistrom.invoicing.event;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published when an existing invoice's counted output VAT or invoice date
+ * changes: a DRAFT update, a cancellation or a deletion. Cancelled and deleted
+ * invoices report {@code afterVat} zero. Not written to the audit log;
+ * consumed by projections that follow the invoice table.
+ */
+@Getter
+public class InvoiceVatChanged {
+
+    private final Long invoiceId;
+    private final Long userId;
+    private final String streamType;
+    private final LocalDate beforeDate;
+    private final BigDecimal beforeVat;
+    private final LocalDate afterDate;
+    private final BigDecimal afterVat;
+
+    public InvoiceVatChanged(Long invoiceId, Long userId, String streamType,
+                             LocalDate beforeDate, BigDecimal beforeVat,
+                             LocalDate afterDate, BigDecimal afterVat) {
+        this.invoiceId = invoiceId;
+        this.userId = userId;
+        this.streamType = streamType;
+        this.beforeDate = beforeDate;
+        this.beforeVat = beforeVat;
+        this.afterDate = afterDate;
+        this.afterVat = afterVat;
+    }
+}
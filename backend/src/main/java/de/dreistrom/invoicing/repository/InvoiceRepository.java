@@ -3,13 +3,19 @@ package de.dreistrom.invoicing.repository;
 import de.dreistrom.invoicing.domain.Invoice;
 import de.dreistrom.invoicing.domain.InvoiceStatus;
 import de.dreistrom.invoicing.domain.InvoiceStream;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
@@ -23,7 +29,38 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
     List<Invoice> findByUserIdAndClientId(Long userId, Long clientId);
 
-    Optional<Invoice> findByNumber(String number);
+    Optional<Invoice> findByUserIdAndNumber(Long userId, String number);
+
+    /**
+     * Invoices in the given states with their client, for matching payments.
+     */
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.client " +
+           "WHERE i.user.id = :userId AND i.status IN :statuses")
+    List<Invoice> findByUserIdAndStatusIn(@Param("userId") Long userId,
+                                          @Param("statuses") Collection<InvoiceStatus> statuses);
+
+    /**
+     * Keyset page ordered by {@code (invoiceDate DESC, id DESC)}, starting strictly
+     * after the given position. Served from idx_invoice_user_date.
+     */
+    @Query("SELECT i FROM Invoice i LEFT JOIN FETCH i.client " +
+           "WHERE i.user.id = :userId " +
+           "AND (i.invoiceDate < :afterDate OR (i.invoiceDate = :afterDate AND i.id < :afterId)) " +
+           "ORDER BY i.invoiceDate DESC, i.id DESC")
+    List<Invoice> findPage(@Param("userId") Long userId,
+                           @Param("afterDate") LocalDate afterDate,
+                           @Param("afterId") long afterId,
+                           Limit limit);
+
+    /**
+     * Full history in ledger order for export. Rows are fetched from the
+     * database in chunks; the caller must consume the stream inside a
+     * transaction and close it.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT i FROM Invoice i LEFT JOIN FETCH i.client " +
+           "WHERE i.user.id = :userId ORDER BY i.invoiceDate, i.id")
+    Stream<Invoice> streamByUserId(@Param("userId") Long userId);
 
     @Query(value = "SELECT SUM(vat_cents) FROM invoice " +
                    "WHERE user_id = :userId " +
@@ -38,4 +75,16 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
 
     List<Invoice> findByUserIdAndZmReportableTrueAndInvoiceDateBetween(
             Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Per-month output VAT of non-cancelled invoices, one row
+     * {@code [year, month, vat]} per month with invoices.
+     */
+    @Query(value = "SELECT YEAR(invoice_date), MONTH(invoice_date), SUM(vat_cents) " +
+                   "FROM invoice " +
+                   "WHERE user_id = :userId " +
+                   "AND status != 'CANCELLED' " +
+                   "GROUP BY YEAR(invoice_date), MONTH(invoice_date)",
+           nativeQuery = true)
+    List<Object[]> sumVatCentsByMonth(@Param("userId") Long userId);
 }
@@ -2,24 +2,34 @@ package de.dreistrom.invoicing.repository;
 
 import de.dreistrom.invoicing.domain.InvoiceSequence;
 import de.dreistrom.invoicing.domain.InvoiceSequenceId;
-import de.dreistrom.invoicing.domain.InvoiceStream;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
-
 public interface InvoiceSequenceRepository extends JpaRepository<InvoiceSequence, InvoiceSequenceId> {
 
     /**
-     * SELECT ... FOR UPDATE — pessimistic write lock to prevent duplicate
-     * invoice numbers under concurrent access.
+     * Advance the user's counter in one statement, creating it on first use.
+     * The row lock it takes is held until the calling transaction ends and
+     * only concerns this user, stream and year.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO invoice_sequence (user_id, stream_type, fiscal_year, next_value) " +
+                   "VALUES (:userId, :streamType, :fiscalYear, 2) " +
+                   "ON DUPLICATE KEY UPDATE next_value = next_value + 1",
+           nativeQuery = true)
+    int increment(@Param("userId") Long userId,
+                  @Param("streamType") String streamType,
+                  @Param("fiscalYear") int fiscalYear);
+
+    /**
+     * The value handed out by the last {@link #increment} of this transaction.
      */
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM InvoiceSequence s WHERE s.streamType = :streamType AND s.fiscalYear = :fiscalYear")
-    Optional<InvoiceSequence> findForUpdate(
-            @Param("streamType") InvoiceStream streamType,
-            @Param("fiscalYear") int fiscalYear);
+    @Query(value = "SELECT next_value - 1 FROM invoice_sequence " +
+                   "WHERE user_id = :userId AND stream_type = :streamType AND fiscal_year = :fiscalYear",
+           nativeQuery = true)
+    int findAllocated(@Param("userId") Long userId,
+                      @Param("streamType") String streamType,
+                      @Param("fiscalYear") int fiscalYear);
 }
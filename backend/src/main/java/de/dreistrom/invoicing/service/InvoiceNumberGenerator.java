@@ -1,16 +1,20 @@
 package de.dreistrom.invoicing.service;
 
-import de.dreistrom.invoicing.domain.InvoiceSequence;
 import de.dreistrom.invoicing.domain.InvoiceStream;
 import de.dreistrom.invoicing.repository.InvoiceSequenceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Generates sequential invoice numbers per stream type and fiscal year.
- * Uses pessimistic locking (SELECT ... FOR UPDATE) to prevent duplicates
- * under concurrent access.
+ * Generates sequential invoice numbers per user, stream type and fiscal year.
+ * <p>
+ * The counter is advanced by an atomic upsert on the user's own sequence
+ * row, so only that user's concurrent invoices wait on each other. It runs
+ * in the transaction that stores the invoice: a rollback returns the
+ * number, which keeps the series gap-free as §14 UStG requires. Allocating
+ * in a separate transaction or in blocks would leave gaps on rollback.
  *
  * Format: FR-YYYY-NNN (Freiberuf) or GW-YYYY-NNN (Gewerbe)
  */
@@ -21,20 +25,18 @@ public class InvoiceNumberGenerator {
     private final InvoiceSequenceRepository sequenceRepository;
 
     /**
-     * Generate the next invoice number for the given stream and year.
-     * Creates the sequence row if it doesn't exist yet.
+     * Generate the next invoice number of the user for the given stream and
+     * year. Must be called from the transaction that stores the invoice.
      *
+     * @param userId     owner of the number series
      * @param streamType FREIBERUF or GEWERBE
      * @param fiscalYear the fiscal year (e.g. 2026)
      * @return formatted invoice number, e.g. "FR-2026-001"
      */
-    @Transactional
-    public String nextInvoiceNumber(InvoiceStream streamType, int fiscalYear) {
-        InvoiceSequence sequence = sequenceRepository.findForUpdate(streamType, fiscalYear)
-                .orElseGet(() -> sequenceRepository.save(
-                        new InvoiceSequence(streamType, fiscalYear)));
-
-        int current = sequence.getAndIncrement();
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextInvoiceNumber(Long userId, InvoiceStream streamType, int fiscalYear) {
+        sequenceRepository.increment(userId, streamType.name(), fiscalYear);
+        int current = sequenceRepository.findAllocated(userId, streamType.name(), fiscalYear);
 
         String prefix = switch (streamType) {
             case FREIBERUF -> "FR";
@@ -4,19 +4,24 @@ import de.dreistrom.audit.service.AuditLogService;
 import de.dreistrom.common.controller.EntityNotFoundException;
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.dto.CursorPage;
+import de.dreistrom.common.dto.KeysetCursor;
 import de.dreistrom.income.domain.Client;
 import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeTotalsService;
 import de.dreistrom.invoicing.domain.Invoice;
 import de.dreistrom.invoicing.domain.InvoiceStatus;
 import de.dreistrom.invoicing.domain.InvoiceStream;
 import de.dreistrom.invoicing.domain.LineItem;
 import de.dreistrom.invoicing.domain.VatTreatment;
 import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
 import de.dreistrom.invoicing.repository.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -39,6 +44,7 @@ public class InvoiceService {
     private final ReverseChargeService reverseChargeService;
     private final ClientRepository clientRepository;
     private final IncomeEntryRepository incomeEntryRepository;
+    private final IncomeTotalsService incomeTotalsService;
     private final AuditLogService auditLogService;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -70,7 +76,7 @@ public class InvoiceService {
         validateUStG14(client, invoiceDate, lineItems, netTotal, vat, grossTotal,
                 resolvedTreatment, resolvedNotes);
 
-        String number = numberGenerator.nextInvoiceNumber(streamType, invoiceDate.getYear());
+        String number = numberGenerator.nextInvoiceNumber(user.getId(), streamType, invoiceDate.getYear());
 
         Invoice invoice = new Invoice(user, streamType, number, client, invoiceDate,
                 lineItems, netTotal, vat, grossTotal, resolvedTreatment);
@@ -90,6 +96,7 @@ public class InvoiceService {
         // Auto-create linked IncomeEntry
         IncomeEntry incomeEntry = createLinkedIncomeEntry(user, streamType, saved);
         incomeEntryRepository.save(incomeEntry);
+        incomeTotalsService.recordCreated(incomeEntry);
 
         InvoiceCreated event = new InvoiceCreated(saved);
         auditLogService.persist(event);
@@ -116,6 +123,8 @@ public class InvoiceService {
         }
 
         Client client = resolveClient(clientId, userId, invoice.getStreamType());
+        LocalDate beforeDate = invoice.getInvoiceDate();
+        BigDecimal beforeVat = invoice.getVat();
 
         VatTreatment resolvedTreatment = vatTreatment != null
                 ? vatTreatment
@@ -132,6 +141,9 @@ public class InvoiceService {
         invoice.markZmReportable(
                 reverseChargeService.isZmReportable(client, resolvedTreatment));
 
+        eventPublisher.publishEvent(new InvoiceVatChanged(invoiceId, userId, invoice.getStreamType().name(),
+                beforeDate, beforeVat, invoice.getInvoiceDate(), invoice.getVat()));
+
         return invoice;
     }
 
@@ -147,6 +159,12 @@ public class InvoiceService {
         validateStatusTransition(current, newStatus);
         invoice.updateStatus(newStatus);
 
+        if (newStatus == InvoiceStatus.CANCELLED) {
+            eventPublisher.publishEvent(new InvoiceVatChanged(invoiceId, userId, invoice.getStreamType().name(),
+                    invoice.getInvoiceDate(), invoice.getVat(),
+                    invoice.getInvoiceDate(), BigDecimal.ZERO));
+        }
+
         return invoice;
     }
 
@@ -160,6 +178,19 @@ public class InvoiceService {
         return invoiceRepository.findByUserId(userId);
     }
 
+    /**
+     * Newest-first page of a user's invoices. {@code cursor} is the
+     * {@code next} value of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Invoice> listPage(Long userId, String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        List<Invoice> rows = invoiceRepository.findPage(
+                userId, after.date(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, i -> new KeysetCursor(i.getInvoiceDate(), i.getId()));
+    }
+
     @Transactional(readOnly = true)
     public List<Invoice> listByStream(Long userId, InvoiceStream streamType) {
         return invoiceRepository.findByUserIdAndStreamType(userId, streamType);
@@ -193,6 +224,9 @@ public class InvoiceService {
         }
 
         invoiceRepository.delete(invoice);
+        eventPublisher.publishEvent(new InvoiceVatChanged(invoiceId, userId, invoice.getStreamType().name(),
+                invoice.getInvoiceDate(), invoice.getVat(),
+                invoice.getInvoiceDate(), BigDecimal.ZERO));
     }
 
     // ── §14 UStG validation ──────────────────────────────────────────────
@@ -1,9 +1,9 @@
 package de.dreistrom.onboarding.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import de.dreistrom.income.domain.ClientType;
 import de.dreistrom.income.repository.ClientRepository;
-import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.income.service.YearAggregatesService;
 import de.dreistrom.onboarding.domain.DecisionChoice;
 import de.dreistrom.onboarding.dto.KurDecisionInput;
 import de.dreistrom.onboarding.dto.KurDecisionResponse;
@@ -31,8 +31,7 @@ public class DecisionEngineService {
     @Value("${dreistrom.vat.kleinunternehmer.projected-year-limit:50000}")
     private int projectedYearLimitEur;
 
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
     private final ClientRepository clientRepository;
 
     @Transactional(readOnly = true)
@@ -82,15 +81,10 @@ public class DecisionEngineService {
 
     @Transactional(readOnly = true)
     public KurDecisionResponse evaluateFromActualData(Long userId, int year) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
-
-        Long freiberufCents = incomeEntryRepository.sumCentsByStreamAndDateRange(
-                userId, "FREIBERUF", yearStart, yearEnd);
-        Long gewerbeCents = incomeEntryRepository.sumCentsByStreamAndDateRange(
-                userId, "GEWERBE", yearStart, yearEnd);
-
-        Long expenseCents = expenseEntryRepository.sumCentsByDateRange(userId, yearStart, yearEnd);
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        long freiberufCents = aggregates.income().freiberufCents();
+        long gewerbeCents = aggregates.income().gewerbeCents();
+        long expenseCents = aggregates.expenses().totalCents();
 
         long b2bCount = clientRepository.findByUserIdAndActiveTrue(userId).stream()
                 .filter(c -> c.getClientType() == ClientType.B2B).count();
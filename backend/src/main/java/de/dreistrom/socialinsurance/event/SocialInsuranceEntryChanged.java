@@ -0,0 +1,21 @@
+package de.dreistrom.socialinsurance.event;
+
+import lombok.Getter;
+
+/**
+ * Published when a monthly social insurance entry is created or updated.
+ * Not written to the audit log.
+ */
+@Getter
+public class SocialInsuranceEntryChanged {
+
+    private final Long userId;
+    private final int year;
+    private final int month;
+
+    public SocialInsuranceEntryChanged(Long userId, int year, int month) {
+        this.userId = userId;
+        this.year = year;
+        this.month = month;
+    }
+}
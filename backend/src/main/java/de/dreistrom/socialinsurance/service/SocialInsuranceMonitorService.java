@@ -1,12 +1,14 @@
 package de.dreistrom.socialinsurance.service;
 
 import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
+import de.dreistrom.socialinsurance.event.SocialInsuranceEntryChanged;
 import de.dreistrom.socialinsurance.dto.SocialInsuranceStatus;
 import de.dreistrom.socialinsurance.dto.SocialInsuranceStatus.MonthlyBreakdown;
 import de.dreistrom.socialinsurance.dto.SocialInsuranceStatus.RiskLevel;
 import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
 import de.dreistrom.common.domain.AppUser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +29,7 @@ public class SocialInsuranceMonitorService {
     private static final BigDecimal HOURS_THRESHOLD = new BigDecimal("20.0");
 
     private final SocialInsuranceEntryRepository entryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get the social insurance status assessment for a user and year.
@@ -109,7 +112,7 @@ public class SocialInsuranceMonitorService {
                                             BigDecimal selfEmployedHoursWeekly,
                                             BigDecimal employmentIncome,
                                             BigDecimal selfEmployedIncome) {
-        return entryRepository.findByUserIdAndYearAndMonth(
+        SocialInsuranceEntry saved = entryRepository.findByUserIdAndYearAndMonth(
                         user.getId(), (short) year, (short) month)
                 .map(entry -> {
                     entry.update(employmentHoursWeekly, selfEmployedHoursWeekly,
@@ -120,5 +123,8 @@ public class SocialInsuranceMonitorService {
                         user, year, month,
                         employmentHoursWeekly, selfEmployedHoursWeekly,
                         employmentIncome, selfEmployedIncome)));
+
+        eventPublisher.publishEvent(new SocialInsuranceEntryChanged(user.getId(), year, month));
+        return saved;
     }
 }
@@ -0,0 +1,35 @@
+package de.dreistrom.tax.config;
+
+import de.dreistrom.tax.service.YearEndClosingJob;
+import org.quartz.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.TimeZone;
+
+/**
+ * Quartz scheduler configuration for the year-end closing.
+ * Runs on 2 January at 03:00 Europe/Berlin time.
+ */
+@Configuration
+public class YearEndClosingJobConfig {
+
+    @Bean
+    public JobDetail yearEndClosingJobDetail() {
+        return JobBuilder.newJob(YearEndClosingJob.class)
+                .withIdentity(YearEndClosingJob.KEY)
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger yearEndClosingTrigger(JobDetail yearEndClosingJobDetail) {
+        return TriggerBuilder.newTrigger()
+                .forJob(yearEndClosingJobDetail)
+                .withIdentity("yearEndClosingTrigger")
+                .withSchedule(CronScheduleBuilder
+                        .cronSchedule("0 0 3 2 1 ?")
+                        .inTimeZone(TimeZone.getTimeZone("Europe/Berlin")))
+                .build();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * tax module — config layer.
+ */
+package de.dreistrom.tax.config;
@@ -0,0 +1,43 @@
+package de.dreistrom.tax.controller;
+
+import de.dreistrom.common.service.AppUserDetails;
+import de.dreistrom.tax.dto.AllocationOptimizationRequest;
+import de.dreistrom.tax.dto.AllocationOptimizationResult;
+import de.dreistrom.tax.service.AllocationOptimizerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Base path: /api/v1/tax/allocation-optimization
+ */
+@RestController
+@RequestMapping("/api/v1/tax/allocation-optimization")
+@RequiredArgsConstructor
+@Tag(name = "Allocation Optimization", description = "Search allocation rule splits for the lowest total tax")
+public class AllocationOptimizationController {
+
+    private final AllocationOptimizerService allocationOptimizerService;
+
+    @PostMapping
+    @Operation(operationId = "optimizeAllocationRules",
+            summary = "Find the allocation rule splits with the lowest ESt + Soli + net Gewerbesteuer",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Current burden and best candidates"),
+                    @ApiResponse(responseCode = "400", description = "Unknown rule, infeasible bounds or search space too large")
+            })
+    public ResponseEntity<AllocationOptimizationResult> optimize(
+            @AuthenticationPrincipal AppUserDetails userDetails,
+            @Valid @RequestBody AllocationOptimizationRequest request) {
+
+        return ResponseEntity.ok(allocationOptimizerService.optimize(userDetails.getId(), request));
+    }
+}
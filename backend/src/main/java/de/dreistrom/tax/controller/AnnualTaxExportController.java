@@ -1,10 +1,9 @@
 package de.dreistrom.tax.controller;
 
 import de.dreistrom.common.service.AppUserDetails;
+import de.dreistrom.tax.domain.AnnualExportFormat;
 import de.dreistrom.tax.dto.AnnualTaxPackage;
-import de.dreistrom.tax.service.AnnualTaxExportService;
-import de.dreistrom.tax.service.AnnualTaxPackageService;
-import de.dreistrom.tax.service.AnnualTaxPdfService;
+import de.dreistrom.tax.service.AnnualTaxSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,7 +16,8 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * REST controller for the annual tax return package export.
- * Provides JSON, ELSTER XML, CSV, and PDF download endpoints.
+ * Provides JSON, ELSTER XML, CSV, and PDF download endpoints, all served
+ * from the persisted annual tax snapshot.
  * <p>
  * Base path: /api/v1/tax/export/annual/{year}
  */
@@ -28,9 +28,7 @@ import org.springframework.web.bind.annotation.*;
         description = "Einkommensteuererklaerung export (Anlage N, S, G, EÜR, Vorsorgeaufwand)")
 public class AnnualTaxExportController {
 
-    private final AnnualTaxPackageService packageService;
-    private final AnnualTaxExportService exportService;
-    private final AnnualTaxPdfService pdfService;
+    private final AnnualTaxSnapshotService snapshotService;
 
     @GetMapping("/{year}")
     @Operation(summary = "Get annual tax package as JSON",
@@ -42,7 +40,7 @@ public class AnnualTaxExportController {
             @AuthenticationPrincipal AppUserDetails userDetails,
             @PathVariable int year) {
 
-        AnnualTaxPackage pkg = packageService.assemble(userDetails.getId(), year);
+        AnnualTaxPackage pkg = snapshotService.getPackage(userDetails.getId(), year);
         return ResponseEntity.ok(pkg);
     }
 
@@ -53,8 +51,8 @@ public class AnnualTaxExportController {
             @AuthenticationPrincipal AppUserDetails userDetails,
             @PathVariable int year) {
 
-        AnnualTaxPackage pkg = packageService.assemble(userDetails.getId(), year);
-        byte[] xml = exportService.generateElsterXml(pkg, userDetails.getDisplayName());
+        byte[] xml = snapshotService.getExport(userDetails.getId(), year,
+                AnnualExportFormat.XML, userDetails.getDisplayName());
 
         String filename = "ESt_" + year + "_ELSTER.xml";
         return ResponseEntity.ok()
@@ -70,8 +68,7 @@ public class AnnualTaxExportController {
             @AuthenticationPrincipal AppUserDetails userDetails,
             @PathVariable int year) {
 
-        AnnualTaxPackage pkg = packageService.assemble(userDetails.getId(), year);
-        byte[] csv = exportService.generateCsv(pkg);
+        byte[] csv = snapshotService.getExport(userDetails.getId(), year, AnnualExportFormat.CSV, null);
 
         String filename = "ESt_" + year + ".csv";
         return ResponseEntity.ok()
@@ -87,8 +84,7 @@ public class AnnualTaxExportController {
             @AuthenticationPrincipal AppUserDetails userDetails,
             @PathVariable int year) {
 
-        AnnualTaxPackage pkg = packageService.assemble(userDetails.getId(), year);
-        byte[] pdf = pdfService.generate(pkg);
+        byte[] pdf = snapshotService.getExport(userDetails.getId(), year, AnnualExportFormat.PDF, null);
 
         String filename = "ESt_" + year + ".pdf";
         return ResponseEntity.ok()
@@ -0,0 +1,47 @@
+package de.dreistrom.tax.controller;
+
+import de.dreistrom.tax.dto.ScenarioGridRequest;
+import de.dreistrom.tax.service.ScenarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * What-if tax modelling over a grid of income splits, expense levels and
+ * Hebesätze. Pure calculation; no user data is read.
+ * <p>
+ * Base path: /api/v1/tax/scenarios
+ */
+@RestController
+@RequestMapping("/api/v1/tax/scenarios")
+@RequiredArgsConstructor
+@Tag(name = "Tax Scenarios", description = "Batch what-if calculation of income tax, Soli and Gewerbesteuer")
+public class ScenarioController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ScenarioService scenarioService;
+
+    @PostMapping
+    @Operation(operationId = "evaluateTaxScenarios",
+            summary = "Evaluate every combination of the given scenario axes",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "One NDJSON result line per scenario, in grid order"),
+                    @ApiResponse(responseCode = "400", description = "Invalid or oversized grid")
+            })
+    public ResponseEntity<StreamingResponseBody> evaluate(@Valid @RequestBody ScenarioGridRequest request) {
+        ScenarioService.ScenarioGrid grid = scenarioService.grid(request);
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(out -> scenarioService.stream(grid, out));
+    }
+}
@@ -0,0 +1,18 @@
+package de.dreistrom.tax.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rendered forms of an annual tax package that are cached as export blobs.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AnnualExportFormat {
+
+    XML("application/xml"),
+    CSV("text/csv"),
+    PDF("application/pdf");
+
+    private final String mediaType;
+}
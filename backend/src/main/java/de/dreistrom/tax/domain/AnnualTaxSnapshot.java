@@ -0,0 +1,146 @@
+package de.dreistrom.tax.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Persisted annual tax package for a user and tax year, plus the SHA-256 of
+ * each cached rendering in export_blob.
+ * <p>
+ * Rows are created by an idempotent upsert in
+ * {@link de.dreistrom.tax.repository.AnnualTaxSnapshotRepository}, and
+ * {@code sourceVersion} is only ever bumped by its bulk update from the
+ * writing transaction, so it is neither inserted nor updated through this
+ * entity and an in-flight rebuild cannot overwrite a concurrent bump.
+ */
+@Entity
+@Table(name = "annual_tax_snapshot")
+@IdClass(AnnualTaxSnapshotId.class)
+@Getter
+@NoArgsConstructor
+public class AnnualTaxSnapshot {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Column(name = "source_version", nullable = false, insertable = false, updatable = false)
+    private long sourceVersion;
+
+    @Column(name = "built_version", nullable = false)
+    private long builtVersion;
+
+    @Column(name = "package_json", columnDefinition = "LONGTEXT")
+    private String packageJson;
+
+    @Column(name = "package_sha256", length = 64)
+    private String packageSha256;
+
+    @Column(name = "xml_sha256", length = 64)
+    private String xmlSha256;
+
+    @Column(name = "xml_display_name")
+    private String xmlDisplayName;
+
+    @Column(name = "csv_sha256", length = 64)
+    private String csvSha256;
+
+    @Column(name = "pdf_sha256", length = 64)
+    private String pdfSha256;
+
+    @Column(name = "built_at")
+    private Instant builtAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant updatedAt;
+
+    /**
+     * True while no upstream write has touched the year since the package
+     * was built.
+     */
+    public boolean isCurrent() {
+        return packageJson != null && builtVersion == sourceVersion;
+    }
+
+    /**
+     * Record a package built from source version {@code version}. If its
+     * content differs from the stored one, the cached renderings no longer
+     * match and are dropped.
+     *
+     * @return the dropped renderings by format, empty if the content is unchanged
+     */
+    public Map<AnnualExportFormat, String> rebuilt(long version, String json, String sha256) {
+        Map<AnnualExportFormat, String> dropped = new EnumMap<>(AnnualExportFormat.class);
+        if (!sha256.equals(packageSha256)) {
+            for (AnnualExportFormat format : AnnualExportFormat.values()) {
+                String previous = setRendering(format, null);
+                if (previous != null) {
+                    dropped.put(format, previous);
+                }
+            }
+            this.packageJson = json;
+            this.packageSha256 = sha256;
+        }
+        this.builtVersion = version;
+        this.builtAt = Instant.now();
+        this.updatedAt = Instant.now();
+        return dropped;
+    }
+
+    /**
+     * SHA-256 of the cached rendering, or null if there is none. An XML
+     * rendering only counts if it was made for the same taxpayer name.
+     */
+    public String renderingSha256(AnnualExportFormat format, String displayName) {
+        return switch (format) {
+            case XML -> Objects.equals(xmlDisplayName, displayName) ? xmlSha256 : null;
+            case CSV -> csvSha256;
+            case PDF -> pdfSha256;
+        };
+    }
+
+    /**
+     * @return the SHA-256 of the rendering this one replaces, or null
+     */
+    public String storeRendering(AnnualExportFormat format, String sha256, String displayName) {
+        if (format == AnnualExportFormat.XML) {
+            this.xmlDisplayName = displayName;
+        }
+        this.updatedAt = Instant.now();
+        return setRendering(format, sha256);
+    }
+
+    private String setRendering(AnnualExportFormat format, String sha256) {
+        String previous;
+        switch (format) {
+            case XML -> {
+                previous = xmlSha256;
+                xmlSha256 = sha256;
+            }
+            case CSV -> {
+                previous = csvSha256;
+                csvSha256 = sha256;
+            }
+            default -> {
+                previous = pdfSha256;
+                pdfSha256 = sha256;
+            }
+        }
+        return previous;
+    }
+}
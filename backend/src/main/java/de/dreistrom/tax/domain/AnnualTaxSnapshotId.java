@@ -0,0 +1,33 @@
+package de.dreistrom.tax.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for annual_tax_snapshot table.
+ */
+public class AnnualTaxSnapshotId implements Serializable {
+
+    private Long userId;
+    private int taxYear;
+
+    public AnnualTaxSnapshotId() {}
+
+    public AnnualTaxSnapshotId(Long userId, int taxYear) {
+        this.userId = userId;
+        this.taxYear = taxYear;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AnnualTaxSnapshotId that = (AnnualTaxSnapshotId) o;
+        return taxYear == that.taxYear && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, taxYear);
+    }
+}
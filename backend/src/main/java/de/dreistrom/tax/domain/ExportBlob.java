@@ -0,0 +1,36 @@
+package de.dreistrom.tax.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A rendered export stored under the SHA-256 of its content. Rows are
+ * written only through
+ * {@link de.dreistrom.tax.repository.ExportBlobRepository#insertIfAbsent}.
+ */
+@Entity
+@Table(name = "export_blob")
+@Getter
+@NoArgsConstructor
+public class ExportBlob {
+
+    @Id
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "content", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] content;
+
+    @Column(name = "created_at", nullable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant createdAt;
+}
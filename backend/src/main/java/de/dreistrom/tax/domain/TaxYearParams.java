@@ -43,54 +43,58 @@ public record TaxYearParams(
         BigDecimal sonderausgabenpauschale    // Special expenses flat deduction
 ) {
 
+    private static final TaxYearParams PARAMS_2024 = new TaxYearParams(
+            2024,
+            new BigDecimal("11604"),
+            new BigDecimal("17005"),
+            new BigDecimal("66760"),
+            new BigDecimal("277825"),
+            new BigDecimal("922.98"),
+            new BigDecimal("1400"),
+            new BigDecimal("181.19"),
+            new BigDecimal("2397"),
+            new BigDecimal("1025.38"),
+            new BigDecimal("0.42"),
+            new BigDecimal("10602.13"),
+            new BigDecimal("0.45"),
+            new BigDecimal("18936.88"),
+            new BigDecimal("0.055"),
+            new BigDecimal("18130"),
+            new BigDecimal("0.119"),
+            new BigDecimal("1230"),
+            new BigDecimal("36")
+    );
+
     /** §32a EStG Veranlagungszeitraum 2024. */
     public static TaxYearParams of2024() {
-        return new TaxYearParams(
-                2024,
-                new BigDecimal("11604"),
-                new BigDecimal("17005"),
-                new BigDecimal("66760"),
-                new BigDecimal("277825"),
-                new BigDecimal("922.98"),
-                new BigDecimal("1400"),
-                new BigDecimal("181.19"),
-                new BigDecimal("2397"),
-                new BigDecimal("1025.38"),
-                new BigDecimal("0.42"),
-                new BigDecimal("10602.13"),
-                new BigDecimal("0.45"),
-                new BigDecimal("18936.88"),
-                new BigDecimal("0.055"),
-                new BigDecimal("18130"),
-                new BigDecimal("0.119"),
-                new BigDecimal("1230"),
-                new BigDecimal("36")
-        );
+        return PARAMS_2024;
     }
 
+    private static final TaxYearParams PARAMS_2025 = new TaxYearParams(
+            2025,
+            new BigDecimal("12084"),
+            new BigDecimal("17430"),
+            new BigDecimal("68430"),
+            new BigDecimal("277825"),
+            new BigDecimal("933.52"),
+            new BigDecimal("1400"),
+            new BigDecimal("176.64"),
+            new BigDecimal("2397"),
+            new BigDecimal("1015.13"),
+            new BigDecimal("0.42"),
+            new BigDecimal("10586.26"),
+            new BigDecimal("0.45"),
+            new BigDecimal("18919.49"),
+            new BigDecimal("0.055"),
+            new BigDecimal("19950"),
+            new BigDecimal("0.119"),
+            new BigDecimal("1230"),
+            new BigDecimal("36")
+    );
+
     /** §32a EStG Veranlagungszeitraum 2025. */
     public static TaxYearParams of2025() {
-        return new TaxYearParams(
-                2025,
-                new BigDecimal("12084"),
-                new BigDecimal("17430"),
-                new BigDecimal("68430"),
-                new BigDecimal("277825"),
-                new BigDecimal("933.52"),
-                new BigDecimal("1400"),
-                new BigDecimal("176.64"),
-                new BigDecimal("2397"),
-                new BigDecimal("1015.13"),
-                new BigDecimal("0.42"),
-                new BigDecimal("10586.26"),
-                new BigDecimal("0.45"),
-                new BigDecimal("18919.49"),
-                new BigDecimal("0.055"),
-                new BigDecimal("19950"),
-                new BigDecimal("0.119"),
-                new BigDecimal("1230"),
-                new BigDecimal("36")
-        );
+        return PARAMS_2025;
     }
 
     /**
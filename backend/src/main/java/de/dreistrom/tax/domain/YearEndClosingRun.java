@@ -0,0 +1,73 @@
+package de.dreistrom.tax.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of the year-end closing of one tax year across all users.
+ * Per-user progress is checkpointed in {@link YearEndClosingUser}.
+ */
+@Entity
+@Table(name = "year_end_closing_run")
+@Getter
+@NoArgsConstructor
+public class YearEndClosingRun {
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private Integer taxYear;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private YearEndClosingStatus status = YearEndClosingStatus.RUNNING;
+
+    @Column(name = "total_users", nullable = false)
+    private int totalUsers;
+
+    @Column(name = "closed_users", nullable = false)
+    private int closedUsers;
+
+    @Column(name = "failed_users", nullable = false)
+    private int failedUsers;
+
+    @Column(name = "started_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "updated_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant updatedAt;
+
+    public YearEndClosingRun(int taxYear) {
+        this.taxYear = taxYear;
+        this.startedAt = Instant.now();
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * (Re)start the run over the users that are still open.
+     */
+    public void start(int openUsers) {
+        this.status = YearEndClosingStatus.RUNNING;
+        this.totalUsers = openUsers;
+        this.closedUsers = 0;
+        this.failedUsers = 0;
+        this.startedAt = Instant.now();
+        this.finishedAt = null;
+        this.updatedAt = Instant.now();
+    }
+
+    public void complete(int closedUsers, int failedUsers) {
+        this.status = YearEndClosingStatus.COMPLETED;
+        this.closedUsers = closedUsers;
+        this.failedUsers = failedUsers;
+        this.finishedAt = Instant.now();
+        this.updatedAt = Instant.now();
+    }
+}
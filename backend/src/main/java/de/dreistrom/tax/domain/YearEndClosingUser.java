@@ -0,0 +1,44 @@
+package de.dreistrom.tax.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Year-end closing checkpoint of one user.
+ * Composite PK: (tax_year, user_id).
+ * <p>
+ * Rows are written exclusively through upserts in
+ * {@link de.dreistrom.tax.repository.YearEndClosingUserRepository}.
+ */
+@Entity
+@Table(name = "year_end_closing_user")
+@IdClass(YearEndClosingUserId.class)
+@Getter
+@NoArgsConstructor
+public class YearEndClosingUser {
+
+    @Id
+    @Column(name = "tax_year", nullable = false)
+    private int taxYear;
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private YearEndClosingUserStatus status;
+
+    @Column(name = "adjustment_recommended", nullable = false)
+    private boolean adjustmentRecommended;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "processed_at", nullable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private Instant processedAt;
+}
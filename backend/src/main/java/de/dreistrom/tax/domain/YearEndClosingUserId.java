@@ -0,0 +1,34 @@
+package de.dreistrom.tax.domain;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite primary key for year_end_closing_user table.
+ */
+public class YearEndClosingUserId implements Serializable {
+
+    private int taxYear;
+    private Long userId;
+
+    public YearEndClosingUserId() {}
+
+    public YearEndClosingUserId(int taxYear, Long userId) {
+        this.taxYear = taxYear;
+        this.userId = userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        YearEndClosingUserId that = (YearEndClosingUserId) o;
+        return taxYear == that.taxYear
+                && Objects.equals(userId, that.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(taxYear, userId);
+    }
+}
@@ -0,0 +1,6 @@
+package de.dreistrom.tax.domain;
+
+public enum YearEndClosingUserStatus {
+    CLOSED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package de.dreistrom.tax.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Permitted percentage range per stream for one allocation rule in an
+ * optimization run. Omitted bounds default to 0 and 100.
+ */
+public record AllocationBounds(
+        @NotNull Long ruleId,
+        @Min(0) @Max(100) Integer minFreiberufPct,
+        @Min(0) @Max(100) Integer maxFreiberufPct,
+        @Min(0) @Max(100) Integer minGewerbePct,
+        @Min(0) @Max(100) Integer maxGewerbePct,
+        @Min(0) @Max(100) Integer minPersonalPct,
+        @Min(0) @Max(100) Integer maxPersonalPct
+) {}
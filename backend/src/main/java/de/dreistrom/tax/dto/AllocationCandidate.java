@@ -0,0 +1,23 @@
+package de.dreistrom.tax.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One allocation of the searched rules and the resulting tax burden.
+ * {@code delta} is {@code totalTax} minus the burden under the current rules;
+ * negative means a saving. All monetary amounts in EUR.
+ */
+public record AllocationCandidate(
+        List<RuleSplit> rules,
+        BigDecimal freiberufExpenses,
+        BigDecimal gewerbeExpenses,
+        BigDecimal incomeTax,
+        BigDecimal solidaritaetszuschlag,
+        BigDecimal netGewerbesteuer,
+        BigDecimal totalTax,
+        BigDecimal delta
+) {
+
+    public record RuleSplit(Long ruleId, int freiberufPct, int gewerbePct, int personalPct) {}
+}
@@ -0,0 +1,22 @@
+package de.dreistrom.tax.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Allocation rules to re-split for a tax year, searched in steps of
+ * {@code stepPct} (default 5). {@code top} limits the number of returned
+ * candidates (default 10).
+ */
+public record AllocationOptimizationRequest(
+        @NotNull @Min(2024) @Max(2100) Integer taxYear,
+        @NotEmpty @Size(max = 8) @Valid List<AllocationBounds> rules,
+        @Min(1) @Max(50) Integer stepPct,
+        @Min(1) @Max(100) Integer top
+) {}
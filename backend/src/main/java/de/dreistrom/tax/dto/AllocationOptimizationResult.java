@@ -0,0 +1,15 @@
+package de.dreistrom.tax.dto;
+
+import java.util.List;
+
+/**
+ * Result of an allocation rule search: the current allocation for reference,
+ * the best candidates by total tax, and how many distinct allocations were
+ * evaluated after pruning.
+ */
+public record AllocationOptimizationResult(
+        int taxYear,
+        AllocationCandidate current,
+        List<AllocationCandidate> candidates,
+        int evaluated
+) {}
@@ -0,0 +1,24 @@
+package de.dreistrom.tax.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Grid of what-if scenarios: every combination of the listed values is one
+ * scenario. An omitted or empty axis counts as zero; an omitted Hebesatz axis
+ * uses the configured default. Amounts are annual EUR.
+ */
+public record ScenarioGridRequest(
+        @NotNull @Min(2024) @Max(2100) Integer taxYear,
+        List<@NotNull @DecimalMin("0") BigDecimal> employmentIncome,
+        List<@NotNull @DecimalMin("0") BigDecimal> freiberufIncome,
+        List<@NotNull @DecimalMin("0") BigDecimal> gewerbeIncome,
+        List<@NotNull @DecimalMin("0") BigDecimal> freiberufExpenses,
+        List<@NotNull @DecimalMin("0") BigDecimal> gewerbeExpenses,
+        List<@NotNull @Min(200) @Max(2000) Integer> hebesatz
+) {}
@@ -0,0 +1,30 @@
+package de.dreistrom.tax.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of one what-if scenario. {@code index} is the scenario's position
+ * in the grid (last axis varying fastest). Soli is levied on the income tax
+ * after the §35 EStG Gewerbesteuer credit. All monetary amounts in EUR.
+ */
+public record ScenarioResult(
+        int index,
+
+        // ── Inputs ──────────────────────────────────────────────────────
+        BigDecimal employmentIncome,
+        BigDecimal freiberufIncome,
+        BigDecimal gewerbeIncome,
+        BigDecimal freiberufExpenses,
+        BigDecimal gewerbeExpenses,
+        int hebesatz,
+
+        // ── Results ─────────────────────────────────────────────────────
+        BigDecimal taxableIncome,
+        BigDecimal incomeTaxBeforeCredit,
+        BigDecimal paragraph35Credit,
+        BigDecimal incomeTax,
+        BigDecimal solidaritaetszuschlag,
+        BigDecimal gewerbesteuer,
+        BigDecimal totalTax,
+        BigDecimal effectiveRate
+) {}
@@ -0,0 +1,144 @@
+package de.dreistrom.tax.listener;
+
+import de.dreistrom.expense.event.AllocationRuleModified;
+import de.dreistrom.expense.event.DepreciationAssetCreated;
+import de.dreistrom.expense.event.DepreciationAssetDisposed;
+import de.dreistrom.expense.event.ExpenseBatchImported;
+import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.event.ExpenseEntryDeleted;
+import de.dreistrom.expense.event.ExpenseEntryModified;
+import de.dreistrom.income.event.IncomeBatchImported;
+import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.event.IncomeEntryDeleted;
+import de.dreistrom.income.event.IncomeEntryModified;
+import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
+import de.dreistrom.socialinsurance.event.SocialInsuranceEntryChanged;
+import de.dreistrom.tax.service.AnnualTaxSnapshotScheduler;
+import de.dreistrom.tax.service.AnnualTaxSnapshotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Marks annual tax snapshots stale for the years a write touches. The mark
+ * runs in the writing transaction; once that commits, a background rebuild
+ * is queued for users that had a snapshot affected.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnnualTaxSnapshotListener {
+
+    private final AnnualTaxSnapshotService annualTaxSnapshotService;
+    private final AnnualTaxSnapshotScheduler annualTaxSnapshotScheduler;
+
+    @EventListener
+    public void onIncomeCreated(IncomeEntryCreated event) {
+        markStale(event.getUserId(), years(event.getEntryDate()));
+    }
+
+    @EventListener
+    public void onIncomeModified(IncomeEntryModified event) {
+        markStale(event.getUserId(), years(event.getBeforeDate(), event.getAfterDate()));
+    }
+
+    @EventListener
+    public void onIncomeDeleted(IncomeEntryDeleted event) {
+        markStale(event.getUserId(), years(event.getEntryDate()));
+    }
+
+    @EventListener
+    public void onIncomeBatchImported(IncomeBatchImported event) {
+        markStale(event.getUserId(), event.getStreamsByYear().keySet());
+    }
+
+    @EventListener
+    public void onInvoiceCreated(InvoiceCreated event) {
+        markStale(event.getUserId(), years(event.getInvoiceDate()));
+    }
+
+    @EventListener
+    public void onInvoiceVatChanged(InvoiceVatChanged event) {
+        markStale(event.getUserId(), years(event.getBeforeDate(), event.getAfterDate()));
+    }
+
+    @EventListener
+    public void onExpenseCreated(ExpenseEntryCreated event) {
+        markStale(event.getUserId(), years(event.getEntryDate()));
+    }
+
+    @EventListener
+    public void onExpenseModified(ExpenseEntryModified event) {
+        markStale(event.getUserId(), years(event.getBeforeDate(), event.getAfterDate()));
+    }
+
+    @EventListener
+    public void onExpenseDeleted(ExpenseEntryDeleted event) {
+        markStale(event.getUserId(), years(event.getEntryDate()));
+    }
+
+    @EventListener
+    public void onExpenseBatchImported(ExpenseBatchImported event) {
+        markStale(event.getUserId(), event.getYears());
+    }
+
+    /** A re-split rule changes the allocation of every year it was used in. */
+    @EventListener
+    public void onAllocationRuleModified(AllocationRuleModified event) {
+        rebuildAfterCommit(event.getUserId(),
+                annualTaxSnapshotService.markAllStale(event.getUserId()));
+    }
+
+    /** AfA runs from the acquisition year over the asset's useful life. */
+    @EventListener
+    public void onDepreciationAssetCreated(DepreciationAssetCreated event) {
+        rebuildAfterCommit(event.getUserId(), annualTaxSnapshotService.markStaleFrom(
+                event.getUserId(), event.getAcquisitionDate().getYear()));
+    }
+
+    @EventListener
+    public void onDepreciationAssetDisposed(DepreciationAssetDisposed event) {
+        rebuildAfterCommit(event.getUserId(), annualTaxSnapshotService.markStaleFrom(
+                event.getUserId(), event.getDisposalDate().getYear()));
+    }
+
+    @EventListener
+    public void onSocialInsuranceEntryChanged(SocialInsuranceEntryChanged event) {
+        markStale(event.getUserId(), Set.of(event.getYear()));
+    }
+
+    private void markStale(Long userId, Set<Integer> years) {
+        rebuildAfterCommit(userId, annualTaxSnapshotService.markStale(userId, years));
+    }
+
+    private void rebuildAfterCommit(Long userId, int marked) {
+        if (marked == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            annualTaxSnapshotScheduler.schedule(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                annualTaxSnapshotScheduler.schedule(userId);
+            }
+        });
+    }
+
+    private static Set<Integer> years(LocalDate date) {
+        return Set.of(date.getYear());
+    }
+
+    private static Set<Integer> years(LocalDate before, LocalDate after) {
+        return before.getYear() == after.getYear()
+                ? Set.of(after.getYear())
+                : Set.of(before.getYear(), after.getYear());
+    }
+}
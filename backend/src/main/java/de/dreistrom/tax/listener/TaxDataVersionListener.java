@@ -0,0 +1,115 @@
+package de.dreistrom.tax.listener;
+
+import de.dreistrom.expense.event.AllocationRuleCreated;
+import de.dreistrom.expense.event.AllocationRuleModified;
+import de.dreistrom.expense.event.DepreciationAssetCreated;
+import de.dreistrom.expense.event.ExpenseBatchImported;
+import de.dreistrom.expense.event.ExpenseEntryCreated;
+import de.dreistrom.expense.event.ExpenseEntryDeleted;
+import de.dreistrom.expense.event.ExpenseEntryModified;
+import de.dreistrom.income.event.IncomeBatchImported;
+import de.dreistrom.income.event.IncomeEntryCreated;
+import de.dreistrom.income.event.IncomeEntryDeleted;
+import de.dreistrom.income.event.IncomeEntryModified;
+import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
+import de.dreistrom.tax.service.TaxDataVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bumps the user's tax data version on every write that can change an
+ * assessment. Invoices are included because they create and update their
+ * linked income entry without an income event.
+ * <p>
+ * The version is bumped once while the write is still in flight and again
+ * after its transaction completes. An assessment computed in between reads
+ * the pre-commit rows and is cached under the intermediate version, which
+ * the second bump retires — on commit and on rollback alike.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaxDataVersionListener {
+
+    private final TaxDataVersions taxDataVersions;
+
+    @EventListener
+    public void onIncomeCreated(IncomeEntryCreated event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onIncomeModified(IncomeEntryModified event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onIncomeDeleted(IncomeEntryDeleted event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onIncomeBatchImported(IncomeBatchImported event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onInvoiceCreated(InvoiceCreated event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onInvoiceVatChanged(InvoiceVatChanged event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseCreated(ExpenseEntryCreated event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseModified(ExpenseEntryModified event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseDeleted(ExpenseEntryDeleted event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onExpenseBatchImported(ExpenseBatchImported event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onAllocationRuleCreated(AllocationRuleCreated event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onAllocationRuleModified(AllocationRuleModified event) {
+        bump(event.getUserId());
+    }
+
+    @EventListener
+    public void onDepreciationAssetCreated(DepreciationAssetCreated event) {
+        bump(event.getUserId());
+    }
+
+    private void bump(Long userId) {
+        taxDataVersions.bump(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    taxDataVersions.bump(userId);
+                }
+            });
+        }
+    }
+}
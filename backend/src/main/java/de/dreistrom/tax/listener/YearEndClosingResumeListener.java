@@ -0,0 +1,41 @@
+package de.dreistrom.tax.listener;
+
+import de.dreistrom.tax.domain.YearEndClosingRun;
+import de.dreistrom.tax.domain.YearEndClosingStatus;
+import de.dreistrom.tax.repository.YearEndClosingRunRepository;
+import de.dreistrom.tax.service.YearEndClosingJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-triggers year-end closing runs that were still running when the
+ * application stopped. The resumed run skips users already checkpointed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class YearEndClosingResumeListener {
+
+    private final YearEndClosingRunRepository runRepository;
+    private final Scheduler scheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRuns() {
+        for (YearEndClosingRun run : runRepository.findByStatus(YearEndClosingStatus.RUNNING)) {
+            JobDataMap data = new JobDataMap();
+            data.put(YearEndClosingJob.TAX_YEAR, run.getTaxYear().intValue());
+            try {
+                scheduler.triggerJob(YearEndClosingJob.KEY, data);
+                log.info("Resuming interrupted year-end closing for {}", run.getTaxYear());
+            } catch (SchedulerException e) {
+                log.error("Could not resume year-end closing for {}", run.getTaxYear(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * tax module — listener layer.
+ */
+package de.dreistrom.tax.listener;
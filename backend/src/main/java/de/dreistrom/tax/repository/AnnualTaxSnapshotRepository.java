@@ -0,0 +1,67 @@
+package de.dreistrom.tax.repository;
+
+import de.dreistrom.tax.domain.AnnualTaxSnapshot;
+import de.dreistrom.tax.domain.AnnualTaxSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnnualTaxSnapshotRepository extends JpaRepository<AnnualTaxSnapshot, AnnualTaxSnapshotId> {
+
+    Optional<AnnualTaxSnapshot> findByUserIdAndTaxYear(Long userId, int taxYear);
+
+    /**
+     * Snapshots of a user whose source data changed since they were built.
+     */
+    @Query("SELECT s FROM AnnualTaxSnapshot s " +
+           "WHERE s.userId = :userId AND s.builtVersion <> s.sourceVersion " +
+           "ORDER BY s.taxYear")
+    List<AnnualTaxSnapshot> findStale(@Param("userId") Long userId);
+
+    /**
+     * Create an empty, not yet built snapshot row unless one exists. A no-op
+     * on conflict, so concurrent first downloads cannot fail each other.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO annual_tax_snapshot " +
+                   "(user_id, tax_year, source_version, built_version, created_at, updated_at) " +
+                   "VALUES (:userId, :taxYear, 1, 0, CURRENT_TIMESTAMP(6), CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE built_version = built_version",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("taxYear") int taxYear);
+
+    /**
+     * Mark the given years of a user as changed. Runs in the writing
+     * transaction, so the bump commits or rolls back with the source rows.
+     */
+    @Modifying
+    @Query(value = "UPDATE annual_tax_snapshot SET source_version = source_version + 1 " +
+                   "WHERE user_id = :userId AND tax_year IN (:years)",
+           nativeQuery = true)
+    int bumpSourceVersion(@Param("userId") Long userId, @Param("years") Collection<Integer> years);
+
+    /**
+     * Mark every year from {@code fromYear} on as changed, e.g. for a new or
+     * disposed depreciation asset.
+     */
+    @Modifying
+    @Query(value = "UPDATE annual_tax_snapshot SET source_version = source_version + 1 " +
+                   "WHERE user_id = :userId AND tax_year >= :fromYear",
+           nativeQuery = true)
+    int bumpSourceVersionFrom(@Param("userId") Long userId, @Param("fromYear") int fromYear);
+
+    /**
+     * Mark every year of a user as changed, e.g. after an allocation rule
+     * was re-split.
+     */
+    @Modifying
+    @Query(value = "UPDATE annual_tax_snapshot SET source_version = source_version + 1 " +
+                   "WHERE user_id = :userId",
+           nativeQuery = true)
+    int bumpAllSourceVersions(@Param("userId") Long userId);
+}
@@ -0,0 +1,34 @@
+package de.dreistrom.tax.repository;
+
+import de.dreistrom.tax.domain.ExportBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ExportBlobRepository extends JpaRepository<ExportBlob, String> {
+
+    /**
+     * Store a blob unless one with the same hash exists; identical content
+     * rendered concurrently for two snapshots is written once.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO export_blob (sha256, content_type, size_bytes, content, created_at) " +
+                   "VALUES (:sha256, :contentType, :sizeBytes, :content, CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE size_bytes = size_bytes",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("sha256") String sha256,
+                       @Param("contentType") String contentType,
+                       @Param("sizeBytes") long sizeBytes,
+                       @Param("content") byte[] content);
+
+    /**
+     * Delete a blob that no snapshot references any more.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM export_blob WHERE sha256 = :sha256 AND NOT EXISTS (" +
+                   "SELECT 1 FROM annual_tax_snapshot s " +
+                   "WHERE s.xml_sha256 = :sha256 OR s.csv_sha256 = :sha256 OR s.pdf_sha256 = :sha256)",
+           nativeQuery = true)
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
@@ -0,0 +1,12 @@
+package de.dreistrom.tax.repository;
+
+import de.dreistrom.tax.domain.YearEndClosingRun;
+import de.dreistrom.tax.domain.YearEndClosingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface YearEndClosingRunRepository extends JpaRepository<YearEndClosingRun, Integer> {
+
+    List<YearEndClosingRun> findByStatus(YearEndClosingStatus status);
+}
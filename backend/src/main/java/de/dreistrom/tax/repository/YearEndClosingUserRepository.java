@@ -0,0 +1,53 @@
+package de.dreistrom.tax.repository;
+
+import de.dreistrom.tax.domain.YearEndClosingUser;
+import de.dreistrom.tax.domain.YearEndClosingUserId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface YearEndClosingUserRepository
+        extends JpaRepository<YearEndClosingUser, YearEndClosingUserId> {
+
+    /**
+     * Active users whose closing of the tax year has not committed yet,
+     * including users that failed in an earlier run.
+     */
+    @Query(value = "SELECT u.id FROM app_user u " +
+                   "WHERE u.active = TRUE AND NOT EXISTS (" +
+                   "SELECT 1 FROM year_end_closing_user c " +
+                   "WHERE c.tax_year = :taxYear AND c.user_id = u.id AND c.status = 'CLOSED') " +
+                   "ORDER BY u.id",
+           nativeQuery = true)
+    List<Long> findOpenUserIds(@Param("taxYear") int taxYear);
+
+    @Modifying
+    @Query(value = "INSERT INTO year_end_closing_user " +
+                   "(tax_year, user_id, status, adjustment_recommended, error, processed_at) " +
+                   "VALUES (:taxYear, :userId, 'CLOSED', :adjustmentRecommended, NULL, CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "status = 'CLOSED', " +
+                   "adjustment_recommended = :adjustmentRecommended, " +
+                   "error = NULL, " +
+                   "processed_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int markClosed(@Param("taxYear") int taxYear,
+                   @Param("userId") Long userId,
+                   @Param("adjustmentRecommended") boolean adjustmentRecommended);
+
+    @Modifying
+    @Query(value = "INSERT INTO year_end_closing_user " +
+                   "(tax_year, user_id, status, adjustment_recommended, error, processed_at) " +
+                   "VALUES (:taxYear, :userId, 'FAILED', FALSE, :error, CURRENT_TIMESTAMP(6)) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "status = 'FAILED', " +
+                   "error = :error, " +
+                   "processed_at = CURRENT_TIMESTAMP(6)",
+           nativeQuery = true)
+    int markFailed(@Param("taxYear") int taxYear,
+                   @Param("userId") Long userId,
+                   @Param("error") String error);
+}
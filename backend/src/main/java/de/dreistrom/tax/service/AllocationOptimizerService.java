@@ -0,0 +1,281 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.income.service.StreamIncomeTotals;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.income.service.YearAggregatesService;
+import de.dreistrom.tax.domain.TaxYearParams;
+import de.dreistrom.tax.dto.AllocationBounds;
+import de.dreistrom.tax.dto.AllocationCandidate;
+import de.dreistrom.tax.dto.AllocationOptimizationRequest;
+import de.dreistrom.tax.dto.AllocationOptimizationResult;
+import de.dreistrom.tax.dto.ScenarioResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Searches Freiberuf/Gewerbe/Personal splits of selected allocation rules for
+ * the lowest ESt + Soli + net Gewerbesteuer in a tax year.
+ * <p>
+ * The year's income and allocated expense totals and the gross expense cents
+ * per allocation rule are read once; every candidate is then evaluated with
+ * {@link ScenarioService#evaluate} without further DB access.
+ * <p>
+ * The current allocation is evaluated from the stored per-entry split cents,
+ * as in {@link TaxAssessmentService}. Candidates are computed from the rule
+ * sums and shifted by the rounding difference between the two, so that the
+ * current splits reproduce the current totals exactly.
+ * <p>
+ * Total tax never increases when either deductible total (Freiberuf or
+ * Gewerbe expenses) grows, so a split is only a candidate if no other
+ * permitted split deducts at least as much in both streams and more in one.
+ * That Pareto pruning is applied per rule and again after each rule is
+ * combined with the partial results, and allocations that land on the same
+ * expense totals are evaluated once. The remaining frontier is evaluated in
+ * parallel on the scenario pool.
+ */
+@Service
+@RequiredArgsConstructor
+public class AllocationOptimizerService {
+
+    static final int DEFAULT_STEP_PCT = 5;
+    static final int DEFAULT_TOP = 10;
+
+    private final YearAggregatesService yearAggregatesService;
+    private final ExpenseEntryRepository expenseEntryRepository;
+    private final ScenarioService scenarioService;
+
+    @Value("${dreistrom.tax.allocation-optimizer.max-candidates:200000}")
+    private int maxCandidates;
+
+    @Transactional(readOnly = true)
+    public AllocationOptimizationResult optimize(Long userId, AllocationOptimizationRequest request) {
+        int year = request.taxYear();
+        int step = request.stepPct() != null ? request.stepPct() : DEFAULT_STEP_PCT;
+        int top = request.top() != null ? request.top() : DEFAULT_TOP;
+
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        StreamIncomeTotals income = aggregates.income();
+        Map<Long, RuleUsage> usage = loadRuleUsage(userId, year);
+
+        List<RuleUsage> searched = new ArrayList<>();
+        List<List<Split>> options = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (AllocationBounds bounds : request.rules()) {
+            RuleUsage rule = usage.get(bounds.ruleId());
+            if (rule == null) {
+                throw new IllegalArgumentException(
+                        "Allocation rule " + bounds.ruleId() + " has no expenses in " + year);
+            }
+            if (!seen.add(bounds.ruleId())) {
+                throw new IllegalArgumentException("Allocation rule " + bounds.ruleId() + " listed twice");
+            }
+            searched.add(rule);
+            options.add(paretoSplits(bounds, step));
+        }
+
+        // Weighted shares (cents × pct) of the rules that are not searched
+        long fixedFreiberuf = 0;
+        long fixedGewerbe = 0;
+        long weightedFreiberuf = 0;
+        long weightedGewerbe = 0;
+        for (RuleUsage rule : usage.values()) {
+            weightedFreiberuf += rule.cents() * rule.freiberufPct();
+            weightedGewerbe += rule.cents() * rule.gewerbePct();
+            if (!seen.contains(rule.ruleId())) {
+                fixedFreiberuf += rule.cents() * rule.freiberufPct();
+                fixedGewerbe += rule.cents() * rule.gewerbePct();
+            }
+        }
+
+        // Per-entry rounding of the stored split versus the rule sums
+        long currentFreiberuf = aggregates.expenses().freiberufCents();
+        long currentGewerbe = aggregates.expenses().gewerbeCents();
+        long freiberufOffset = currentFreiberuf - weightedFreiberuf / 100;
+        long gewerbeOffset = currentGewerbe - weightedGewerbe / 100;
+
+        List<Partial> frontier = combine(searched, options, fixedFreiberuf, fixedGewerbe);
+
+        TaxYearParams params = TaxYearParams.forYear(year);
+        int hebesatz = scenarioService.defaultHebesatz();
+        ScenarioResult currentResult = evaluate(params, income, currentFreiberuf, currentGewerbe, hebesatz);
+        BigDecimal currentTax = currentResult.totalTax();
+        List<AllocationCandidate.RuleSplit> currentSplits = searched.stream()
+                .map(r -> new AllocationCandidate.RuleSplit(
+                        r.ruleId(), r.freiberufPct(), r.gewerbePct(), r.personalPct()))
+                .toList();
+
+        List<ScenarioResult> results = scenarioService.evaluateAll(frontier.size(), i -> evaluate(params, income,
+                frontier.get(i).weightedFreiberuf() / 100 + freiberufOffset,
+                frontier.get(i).weightedGewerbe() / 100 + gewerbeOffset,
+                hebesatz));
+
+        List<AllocationCandidate> candidates = IntStream.range(0, frontier.size())
+                .boxed()
+                .sorted(Comparator.comparing((Integer i) -> results.get(i).totalTax()))
+                .limit(top)
+                .map(i -> toCandidate(searched, frontier.get(i).splits(), results.get(i), currentTax))
+                .toList();
+
+        return new AllocationOptimizationResult(year,
+                toCandidate(currentSplits, currentResult, currentTax), candidates, frontier.size());
+    }
+
+    private Map<Long, RuleUsage> loadRuleUsage(Long userId, int year) {
+        Map<Long, RuleUsage> usage = new LinkedHashMap<>();
+        for (Object[] row : expenseEntryRepository.sumCentsByAllocationRule(
+                userId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            RuleUsage rule = new RuleUsage(((Number) row[0]).longValue(),
+                    ((Number) row[1]).intValue(), ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue(), ((Number) row[4]).longValue());
+            usage.put(rule.ruleId(), rule);
+        }
+        return usage;
+    }
+
+    /**
+     * All splits on the step grid within the bounds that are not dominated by
+     * another permitted split of the same rule.
+     */
+    static List<Split> paretoSplits(AllocationBounds bounds, int step) {
+        int minF = orDefault(bounds.minFreiberufPct(), 0);
+        int maxF = orDefault(bounds.maxFreiberufPct(), 100);
+        int minG = orDefault(bounds.minGewerbePct(), 0);
+        int maxG = orDefault(bounds.maxGewerbePct(), 100);
+        int minP = orDefault(bounds.minPersonalPct(), 0);
+        int maxP = orDefault(bounds.maxPersonalPct(), 100);
+
+        // For each Freiberuf share keep only the largest permitted Gewerbe share
+        List<Split> splits = new ArrayList<>();
+        for (int f = maxF; f >= minF; f--) {
+            if (f % step != 0 && f != minF && f != maxF) {
+                continue;
+            }
+            int g = Math.min(maxG, 100 - f - minP);
+            if (g < minG || 100 - f - g > maxP) {
+                continue;
+            }
+            splits.add(new Split(f, g, 100 - f - g));
+        }
+
+        // Walking down in Freiberuf, keep a split only if it gains Gewerbe share
+        List<Split> front = new ArrayList<>();
+        int bestG = -1;
+        for (Split split : splits) {
+            if (split.gewerbePct() > bestG) {
+                front.add(split);
+                bestG = split.gewerbePct();
+            }
+        }
+        if (front.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Bounds for allocation rule " + bounds.ruleId() + " admit no split summing to 100%");
+        }
+        return front;
+    }
+
+    private List<Partial> combine(List<RuleUsage> rules, List<List<Split>> options,
+                                  long fixedFreiberuf, long fixedGewerbe) {
+        List<Partial> frontier = List.of(new Partial(fixedFreiberuf, fixedGewerbe, List.of()));
+        for (int r = 0; r < rules.size(); r++) {
+            RuleUsage rule = rules.get(r);
+            List<Split> ruleOptions = options.get(r);
+            if ((long) frontier.size() * ruleOptions.size() > maxCandidates) {
+                throw new IllegalArgumentException("Search space too large; at most " + maxCandidates
+                        + " candidate allocations allowed. Use a larger step or narrower bounds");
+            }
+
+            List<Partial> next = new ArrayList<>(frontier.size() * ruleOptions.size());
+            for (Partial partial : frontier) {
+                for (Split split : ruleOptions) {
+                    List<Split> splits = new ArrayList<>(partial.splits());
+                    splits.add(split);
+                    next.add(new Partial(
+                            partial.weightedFreiberuf() + rule.cents() * split.freiberufPct(),
+                            partial.weightedGewerbe() + rule.cents() * split.gewerbePct(),
+                            splits));
+                }
+            }
+            frontier = paretoFront(next);
+        }
+        return frontier;
+    }
+
+    /**
+     * Partials not dominated in (Freiberuf, Gewerbe); of several with the same
+     * totals the first is kept.
+     */
+    static List<Partial> paretoFront(List<Partial> partials) {
+        List<Partial> sorted = new ArrayList<>(partials);
+        sorted.sort(Comparator.comparingLong(Partial::weightedFreiberuf).reversed()
+                .thenComparing(Comparator.comparingLong(Partial::weightedGewerbe).reversed()));
+
+        List<Partial> front = new ArrayList<>();
+        long bestGewerbe = Long.MIN_VALUE;
+        for (Partial partial : sorted) {
+            if (partial.weightedGewerbe() > bestGewerbe) {
+                front.add(partial);
+                bestGewerbe = partial.weightedGewerbe();
+            }
+        }
+        return front;
+    }
+
+    /**
+     * Evaluate with allocated Freiberuf and Gewerbe expenses in cents.
+     */
+    private ScenarioResult evaluate(TaxYearParams params, StreamIncomeTotals income,
+                                    long freiberufCents, long gewerbeCents, int hebesatz) {
+        return scenarioService.evaluate(params, 0,
+                Money.ofCents(income.employmentCents()).toEuros(),
+                Money.ofCents(income.freiberufCents()).toEuros(),
+                Money.ofCents(income.gewerbeCents()).toEuros(),
+                Money.ofCents(freiberufCents).toEuros(),
+                Money.ofCents(gewerbeCents).toEuros(),
+                hebesatz);
+    }
+
+    private static AllocationCandidate toCandidate(List<RuleUsage> rules, List<Split> splits,
+                                                   ScenarioResult result, BigDecimal currentTax) {
+        List<AllocationCandidate.RuleSplit> ruleSplits = new ArrayList<>(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            Split split = splits.get(i);
+            ruleSplits.add(new AllocationCandidate.RuleSplit(rules.get(i).ruleId(),
+                    split.freiberufPct(), split.gewerbePct(), split.personalPct()));
+        }
+        return toCandidate(ruleSplits, result, currentTax);
+    }
+
+    private static AllocationCandidate toCandidate(List<AllocationCandidate.RuleSplit> splits,
+                                                   ScenarioResult result, BigDecimal currentTax) {
+        return new AllocationCandidate(splits,
+                result.freiberufExpenses(), result.gewerbeExpenses(),
+                result.incomeTaxBeforeCredit(), result.solidaritaetszuschlag(),
+                result.gewerbesteuer().subtract(result.paragraph35Credit()),
+                result.totalTax(), result.totalTax().subtract(currentTax));
+    }
+
+    private static int orDefault(Integer value, int fallback) {
+        return value != null ? value : fallback;
+    }
+
+    record RuleUsage(Long ruleId, int freiberufPct, int gewerbePct, int personalPct, long cents) {}
+
+    record Split(int freiberufPct, int gewerbePct, int personalPct) {}
+
+    record Partial(long weightedFreiberuf, long weightedGewerbe, List<Split> splits) {}
+}
@@ -1,11 +1,8 @@
 package de.dreistrom.tax.service;
 
 import de.dreistrom.common.domain.IncomeStream;
-import de.dreistrom.expense.service.DepreciationService;
 import de.dreistrom.expense.service.StreamDepreciationSummary;
-import de.dreistrom.income.repository.IncomeEntryRepository;
 import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
-import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
 import de.dreistrom.tax.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -22,6 +19,10 @@ import java.util.List;
  * <p>
  * Produces: Anlage N (§19), Anlage S (§18), Anlage G (§15),
  * Anlage EÜR (dual), Anlage Vorsorgeaufwand, plus tax totals.
+ * <p>
+ * All source data is loaded once into a {@link TaxYearDataContext} and
+ * shared by the calculators, so assembly runs a fixed number of queries
+ * regardless of how many Anlagen read the same totals.
  */
 @Service
 @RequiredArgsConstructor
@@ -35,12 +36,10 @@ public class AnnualTaxPackageService {
     private static final BigDecimal RV_RATE = new BigDecimal("0.093");   // 18.6% / 2
     private static final BigDecimal AV_RATE = new BigDecimal("0.013");   // 2.6% / 2
 
+    private final TaxYearDataService taxYearDataService;
     private final TaxAssessmentService taxAssessmentService;
     private final GewerbesteuerCalculator gewerbesteuerCalculator;
     private final EuerService euerService;
-    private final DepreciationService depreciationService;
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final SocialInsuranceEntryRepository socialInsuranceEntryRepository;
 
     /**
      * Assemble the complete annual tax return package for a user and year.
@@ -51,20 +50,21 @@ public class AnnualTaxPackageService {
      */
     @Transactional(readOnly = true)
     public AnnualTaxPackage assemble(Long userId, int year) {
+        TaxYearDataContext context = taxYearDataService.load(userId, year);
+
         // ── Tax calculation (income tax + Soli) ──────────────────────────
-        TaxCalculationResult taxCalc = taxAssessmentService.assess(userId, year);
+        TaxCalculationResult taxCalc = taxAssessmentService.assess(context);
 
         // ── Gewerbesteuer ────────────────────────────────────────────────
         GewerbesteuerResult gewSt = gewerbesteuerCalculator.calculate(
-                userId, year, taxCalc.incomeTax());
+                context, taxCalc.incomeTax());
 
         // ── EÜR for both streams ─────────────────────────────────────────
-        EuerResult euerFreiberuf = euerService.generate(userId, IncomeStream.FREIBERUF, year);
-        EuerResult euerGewerbe = euerService.generate(userId, IncomeStream.GEWERBE, year);
+        EuerResult euerFreiberuf = euerService.generate(context, IncomeStream.FREIBERUF);
+        EuerResult euerGewerbe = euerService.generate(context, IncomeStream.GEWERBE);
 
         // ── Depreciation by stream ───────────────────────────────────────
-        StreamDepreciationSummary depSummary =
-                depreciationService.computeStreamTotalsForYear(userId, year);
+        StreamDepreciationSummary depSummary = context.depreciation();
 
         // ── Anlage N (Employment §19 EStG) ───────────────────────────────
         AnnualTaxPackage.AnlageN anlageN = buildAnlageN(taxCalc);
@@ -89,7 +89,7 @@ public class AnnualTaxPackageService {
 
         // ── Anlage Vorsorgeaufwand ───────────────────────────────────────
         AnnualTaxPackage.AnlageVorsorgeaufwand vorsorge =
-                buildVorsorgeaufwand(userId, year, taxCalc.employmentIncome());
+                buildVorsorgeaufwand(context.socialInsurance(), taxCalc.employmentIncome());
 
         return new AnnualTaxPackage(
                 year,
@@ -141,14 +141,10 @@ public class AnnualTaxPackageService {
      * applied to employment income.
      */
     private AnnualTaxPackage.AnlageVorsorgeaufwand buildVorsorgeaufwand(
-            Long userId, int year, BigDecimal employmentIncome) {
+            List<SocialInsuranceEntry> entries, BigDecimal employmentIncome) {
 
         // Sum employment income from social insurance entries if available,
         // otherwise fall back to income entry totals
-        List<SocialInsuranceEntry> entries =
-                socialInsuranceEntryRepository.findByUserIdAndYearOrderByMonthAsc(
-                        userId, (short) year);
-
         BigDecimal basisIncome;
         if (!entries.isEmpty()) {
             basisIncome = entries.stream()
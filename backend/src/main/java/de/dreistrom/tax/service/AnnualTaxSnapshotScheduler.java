@@ -0,0 +1,79 @@
+package de.dreistrom.tax.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rebuilds stale annual tax snapshots off the writer's thread.
+ * <p>
+ * Requests are coalesced per user: the first one opens a window of
+ * {@code dreistrom.tax.snapshot.coalesce-window-ms}, and writes inside that
+ * window are picked up by the same rebuild. A write that lands while a
+ * rebuild runs opens a new window, so its year is rebuilt again afterwards.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnnualTaxSnapshotScheduler {
+
+    private final AnnualTaxSnapshotService annualTaxSnapshotService;
+
+    @Value("${dreistrom.tax.snapshot.coalesce-window-ms:2000}")
+    private long coalesceWindowMs;
+
+    @Value("${dreistrom.tax.snapshot.worker-threads:1}")
+    private int workerThreads;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService workers;
+
+    @PostConstruct
+    void start() {
+        workers = Executors.newScheduledThreadPool(workerThreads, namedThreads("tax-snapshot"));
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Request a rebuild of the user's stale snapshots after the current window.
+     */
+    public void schedule(Long userId) {
+        if (pending.add(userId)) {
+            workers.schedule(() -> run(userId), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run(Long userId) {
+        pending.remove(userId);
+        try {
+            annualTaxSnapshotService.rebuildStale(userId);
+        } catch (RuntimeException e) {
+            log.error("Annual tax snapshot rebuild failed: userId={}", userId, e);
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package de.dreistrom.tax.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dreistrom.tax.domain.AnnualExportFormat;
+import de.dreistrom.tax.domain.AnnualTaxSnapshot;
+import de.dreistrom.tax.domain.ExportBlob;
+import de.dreistrom.tax.dto.AnnualTaxPackage;
+import de.dreistrom.tax.repository.AnnualTaxSnapshotRepository;
+import de.dreistrom.tax.repository.ExportBlobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serves annual tax packages and their XML, CSV and PDF exports from
+ * persisted snapshots.
+ * <p>
+ * A snapshot is assembled on first request and then reused until a domain
+ * event touching its year bumps the source version (see
+ * {@code AnnualTaxSnapshotListener}). Stale snapshots are rebuilt in the
+ * background by {@link AnnualTaxSnapshotScheduler}, or on the next request if
+ * that comes first. A rebuild that yields the same package keeps the cached
+ * renderings; otherwise the renderings that existed are rendered again.
+ * Renderings are stored once per distinct content in export_blob.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnnualTaxSnapshotService {
+
+    private final AnnualTaxSnapshotRepository snapshotRepository;
+    private final ExportBlobRepository exportBlobRepository;
+    private final AnnualTaxPackageService annualTaxPackageService;
+    private final AnnualTaxExportService annualTaxExportService;
+    private final AnnualTaxPdfService annualTaxPdfService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public AnnualTaxPackage getPackage(Long userId, int year) {
+        return readPackage(currentSnapshot(userId, year));
+    }
+
+    /**
+     * Rendered export of the current package, from export_blob if it was
+     * rendered before.
+     *
+     * @param displayName taxpayer name for the XML; ignored for CSV and PDF
+     */
+    @Transactional
+    public byte[] getExport(Long userId, int year, AnnualExportFormat format, String displayName) {
+        AnnualTaxSnapshot snapshot = currentSnapshot(userId, year);
+        String sha256 = snapshot.renderingSha256(format, displayName);
+        if (sha256 != null) {
+            // A concurrent rebuild may have dropped the blob; render it again then
+            Optional<ExportBlob> blob = exportBlobRepository.findById(sha256);
+            if (blob.isPresent()) {
+                return blob.get().getContent();
+            }
+        }
+        return render(snapshot, format, displayName);
+    }
+
+    /**
+     * Mark snapshots of the given years as stale. Called from the writing
+     * transaction.
+     *
+     * @return number of snapshots marked
+     */
+    @Transactional
+    public int markStale(Long userId, Collection<Integer> years) {
+        return years.isEmpty() ? 0 : snapshotRepository.bumpSourceVersion(userId, years);
+    }
+
+    /**
+     * Mark snapshots from {@code fromYear} on as stale.
+     */
+    @Transactional
+    public int markStaleFrom(Long userId, int fromYear) {
+        return snapshotRepository.bumpSourceVersionFrom(userId, fromYear);
+    }
+
+    /**
+     * Mark all snapshots of a user as stale.
+     */
+    @Transactional
+    public int markAllStale(Long userId) {
+        return snapshotRepository.bumpAllSourceVersions(userId);
+    }
+
+    /**
+     * Rebuild every stale snapshot of a user and re-render the exports that
+     * were cached for it.
+     */
+    @Transactional
+    public void rebuildStale(Long userId) {
+        for (AnnualTaxSnapshot snapshot : snapshotRepository.findStale(userId)) {
+            String xmlDisplayName = snapshot.getXmlDisplayName();
+            Map<AnnualExportFormat, String> dropped = rebuild(snapshot);
+            for (AnnualExportFormat format : dropped.keySet()) {
+                render(snapshot, format, xmlDisplayName);
+            }
+            log.debug("Annual tax snapshot rebuilt: userId={}, year={}, version={}, rerendered={}",
+                    userId, snapshot.getTaxYear(), snapshot.getBuiltVersion(), dropped.keySet());
+        }
+    }
+
+    private AnnualTaxSnapshot currentSnapshot(Long userId, int year) {
+        AnnualTaxSnapshot snapshot = snapshotRepository.findByUserIdAndTaxYear(userId, year)
+                .orElseGet(() -> {
+                    snapshotRepository.insertIfAbsent(userId, year);
+                    return snapshotRepository.findByUserIdAndTaxYear(userId, year).orElseThrow();
+                });
+        if (!snapshot.isCurrent()) {
+            rebuild(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Assemble the package at the snapshot's current source version.
+     *
+     * @return renderings dropped because the package content changed
+     */
+    private Map<AnnualExportFormat, String> rebuild(AnnualTaxSnapshot snapshot) {
+        long version = snapshot.getSourceVersion();
+        AnnualTaxPackage pkg = annualTaxPackageService.assemble(snapshot.getUserId(), snapshot.getTaxYear());
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(pkg);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize annual tax package", e);
+        }
+
+        Map<AnnualExportFormat, String> dropped =
+                snapshot.rebuilt(version, json, sha256(json.getBytes(StandardCharsets.UTF_8)));
+        deleteUnreferenced(dropped.values());
+        return dropped;
+    }
+
+    private byte[] render(AnnualTaxSnapshot snapshot, AnnualExportFormat format, String displayName) {
+        AnnualTaxPackage pkg = readPackage(snapshot);
+        byte[] content = switch (format) {
+            case XML -> annualTaxExportService.generateElsterXml(pkg, displayName);
+            case CSV -> annualTaxExportService.generateCsv(pkg);
+            case PDF -> annualTaxPdfService.generate(pkg);
+        };
+
+        String sha256 = sha256(content);
+        exportBlobRepository.insertIfAbsent(sha256, format.getMediaType(), content.length, content);
+        String previous = snapshot.storeRendering(format, sha256, displayName);
+        if (previous != null && !previous.equals(sha256)) {
+            deleteUnreferenced(List.of(previous));
+        }
+        return content;
+    }
+
+    private void deleteUnreferenced(Collection<String> sha256s) {
+        if (sha256s.isEmpty()) {
+            return;
+        }
+        // The native delete checks references in the table, so write ours first
+        snapshotRepository.flush();
+        for (String sha256 : sha256s) {
+            exportBlobRepository.deleteIfUnreferenced(sha256);
+        }
+    }
+
+    private AnnualTaxPackage readPackage(AnnualTaxSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getPackageJson(), AnnualTaxPackage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read annual tax snapshot", e);
+        }
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
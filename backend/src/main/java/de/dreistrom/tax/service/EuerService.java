@@ -1,18 +1,17 @@
 package de.dreistrom.tax.service;
 
 import de.dreistrom.common.domain.IncomeStream;
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.common.domain.Money;
 import de.dreistrom.expense.service.DepreciationService;
 import de.dreistrom.expense.service.StreamDepreciationSummary;
-import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.income.service.YearAggregatesService;
 import de.dreistrom.tax.dto.EuerResult;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
 
 /**
  * Generates Einnahmen-Ueberschuss-Rechnung (EÜR) per §4 Abs. 3 EStG.
@@ -23,10 +22,7 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class EuerService {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
     private final DepreciationService depreciationService;
 
     /**
@@ -44,21 +40,44 @@ public class EuerService {
                     "EÜR is only applicable to Freiberuf and Gewerbe streams, not EMPLOYMENT");
         }
 
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        return build(stream, year, yearAggregatesService.forYear(userId, year),
+                depreciationService.computeStreamTotalsForYear(userId, year));
+    }
+
+    /**
+     * Generate EÜR for a stream from an already loaded context.
+     */
+    public EuerResult generate(TaxYearDataContext context, IncomeStream stream) {
+        if (stream == IncomeStream.EMPLOYMENT) {
+            throw new IllegalArgumentException(
+                    "EÜR is only applicable to Freiberuf and Gewerbe streams, not EMPLOYMENT");
+        }
+
+        return build(stream, context.year(), context.aggregates(), context.depreciation());
+    }
+
+    /**
+     * Generate dual-stream EÜR for both Freiberuf and Gewerbe.
+     */
+    @Transactional(readOnly = true)
+    public DualStreamEuer generateDual(Long userId, int year) {
+        YearAggregates aggregates = yearAggregatesService.forYear(userId, year);
+        StreamDepreciationSummary depSummary =
+                depreciationService.computeStreamTotalsForYear(userId, year);
+        EuerResult freiberuf = build(IncomeStream.FREIBERUF, year, aggregates, depSummary);
+        EuerResult gewerbe = build(IncomeStream.GEWERBE, year, aggregates, depSummary);
+        return new DualStreamEuer(freiberuf, gewerbe);
+    }
 
+    private EuerResult build(IncomeStream stream, int year, YearAggregates aggregates,
+                             StreamDepreciationSummary depSummary) {
         // Income for this stream
-        BigDecimal totalIncome = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, stream.name(), yearStart, yearEnd));
+        BigDecimal totalIncome = Money.ofCents(aggregates.income().centsFor(stream)).toEuros();
 
         // Allocated expenses for this stream
-        BigDecimal allocatedExpenses = centsToEuros(
-                getStreamExpenseCents(userId, stream, yearStart, yearEnd));
+        BigDecimal allocatedExpenses = Money.ofCents(aggregates.expenses().centsFor(stream)).toEuros();
 
         // Depreciation (AfA) for this stream
-        StreamDepreciationSummary depSummary =
-                depreciationService.computeStreamTotalsForYear(userId, year);
         BigDecimal depreciation = stream == IncomeStream.FREIBERUF
                 ? depSummary.freiberuf()
                 : depSummary.gewerbe();
@@ -77,30 +96,6 @@ public class EuerService {
         );
     }
 
-    /**
-     * Generate dual-stream EÜR for both Freiberuf and Gewerbe.
-     */
-    @Transactional(readOnly = true)
-    public DualStreamEuer generateDual(Long userId, int year) {
-        EuerResult freiberuf = generate(userId, IncomeStream.FREIBERUF, year);
-        EuerResult gewerbe = generate(userId, IncomeStream.GEWERBE, year);
-        return new DualStreamEuer(freiberuf, gewerbe);
-    }
-
-    private Long getStreamExpenseCents(Long userId, IncomeStream stream,
-                                        LocalDate from, LocalDate to) {
-        return stream == IncomeStream.FREIBERUF
-                ? expenseEntryRepository.sumCentsFreiberufByDateRange(userId, from, to)
-                : expenseEntryRepository.sumCentsGewerbeByDateRange(userId, from, to);
-    }
-
-    private BigDecimal centsToEuros(Long cents) {
-        if (cents == null) {
-            return BigDecimal.ZERO;
-        }
-        return new BigDecimal(cents).divide(HUNDRED, 2, RoundingMode.HALF_UP);
-    }
-
     public record DualStreamEuer(EuerResult freiberuf, EuerResult gewerbe) {
         public BigDecimal combinedProfit() {
             return freiberuf.profit().add(gewerbe.profit());
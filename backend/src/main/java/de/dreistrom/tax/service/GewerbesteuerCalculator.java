@@ -1,7 +1,8 @@
 package de.dreistrom.tax.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
-import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.income.service.YearAggregatesService;
 import de.dreistrom.tax.dto.GewerbesteuerResult;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,7 +11,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 
 /**
  * Computes Gewerbesteuer (trade tax) on Gewerbe profits.
@@ -34,8 +34,7 @@ public class GewerbesteuerCalculator {
     private static final BigDecimal STEUERMESSZAHL = new BigDecimal("0.035");
     private static final BigDecimal PARAGRAPH_35_FACTOR = new BigDecimal("4.0");
 
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
 
     @Value("${dreistrom.tax.gewerbesteuer.hebesatz:410}")
     private int hebesatz;
@@ -50,14 +49,19 @@ public class GewerbesteuerCalculator {
      */
     @Transactional(readOnly = true)
     public GewerbesteuerResult calculate(Long userId, int year, BigDecimal incomeTax) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        return fromAggregates(yearAggregatesService.forYear(userId, year), incomeTax);
+    }
 
-        BigDecimal gewerbeIncome = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, "GEWERBE", yearStart, yearEnd));
-        BigDecimal gewerbeExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsGewerbeByDateRange(userId, yearStart, yearEnd));
+    /**
+     * Compute Gewerbesteuer from an already loaded context.
+     */
+    public GewerbesteuerResult calculate(TaxYearDataContext context, BigDecimal incomeTax) {
+        return fromAggregates(context.aggregates(), incomeTax);
+    }
+
+    private GewerbesteuerResult fromAggregates(YearAggregates aggregates, BigDecimal incomeTax) {
+        BigDecimal gewerbeIncome = Money.ofCents(aggregates.income().gewerbeCents()).toEuros();
+        BigDecimal gewerbeExpenses = Money.ofCents(aggregates.expenses().gewerbeCents()).toEuros();
 
         return compute(gewerbeIncome, gewerbeExpenses, incomeTax);
     }
@@ -73,6 +77,17 @@ public class GewerbesteuerCalculator {
     public GewerbesteuerResult compute(BigDecimal gewerbeIncome,
                                        BigDecimal gewerbeExpenses,
                                        BigDecimal incomeTax) {
+        return compute(gewerbeIncome, gewerbeExpenses, incomeTax, hebesatz);
+    }
+
+    /**
+     * Pure computation with an explicit municipal Hebesatz instead of the
+     * configured one, e.g. for what-if scenarios.
+     */
+    public GewerbesteuerResult compute(BigDecimal gewerbeIncome,
+                                       BigDecimal gewerbeExpenses,
+                                       BigDecimal incomeTax,
+                                       int hebesatz) {
         BigDecimal profit = gewerbeIncome.subtract(gewerbeExpenses).max(BigDecimal.ZERO);
         BigDecimal taxableProfit = profit.subtract(FREIBETRAG).max(BigDecimal.ZERO);
 
@@ -104,11 +119,4 @@ public class GewerbesteuerCalculator {
                 netBurden
         );
     }
-
-    private BigDecimal centsToEuros(Long cents) {
-        if (cents == null) {
-            return BigDecimal.ZERO;
-        }
-        return new BigDecimal(cents).divide(HUNDRED, 2, RoundingMode.HALF_UP);
-    }
 }
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implements the §32a EStG progressive income tax schedule (14-45%)
@@ -21,6 +23,9 @@ public class IncomeTaxCalculator {
     private static final BigDecimal TEN_THOUSAND = new BigDecimal("10000");
     private static final BigDecimal HUNDRED = new BigDecimal("100");
 
+    /** Lazily built tariff per tax year. */
+    private final Map<Integer, TariffTable> tariffTables = new ConcurrentHashMap<>();
+
     /**
      * Compute the full income tax assessment for a tax year.
      *
@@ -88,6 +93,9 @@ public class IncomeTaxCalculator {
     /**
      * Compute progressive income tax per §32a Abs. 1 EStG.
      * The result is truncated to full euros (floor).
+     * <p>
+     * Whole-euro zvE is answered from the year's {@link TariffTable}, built on
+     * first use; other values are evaluated with the formula.
      *
      * @param params year-specific parameters
      * @param zvE    zu versteuerndes Einkommen (taxable income), rounded to full euros
@@ -98,6 +106,25 @@ public class IncomeTaxCalculator {
             return BigDecimal.ZERO;
         }
 
+        TariffTable table = tariffTables.computeIfAbsent(params.year(), y -> TariffTable.build(params));
+        if (table.isFor(params)) {
+            BigDecimal tax = table.lookup(zvE);
+            if (tax != null) {
+                return tax;
+            }
+        }
+        return progressiveTaxFormula(params, zvE);
+    }
+
+    /**
+     * The §32a formula itself, evaluated in BigDecimal. Source of truth for
+     * {@link TariffTable}.
+     */
+    static BigDecimal progressiveTaxFormula(TaxYearParams params, BigDecimal zvE) {
+        if (zvE.compareTo(BigDecimal.ZERO) <= 0) {
+            return BigDecimal.ZERO;
+        }
+
         BigDecimal tax;
 
         if (zvE.compareTo(params.grundfreibetrag()) <= 0) {
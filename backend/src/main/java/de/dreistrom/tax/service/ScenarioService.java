@@ -0,0 +1,230 @@
+package de.dreistrom.tax.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dreistrom.tax.domain.TaxYearParams;
+import de.dreistrom.tax.dto.GewerbesteuerResult;
+import de.dreistrom.tax.dto.ScenarioGridRequest;
+import de.dreistrom.tax.dto.ScenarioResult;
+import de.dreistrom.tax.dto.TaxCalculationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates what-if scenario grids with the DB-free calculators.
+ * <p>
+ * The grid is cut into blocks of {@link #BLOCK_SIZE} scenarios that are all
+ * submitted to a dedicated {@link ForkJoinPool} up front. The caller's thread
+ * joins the blocks in grid order and writes each one as NDJSON as soon as it
+ * is done, so output starts after the first block while the rest is still
+ * being computed. If the client goes away, outstanding blocks are cancelled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScenarioService {
+
+    static final int BLOCK_SIZE = 512;
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final IncomeTaxCalculator incomeTaxCalculator;
+    private final GewerbesteuerCalculator gewerbesteuerCalculator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${dreistrom.tax.scenarios.parallelism:0}")
+    private int parallelism;
+
+    @Value("${dreistrom.tax.scenarios.max-scenarios:100000}")
+    private int maxScenarios;
+
+    @Value("${dreistrom.tax.gewerbesteuer.hebesatz:410}")
+    private int defaultHebesatz;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    /** Hebesatz applied when a scenario does not name one. */
+    public int defaultHebesatz() {
+        return defaultHebesatz;
+    }
+
+    /**
+     * Resolve the request into a grid, applying defaults for omitted axes.
+     *
+     * @throws IllegalArgumentException if the grid exceeds the configured maximum
+     */
+    public ScenarioGrid grid(ScenarioGridRequest request) {
+        ScenarioGrid grid = new ScenarioGrid(
+                TaxYearParams.forYear(request.taxYear()),
+                axis(request.employmentIncome()),
+                axis(request.freiberufIncome()),
+                axis(request.gewerbeIncome()),
+                axis(request.freiberufExpenses()),
+                axis(request.gewerbeExpenses()),
+                request.hebesatz() == null || request.hebesatz().isEmpty()
+                        ? List.of(defaultHebesatz) : request.hebesatz());
+
+        long size;
+        try {
+            size = grid.size();
+        } catch (ArithmeticException e) {
+            size = Long.MAX_VALUE;
+        }
+        if (size > maxScenarios) {
+            throw new IllegalArgumentException(
+                    "Scenario grid too large; at most " + maxScenarios + " combinations allowed");
+        }
+        return grid;
+    }
+
+    /**
+     * Evaluate every scenario of the grid and write one JSON object per line.
+     */
+    public void stream(ScenarioGrid grid, OutputStream out) throws IOException {
+        int size = (int) grid.size();
+        long started = System.nanoTime();
+
+        List<ForkJoinTask<ScenarioResult[]>> blocks = new ArrayList<>(size / BLOCK_SIZE + 1);
+        for (int from = 0; from < size; from += BLOCK_SIZE) {
+            int blockFrom = from;
+            int blockTo = Math.min(size, from + BLOCK_SIZE);
+            blocks.add(pool.submit(() -> evaluateBlock(grid, blockFrom, blockTo)));
+        }
+
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        try {
+            for (ForkJoinTask<ScenarioResult[]> block : blocks) {
+                for (ScenarioResult result : block.join()) {
+                    buffered.write(objectMapper.writeValueAsBytes(result));
+                    buffered.write('\n');
+                }
+            }
+            buffered.flush();
+        } catch (IOException | RuntimeException e) {
+            blocks.forEach(block -> block.cancel(true));
+            throw e;
+        }
+
+        log.debug("Scenario grid evaluated: scenarios={}, durationMs={}",
+                size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Evaluate {@code count} scenarios on the scenario pool and return them in
+     * index order. For callers that build scenarios themselves rather than
+     * from a grid.
+     */
+    public List<ScenarioResult> evaluateAll(int count, IntFunction<ScenarioResult> scenario) {
+        return pool.submit(() -> IntStream.range(0, count).parallel().mapToObj(scenario).toList()).join();
+    }
+
+    /**
+     * Evaluate a single scenario: income tax on all streams, Gewerbesteuer with
+     * the §35 EStG credit against that income tax, then Soli on the reduced
+     * income tax.
+     */
+    public ScenarioResult evaluate(TaxYearParams params, int index,
+                                   BigDecimal employmentIncome, BigDecimal freiberufIncome,
+                                   BigDecimal gewerbeIncome, BigDecimal freiberufExpenses,
+                                   BigDecimal gewerbeExpenses, int hebesatz) {
+        TaxCalculationResult tax = incomeTaxCalculator.calculate(params,
+                employmentIncome, freiberufIncome, gewerbeIncome, freiberufExpenses, gewerbeExpenses);
+        GewerbesteuerResult gewerbe = gewerbesteuerCalculator.compute(
+                gewerbeIncome, gewerbeExpenses, tax.incomeTax(), hebesatz);
+
+        BigDecimal incomeTax = tax.incomeTax().subtract(gewerbe.paragraph35Credit());
+        BigDecimal soli = incomeTaxCalculator.computeSoli(params, incomeTax);
+        BigDecimal totalTax = incomeTax.add(soli).add(gewerbe.gewerbesteuer());
+        BigDecimal effectiveRate = tax.totalGrossIncome().signum() > 0
+                ? totalTax.multiply(HUNDRED).divide(tax.totalGrossIncome(), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return new ScenarioResult(index,
+                employmentIncome, freiberufIncome, gewerbeIncome,
+                freiberufExpenses, gewerbeExpenses, hebesatz,
+                tax.taxableIncome(), tax.incomeTax(), gewerbe.paragraph35Credit(),
+                incomeTax, soli, gewerbe.gewerbesteuer(), totalTax, effectiveRate);
+    }
+
+    private ScenarioResult[] evaluateBlock(ScenarioGrid grid, int from, int to) {
+        ScenarioResult[] results = new ScenarioResult[to - from];
+        for (int i = from; i < to; i++) {
+            results[i - from] = grid.evaluate(this, i);
+        }
+        return results;
+    }
+
+    private static List<BigDecimal> axis(List<BigDecimal> values) {
+        return values == null || values.isEmpty() ? List.of(BigDecimal.ZERO) : values;
+    }
+
+    /**
+     * Cartesian product of the scenario axes. Index {@code i} is decoded in
+     * mixed radix with the Hebesatz axis varying fastest.
+     */
+    public record ScenarioGrid(
+            TaxYearParams params,
+            List<BigDecimal> employmentIncome,
+            List<BigDecimal> freiberufIncome,
+            List<BigDecimal> gewerbeIncome,
+            List<BigDecimal> freiberufExpenses,
+            List<BigDecimal> gewerbeExpenses,
+            List<Integer> hebesatz
+    ) {
+
+        /**
+         * @throws ArithmeticException if the product overflows a long
+         */
+        public long size() {
+            long size = 1;
+            for (List<?> axis : List.of(employmentIncome, freiberufIncome, gewerbeIncome,
+                    freiberufExpenses, gewerbeExpenses, hebesatz)) {
+                size = Math.multiplyExact(size, axis.size());
+            }
+            return size;
+        }
+
+        ScenarioResult evaluate(ScenarioService service, int index) {
+            int i = index;
+            int h = i % hebesatz.size();
+            i /= hebesatz.size();
+            int ge = i % gewerbeExpenses.size();
+            i /= gewerbeExpenses.size();
+            int fe = i % freiberufExpenses.size();
+            i /= freiberufExpenses.size();
+            int g = i % gewerbeIncome.size();
+            i /= gewerbeIncome.size();
+            int f = i % freiberufIncome.size();
+            i /= freiberufIncome.size();
+
+            return service.evaluate(params, index,
+                    employmentIncome.get(i), freiberufIncome.get(f), gewerbeIncome.get(g),
+                    freiberufExpenses.get(fe), gewerbeExpenses.get(ge), hebesatz.get(h));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.tax.domain.TaxYearParams;
+
+import java.math.BigDecimal;
+
+/**
+ * Precomputed §32a tariff for one {@link TaxYearParams}.
+ * <p>
+ * Both zvE and the tax are whole euros, so the quadratic zones 2 and 3 are
+ * stored as an {@code int[]} of tax per euro of zvE, filled once from
+ * {@link IncomeTaxCalculator#progressiveTaxFormula}. The linear zones 4 and 5
+ * ({@code rate·zvE − subtraction}, truncated) are evaluated in exact
+ * {@code long} arithmetic on the unscaled coefficients. Results are identical
+ * to the BigDecimal formula, including the scale-2 representation.
+ */
+final class TariffTable {
+
+    private final TaxYearParams params;
+    private final long grundfreibetrag;
+    private final long zone3Upper;
+    private final long zone4Upper;
+    /** Tax for zvE = grundfreibetrag + 1 + index, up to zone3Upper. */
+    private final int[] quadraticTax;
+    private final LinearZone zone4;
+    private final LinearZone zone5;
+
+    private TariffTable(TaxYearParams params) {
+        this.params = params;
+        this.grundfreibetrag = params.grundfreibetrag().longValueExact();
+        this.zone3Upper = params.zone3Upper().longValueExact();
+        this.zone4Upper = params.zone4Upper().longValueExact();
+        this.zone4 = new LinearZone(params.zone4Rate(), params.zone4Sub());
+        this.zone5 = new LinearZone(params.zone5Rate(), params.zone5Sub());
+
+        this.quadraticTax = new int[Math.toIntExact(zone3Upper - grundfreibetrag)];
+        for (int i = 0; i < quadraticTax.length; i++) {
+            BigDecimal zvE = BigDecimal.valueOf(grundfreibetrag + 1 + i);
+            quadraticTax[i] = IncomeTaxCalculator.progressiveTaxFormula(params, zvE).intValueExact();
+        }
+    }
+
+    static TariffTable build(TaxYearParams params) {
+        return new TariffTable(params);
+    }
+
+    boolean isFor(TaxYearParams other) {
+        return params == other || params.equals(other);
+    }
+
+    /**
+     * Tax for a positive zvE, or {@code null} if zvE has a fractional part or
+     * lies beyond the range the linear tail can evaluate without overflow;
+     * callers then fall back to the formula.
+     */
+    BigDecimal lookup(BigDecimal zvE) {
+        if (zvE.scale() > 0 && zvE.stripTrailingZeros().scale() > 0) {
+            return null;
+        }
+        if (zvE.precision() - zvE.scale() > 18) {
+            return null;
+        }
+        long euros = zvE.longValueExact();
+        if (euros > zone5.maxZvE) {
+            return null;
+        }
+        return BigDecimal.valueOf(Math.multiplyExact(tax(euros), 100L), 2);
+    }
+
+    private long tax(long zvE) {
+        if (zvE <= grundfreibetrag) {
+            return 0L;
+        }
+        if (zvE <= zone3Upper) {
+            return quadraticTax[(int) (zvE - grundfreibetrag - 1)];
+        }
+        return zvE <= zone4Upper ? zone4.tax(zvE) : zone5.tax(zvE);
+    }
+
+    /**
+     * {@code rate·zvE − subtraction}, truncated toward zero as
+     * {@code setScale(0, RoundingMode.DOWN)} does, with both coefficients
+     * brought to a common decimal scale.
+     */
+    private static final class LinearZone {
+
+        private final long rate;
+        private final long subtraction;
+        private final long divisor;
+        private final long maxZvE;
+
+        LinearZone(BigDecimal rate, BigDecimal subtraction) {
+            int scale = Math.max(0, Math.max(rate.scale(), subtraction.scale()));
+            this.rate = rate.movePointRight(scale).longValueExact();
+            this.subtraction = subtraction.movePointRight(scale).longValueExact();
+            this.divisor = BigDecimal.ONE.movePointRight(scale).longValueExact();
+            this.maxZvE = (Long.MAX_VALUE - Math.abs(this.subtraction)) / Math.max(1L, Math.abs(this.rate));
+        }
+
+        long tax(long zvE) {
+            return (rate * zvE - subtraction) / divisor;
+        }
+    }
+}
@@ -1,34 +1,54 @@
 package de.dreistrom.tax.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
-import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.service.StreamIncomeTotals;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.income.service.YearAggregatesService;
 import de.dreistrom.tax.domain.TaxYearParams;
 import de.dreistrom.tax.dto.TaxCalculationResult;
 import de.dreistrom.tax.event.TaxCalculated;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Orchestrates income tax assessment by aggregating income and expense data
  * from repositories and delegating to {@link IncomeTaxCalculator} for the
  * §32a EStG progressive computation.
+ * <p>
+ * Results are memoized per user and year together with the
+ * {@link TaxDataVersions} version they were computed at. Repeated reads at
+ * the same version are served from memory, and {@link TaxCalculated} is only
+ * published when a recomputation yields a different result. Only the
+ * {@code dreistrom.tax.assessment.cache.max-entries} most recently assessed
+ * user/years are kept.
  */
 @Service
 @RequiredArgsConstructor
 public class TaxAssessmentService {
 
-    private static final BigDecimal HUNDRED = new BigDecimal("100");
-
-    private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final YearAggregatesService yearAggregatesService;
     private final IncomeTaxCalculator incomeTaxCalculator;
     private final ApplicationEventPublisher eventPublisher;
+    private final TaxDataVersions taxDataVersions;
+
+    @Value("${dreistrom.tax.assessment.cache.max-entries:2000}")
+    private int maxEntries;
+
+    /** Access-ordered, so the eldest entry is the least recently assessed user/year. */
+    private final Map<UserYear, Cached> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UserYear, Cached> eldest) {
+            return size() > maxEntries;
+        }
+    };
 
     /**
      * Compute projected income tax for a user and tax year.
@@ -41,43 +61,62 @@ public class TaxAssessmentService {
      */
     @Transactional(readOnly = true)
     public TaxCalculationResult assess(Long userId, int year) {
-        LocalDate yearStart = LocalDate.of(year, 1, 1);
-        LocalDate yearEnd = LocalDate.of(year, 12, 31);
+        return assess(userId, year, () -> yearAggregatesService.forYear(userId, year));
+    }
+
+    /**
+     * Same as {@link #assess(Long, int)} but reads the aggregates from an
+     * already loaded context.
+     */
+    public TaxCalculationResult assess(TaxYearDataContext context) {
+        return assess(context.userId(), context.year(), context::aggregates);
+    }
+
+    private TaxCalculationResult assess(Long userId, int year, Supplier<YearAggregates> aggregatesSource) {
+        UserYear key = new UserYear(userId, year);
+        long version = taxDataVersions.current(userId);
+        Cached cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null && cached.version() == version) {
+            return cached.result();
+        }
 
         TaxYearParams params = TaxYearParams.forYear(year);
 
-        // Aggregate income by stream
-        BigDecimal employmentIncome = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, "EMPLOYMENT", yearStart, yearEnd));
-        BigDecimal freiberufIncome = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, "FREIBERUF", yearStart, yearEnd));
-        BigDecimal gewerbeIncome = centsToEuros(
-                incomeEntryRepository.sumCentsByStreamAndDateRange(
-                        userId, "GEWERBE", yearStart, yearEnd));
-
-        // Aggregate allocated business expenses by stream
-        BigDecimal freiberufExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsFreiberufByDateRange(userId, yearStart, yearEnd));
-        BigDecimal gewerbeExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsGewerbeByDateRange(userId, yearStart, yearEnd));
+        // Income and allocated business expenses by stream
+        YearAggregates aggregates = aggregatesSource.get();
+        StreamIncomeTotals incomeTotals = aggregates.income();
+        BigDecimal employmentIncome = Money.ofCents(incomeTotals.employmentCents()).toEuros();
+        BigDecimal freiberufIncome = Money.ofCents(incomeTotals.freiberufCents()).toEuros();
+        BigDecimal gewerbeIncome = Money.ofCents(incomeTotals.gewerbeCents()).toEuros();
+
+        BigDecimal freiberufExpenses = Money.ofCents(aggregates.expenses().freiberufCents()).toEuros();
+        BigDecimal gewerbeExpenses = Money.ofCents(aggregates.expenses().gewerbeCents()).toEuros();
 
         TaxCalculationResult result = incomeTaxCalculator.calculate(
                 params,
                 employmentIncome, freiberufIncome, gewerbeIncome,
                 freiberufExpenses, gewerbeExpenses);
 
-        eventPublisher.publishEvent(new TaxCalculated(
-                userId, year, result.totalTax(), result.effectiveRate()));
+        // Never let a slower, older computation replace a newer one
+        Cached computed = new Cached(version, result);
+        Cached previous;
+        synchronized (cache) {
+            previous = cache.get(key);
+            cache.merge(key, computed, (old, fresh) -> old.version() > fresh.version() ? old : fresh);
+        }
+
+        if (previous == null || !previous.result().equals(result)) {
+            eventPublisher.publishEvent(new TaxCalculated(
+                    userId, year, result.totalTax(), result.effectiveRate()));
+        }
 
         return result;
     }
 
-    private BigDecimal centsToEuros(Long cents) {
-        if (cents == null) {
-            return BigDecimal.ZERO;
-        }
-        return new BigDecimal(cents).divide(HUNDRED, 2, RoundingMode.HALF_UP);
-    }
+    private record UserYear(Long userId, int year) {}
+
+    private record Cached(long version, TaxCalculationResult result) {}
 }
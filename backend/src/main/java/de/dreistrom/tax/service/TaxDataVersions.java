@@ -0,0 +1,31 @@
+package de.dreistrom.tax.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user counter of writes to data that feeds a tax assessment. Cached
+ * assessments remember the version they were computed at and are discarded
+ * once it has moved on.
+ * <p>
+ * Versions are per user rather than per user and year: an allocation rule
+ * change re-splits expenses in every year, so a year-precise bump would need
+ * the same query the assessment itself runs.
+ */
+@Component
+public class TaxDataVersions {
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Long userId) {
+        AtomicLong version = versions.get(userId);
+        return version != null ? version.get() : 0;
+    }
+
+    public void bump(Long userId) {
+        versions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
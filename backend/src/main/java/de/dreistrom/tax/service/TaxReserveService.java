@@ -1,6 +1,7 @@
 package de.dreistrom.tax.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.ExpenseAllocationTotals;
+import de.dreistrom.expense.service.ExpenseTotalsService;
 import de.dreistrom.income.repository.IncomeEntryRepository;
 import de.dreistrom.tax.dto.TaxReserveRecommendation;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +29,7 @@ public class TaxReserveService {
     private static final BigDecimal TWELVE = new BigDecimal("12");
 
     private final IncomeEntryRepository incomeEntryRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final ExpenseTotalsService expenseTotalsService;
     private final Clock clock;
 
     @Value("${dreistrom.tax.reserve.rate:30}")
@@ -54,10 +55,9 @@ public class TaxReserveService {
                         userId, yearStart, yearEnd));
 
         // Sum allocated business expenses (Freiberuf + Gewerbe)
-        BigDecimal freiberufExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsFreiberufByDateRange(userId, yearStart, yearEnd));
-        BigDecimal gewerbeExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsGewerbeByDateRange(userId, yearStart, yearEnd));
+        ExpenseAllocationTotals expenses = expenseTotalsService.forRange(userId, yearStart, yearEnd);
+        BigDecimal freiberufExpenses = centsToEuros(expenses.freiberufCents());
+        BigDecimal gewerbeExpenses = centsToEuros(expenses.gewerbeCents());
         BigDecimal businessExpenses = freiberufExpenses.add(gewerbeExpenses);
 
         BigDecimal netProfit = selfEmployedIncome.subtract(businessExpenses).max(BigDecimal.ZERO);
@@ -0,0 +1,24 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.expense.service.StreamDepreciationSummary;
+import de.dreistrom.income.service.YearAggregates;
+import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
+
+import java.util.List;
+
+/**
+ * Everything the annual tax calculators read about a user's year, loaded
+ * once by {@link TaxYearDataService#load} and passed to each of them instead
+ * of letting every calculator query for itself.
+ *
+ * @param aggregates      income and allocated expense totals per stream
+ * @param depreciation    the year's AfA per stream
+ * @param socialInsurance the year's monthly social insurance entries
+ */
+public record TaxYearDataContext(
+        Long userId,
+        int year,
+        YearAggregates aggregates,
+        StreamDepreciationSummary depreciation,
+        List<SocialInsuranceEntry> socialInsurance
+) {}
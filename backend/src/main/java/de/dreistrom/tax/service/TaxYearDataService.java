@@ -0,0 +1,32 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.expense.service.DepreciationService;
+import de.dreistrom.income.service.YearAggregatesService;
+import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads a {@link TaxYearDataContext} in four queries: income totals,
+ * allocated expense totals, the year's AfA per stream from the materialized
+ * depreciation schedule, and social insurance entries.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaxYearDataService {
+
+    private final YearAggregatesService yearAggregatesService;
+    private final DepreciationService depreciationService;
+    private final SocialInsuranceEntryRepository socialInsuranceEntryRepository;
+
+    @Transactional(readOnly = true)
+    public TaxYearDataContext load(Long userId, int year) {
+        return new TaxYearDataContext(
+                userId,
+                year,
+                yearAggregatesService.forYear(userId, year),
+                depreciationService.computeStreamTotalsForYear(userId, year),
+                socialInsuranceEntryRepository.findByUserIdAndYearOrderByMonthAsc(userId, (short) year));
+    }
+}
@@ -0,0 +1,46 @@
+package de.dreistrom.tax.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Quartz job that closes the previous tax year for all users.
+ * A {@value #TAX_YEAR} entry in the job data closes that year instead, e.g.
+ * when an interrupted run is resumed.
+ */
+@Component
+@DisallowConcurrentExecution
+@RequiredArgsConstructor
+@Slf4j
+public class YearEndClosingJob implements Job {
+
+    public static final JobKey KEY = JobKey.jobKey("yearEndClosingJob");
+    public static final String TAX_YEAR = "taxYear";
+
+    private final YearEndClosingService yearEndClosingService;
+    private final Clock clock;
+
+    @Override
+    public void execute(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        int year = data.containsKey(TAX_YEAR)
+                ? data.getInt(TAX_YEAR)
+                : LocalDate.now(clock).getYear() - 1;
+
+        log.info("Running year-end closing for {}", year);
+        try {
+            yearEndClosingService.close(year);
+        } catch (Exception e) {
+            log.error("Year-end closing for {} failed: {}", year, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.expense.service.DepreciationService;
+import de.dreistrom.tax.domain.YearEndClosingRun;
+import de.dreistrom.tax.repository.YearEndClosingRunRepository;
+import de.dreistrom.tax.repository.YearEndClosingUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closes a tax year for all users, run by {@link YearEndClosingJob}.
+ * <p>
+ * Users that are still open for the year are split into chunks of
+ * {@code dreistrom.year-end.chunk-size}, and each chunk runs on its own
+ * virtual thread. At most {@code dreistrom.year-end.db-concurrency} users are
+ * closed at the same time, so the run leaves connections in the pool for
+ * regular traffic. Each user is checkpointed by {@link YearEndClosingStep}; a
+ * run interrupted by a crash is picked up again on startup and only closes
+ * the users that had not committed.
+ * <p>
+ * Metrics: {@code dreistrom.yearend.closed} and {@code dreistrom.yearend.failed}
+ * (users), {@code dreistrom.yearend.user.duration} (per-user closing time),
+ * {@code dreistrom.yearend.remaining}, {@code dreistrom.yearend.throughput}
+ * (users per second) and {@code dreistrom.yearend.eta} (seconds) for the
+ * current run.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class YearEndClosingService {
+
+    private final YearEndClosingStep yearEndClosingStep;
+    private final YearEndClosingRunRepository runRepository;
+    private final YearEndClosingUserRepository closingUserRepository;
+    private final DepreciationService depreciationService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${dreistrom.year-end.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${dreistrom.year-end.db-concurrency:4}")
+    private int dbConcurrency;
+
+    private Semaphore dbPermits;
+    private volatile Progress progress = new Progress(0);
+
+    private Counter closedCounter;
+    private Counter failedCounter;
+    private Timer userTimer;
+
+    @PostConstruct
+    void start() {
+        dbPermits = new Semaphore(dbConcurrency);
+
+        closedCounter = Counter.builder("dreistrom.yearend.closed")
+                .description("Users whose tax year was closed")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("dreistrom.yearend.failed")
+                .description("Users whose year-end closing failed")
+                .register(meterRegistry);
+        userTimer = Timer.builder("dreistrom.yearend.user.duration")
+                .description("Time to close one user's tax year")
+                .register(meterRegistry);
+        Gauge.builder("dreistrom.yearend.remaining", this, s -> s.progress.remaining())
+                .description("Users left in the current year-end closing run")
+                .register(meterRegistry);
+        Gauge.builder("dreistrom.yearend.throughput", this, s -> s.progress.throughput())
+                .description("Users closed per second in the current run")
+                .register(meterRegistry);
+        Gauge.builder("dreistrom.yearend.eta", this, s -> s.progress.etaSeconds())
+                .description("Estimated seconds until the current run completes")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Close the tax year for every active user that is still open.
+     * Blocks until all chunks are done.
+     */
+    public YearEndClosingRun close(int year) {
+        // AfA is read from the materialized schedule; fill in any asset without one
+        depreciationService.materializeMissingSchedules();
+
+        List<Long> openUserIds = closingUserRepository.findOpenUserIds(year);
+        YearEndClosingRun run = runRepository.findById(year)
+                .orElseGet(() -> new YearEndClosingRun(year));
+        run.start(openUserIds.size());
+        run = runRepository.save(run);
+
+        Progress current = new Progress(openUserIds.size());
+        progress = current;
+        log.info("Year-end closing started: year={}, users={}, chunkSize={}, dbConcurrency={}",
+                year, openUserIds.size(), chunkSize, dbConcurrency);
+
+        try (ExecutorService chunks = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int from = 0; from < openUserIds.size(); from += chunkSize) {
+                List<Long> chunk = openUserIds.subList(from,
+                        Math.min(from + chunkSize, openUserIds.size()));
+                chunks.submit(() -> closeChunk(chunk, year, current));
+            }
+        }
+
+        run.complete(current.closed.get(), current.failed.get());
+        log.info("Year-end closing finished: year={}, closed={}, failed={}, adjustmentsRecommended={}, seconds={}",
+                year, current.closed.get(), current.failed.get(),
+                current.adjustmentsRecommended.get(), current.elapsedSeconds());
+        return runRepository.save(run);
+    }
+
+    private void closeChunk(List<Long> userIds, int year, Progress current) {
+        for (Long userId : userIds) {
+            try {
+                dbPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long started = System.nanoTime();
+            try {
+                if (yearEndClosingStep.closeUser(userId, year)) {
+                    current.adjustmentsRecommended.incrementAndGet();
+                }
+                current.closed.incrementAndGet();
+                closedCounter.increment();
+            } catch (RuntimeException e) {
+                log.warn("Year-end closing failed: userId={}, year={}", userId, year, e);
+                current.failed.incrementAndGet();
+                failedCounter.increment();
+                recordFailure(userId, year, e);
+            } finally {
+                userTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                dbPermits.release();
+            }
+        }
+    }
+
+    private void recordFailure(Long userId, int year, RuntimeException cause) {
+        try {
+            yearEndClosingStep.recordFailure(userId, year, cause.toString());
+        } catch (RuntimeException e) {
+            log.error("Could not checkpoint year-end closing failure: userId={}, year={}",
+                    userId, year, e);
+        }
+    }
+
+    private static final class Progress {
+        private final int total;
+        private final long startedAtNanos = System.nanoTime();
+        private final AtomicInteger closed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger adjustmentsRecommended = new AtomicInteger();
+
+        private Progress(int total) {
+            this.total = total;
+        }
+
+        private int remaining() {
+            return total - closed.get() - failed.get();
+        }
+
+        private double elapsedSeconds() {
+            return (System.nanoTime() - startedAtNanos) / 1e9;
+        }
+
+        private double throughput() {
+            double elapsed = elapsedSeconds();
+            return elapsed > 0 ? (closed.get() + failed.get()) / elapsed : 0;
+        }
+
+        private double etaSeconds() {
+            double throughput = throughput();
+            return throughput > 0 ? remaining() / throughput : 0;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.calendar.service.ComplianceCalendarService;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.tax.repository.VorauszahlungRepository;
+import de.dreistrom.tax.repository.YearEndClosingUserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Closes one user's tax year. Everything, including the checkpoint row,
+ * commits in one transaction, so a resumed run never closes a user twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class YearEndClosingStep {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AnnualTaxSnapshotService annualTaxSnapshotService;
+    private final VorauszahlungService vorauszahlungService;
+    private final VorauszahlungRepository vorauszahlungRepository;
+    private final ComplianceCalendarService complianceCalendarService;
+    private final AppUserRepository appUserRepository;
+    private final YearEndClosingUserRepository closingUserRepository;
+
+    /**
+     * Finalize the year's annual tax package (EÜR per stream, ESt, GewSt),
+     * check the year's Vorauszahlungen against the actual income and
+     * generate the compliance events of the following year.
+     *
+     * @return whether an Anpassungsantrag is recommended for the year
+     */
+    @Transactional
+    public boolean closeUser(Long userId, int year) {
+        annualTaxSnapshotService.getPackage(userId, year);
+
+        boolean adjustmentRecommended = vorauszahlungRepository
+                .findByUserIdAndYearOrderByQuarter(userId, (short) year).stream()
+                .findFirst()
+                .map(v -> vorauszahlungService
+                        .checkDeviation(userId, year, v.getAssessmentBasis())
+                        .recommended())
+                .orElse(false);
+
+        complianceCalendarService.generateYearEvents(
+                appUserRepository.getReferenceById(userId), year + 1);
+
+        closingUserRepository.markClosed(year, userId, adjustmentRecommended);
+        return adjustmentRecommended;
+    }
+
+    /**
+     * Checkpoint a failed user so the failure is visible; the user stays
+     * open for the next run.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordFailure(Long userId, int year, String error) {
+        String message = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH)
+                : error;
+        closingUserRepository.markFailed(year, userId, message);
+    }
+}
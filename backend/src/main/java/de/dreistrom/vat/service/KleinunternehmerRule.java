@@ -0,0 +1,110 @@
+package de.dreistrom.vat.service;
+
+import de.dreistrom.calendar.domain.ThresholdAlertState;
+import de.dreistrom.common.domain.Money;
+import de.dreistrom.income.event.ThresholdType;
+import de.dreistrom.income.service.ThresholdObservation;
+import de.dreistrom.income.service.ThresholdRule;
+import de.dreistrom.income.service.ThresholdSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * §19 UStG Kleinunternehmer thresholds: current-year revenue and
+ * linearly projected full-year revenue against the configured limits.
+ * WARNING from {@code warning-ratio} of the limit, EXCEEDED above the limit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KleinunternehmerRule implements ThresholdRule {
+
+    private final Clock clock;
+
+    @Value("${dreistrom.vat.kleinunternehmer.current-year-limit:22000}")
+    private BigDecimal currentYearLimit;
+
+    @Value("${dreistrom.vat.kleinunternehmer.projected-year-limit:50000}")
+    private BigDecimal projectedYearLimit;
+
+    @Value("${dreistrom.vat.kleinunternehmer.warning-ratio:0.80}")
+    private BigDecimal warningRatio;
+
+    @Override
+    public List<ThresholdObservation> evaluate(ThresholdSnapshot snapshot) {
+        Money revenue = snapshot.selfEmployedRevenue();
+
+        List<ThresholdObservation> observations = new ArrayList<>(2);
+        checkCurrentYear(revenue, snapshot.userId(), snapshot.year(), observations);
+        checkProjected(revenue, snapshot.userId(), snapshot.year(), observations);
+        return observations;
+    }
+
+    private void checkCurrentYear(Money revenue, Long userId, int year,
+                                  List<ThresholdObservation> observations) {
+        BigDecimal ratio = revenue.ratio(Money.ofEuros(currentYearLimit), 4, RoundingMode.HALF_UP);
+        if (ratio.compareTo(warningRatio) >= 0) {
+            log.warn("§19 UStG current-year threshold: ratio={}, revenue={} EUR, limit={} EUR, userId={}, year={}",
+                    ratio, revenue, currentYearLimit, userId, year);
+        }
+        observations.add(new ThresholdObservation(ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR,
+                stateFor(ratio), ratio, revenue.toEuros(), currentYearLimit, ratio, warningRatio));
+    }
+
+    private void checkProjected(Money revenue, Long userId, int year,
+                                List<ThresholdObservation> observations) {
+        LocalDate today = LocalDate.now(clock);
+
+        int dayOfYear;
+        int daysInYear;
+
+        if (year == today.getYear()) {
+            dayOfYear = today.getDayOfYear();
+            daysInYear = today.isLeapYear() ? 366 : 365;
+        } else if (year < today.getYear()) {
+            // Past year is complete — actual total equals projection
+            dayOfYear = yearEnd(year).getDayOfYear();
+            daysInYear = dayOfYear;
+        } else {
+            // Future year — skip projection
+            return;
+        }
+
+        if (dayOfYear == 0) {
+            return;
+        }
+
+        Money projected = revenue.multiply(daysInYear, dayOfYear, RoundingMode.HALF_UP);
+
+        BigDecimal ratio = projected.ratio(Money.ofEuros(projectedYearLimit), 4, RoundingMode.HALF_UP);
+        if (ratio.compareTo(warningRatio) >= 0) {
+            log.warn("§19 UStG projected threshold: ratio={}, projected={} EUR, limit={} EUR, userId={}, year={}",
+                    ratio, projected, projectedYearLimit, userId, year);
+        }
+        observations.add(new ThresholdObservation(ThresholdType.KLEINUNTERNEHMER_PROJECTED,
+                stateFor(ratio), ratio, projected.toEuros(), projectedYearLimit, ratio, warningRatio));
+    }
+
+    private ThresholdAlertState stateFor(BigDecimal ratio) {
+        if (ratio.compareTo(BigDecimal.ONE) > 0) {
+            return ThresholdAlertState.EXCEEDED;
+        }
+        if (ratio.compareTo(warningRatio) >= 0) {
+            return ThresholdAlertState.WARNING;
+        }
+        return ThresholdAlertState.BELOW;
+    }
+
+    private static LocalDate yearEnd(int year) {
+        return LocalDate.of(year, 12, 31);
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalDate;
 
 /**
  * Provides Kleinunternehmer (§19 UStG) threshold status for the dashboard.
- * Reuses the same thresholds as KleinunternehmerMonitor.
+ * Reuses the same thresholds as KleinunternehmerRule.
  */
 @Service
 @RequiredArgsConstructor
@@ -1,6 +1,7 @@
 package de.dreistrom.vat.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.ExpenseAllocationTotals;
+import de.dreistrom.expense.service.ExpenseTotalsService;
 import de.dreistrom.invoicing.repository.InvoiceRepository;
 import de.dreistrom.vat.dto.VatSummary;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +26,7 @@ public class VatCalculationService {
     private static final BigDecimal HUNDRED = new BigDecimal("100");
 
     private final InvoiceRepository invoiceRepository;
-    private final ExpenseEntryRepository expenseEntryRepository;
+    private final ExpenseTotalsService expenseTotalsService;
 
     /**
      * Calculate VAT summary for a user and period.
@@ -54,10 +55,9 @@ public class VatCalculationService {
 
         // Input VAT (Vorsteuer) from allocated business expenses at standard rate.
         // Personal-allocated expenses are not deductible.
-        BigDecimal freiberufExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsFreiberufByDateRange(userId, from, to));
-        BigDecimal gewerbeExpenses = centsToEuros(
-                expenseEntryRepository.sumCentsGewerbeByDateRange(userId, from, to));
+        ExpenseAllocationTotals expenses = expenseTotalsService.forRange(userId, from, to);
+        BigDecimal freiberufExpenses = centsToEuros(expenses.freiberufCents());
+        BigDecimal gewerbeExpenses = centsToEuros(expenses.gewerbeCents());
 
         BigDecimal freiberufInputVat = extractVat(freiberufExpenses, STANDARD_RATE);
         BigDecimal gewerbeInputVat = extractVat(gewerbeExpenses, STANDARD_RATE);
@@ -51,5 +51,28 @@ GRANT UPDATE, DELETE ON dreistrom.appstore_payout     TO 'dreistrom_app'@'%';
 GRANT UPDATE, DELETE ON dreistrom.registration_step   TO 'dreistrom_app'@'%';
 GRANT UPDATE, DELETE ON dreistrom.decision_point      TO 'dreistrom_app'@'%';
 
+-- Income year totals projection (V17)
+GRANT UPDATE, DELETE ON dreistrom.income_year_totals  TO 'dreistrom_app'@'%';
+
+-- Monthly rollup projection (V20)
+GRANT UPDATE, DELETE ON dreistrom.monthly_rollup      TO 'dreistrom_app'@'%';
+
+-- Annual tax snapshot (V21)
+GRANT UPDATE, DELETE ON dreistrom.annual_tax_snapshot TO 'dreistrom_app'@'%';
+GRANT UPDATE, DELETE ON dreistrom.export_blob         TO 'dreistrom_app'@'%';
+
+-- Depreciation schedule (V22)
+GRANT UPDATE, DELETE ON dreistrom.depreciation_schedule TO 'dreistrom_app'@'%';
+
+-- Year-end closing (V23)
+GRANT UPDATE, DELETE ON dreistrom.year_end_closing_run  TO 'dreistrom_app'@'%';
+GRANT UPDATE, DELETE ON dreistrom.year_end_closing_user TO 'dreistrom_app'@'%';
+
+-- Bank transactions (V25)
+GRANT UPDATE, DELETE ON dreistrom.bank_transaction    TO 'dreistrom_app'@'%';
+
+-- Bank reconciliation (V26)
+GRANT UPDATE, DELETE ON dreistrom.reconciliation_candidate TO 'dreistrom_app'@'%';
+
 -- event_log: intentionally NO UPDATE/DELETE (GoBD compliance)
 -- dreistrom_app only has SELECT + INSERT via database-level grant
@@ -0,0 +1,29 @@
+-- ============================================================
+-- DreiStrom MVP – Income Year Totals Projection (V17)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- income_year_totals – running income total per user, tax
+-- year and stream. Maintained incrementally by IncomeService
+-- and InvoiceService in the same transaction as income_entry
+-- so dashboards and threshold monitors read one row instead
+-- of aggregating income_entry.
+-- -----------------------------------------------------------
+CREATE TABLE income_year_totals (
+    user_id         BIGINT          NOT NULL,
+    tax_year        INT             NOT NULL,
+    stream_type     ENUM('EMPLOYMENT','FREIBERUF','GEWERBE') NOT NULL,
+    total_cents     BIGINT          NOT NULL DEFAULT 0 COMMENT 'Sum of income_entry.amount_cents',
+    entry_count     INT             NOT NULL DEFAULT 0 COMMENT 'Number of income entries',
+    updated_at      TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (user_id, tax_year, stream_type),
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing income entries
+INSERT INTO income_year_totals (user_id, tax_year, stream_type, total_cents, entry_count)
+SELECT user_id, YEAR(entry_date), stream_type, SUM(amount_cents), COUNT(*)
+FROM income_entry
+GROUP BY user_id, YEAR(entry_date), stream_type;
@@ -0,0 +1,26 @@
+-- ============================================================
+-- DreiStrom MVP – Edge-Triggered Threshold Alert State (V18)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- threshold_alert – keep one state row per user, tax year and
+-- alert type. The threshold engine only publishes an alert
+-- when this state changes (BELOW → WARNING → EXCEEDED and
+-- back), instead of on every income write.
+-- -----------------------------------------------------------
+ALTER TABLE threshold_alert
+    MODIFY COLUMN alert_type ENUM(
+                            'KLEINUNTERNEHMER_CURRENT',
+                            'KLEINUNTERNEHMER_PROJECTED',
+                            'ABFAERBUNG_RATIO',
+                            'GEWST_FREIBETRAG',
+                            'VAT_THRESHOLD',
+                            'RESERVE_SHORTFALL',
+                            'CUSTOM',
+                            'BILANZIERUNG',                 -- §141 AO Bilanzierungspflicht
+                            'MANDATORY_FILING'              -- §46 Abs. 2 Nr. 1 EStG
+                        ) NOT NULL,
+    ADD COLUMN tax_year     INT                 NULL COMMENT 'Tax year for state-tracking alerts' AFTER alert_type,
+    ADD COLUMN alert_state  ENUM('BELOW','WARNING','EXCEEDED') NULL COMMENT 'Current edge-triggered state' AFTER tax_year,
+    ADD UNIQUE INDEX uq_alert_user_year_type (user_id, tax_year, alert_type);
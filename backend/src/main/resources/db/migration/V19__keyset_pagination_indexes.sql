@@ -0,0 +1,17 @@
+-- ============================================================
+-- DreiStrom MVP – Keyset Pagination Indexes (V19)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- The paged list endpoints seek on (user_id, date, id) in
+-- descending order. InnoDB appends the primary key to every
+-- secondary index, so (user_id, date) covers the id tiebreak.
+-- expense_entry already has idx_expense_user_date and
+-- stream-filtered income pages use idx_income_user_stream_date.
+-- -----------------------------------------------------------
+ALTER TABLE income_entry
+    ADD INDEX idx_income_user_date (user_id, entry_date);
+
+ALTER TABLE invoice
+    ADD INDEX idx_invoice_user_date (user_id, invoice_date);
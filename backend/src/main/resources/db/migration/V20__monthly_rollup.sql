@@ -0,0 +1,64 @@
+-- ============================================================
+-- DreiStrom MVP – Monthly Rollup Projection (V20)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- monthly_rollup – income per stream, allocated expenses and
+-- output VAT per user and calendar month. One row per month
+-- keeps a multi-year chart to a single primary-key range read.
+-- Maintained by MonthlyRollupListener from income, expense and
+-- invoice domain events in the writing transaction.
+-- Allocated expense shares are truncated per entry.
+-- -----------------------------------------------------------
+CREATE TABLE monthly_rollup (
+    user_id                 BIGINT          NOT NULL,
+    tax_year                INT             NOT NULL,
+    tax_month               INT             NOT NULL COMMENT '1-12',
+    income_employment_cents BIGINT          NOT NULL DEFAULT 0,
+    income_freiberuf_cents  BIGINT          NOT NULL DEFAULT 0,
+    income_gewerbe_cents    BIGINT          NOT NULL DEFAULT 0,
+    expense_freiberuf_cents BIGINT          NOT NULL DEFAULT 0 COMMENT 'Expense share allocated to Freiberuf',
+    expense_gewerbe_cents   BIGINT          NOT NULL DEFAULT 0 COMMENT 'Expense share allocated to Gewerbe',
+    expense_personal_cents  BIGINT          NOT NULL DEFAULT 0 COMMENT 'Expense share allocated to private use',
+    expense_total_cents     BIGINT          NOT NULL DEFAULT 0 COMMENT 'Gross expenses incl. unallocated',
+    vat_cents               BIGINT          NOT NULL DEFAULT 0 COMMENT 'Output VAT of non-cancelled invoices',
+    updated_at              TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (user_id, tax_year, tax_month),
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing income, expense and invoice rows
+INSERT INTO monthly_rollup (user_id, tax_year, tax_month,
+                            income_employment_cents, income_freiberuf_cents, income_gewerbe_cents)
+SELECT user_id, YEAR(entry_date), MONTH(entry_date),
+       SUM(CASE WHEN stream_type = 'EMPLOYMENT' THEN amount_cents ELSE 0 END),
+       SUM(CASE WHEN stream_type = 'FREIBERUF' THEN amount_cents ELSE 0 END),
+       SUM(CASE WHEN stream_type = 'GEWERBE' THEN amount_cents ELSE 0 END)
+FROM income_entry
+GROUP BY user_id, YEAR(entry_date), MONTH(entry_date);
+
+INSERT INTO monthly_rollup (user_id, tax_year, tax_month,
+                            expense_freiberuf_cents, expense_gewerbe_cents,
+                            expense_personal_cents, expense_total_cents)
+SELECT e.user_id, YEAR(e.entry_date), MONTH(e.entry_date),
+       COALESCE(SUM(FLOOR(e.amount_cents * ar.freiberuf_pct / 100)), 0),
+       COALESCE(SUM(FLOOR(e.amount_cents * ar.gewerbe_pct / 100)), 0),
+       COALESCE(SUM(FLOOR(e.amount_cents * ar.personal_pct / 100)), 0),
+       SUM(e.amount_cents)
+FROM expense_entry e
+LEFT JOIN allocation_rule ar ON e.allocation_rule_id = ar.id
+GROUP BY e.user_id, YEAR(e.entry_date), MONTH(e.entry_date)
+ON DUPLICATE KEY UPDATE
+    expense_freiberuf_cents = VALUES(expense_freiberuf_cents),
+    expense_gewerbe_cents   = VALUES(expense_gewerbe_cents),
+    expense_personal_cents  = VALUES(expense_personal_cents),
+    expense_total_cents     = VALUES(expense_total_cents);
+
+INSERT INTO monthly_rollup (user_id, tax_year, tax_month, vat_cents)
+SELECT user_id, YEAR(invoice_date), MONTH(invoice_date), SUM(vat_cents)
+FROM invoice
+WHERE status != 'CANCELLED'
+GROUP BY user_id, YEAR(invoice_date), MONTH(invoice_date)
+ON DUPLICATE KEY UPDATE vat_cents = VALUES(vat_cents);
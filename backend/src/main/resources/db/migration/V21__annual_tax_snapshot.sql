@@ -0,0 +1,46 @@
+-- ============================================================
+-- DreiStrom MVP – Annual Tax Package Snapshots (V21)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- annual_tax_snapshot – serialized AnnualTaxPackage per user
+-- and tax year. source_version is bumped in the writing
+-- transaction by every domain event that touches the year;
+-- built_version records the source_version the package was
+-- assembled from. The snapshot is current while both match.
+-- Rendered exports reference export_blob by SHA-256.
+-- -----------------------------------------------------------
+CREATE TABLE annual_tax_snapshot (
+    user_id             BIGINT          NOT NULL,
+    tax_year            INT             NOT NULL,
+    source_version      BIGINT          NOT NULL DEFAULT 1,
+    built_version       BIGINT          NOT NULL DEFAULT 0,
+    package_json        LONGTEXT        NULL,
+    package_sha256      CHAR(64)        NULL,
+    xml_sha256          CHAR(64)        NULL,
+    xml_display_name    VARCHAR(255)    NULL COMMENT 'Taxpayer name the cached XML was rendered with',
+    csv_sha256          CHAR(64)        NULL,
+    pdf_sha256          CHAR(64)        NULL,
+    built_at            TIMESTAMP(6)    NULL,
+    created_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (user_id, tax_year),
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- -----------------------------------------------------------
+-- export_blob – content-addressed rendered exports (XML, CSV,
+-- PDF). Identical renderings are stored once; a blob is
+-- deleted when no snapshot references it any more.
+-- -----------------------------------------------------------
+CREATE TABLE export_blob (
+    sha256              CHAR(64)        NOT NULL,
+    content_type        VARCHAR(100)    NOT NULL,
+    size_bytes          BIGINT          NOT NULL,
+    content             LONGBLOB        NOT NULL,
+    created_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (sha256)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
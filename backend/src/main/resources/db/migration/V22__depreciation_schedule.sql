@@ -0,0 +1,26 @@
+-- ============================================================
+-- DreiStrom MVP – Materialized Depreciation Schedule (V22)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- depreciation_schedule – one row per asset and tax year with
+-- the year's AfA and the closing book value. Rewritten by
+-- DepreciationService whenever an asset is created or
+-- disposed. user_id is denormalized so per-stream totals for
+-- a year are a single indexed range scan joined to the
+-- allocation rule. Rows for existing assets are backfilled
+-- on application start (DepreciationScheduleBackfill).
+-- -----------------------------------------------------------
+CREATE TABLE depreciation_schedule (
+    asset_id                    BIGINT      NOT NULL,
+    tax_year                    INT         NOT NULL,
+    user_id                     BIGINT      NOT NULL,
+    afa_cents                   BIGINT      NOT NULL,
+    closing_book_value_cents    BIGINT      NOT NULL,
+
+    PRIMARY KEY (asset_id, tax_year),
+    INDEX idx_depreciation_schedule_user_year (user_id, tax_year),
+    FOREIGN KEY (asset_id) REFERENCES depreciation_asset(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id)  REFERENCES app_user(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,41 @@
+-- ============================================================
+-- DreiStrom MVP – Year-End Closing Checkpoints (V23)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- year_end_closing_run – one row per closed tax year. A run
+-- left in RUNNING after a crash is resumed on startup.
+-- -----------------------------------------------------------
+CREATE TABLE year_end_closing_run (
+    tax_year            INT             NOT NULL,
+    status              ENUM('RUNNING','COMPLETED')
+                                        NOT NULL DEFAULT 'RUNNING',
+    total_users         INT             NOT NULL DEFAULT 0 COMMENT 'Users still open when the run (re)started',
+    closed_users        INT             NOT NULL DEFAULT 0,
+    failed_users        INT             NOT NULL DEFAULT 0,
+    started_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    finished_at         TIMESTAMP(6)    NULL,
+    updated_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (tax_year)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- -----------------------------------------------------------
+-- year_end_closing_user – per-user checkpoint. A CLOSED row is
+-- written in the same transaction as the user's closing, so a
+-- resumed run skips exactly the users that committed. FAILED
+-- users are retried by the next run.
+-- -----------------------------------------------------------
+CREATE TABLE year_end_closing_user (
+    tax_year                INT             NOT NULL,
+    user_id                 BIGINT          NOT NULL,
+    status                  ENUM('CLOSED','FAILED')
+                                            NOT NULL,
+    adjustment_recommended  BOOLEAN         NOT NULL DEFAULT FALSE COMMENT 'Vorauszahlung deviation above 25%',
+    error                   VARCHAR(500)    NULL,
+    processed_at            TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    PRIMARY KEY (tax_year, user_id),
+    FOREIGN KEY (user_id) REFERENCES app_user(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
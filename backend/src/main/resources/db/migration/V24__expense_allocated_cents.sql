@@ -0,0 +1,36 @@
+-- ============================================================
+-- DreiStrom MVP – Denormalized Expense Allocation (V24)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- expense_entry – per-stream shares of amount_cents, written
+-- with the entry and re-applied when its allocation rule is
+-- re-split. Cumulative rounding keeps the three shares adding
+-- up to the amount: Freiberuf is rounded half-up, Gewerbe is
+-- the rounded Freiberuf+Gewerbe share minus Freiberuf and
+-- Personal takes the rest. NULL when no rule is set.
+-- -----------------------------------------------------------
+ALTER TABLE expense_entry
+    ADD COLUMN freiberuf_cents  BIGINT  NULL COMMENT 'Share allocated to Freiberuf' AFTER description,
+    ADD COLUMN gewerbe_cents    BIGINT  NULL COMMENT 'Share allocated to Gewerbe' AFTER freiberuf_cents,
+    ADD COLUMN personal_cents   BIGINT  NULL COMMENT 'Share allocated to private use' AFTER gewerbe_cents;
+
+UPDATE expense_entry e
+    JOIN allocation_rule ar ON ar.id = e.allocation_rule_id
+SET e.freiberuf_cents = ROUND(e.amount_cents * ar.freiberuf_pct / 100),
+    e.gewerbe_cents   = ROUND(e.amount_cents * (ar.freiberuf_pct + ar.gewerbe_pct) / 100)
+                        - ROUND(e.amount_cents * ar.freiberuf_pct / 100),
+    e.personal_cents  = e.amount_cents
+                        - ROUND(e.amount_cents * (ar.freiberuf_pct + ar.gewerbe_pct) / 100),
+    e.updated_at      = e.updated_at;
+
+-- -----------------------------------------------------------
+-- Covering index for the per-stream range sums. It has the
+-- (user_id, entry_date) prefix of idx_expense_user_date, so it
+-- also serves the keyset pages and replaces that index.
+-- -----------------------------------------------------------
+ALTER TABLE expense_entry
+    ADD INDEX idx_expense_user_date_alloc
+        (user_id, entry_date, amount_cents, freiberuf_cents, gewerbe_cents, personal_cents),
+    DROP INDEX idx_expense_user_date;
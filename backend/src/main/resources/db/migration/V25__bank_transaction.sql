@@ -0,0 +1,38 @@
+-- ============================================================
+-- DreiStrom MVP – Bank Statement Import (V25)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- bank_transaction – one row per imported statement line
+-- (CAMT.053 entry or bank CSV row). amount_cents is signed:
+-- negative for debits. dedup_hash is the SHA-256 of account,
+-- booking date, amount, normalized reference and the
+-- occurrence of that combination within the file, so
+-- re-importing an overlapping statement skips known lines.
+-- Debits are booked as expense entries, credits as income
+-- entries when a stream is given; the link is cleared when
+-- the entry is deleted.
+-- -----------------------------------------------------------
+CREATE TABLE bank_transaction (
+    id                  BIGINT          AUTO_INCREMENT PRIMARY KEY,
+    user_id             BIGINT          NOT NULL,
+    account             VARCHAR(34)     NOT NULL DEFAULT '' COMMENT 'IBAN of the statement account',
+    booking_date        DATE            NOT NULL,
+    value_date          DATE            NULL,
+    amount_cents        BIGINT          NOT NULL,
+    currency            CHAR(3)         NOT NULL DEFAULT 'EUR',
+    counterparty        VARCHAR(255)    NULL,
+    reference           VARCHAR(1000)   NULL,
+    dedup_hash          CHAR(64)        NOT NULL,
+    import_batch_id     VARCHAR(36)     NOT NULL,
+    expense_entry_id    BIGINT          NULL,
+    income_entry_id     BIGINT          NULL,
+    created_at          TIMESTAMP(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+
+    UNIQUE KEY uk_bank_transaction_dedup (user_id, dedup_hash),
+    INDEX idx_bank_transaction_user_date (user_id, booking_date),
+    FOREIGN KEY (user_id) REFERENCES app_user(id),
+    FOREIGN KEY (expense_entry_id) REFERENCES expense_entry(id) ON DELETE SET NULL,
+    FOREIGN KEY (income_entry_id) REFERENCES income_entry(id) ON DELETE SET NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
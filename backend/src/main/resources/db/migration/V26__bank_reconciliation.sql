@@ -0,0 +1,38 @@
+-- ============================================================
+-- DreiStrom MVP – Bank Transaction Reconciliation (V26)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- bank_transaction – reconciliation state. A line is MATCHED
+-- once it is settled by an entry booked from it or by a
+-- paid invoice; REVIEW lines have ambiguous candidate
+-- invoices in reconciliation_candidate; DISMISSED lines are
+-- left out of further runs.
+-- -----------------------------------------------------------
+ALTER TABLE bank_transaction
+    ADD COLUMN invoice_id       BIGINT          NULL AFTER income_entry_id,
+    ADD COLUMN match_status     ENUM('UNMATCHED','MATCHED','REVIEW','DISMISSED')
+                                                NOT NULL DEFAULT 'UNMATCHED' AFTER invoice_id,
+    ADD COLUMN match_score      DECIMAL(4,3)    NULL COMMENT 'Score of the accepted match, 0 to 1' AFTER match_status,
+    ADD CONSTRAINT fk_bank_transaction_invoice
+        FOREIGN KEY (invoice_id) REFERENCES invoice(id) ON DELETE SET NULL,
+    ADD INDEX idx_bank_transaction_user_status (user_id, match_status, booking_date);
+
+UPDATE bank_transaction
+SET match_status = 'MATCHED'
+WHERE expense_entry_id IS NOT NULL OR income_entry_id IS NOT NULL;
+
+-- -----------------------------------------------------------
+-- reconciliation_candidate – best open invoices proposed for
+-- a transaction in REVIEW, replaced on every run.
+-- -----------------------------------------------------------
+CREATE TABLE reconciliation_candidate (
+    bank_transaction_id BIGINT          NOT NULL,
+    invoice_id          BIGINT          NOT NULL,
+    score               DECIMAL(4,3)    NOT NULL,
+
+    PRIMARY KEY (bank_transaction_id, invoice_id),
+    FOREIGN KEY (bank_transaction_id) REFERENCES bank_transaction(id) ON DELETE CASCADE,
+    FOREIGN KEY (invoice_id) REFERENCES invoice(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
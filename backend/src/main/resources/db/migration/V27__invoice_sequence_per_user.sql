@@ -0,0 +1,39 @@
+-- ============================================================
+-- DreiStrom MVP – Per-User Invoice Number Sequences (V27)
+-- MySQL 8.4 LTS | InnoDB | utf8mb4_unicode_ci
+-- ============================================================
+
+-- -----------------------------------------------------------
+-- invoice_sequence – one counter per user, stream and fiscal
+-- year, so users no longer share a number series or wait on
+-- each other's row lock. Counters are rebuilt from the
+-- numbers each user has issued so far and continue after the
+-- highest one.
+-- -----------------------------------------------------------
+DELETE FROM invoice_sequence;
+
+ALTER TABLE invoice_sequence
+    ADD COLUMN user_id BIGINT NOT NULL FIRST,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (user_id, stream_type, fiscal_year),
+    ADD CONSTRAINT fk_invoice_sequence_user
+        FOREIGN KEY (user_id) REFERENCES app_user(id);
+
+INSERT INTO invoice_sequence (user_id, stream_type, fiscal_year, next_value)
+SELECT user_id, stream_type, fiscal_year, MAX(seq) + 1
+FROM (
+    SELECT user_id,
+           stream_type,
+           CAST(SUBSTRING(number, 4, 4) AS UNSIGNED)         AS fiscal_year,
+           CAST(SUBSTRING_INDEX(number, '-', -1) AS UNSIGNED) AS seq
+    FROM invoice
+    WHERE number REGEXP '^(FR|GW)-[0-9]{4}-[0-9]+$'
+) issued
+GROUP BY user_id, stream_type, fiscal_year;
+
+-- -----------------------------------------------------------
+-- invoice – numbers are unique per user
+-- -----------------------------------------------------------
+ALTER TABLE invoice
+    DROP INDEX uk_invoice_number,
+    ADD UNIQUE KEY uk_invoice_user_number (user_id, number);
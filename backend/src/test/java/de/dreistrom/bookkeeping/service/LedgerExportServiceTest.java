@@ -0,0 +1,93 @@
+package de.dreistrom.bookkeeping.service;
+
+import de.dreistrom.bookkeeping.domain.ExportFormat;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class LedgerExportServiceTest {
+
+    @Autowired
+    private LedgerExportService ledgerExportService;
+
+    @Autowired
+    private IncomeEntryRepository incomeEntryRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        incomeEntryRepository.deleteAll();
+        clientRepository.deleteAll();
+        appUserRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "export@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Export Tester"));
+
+        incomeEntryRepository.save(new IncomeEntry(user, IncomeStream.GEWERBE,
+                new BigDecimal("250.5"), LocalDate.of(2026, 4, 1),
+                "Shop", null, "Lizenz; Verlängerung"));
+        incomeEntryRepository.save(new IncomeEntry(user, IncomeStream.FREIBERUF,
+                new BigDecimal("1000.00"), LocalDate.of(2026, 3, 1)));
+    }
+
+    @Test
+    void exportIncome_csv_writesHeaderAndRowsInDateOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ledgerExportService.exportIncome(user.getId(), ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("ID;Datum;Einkunftsart;Betrag EUR");
+        assertThat(lines[1]).contains(";2026-03-01;FREIBERUF;1000.00;EUR;");
+        assertThat(lines[2]).contains(";2026-04-01;GEWERBE;250.50;EUR;Shop;")
+                .endsWith(";\"Lizenz; Verlängerung\"");
+    }
+
+    @Test
+    void exportIncome_ndjson_writesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ledgerExportService.exportIncome(user.getId(), ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"streamType\":\"FREIBERUF\"");
+        assertThat(lines[1]).contains("\"entryDate\":\"2026-04-01\"");
+    }
+
+    @Test
+    void escape_quotesSeparatorsAndQuotes() {
+        assertThat(LedgerExportService.escape("plain")).isEqualTo("plain");
+        assertThat(LedgerExportService.escape("a;b")).isEqualTo("\"a;b\"");
+        assertThat(LedgerExportService.escape("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+    }
+}
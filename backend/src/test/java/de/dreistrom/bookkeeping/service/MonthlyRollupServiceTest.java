@@ -0,0 +1,195 @@
+package de.dreistrom.bookkeeping.service;
+
+import de.dreistrom.audit.repository.EventLogRepository;
+import de.dreistrom.bookkeeping.dto.MonthlyRollupResponse;
+import de.dreistrom.bookkeeping.dto.TimeseriesResponse;
+import de.dreistrom.bookkeeping.repository.MonthlyRollupRepository;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.AllocationRuleService;
+import de.dreistrom.expense.service.ExpenseService;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeService;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.domain.InvoiceStatus;
+import de.dreistrom.invoicing.domain.InvoiceStream;
+import de.dreistrom.invoicing.domain.LineItem;
+import de.dreistrom.invoicing.domain.VatTreatment;
+import de.dreistrom.invoicing.repository.InvoiceRepository;
+import de.dreistrom.invoicing.service.InvoiceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class MonthlyRollupServiceTest {
+
+    @Autowired private MonthlyRollupService monthlyRollupService;
+    @Autowired private MonthlyRollupRepository monthlyRollupRepository;
+    @Autowired private IncomeService incomeService;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private AllocationRuleService allocationRuleService;
+    @Autowired private InvoiceService invoiceService;
+    @Autowired private IncomeEntryRepository incomeEntryRepository;
+    @Autowired private ExpenseEntryRepository expenseEntryRepository;
+    @Autowired private AllocationRuleRepository allocationRuleRepository;
+    @Autowired private InvoiceRepository invoiceRepository;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private EventLogRepository eventLogRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        monthlyRollupRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        incomeEntryRepository.deleteAll();
+        expenseEntryRepository.deleteAll();
+        allocationRuleRepository.deleteAll();
+        clientRepository.deleteAll();
+        appUserRepository.deleteAll();
+        eventLogRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "rollup@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Rollup Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("rollup@dreistrom.de", null, List.of()));
+    }
+
+    @Test
+    void incomeWrites_updateTheirMonth() {
+        IncomeEntry entry = incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("1000.00"), LocalDate.of(2026, 3, 10), null, null, null);
+        incomeService.create(user, IncomeStream.GEWERBE,
+                new BigDecimal("250.00"), LocalDate.of(2026, 3, 20), null, null, null);
+
+        incomeService.update(entry.getId(), IncomeStream.FREIBERUF,
+                new BigDecimal("1200.00"), LocalDate.of(2026, 4, 1), null, null, null);
+
+        assertThat(month(2026, 3).incomeFreiberuf()).isEqualByComparingTo("0.00");
+        assertThat(month(2026, 3).incomeGewerbe()).isEqualByComparingTo("250.00");
+        assertThat(month(2026, 4).incomeFreiberuf()).isEqualByComparingTo("1200.00");
+
+        incomeService.delete(entry.getId(), user.getId());
+
+        assertThat(month(2026, 4).incomeFreiberuf()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void expenseWrites_areSplitByAllocationRule() {
+        AllocationRule rule = allocationRuleService.create(user, "Laptop",
+                (short) 60, (short) 30, (short) 10);
+        ExpenseEntry entry = expenseService.create(user, new BigDecimal("100.01"), "IT",
+                LocalDate.of(2026, 5, 5), rule.getId(), null, null);
+        expenseService.create(user, new BigDecimal("20.00"), "Porto",
+                LocalDate.of(2026, 5, 6), null, null, null);
+
+        // Same cumulative rounding as the stored split: the shares add up to 100.01
+        MonthlyRollupResponse may = month(2026, 5);
+        assertThat(may.expenseFreiberuf()).isEqualByComparingTo("60.01");
+        assertThat(may.expenseGewerbe()).isEqualByComparingTo("30.00");
+        assertThat(may.expensePersonal()).isEqualByComparingTo("10.00");
+        assertThat(may.expenseTotal()).isEqualByComparingTo("120.01");
+
+        expenseService.delete(entry.getId(), user.getId());
+
+        may = month(2026, 5);
+        assertThat(may.expenseFreiberuf()).isEqualByComparingTo("0.00");
+        assertThat(may.expenseTotal()).isEqualByComparingTo("20.00");
+    }
+
+    @Test
+    void allocationRuleChange_resplitsPastExpenses() {
+        AllocationRule rule = allocationRuleService.create(user, "Büro",
+                (short) 50, (short) 50, (short) 0);
+        expenseService.create(user, new BigDecimal("200.00"), "Miete",
+                LocalDate.of(2025, 11, 1), rule.getId(), null, null);
+
+        allocationRuleService.update(rule.getId(), user.getId(), "Büro",
+                (short) 100, (short) 0, (short) 0);
+
+        MonthlyRollupResponse november = month(2025, 11);
+        assertThat(november.expenseFreiberuf()).isEqualByComparingTo("200.00");
+        assertThat(november.expenseGewerbe()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void invoices_addIncomeAndVat_cancellationRemovesVat() {
+        Client client = clientRepository.save(new Client(user, "Kunde GmbH", IncomeStream.FREIBERUF));
+        Invoice invoice = invoiceService.create(user, InvoiceStream.FREIBERUF, client.getId(),
+                LocalDate.of(2026, 6, 15), null,
+                List.of(new LineItem("Beratung", new BigDecimal("10"),
+                        new BigDecimal("150.00"), new BigDecimal("19"))),
+                new BigDecimal("1500.00"), new BigDecimal("285.00"), new BigDecimal("1785.00"),
+                VatTreatment.REGULAR, null);
+
+        assertThat(month(2026, 6).incomeFreiberuf()).isEqualByComparingTo("1785.00");
+        assertThat(month(2026, 6).vat()).isEqualByComparingTo("285.00");
+
+        invoiceService.updateStatus(invoice.getId(), user.getId(), InvoiceStatus.CANCELLED);
+
+        assertThat(month(2026, 6).vat()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void rebuild_matchesIncrementalState() {
+        AllocationRule rule = allocationRuleService.create(user, "Telefon",
+                (short) 33, (short) 33, (short) 34);
+        expenseService.create(user, new BigDecimal("99.99"), "Telefon",
+                LocalDate.of(2025, 1, 31), rule.getId(), null, null);
+        incomeService.create(user, IncomeStream.EMPLOYMENT,
+                new BigDecimal("3000.00"), LocalDate.of(2025, 1, 31), null, null, null);
+        incomeService.create(user, IncomeStream.GEWERBE,
+                new BigDecimal("75.50"), LocalDate.of(2026, 12, 1), null, null, null);
+
+        TimeseriesResponse incremental = monthlyRollupService.timeseries(user.getId(), 2025, 2026);
+        int months = monthlyRollupService.rebuild(user.getId());
+        TimeseriesResponse rebuilt = monthlyRollupService.timeseries(user.getId(), 2025, 2026);
+
+        assertThat(months).isEqualTo(2);
+        assertThat(rebuilt).isEqualTo(incremental);
+    }
+
+    @Test
+    void timeseries_fillsEmptyMonths_andRejectsInvalidRanges() {
+        TimeseriesResponse series = monthlyRollupService.timeseries(user.getId(), 2024, 2026);
+
+        assertThat(series.months()).hasSize(36);
+        assertThat(series.months().getFirst().year()).isEqualTo(2024);
+        assertThat(series.months().getLast().month()).isEqualTo(12);
+        assertThatThrownBy(() -> monthlyRollupService.timeseries(user.getId(), 2026, 2025))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> monthlyRollupService.timeseries(user.getId(), 2000, 2030))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private MonthlyRollupResponse month(int year, int month) {
+        return monthlyRollupService.timeseries(user.getId(), year, year).months().get(month - 1);
+    }
+}
@@ -65,4 +65,42 @@ class ThresholdAlertTest {
 
         assertThat(alert.getThresholdPercent()).isEqualByComparingTo("30.00");
     }
+
+    @Test
+    void capsPercentToColumnRange() {
+        var alert = new ThresholdAlert(user, ThresholdAlertType.MANDATORY_FILING,
+                new BigDecimal("50000"), new BigDecimal("410"),
+                "Nebeneinkünfte weit über 410 €");
+
+        assertThat(alert.getThresholdPercent()).isEqualByComparingTo("999.99");
+    }
+
+    @Test
+    void escalationReopensAcknowledgedStateAlert() {
+        var alert = new ThresholdAlert(user, ThresholdAlertType.KLEINUNTERNEHMER_CURRENT, 2026,
+                ThresholdAlertState.WARNING, new BigDecimal("18000"), new BigDecimal("22000"),
+                "Kleinunternehmer-Grenze: 82% erreicht");
+        alert.acknowledge();
+
+        alert.transitionTo(ThresholdAlertState.EXCEEDED, new BigDecimal("23000"),
+                new BigDecimal("22000"), "Kleinunternehmer-Grenze überschritten");
+
+        assertThat(alert.getTaxYear()).isEqualTo(2026);
+        assertThat(alert.getState()).isEqualTo(ThresholdAlertState.EXCEEDED);
+        assertThat(alert.getThresholdPercent()).isEqualByComparingTo("104.55");
+        assertThat(alert.isAcknowledged()).isFalse();
+    }
+
+    @Test
+    void deescalationKeepsAcknowledgement() {
+        var alert = new ThresholdAlert(user, ThresholdAlertType.GEWST_FREIBETRAG, 2026,
+                ThresholdAlertState.EXCEEDED, new BigDecimal("30000"), new BigDecimal("24500"),
+                "GewSt-Freibetrag überschritten");
+        alert.acknowledge();
+
+        alert.transitionTo(ThresholdAlertState.BELOW, new BigDecimal("20000"),
+                new BigDecimal("24500"), "GewSt-Freibetrag unterschritten");
+
+        assertThat(alert.isAcknowledged()).isTrue();
+    }
 }
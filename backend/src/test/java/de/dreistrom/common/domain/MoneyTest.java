@@ -0,0 +1,115 @@
+package de.dreistrom.common.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void addAndSubtract_areExact() {
+        Money a = Money.ofCents(12_345L);
+        Money b = Money.ofEuros(new BigDecimal("0.55"));
+
+        assertThat(a.add(b).cents()).isEqualTo(12_400L);
+        assertThat(a.subtract(b).cents()).isEqualTo(12_290L);
+        assertThat(b.subtract(a).isNegative()).isTrue();
+    }
+
+    @Test
+    void overflow_throwsInsteadOfWrapping() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.add(Money.ofCents(1L)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> max.multiply(2L))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void ofCents_nullAggregate_isZero() {
+        assertThat(Money.ofCents((Long) null)).isSameAs(Money.ZERO);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "10.005,  1001",
+            "-10.005, -1001",
+            "0.004,   0",
+            "24500,   2450000"
+    })
+    void ofEuros_roundsHalfUpLikeMoneyConverter(String euros, long expectedCents) {
+        assertThat(Money.ofEuros(new BigDecimal(euros)).cents()).isEqualTo(expectedCents);
+        assertThat(new MoneyConverter().convertToDatabaseColumn(new BigDecimal(euros)))
+                .isEqualTo(expectedCents);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RoundingMode.class, names = "UNNECESSARY", mode = EnumSource.Mode.EXCLUDE)
+    void multiply_roundsLikeBigDecimal(RoundingMode rounding) {
+        long[] amounts = {0L, 1L, -1L, 5L, -5L, 15L, -15L, 25L, 99_999L, -99_999L, 1_234_567L};
+        long[][] fractions = {{1, 2}, {1, 3}, {2, 3}, {19, 119}, {7, 100}, {365, 366}, {-1, 2}};
+
+        for (long cents : amounts) {
+            for (long[] f : fractions) {
+                long expected = BigDecimal.valueOf(cents)
+                        .multiply(BigDecimal.valueOf(f[0]))
+                        .divide(BigDecimal.valueOf(f[1]), 0, rounding)
+                        .longValueExact();
+
+                assertThat(Money.ofCents(cents).multiply(f[0], f[1], rounding).cents())
+                        .as("%d × %d / %d (%s)", cents, f[0], f[1], rounding)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void percent_roundsToWholeCents() {
+        assertThat(Money.ofCents(10_001L).percent(19, RoundingMode.HALF_UP).cents()).isEqualTo(1_900L);
+        assertThat(Money.ofCents(250L).percent(50, RoundingMode.HALF_EVEN).cents()).isEqualTo(125L);
+        assertThat(Money.ofCents(5L).percent(50, RoundingMode.HALF_EVEN).cents()).isEqualTo(2L);
+    }
+
+    @Test
+    void ratio_matchesBigDecimalDivision() {
+        Money part = Money.ofEuros(new BigDecimal("1234.56"));
+        Money whole = Money.ofEuros(new BigDecimal("9876.54"));
+
+        BigDecimal expected = part.toEuros().divide(whole.toEuros(), 4, RoundingMode.HALF_UP);
+
+        assertThat(part.ratio(whole, 4, RoundingMode.HALF_UP)).isEqualTo(expected);
+    }
+
+    @Test
+    void ratio_toZero_throws() {
+        assertThatThrownBy(() -> Money.ofCents(1L).ratio(Money.ZERO, 4, RoundingMode.HALF_UP))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toEuros_hasScaleTwo() {
+        assertThat(Money.ofCents(10_050L).toEuros()).isEqualTo(new BigDecimal("100.50"));
+        assertThat(Money.ZERO.toEuros()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(Money.ofCents(-1L).toString()).isEqualTo("-0.01");
+    }
+
+    @Test
+    void comparisons() {
+        Money small = Money.ofEuros(410);
+        Money large = Money.ofEuros(24_500);
+
+        assertThat(small.isLessThan(large)).isTrue();
+        assertThat(large.isGreaterThan(small)).isTrue();
+        assertThat(small.max(large)).isEqualTo(large);
+        assertThat(small.min(large)).isEqualTo(small);
+        assertThat(small.compareTo(Money.ofCents(41_000L))).isZero();
+    }
+}
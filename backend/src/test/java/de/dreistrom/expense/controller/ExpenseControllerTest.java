@@ -335,6 +335,29 @@ class ExpenseControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void suggest_similarPastExpense_returnsCategoryAndRule() throws Exception {
+        AllocationRule rule = allocationRuleRepository.save(
+                new AllocationRule(user, "Hosting 50/50", (short) 50, (short) 50, (short) 0));
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("23.80"), "Hosting",
+                LocalDate.of(2026, 1, 3), rule, null, "Hetzner Cloud Rechnung 01/2026"));
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("23.80"), "Hosting",
+                LocalDate.of(2026, 2, 3), rule, null, "Hetzner Cloud Rechnung 02/2026"));
+
+        mockMvc.perform(get("/api/v1/expenses/suggest")
+                        .session(session)
+                        .param("text", "HETZNER CLOUD Rechnung 03/2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category", is("Hosting")))
+                .andExpect(jsonPath("$.allocationRuleId", is(rule.getId().intValue())))
+                .andExpect(jsonPath("$.matchedEntries", is(2)));
+
+        mockMvc.perform(get("/api/v1/expenses/suggest")
+                        .session(session)
+                        .param("text", "Zugticket"))
+                .andExpect(status().isNoContent());
+    }
+
     @Test
     void create_gwgFlag_trueForSmallAmount() throws Exception {
         mockMvc.perform(post("/api/v1/expenses")
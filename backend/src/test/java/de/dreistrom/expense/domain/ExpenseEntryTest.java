@@ -4,6 +4,8 @@ import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.repository.AppUserRepository;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
 import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.ExpenseAllocationTotals;
+import de.dreistrom.expense.service.ExpenseTotalsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +29,9 @@ class ExpenseEntryTest {
     @Autowired
     private AllocationRuleRepository allocationRuleRepository;
 
+    @Autowired
+    private ExpenseTotalsService expenseTotalsService;
+
     @Autowired
     private AppUserRepository appUserRepository;
 
@@ -181,6 +186,24 @@ class ExpenseEntryTest {
         assertThat(total).isEqualTo(10000L);
     }
 
+    @Test
+    void allocatedShares_addUpToAmount() {
+        AllocationRule rule = allocationRuleRepository.save(new AllocationRule(user,
+                "Thirds", (short) 33, (short) 33, (short) 34));
+
+        // 0.05 EUR: 5 × 33% = 1.65 → 2; 5 × 66% = 3.3 → 3
+        ExpenseEntry entry = expenseEntryRepository.save(new ExpenseEntry(user,
+                new BigDecimal("0.05"), "Porto", LocalDate.of(2026, 3, 1), rule, null, null));
+
+        assertThat(entry.getFreiberufCents()).isEqualTo(2L);
+        assertThat(entry.getGewerbeCents()).isEqualTo(1L);
+        assertThat(entry.getPersonalCents()).isEqualTo(2L);
+
+        entry.update(new BigDecimal("0.05"), "Porto", LocalDate.of(2026, 3, 1), null, null, null);
+        assertThat(entry.getFreiberufCents()).isNull();
+        assertThat(entry.getPersonalCents()).isNull();
+    }
+
     @Test
     void sumCentsByDateRange_returnsTotalGross() {
         expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("1000.00"),
@@ -241,4 +264,37 @@ class ExpenseEntryTest {
 
         assertThat(total).isNull();
     }
+
+    @Test
+    void allocatedTotals_matchSingleColumnSums() {
+        AllocationRule rule = allocationRuleRepository.save(new AllocationRule(user,
+                "Office Split", (short) 50, (short) 30, (short) 20));
+
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("1000.00"),
+                "Miete", LocalDate.of(2026, 3, 1), rule, null, null));
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("333.33"),
+                "Strom", LocalDate.of(2026, 4, 1), rule, null, null));
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("500.00"),
+                "Sonstiges", LocalDate.of(2026, 3, 15)));
+        expenseEntryRepository.flush();
+
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        ExpenseAllocationTotals totals = expenseTotalsService.forRange(user.getId(), from, to);
+
+        assertThat(totals.freiberufCents()).isEqualTo(
+                expenseEntryRepository.sumCentsFreiberufByDateRange(user.getId(), from, to));
+        assertThat(totals.gewerbeCents()).isEqualTo(
+                expenseEntryRepository.sumCentsGewerbeByDateRange(user.getId(), from, to));
+        assertThat(totals.personalCents()).isEqualTo(
+                expenseEntryRepository.sumCentsPersonalByDateRange(user.getId(), from, to));
+        assertThat(totals.totalCents()).isEqualTo(183333L);
+    }
+
+    @Test
+    void allocatedTotals_emptyWhenNoEntries() {
+        assertThat(expenseTotalsService.forRange(user.getId(),
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)))
+                .isEqualTo(ExpenseAllocationTotals.EMPTY);
+    }
 }
@@ -6,7 +6,9 @@ import de.dreistrom.common.controller.EntityNotFoundException;
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.repository.AppUserRepository;
 import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +18,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +35,9 @@ class AllocationRuleServiceTest {
     @Autowired
     private AllocationRuleRepository allocationRuleRepository;
 
+    @Autowired
+    private ExpenseEntryRepository expenseEntryRepository;
+
     @Autowired
     private AppUserRepository appUserRepository;
 
@@ -101,6 +108,27 @@ class AllocationRuleServiceTest {
         assertThat(events.get(1).getPayload()).contains("\"after\"");
     }
 
+    @Test
+    void update_reappliesSplitToExistingExpenses() {
+        AllocationRule rule = allocationRuleService.create(user, "Home Office",
+                (short) 50, (short) 30, (short) 20);
+        expenseEntryRepository.save(new ExpenseEntry(user, new BigDecimal("333.33"),
+                "Strom", LocalDate.of(2026, 4, 1), rule, null, null));
+
+        allocationRuleService.update(rule.getId(), user.getId(),
+                "Home Office", (short) 70, (short) 20, (short) 10);
+
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        // 33333 × 70% = 23333.1 → 23333; × 90% = 29999.7 → 30000
+        assertThat(expenseEntryRepository.sumCentsFreiberufByDateRange(user.getId(), from, to))
+                .isEqualTo(23333L);
+        assertThat(expenseEntryRepository.sumCentsGewerbeByDateRange(user.getId(), from, to))
+                .isEqualTo(6667L);
+        assertThat(expenseEntryRepository.sumCentsPersonalByDateRange(user.getId(), from, to))
+                .isEqualTo(3333L);
+    }
+
     @Test
     void update_nonExistentRule_throwsEntityNotFound() {
         assertThatThrownBy(() -> allocationRuleService.update(999L, user.getId(),
@@ -5,9 +5,11 @@ import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.repository.AppUserRepository;
 import de.dreistrom.expense.domain.AllocationRule;
 import de.dreistrom.expense.domain.DepreciationAsset;
+import de.dreistrom.expense.domain.DepreciationScheduleEntry;
 import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
 import de.dreistrom.expense.repository.DepreciationAssetRepository;
+import de.dreistrom.expense.repository.DepreciationScheduleRepository;
 import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -35,6 +38,9 @@ class DepreciationServiceTest {
     @Autowired
     private DepreciationAssetRepository depreciationAssetRepository;
 
+    @Autowired
+    private DepreciationScheduleRepository depreciationScheduleRepository;
+
     @Autowired
     private ExpenseEntryRepository expenseEntryRepository;
 
@@ -64,13 +70,19 @@ class DepreciationServiceTest {
                 new UsernamePasswordAuthenticationToken("afa@dreistrom.de", null, List.of()));
     }
 
+    private DepreciationAsset saveAsset(DepreciationAsset asset) {
+        DepreciationAsset saved = depreciationAssetRepository.save(asset);
+        depreciationService.materializeSchedule(saved);
+        return saved;
+    }
+
     // -- Full-year depreciation --
 
     @Test
     void computeDepreciationForYear_fullYear_linear() {
         // Asset: 3600 EUR, 36 months (3 years), acquired Jan 2026
         // Annual AfA = 3600 / 3 = 1200
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -84,7 +96,7 @@ class DepreciationServiceTest {
 
     @Test
     void computeDepreciationForYear_beforeAndAfterUsefulLife_returnsZero() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -104,7 +116,7 @@ class DepreciationServiceTest {
         // 2027: 12 months = 1200
         // 2028: 12 months = 1200
         // 2029: 6 months (Jan-Jun) = 600
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Monitor", LocalDate.of(2026, 7, 15),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -125,7 +137,7 @@ class DepreciationServiceTest {
         // 2026: 1 month = 66.67
         // 2027-2028: 12 months each = 800.00
         // 2029: 11 months = 733.33
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Schreibtisch", LocalDate.of(2026, 12, 1),
                 new BigDecimal("2400.00"), 36, new BigDecimal("800.00")));
 
@@ -143,7 +155,7 @@ class DepreciationServiceTest {
 
     @Test
     void computeRemainingBookValue_afterFirstYear() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -160,7 +172,7 @@ class DepreciationServiceTest {
         // Acquired July 2026, 3600 EUR, 36 months
         // After 2026: 3600 - 600 = 3000
         // After 2027: 3000 - 1200 = 1800
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Monitor", LocalDate.of(2026, 7, 15),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -179,7 +191,7 @@ class DepreciationServiceTest {
 
     @Test
     void computeSchedule_fullYears() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -194,7 +206,7 @@ class DepreciationServiceTest {
 
     @Test
     void computeSchedule_proRata() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Monitor", LocalDate.of(2026, 7, 15),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -212,7 +224,7 @@ class DepreciationServiceTest {
 
     @Test
     void dispose_zeroesRemainingBookValue() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -229,7 +241,7 @@ class DepreciationServiceTest {
 
     @Test
     void dispose_stopsDepreciation_inDisposalYear() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -248,7 +260,7 @@ class DepreciationServiceTest {
 
     @Test
     void dispose_scheduleStopsAtDisposalYear() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -260,9 +272,46 @@ class DepreciationServiceTest {
         assertThat(schedule.get(1).depreciation()).isEqualByComparingTo("600.00");
     }
 
+    @Test
+    void materializeSchedule_writesOneRowPerYear() {
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
+                user, "Monitor", LocalDate.of(2026, 7, 15),
+                new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
+
+        List<DepreciationScheduleEntry> rows = depreciationScheduleRepository.findAll().stream()
+                .filter(row -> row.getAssetId().equals(asset.getId()))
+                .sorted(Comparator.comparingInt(DepreciationScheduleEntry::getTaxYear))
+                .toList();
+
+        assertThat(rows).extracting(DepreciationScheduleEntry::getTaxYear)
+                .containsExactly(2026, 2027, 2028, 2029);
+        assertThat(rows).extracting(DepreciationScheduleEntry::getAfaCents)
+                .containsExactly(60_000L, 120_000L, 120_000L, 60_000L);
+        assertThat(rows).extracting(DepreciationScheduleEntry::getClosingBookValueCents)
+                .containsExactly(300_000L, 180_000L, 60_000L, 0L);
+    }
+
+    @Test
+    void dispose_rewritesScheduleAndStreamTotals() {
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
+                user, "Laptop", LocalDate.of(2026, 1, 1),
+                new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
+
+        depreciationService.dispose(asset.getId(), user.getId(), LocalDate.of(2027, 6, 15));
+
+        assertThat(depreciationService.computeStreamTotalsForYear(user.getId(), 2027).total())
+                .isEqualByComparingTo("600.00");
+        assertThat(depreciationService.computeStreamTotalsForYear(user.getId(), 2028).total())
+                .isEqualByComparingTo("0.00");
+        // Before the disposal date the book value still follows the schedule
+        assertThat(depreciationService.computeRemainingBookValue(asset,
+                LocalDate.of(2026, 12, 31)))
+                .isEqualByComparingTo("2400.00");
+    }
+
     @Test
     void dispose_alreadyDisposed_throwsException() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -276,7 +325,7 @@ class DepreciationServiceTest {
 
     @Test
     void dispose_beforeAcquisition_throwsException() {
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 user, "Laptop", LocalDate.of(2026, 6, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -292,7 +341,7 @@ class DepreciationServiceTest {
                 "other@dreistrom.de",
                 passwordEncoder.encode("test1234"),
                 "Other User"));
-        DepreciationAsset asset = depreciationAssetRepository.save(new DepreciationAsset(
+        DepreciationAsset asset = saveAsset(new DepreciationAsset(
                 otherUser, "Laptop", LocalDate.of(2026, 1, 1),
                 new BigDecimal("3600.00"), 36, new BigDecimal("1200.00")));
 
@@ -312,7 +361,7 @@ class DepreciationServiceTest {
                 new BigDecimal("3600.00"), "Arbeitsmittel", LocalDate.of(2026, 1, 1),
                 rule, null, null));
 
-        depreciationAssetRepository.save(new DepreciationAsset(user, "Laptop",
+        saveAsset(new DepreciationAsset(user, "Laptop",
                 LocalDate.of(2026, 1, 1), new BigDecimal("3600.00"),
                 36, new BigDecimal("1200.00"), expense));
 
@@ -341,10 +390,10 @@ class DepreciationServiceTest {
                 new BigDecimal("1200.00"), "Büroausstattung", LocalDate.of(2026, 1, 1),
                 rule, null, null));
 
-        depreciationAssetRepository.save(new DepreciationAsset(user, "Laptop",
+        saveAsset(new DepreciationAsset(user, "Laptop",
                 LocalDate.of(2026, 1, 1), new BigDecimal("2400.00"),
                 36, new BigDecimal("800.00"), expense1));
-        depreciationAssetRepository.save(new DepreciationAsset(user, "Monitor",
+        saveAsset(new DepreciationAsset(user, "Monitor",
                 LocalDate.of(2026, 1, 1), new BigDecimal("1200.00"),
                 36, new BigDecimal("400.00"), expense2));
 
@@ -363,7 +412,7 @@ class DepreciationServiceTest {
     @Test
     void computeStreamTotalsForYear_unallocatedAsset_includedInTotalOnly() {
         // Asset without expense entry / allocation rule
-        depreciationAssetRepository.save(new DepreciationAsset(user, "Drucker",
+        saveAsset(new DepreciationAsset(user, "Drucker",
                 LocalDate.of(2026, 1, 1), new BigDecimal("1800.00"),
                 36, new BigDecimal("600.00")));
 
@@ -0,0 +1,96 @@
+package de.dreistrom.expense.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.dto.ExpenseSuggestion;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class ExpenseClassifierTest {
+
+    @Autowired private ExpenseClassifier expenseClassifier;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private AllocationRuleRepository allocationRuleRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+    private AllocationRule office;
+
+    @BeforeEach
+    void setUp() {
+        user = appUserRepository.save(new AppUser(
+                "classifier@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Classifier Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("classifier@dreistrom.de", null, List.of()));
+
+        office = allocationRuleRepository.save(
+                new AllocationRule(user, "Büro 60/40", (short) 60, (short) 40, (short) 0));
+        book("Telekom Mobilfunk", "Telefon", office);
+        book("Telekom Mobilfunk", "Telefon", office);
+        book("Amazon Druckerpapier", "Büromaterial", null);
+    }
+
+    @Test
+    void suggest_matchesNoisyDescription_andCountsBookings() {
+        ExpenseSuggestion suggestion = expenseClassifier
+                .suggest(user.getId(), "TELEKOM DEUTSCHLAND GMBH Mobilfunk 10/2026").orElseThrow();
+
+        assertThat(suggestion.category()).isEqualTo("Telefon");
+        assertThat(suggestion.allocationRuleId()).isEqualTo(office.getId());
+        assertThat(suggestion.matchedEntries()).isEqualTo(2);
+        assertThat(suggestion.confidence()).isBetween(0.35, 1.0);
+    }
+
+    @Test
+    void suggest_unrelatedOrBlankText_returnsEmpty() {
+        assertThat(expenseClassifier.suggest(user.getId(), "Bahnticket Hamburg")).isEmpty();
+        assertThat(expenseClassifier.suggest(user.getId(), " ")).isEmpty();
+    }
+
+    @Test
+    void suggest_picksUpNewBookingsAfterCachedIndex() {
+        assertThat(expenseClassifier.suggest(user.getId(), "Hetzner Cloud Server")).isEmpty();
+
+        book("Hetzner Cloud Server", "Hosting", office);
+
+        assertThat(expenseClassifier.suggest(user.getId(), "Hetzner Cloud Server CX22"))
+                .map(ExpenseSuggestion::category)
+                .contains("Hosting");
+    }
+
+    @Test
+    void suggest_indexIsPerUser() {
+        AppUser other = appUserRepository.save(new AppUser(
+                "classifier-other@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Other Tester"));
+
+        assertThat(expenseClassifier.suggest(other.getId(), "Telekom Mobilfunk")).isEmpty();
+    }
+
+    private ExpenseEntry book(String description, String category, AllocationRule rule) {
+        return expenseService.create(user, new BigDecimal("39.95"), category,
+                LocalDate.of(2026, 3, 1), rule != null ? rule.getId() : null, null, description);
+    }
+}
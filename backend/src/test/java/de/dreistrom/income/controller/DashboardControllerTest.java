@@ -7,6 +7,7 @@ import de.dreistrom.config.RateLimitFilter;
 import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +44,9 @@ class DashboardControllerTest {
     @Autowired
     private IncomeEntryRepository incomeEntryRepository;
 
+    @Autowired
+    private IncomeService incomeService;
+
     @Autowired
     private ClientRepository clientRepository;
 
@@ -175,7 +179,6 @@ class DashboardControllerTest {
     }
 
     private IncomeEntry createEntry(IncomeStream streamType, BigDecimal amount, LocalDate date) {
-        IncomeEntry entry = new IncomeEntry(user, streamType, amount, date);
-        return incomeEntryRepository.save(entry);
+        return incomeService.create(user, streamType, amount, date, null, null, null);
     }
 }
@@ -1,5 +1,6 @@
 package de.dreistrom.income.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.domain.IncomeStream;
 import de.dreistrom.common.repository.AppUserRepository;
@@ -200,6 +201,41 @@ class IncomeControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    void listPage_walksAllEntriesNewestFirst() throws Exception {
+        createEntry(IncomeStream.FREIBERUF, new BigDecimal("100.00"), LocalDate.of(2026, 3, 1));
+        createEntry(IncomeStream.GEWERBE, new BigDecimal("200.00"), LocalDate.of(2026, 3, 1));
+        createEntry(IncomeStream.FREIBERUF, new BigDecimal("300.00"), LocalDate.of(2026, 4, 1));
+
+        MvcResult first = mockMvc.perform(get("/api/v1/income-entries/page")
+                        .session(session)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].amount", is(300.00)))
+                .andExpect(jsonPath("$.items[1].amount", is(200.00)))
+                .andExpect(jsonPath("$.next").isString())
+                .andReturn();
+        String next = JsonPath.read(first.getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(get("/api/v1/income-entries/page")
+                        .session(session)
+                        .param("limit", "2")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].amount", is(100.00)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void listPage_invalidCursor_returns400() throws Exception {
+        mockMvc.perform(get("/api/v1/income-entries/page")
+                        .session(session)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getById_existing_returns200() throws Exception {
         IncomeEntry entry = createEntry(
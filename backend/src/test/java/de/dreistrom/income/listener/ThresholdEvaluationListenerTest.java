@@ -0,0 +1,89 @@
+package de.dreistrom.income.listener;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.event.IncomeEntryDeleted;
+import de.dreistrom.income.service.DashboardPushService;
+import de.dreistrom.income.service.ThresholdEvaluationScheduler;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.domain.InvoiceStream;
+import de.dreistrom.invoicing.domain.VatTreatment;
+import de.dreistrom.invoicing.event.InvoiceCreated;
+import de.dreistrom.invoicing.event.InvoiceVatChanged;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThresholdEvaluationListenerTest {
+
+    @Mock
+    private ThresholdEvaluationScheduler scheduler;
+
+    @Mock
+    private DashboardPushService dashboardPushService;
+
+    @Mock
+    private AppUser user;
+
+    private ThresholdEvaluationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new ThresholdEvaluationListener(scheduler, dashboardPushService);
+    }
+
+    @Test
+    void incomeDeleted_schedulesEvaluationForEntryYear() {
+        when(user.getId()).thenReturn(7L);
+        IncomeEntry entry = mock(IncomeEntry.class);
+        when(entry.getUser()).thenReturn(user);
+        when(entry.getStreamType()).thenReturn(IncomeStream.GEWERBE);
+        when(entry.getAmount()).thenReturn(new BigDecimal("500.00"));
+        when(entry.getEntryDate()).thenReturn(LocalDate.of(2026, 3, 1));
+
+        listener.onIncomeDeleted(new IncomeEntryDeleted(entry));
+
+        verify(scheduler).schedule(7L, 2026, IncomeStream.GEWERBE);
+    }
+
+    @Test
+    void invoiceCreated_schedulesEvaluationForInvoiceStream() {
+        when(user.getId()).thenReturn(7L);
+        Client client = mock(Client.class);
+        when(client.getName()).thenReturn("Kunde GmbH");
+        Invoice invoice = mock(Invoice.class);
+        when(invoice.getUser()).thenReturn(user);
+        when(invoice.getStreamType()).thenReturn(InvoiceStream.FREIBERUF);
+        when(invoice.getInvoiceDate()).thenReturn(LocalDate.of(2026, 6, 15));
+        when(invoice.getVatTreatment()).thenReturn(VatTreatment.REGULAR);
+        when(invoice.getClient()).thenReturn(client);
+
+        listener.onInvoiceCreated(new InvoiceCreated(invoice));
+
+        verify(scheduler).schedule(7L, 2026, IncomeStream.FREIBERUF);
+    }
+
+    @Test
+    void invoiceMovedAcrossYears_schedulesBothYears() {
+        listener.onInvoiceVatChanged(new InvoiceVatChanged(1L, 7L, "GEWERBE",
+                LocalDate.of(2025, 12, 30), new BigDecimal("19.00"),
+                LocalDate.of(2026, 1, 2), new BigDecimal("19.00")));
+
+        verify(scheduler).schedule(7L, 2025, IncomeStream.GEWERBE);
+        verify(scheduler).schedule(7L, 2026, IncomeStream.GEWERBE);
+        verifyNoMoreInteractions(scheduler);
+    }
+}
@@ -1,4 +1,4 @@
-package de.dreistrom.income.listener;
+package de.dreistrom.income.service;
 
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.common.domain.IncomeStream;
@@ -8,7 +8,6 @@ import de.dreistrom.income.event.ThresholdAlert;
 import de.dreistrom.income.event.ThresholdType;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
-import de.dreistrom.income.service.IncomeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -29,11 +29,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
 @Transactional
 @RecordApplicationEvents
-class AbfaerbungListenerTest {
+class AbfaerbungRuleTest {
 
     @Autowired
     private IncomeService incomeService;
 
+    @Autowired
+    private ThresholdEvaluationEngine thresholdEvaluationEngine;
+
     @Autowired
     private IncomeEntryRepository incomeEntryRepository;
 
@@ -66,7 +69,13 @@ class AbfaerbungListenerTest {
                 new UsernamePasswordAuthenticationToken("owner@dreistrom.de", null, List.of()));
     }
 
+    /** Evaluation runs after commit in production; test transactions never commit. */
+    private void evaluateThresholds() {
+        thresholdEvaluationEngine.evaluate(user.getId(), 2026, EnumSet.allOf(IncomeStream.class));
+    }
+
     private List<ThresholdAlert> abfaerbungAlerts() {
+        evaluateThresholds();
         return events.stream(ThresholdAlert.class)
                 .filter(a -> a.getType() == ThresholdType.ABFAERBUNG)
                 .toList();
@@ -0,0 +1,102 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.sse.UnifiedSseEmitterService;
+import de.dreistrom.income.dto.DashboardUpdate;
+import de.dreistrom.vat.service.KleinunternehmerStatusService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardPushServiceTest {
+
+    @Mock private UnifiedSseEmitterService sseEmitterService;
+    @Mock private DashboardService dashboardService;
+    @Mock private KleinunternehmerStatusService kleinunternehmerStatusService;
+    @Mock private GewerbesteuerThresholdService gewerbesteuerThresholdService;
+    @Mock private MandatoryFilingService mandatoryFilingService;
+    @Mock private ArbZGService arbZGService;
+    @Mock private FeatureFlagService featureFlagService;
+
+    private DashboardPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        pushService = new DashboardPushService(sseEmitterService, dashboardService,
+                kleinunternehmerStatusService, gewerbesteuerThresholdService,
+                mandatoryFilingService, arbZGService, featureFlagService);
+        ReflectionTestUtils.setField(pushService, "pushWindowMs", 100L);
+        pushService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pushService.stop();
+    }
+
+    @Test
+    void burstOfAlerts_flushesOneCombinedEvent() {
+        when(sseEmitterService.isConnected(1L)).thenReturn(true);
+
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.ABFAERBUNG, DashboardTile.FEATURE_FLAGS));
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.KLEINUNTERNEHMER, DashboardTile.FEATURE_FLAGS));
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.KLEINUNTERNEHMER, DashboardTile.FEATURE_FLAGS));
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.MANDATORY_FILING, DashboardTile.FEATURE_FLAGS));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(sseEmitterService, timeout(2000).times(1))
+                .send(eq(1L), eq("dashboard-update"), payload.capture());
+
+        DashboardUpdate update = (DashboardUpdate) payload.getValue();
+        assertThat(update.year()).isEqualTo(2026);
+        assertThat(update.tiles()).containsOnlyKeys(
+                "abfaerbung", "kleinunternehmer", "mandatory-filing", "feature-flags");
+
+        verify(featureFlagService, times(1)).getFlags(1L, 2026);
+        verify(kleinunternehmerStatusService, times(1)).getStatus(1L, 2026);
+        verify(gewerbesteuerThresholdService, never()).getStatus(anyLong(), anyInt());
+    }
+
+    @Test
+    void disconnectedUser_skipsRecomputation() {
+        when(sseEmitterService.isConnected(2L)).thenReturn(false);
+
+        pushService.markDirty(2L, 2026, EnumSet.of(DashboardTile.GEWERBESTEUER, DashboardTile.FEATURE_FLAGS));
+
+        verify(sseEmitterService, timeout(2000)).isConnected(2L);
+        verify(sseEmitterService, after(200).never()).send(anyLong(), anyString(), any());
+        verify(gewerbesteuerThresholdService, never()).getStatus(anyLong(), anyInt());
+        verify(featureFlagService, never()).getFlags(anyLong(), anyInt());
+    }
+
+    @Test
+    void marksAfterFlush_openNewWindow() {
+        when(sseEmitterService.isConnected(1L)).thenReturn(true);
+
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.ABFAERBUNG));
+        verify(sseEmitterService, timeout(2000).times(1)).send(eq(1L), eq("dashboard-update"), any());
+
+        pushService.markDirty(1L, 2026, EnumSet.of(DashboardTile.GEWERBESTEUER));
+        verify(sseEmitterService, timeout(2000).times(2)).send(eq(1L), eq("dashboard-update"), any());
+    }
+}
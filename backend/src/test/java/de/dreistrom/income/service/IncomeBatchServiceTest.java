@@ -0,0 +1,188 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.audit.repository.EventLogRepository;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.dto.CreateIncomeEntryRequest;
+import de.dreistrom.income.dto.IncomeBatchResult;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.repository.IncomeYearTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class IncomeBatchServiceTest {
+
+    @Autowired
+    private IncomeBatchService incomeBatchService;
+
+    @Autowired
+    private IncomeTotalsService incomeTotalsService;
+
+    @Autowired
+    private IncomeEntryRepository incomeEntryRepository;
+
+    @Autowired
+    private IncomeYearTotalRepository incomeYearTotalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private EventLogRepository eventLogRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        incomeYearTotalRepository.deleteAll();
+        incomeEntryRepository.deleteAll();
+        clientRepository.deleteAll();
+        appUserRepository.deleteAll();
+        eventLogRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "batch@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Batch Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("batch@dreistrom.de", null, List.of()));
+    }
+
+    @Test
+    void importJson_insertsEntriesTotalsAndAuditEvents() {
+        IncomeBatchResult result = incomeBatchService.importJson(user.getId(), List.of(
+                request(IncomeStream.FREIBERUF, "1000.00", LocalDate.of(2025, 12, 1)),
+                request(IncomeStream.FREIBERUF, "500.00", LocalDate.of(2026, 1, 15)),
+                request(IncomeStream.GEWERBE, "250.00", LocalDate.of(2026, 2, 1))), false);
+
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.failed()).isZero();
+        assertThat(result.aborted()).isFalse();
+
+        List<IncomeEntry> entries = incomeEntryRepository.findByUserId(user.getId());
+        assertThat(entries).hasSize(3);
+        assertThat(incomeTotalsService.forYear(user.getId(), 2025).freiberufCents())
+                .isEqualTo(100000L);
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).selfEmployedCents())
+                .isEqualTo(75000L);
+
+        for (IncomeEntry entry : entries) {
+            assertThat(eventLogRepository.findByAggregateTypeAndAggregateIdOrderByCreatedAtAsc(
+                    "IncomeEntry", entry.getId()))
+                    .singleElement()
+                    .satisfies(e -> assertThat(e.getEventType()).isEqualTo("INCOME_ENTRY_CREATED"));
+        }
+    }
+
+    @Test
+    void importJson_invalidRows_areReportedAndSkipped() {
+        Client client = clientRepository.save(
+                new Client(user, "Acme GmbH", IncomeStream.GEWERBE));
+
+        IncomeBatchResult result = incomeBatchService.importJson(user.getId(), List.of(
+                request(IncomeStream.FREIBERUF, "100.00", LocalDate.of(2026, 3, 1)),
+                request(IncomeStream.FREIBERUF, "0.00", LocalDate.of(2026, 3, 1)),
+                new CreateIncomeEntryRequest(IncomeStream.FREIBERUF, new BigDecimal("50.00"),
+                        LocalDate.of(2026, 3, 1), null, client.getId(), null)), false);
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.errors()).extracting(IncomeBatchResult.RowError::row)
+                .containsExactly(2, 3);
+        assertThat(result.errors().get(1).message()).contains("does not match");
+        assertThat(incomeEntryRepository.findByUserId(user.getId())).hasSize(1);
+    }
+
+    @Test
+    void importJson_abortOnError_writesNothing() {
+        IncomeBatchResult result = incomeBatchService.importJson(user.getId(), List.of(
+                request(IncomeStream.FREIBERUF, "100.00", LocalDate.of(2026, 3, 1)),
+                request(null, "100.00", LocalDate.of(2026, 3, 1))), true);
+
+        assertThat(result.aborted()).isTrue();
+        assertThat(result.created()).isZero();
+        assertThat(incomeEntryRepository.findByUserId(user.getId())).isEmpty();
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026))
+                .isEqualTo(StreamIncomeTotals.EMPTY);
+    }
+
+    @Test
+    void importCsv_parsesGermanFormats() {
+        String csv = """
+                streamType;amount;entryDate;source
+                freiberuf;1.234,56;15.03.2026;Beratung
+                GEWERBE;99,90;2026-04-01;
+                GEWERBE;abc;2026-04-01;
+                """;
+
+        IncomeBatchResult result = incomeBatchService.importCsv(user.getId(), csv, false);
+
+        assertThat(result.received()).isEqualTo(3);
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.errors()).singleElement()
+                .satisfies(e -> assertThat(e.row()).isEqualTo(3));
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).freiberufCents())
+                .isEqualTo(123456L);
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).gewerbeCents())
+                .isEqualTo(9990L);
+    }
+
+    @Test
+    void importCsv_ambiguousThousandsSeparator_isRejected() {
+        String csv = """
+                streamType;amount;entryDate;source
+                FREIBERUF;1.234;2026-03-15;
+                FREIBERUF;1,234;2026-03-15;
+                FREIBERUF;1.234.567;2026-03-15;
+                FREIBERUF;12.5;2026-03-15;
+                """;
+
+        IncomeBatchResult result = incomeBatchService.importCsv(user.getId(), csv, false);
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.errors()).extracting(e -> e.row()).containsExactly(1, 2);
+        assertThat(result.errors()).allSatisfy(e -> assertThat(e.message()).contains("Ambiguous amount"));
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).freiberufCents())
+                .isEqualTo(123456700L + 1250L);
+    }
+
+    @Test
+    void importCsv_missingRequiredColumn_throwsIllegalArgument() {
+        assertThatThrownBy(() -> incomeBatchService.importCsv(user.getId(),
+                "streamType,amount\nFREIBERUF,10.00\n", false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("entrydate");
+    }
+
+    private static CreateIncomeEntryRequest request(IncomeStream stream, String amount,
+                                                    LocalDate date) {
+        return new CreateIncomeEntryRequest(stream, new BigDecimal(amount), date,
+                null, null, null);
+    }
+}
@@ -0,0 +1,129 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.repository.IncomeYearTotalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class IncomeTotalsServiceTest {
+
+    @Autowired
+    private IncomeTotalsService incomeTotalsService;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private IncomeEntryRepository incomeEntryRepository;
+
+    @Autowired
+    private IncomeYearTotalRepository incomeYearTotalRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        incomeYearTotalRepository.deleteAll();
+        incomeEntryRepository.deleteAll();
+        clientRepository.deleteAll();
+        appUserRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "totals@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Totals Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("totals@dreistrom.de", null, List.of()));
+    }
+
+    @Test
+    void emptyYear_returnsZeroTotals() {
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026))
+                .isEqualTo(StreamIncomeTotals.EMPTY);
+    }
+
+    @Test
+    void create_accumulatesPerStream() {
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("1000.50"),
+                LocalDate.of(2026, 2, 1), null, null, null);
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("499.50"),
+                LocalDate.of(2026, 3, 1), null, null, null);
+        incomeService.create(user, IncomeStream.GEWERBE, new BigDecimal("200.00"),
+                LocalDate.of(2026, 3, 1), null, null, null);
+        incomeService.create(user, IncomeStream.EMPLOYMENT, new BigDecimal("3000.00"),
+                LocalDate.of(2026, 3, 1), null, null, null);
+
+        StreamIncomeTotals totals = incomeTotalsService.forYear(user.getId(), 2026);
+        assertThat(totals.freiberufCents()).isEqualTo(150000L);
+        assertThat(totals.gewerbeCents()).isEqualTo(20000L);
+        assertThat(totals.employmentCents()).isEqualTo(300000L);
+        assertThat(totals.selfEmployedCents()).isEqualTo(170000L);
+    }
+
+    @Test
+    void update_appliesAmountDelta() {
+        IncomeEntry entry = incomeService.create(user, IncomeStream.GEWERBE,
+                new BigDecimal("100.00"), LocalDate.of(2026, 5, 1), null, null, null);
+
+        incomeService.update(entry.getId(), IncomeStream.GEWERBE,
+                new BigDecimal("350.00"), LocalDate.of(2026, 6, 1), null, null, null);
+
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).gewerbeCents())
+                .isEqualTo(35000L);
+    }
+
+    @Test
+    void update_acrossYearBoundary_movesContribution() {
+        IncomeEntry entry = incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("800.00"), LocalDate.of(2025, 12, 31), null, null, null);
+
+        incomeService.update(entry.getId(), IncomeStream.FREIBERUF,
+                new BigDecimal("800.00"), LocalDate.of(2026, 1, 2), null, null, null);
+
+        assertThat(incomeTotalsService.forYear(user.getId(), 2025).freiberufCents()).isZero();
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).freiberufCents())
+                .isEqualTo(80000L);
+    }
+
+    @Test
+    void delete_subtractsEntry() {
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("700.00"),
+                LocalDate.of(2026, 4, 1), null, null, null);
+        IncomeEntry toDelete = incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("300.00"), LocalDate.of(2026, 4, 2), null, null, null);
+
+        incomeService.delete(toDelete.getId(), user.getId());
+
+        assertThat(incomeTotalsService.forYear(user.getId(), 2026).freiberufCents())
+                .isEqualTo(70000L);
+    }
+}
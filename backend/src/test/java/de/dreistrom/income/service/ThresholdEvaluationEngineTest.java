@@ -0,0 +1,195 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.calendar.domain.ThresholdAlertState;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.event.ThresholdAlert;
+import de.dreistrom.income.event.ThresholdType;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+@RecordApplicationEvents
+class ThresholdEvaluationEngineTest {
+
+    @Autowired
+    private ThresholdEvaluationEngine engine;
+
+    @Autowired
+    private IncomeService incomeService;
+
+    @Autowired
+    private IncomeEntryRepository incomeEntryRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        incomeEntryRepository.deleteAll();
+        clientRepository.deleteAll();
+        appUserRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "engine@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Engine Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("engine@dreistrom.de", null, List.of()));
+    }
+
+    @Test
+    void gewerbeTrigger_runsAllRulesAgainstOneSnapshot() {
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("50000.00"),
+                LocalDate.of(2025, 6, 1), null, null, null);
+        incomeService.create(user, IncomeStream.GEWERBE, new BigDecimal("90000.00"),
+                LocalDate.of(2025, 6, 1), null, null, null);
+
+        List<ThresholdAlert> alerts = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.GEWERBE));
+
+        assertThat(alerts).extracting(ThresholdAlert::getType).containsExactlyInAnyOrder(
+                ThresholdType.ABFAERBUNG,
+                ThresholdType.GEWERBESTEUER_FREIBETRAG,
+                ThresholdType.BILANZIERUNG,
+                ThresholdType.MANDATORY_FILING,
+                ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR,
+                ThresholdType.KLEINUNTERNEHMER_PROJECTED);
+        assertThat(alerts).allSatisfy(a -> {
+            assertThat(a.getUserId()).isEqualTo(user.getId());
+            assertThat(a.getYear()).isEqualTo(2025);
+        });
+    }
+
+    @Test
+    void returnedAlertsArePublished() {
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("1000.00"),
+                LocalDate.of(2025, 6, 1), null, null, null);
+        long before = events.stream(ThresholdAlert.class).count();
+
+        List<ThresholdAlert> alerts = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+
+        assertThat(alerts).extracting(ThresholdAlert::getType)
+                .containsExactly(ThresholdType.MANDATORY_FILING);
+        assertThat(events.stream(ThresholdAlert.class).count() - before).isEqualTo(1);
+    }
+
+    @Test
+    void employmentTrigger_skipsSelfEmployedOnlyRules() {
+        incomeService.create(user, IncomeStream.GEWERBE, new BigDecimal("90000.00"),
+                LocalDate.of(2025, 6, 1), null, null, null);
+
+        List<ThresholdAlert> alerts = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.EMPLOYMENT));
+
+        assertThat(alerts).extracting(ThresholdAlert::getType)
+                .doesNotContain(ThresholdType.MANDATORY_FILING,
+                        ThresholdType.GEWERBESTEUER_FREIBETRAG,
+                        ThresholdType.BILANZIERUNG);
+    }
+
+    @Test
+    void unknownEntry_yieldsNoAlerts() {
+        assertThat(engine.evaluateForEntry(-1L)).isEmpty();
+    }
+
+    @Test
+    void evaluateForEntry_usesEntryYearAndStream() {
+        IncomeEntry entry = incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("500.00"), LocalDate.of(2024, 3, 1), null, null, null);
+
+        List<ThresholdAlert> alerts = engine.evaluateForEntry(entry.getId());
+
+        assertThat(alerts).extracting(ThresholdAlert::getType)
+                .containsExactly(ThresholdType.MANDATORY_FILING);
+        assertThat(alerts.getFirst().getYear()).isEqualTo(2024);
+    }
+
+    @Test
+    void unchangedState_publishesNothingOnReevaluation() {
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("1000.00"),
+                LocalDate.of(2025, 6, 1), null, null, null);
+        engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("100.00"),
+                LocalDate.of(2025, 7, 1), null, null, null);
+
+        assertThat(engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF))).isEmpty();
+    }
+
+    @Test
+    void fallingBack_heldWithinHysteresisBand_thenReleased() {
+        // €500 > €410 → EXCEEDED
+        IncomeEntry entry = incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("500.00"), LocalDate.of(2025, 6, 1), null, null, null);
+        engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+
+        // €400 = 0.9756 of the limit, within the 5% band → still EXCEEDED
+        incomeService.update(entry.getId(), IncomeStream.FREIBERUF,
+                new BigDecimal("400.00"), LocalDate.of(2025, 6, 1), null, null, null);
+        assertThat(engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF))).isEmpty();
+
+        // €300 = 0.7317 of the limit → back to BELOW
+        incomeService.update(entry.getId(), IncomeStream.FREIBERUF,
+                new BigDecimal("300.00"), LocalDate.of(2025, 6, 1), null, null, null);
+        List<ThresholdAlert> alerts = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+
+        assertThat(alerts).singleElement().satisfies(a -> {
+            assertThat(a.getType()).isEqualTo(ThresholdType.MANDATORY_FILING);
+            assertThat(a.getPreviousState()).isEqualTo(ThresholdAlertState.EXCEEDED);
+            assertThat(a.getState()).isEqualTo(ThresholdAlertState.BELOW);
+        });
+    }
+
+    @Test
+    void kleinunternehmer_escalatesFromWarningToExceeded() {
+        // €18,000 → 0.8182 of €22,000 → WARNING
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("18000.00"),
+                LocalDate.of(2025, 3, 1), null, null, null);
+        List<ThresholdAlert> first = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+        assertThat(first).filteredOn(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
+                .singleElement()
+                .extracting(ThresholdAlert::getState).isEqualTo(ThresholdAlertState.WARNING);
+
+        // +€5,000 → €23,000 > €22,000 → EXCEEDED
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("5000.00"),
+                LocalDate.of(2025, 4, 1), null, null, null);
+        List<ThresholdAlert> second = engine.evaluate(user.getId(), 2025, Set.of(IncomeStream.FREIBERUF));
+        assertThat(second).filteredOn(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
+                .singleElement()
+                .satisfies(a -> {
+                    assertThat(a.getPreviousState()).isEqualTo(ThresholdAlertState.WARNING);
+                    assertThat(a.getState()).isEqualTo(ThresholdAlertState.EXCEEDED);
+                });
+    }
+}
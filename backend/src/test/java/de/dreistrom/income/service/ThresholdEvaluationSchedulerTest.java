@@ -0,0 +1,111 @@
+package de.dreistrom.income.service;
+
+import de.dreistrom.common.domain.IncomeStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThresholdEvaluationSchedulerTest {
+
+    @Mock
+    private ThresholdEvaluationEngine engine;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ThresholdEvaluationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ThresholdEvaluationScheduler(engine, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "coalesceWindowMs", 100L);
+        ReflectionTestUtils.setField(scheduler, "workerThreads", 2);
+        ReflectionTestUtils.setField(scheduler, "queueCapacity", 10);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void burstForSameUserYear_coalescesIntoOneEvaluation() {
+        for (int i = 0; i < 500; i++) {
+            scheduler.schedule(1L, 2026, i % 2 == 0 ? IncomeStream.FREIBERUF : IncomeStream.GEWERBE);
+        }
+
+        verify(engine, timeout(2000).times(1)).evaluate(eq(1L), eq(2026),
+                eq(EnumSet.of(IncomeStream.FREIBERUF, IncomeStream.GEWERBE)));
+        verify(engine, after(300).times(1)).evaluate(any(), anyInt(), any());
+        assertThat(meterRegistry.get("dreistrom.threshold.coalesced").counter().count())
+                .isEqualTo(499);
+        assertThat(meterRegistry.get("dreistrom.threshold.evaluation.lag").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void distinctUserYears_evaluatedSeparately() {
+        scheduler.schedule(1L, 2025, IncomeStream.FREIBERUF);
+        scheduler.schedule(1L, 2026, IncomeStream.FREIBERUF);
+        scheduler.schedule(2L, 2026, IncomeStream.GEWERBE);
+
+        verify(engine, timeout(2000)).evaluate(1L, 2025, Set.of(IncomeStream.FREIBERUF));
+        verify(engine, timeout(2000)).evaluate(1L, 2026, Set.of(IncomeStream.FREIBERUF));
+        verify(engine, timeout(2000)).evaluate(2L, 2026, Set.of(IncomeStream.GEWERBE));
+    }
+
+    @Test
+    void requestAfterWindowClosed_opensNewWindow() {
+        scheduler.schedule(1L, 2026, IncomeStream.FREIBERUF);
+        verify(engine, timeout(2000).times(1)).evaluate(any(), anyInt(), any());
+
+        scheduler.schedule(1L, 2026, IncomeStream.GEWERBE);
+        verify(engine, timeout(2000).times(2)).evaluate(any(), anyInt(), any());
+        assertThat(meterRegistry.get("dreistrom.threshold.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void writeDuringSlowEvaluation_waitsForItInsteadOfOverlapping() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        when(engine.evaluate(eq(1L), eq(2026), any())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            firstStarted.countDown();
+            Thread.sleep(400);
+            running.decrementAndGet();
+            return List.of();
+        });
+
+        scheduler.schedule(1L, 2026, IncomeStream.FREIBERUF);
+        assertThat(firstStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        scheduler.schedule(1L, 2026, IncomeStream.GEWERBE);
+
+        verify(engine, timeout(3000)).evaluate(1L, 2026, Set.of(IncomeStream.GEWERBE));
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("dreistrom.threshold.deferred").counter().count()).isPositive();
+    }
+}
@@ -0,0 +1,238 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.ExpenseClassifier;
+import de.dreistrom.expense.service.ExpenseService;
+import de.dreistrom.income.domain.IncomeEntry;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.integration.domain.BankTransaction;
+import de.dreistrom.integration.dto.BankImportResult;
+import de.dreistrom.integration.repository.BankTransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class BankStatementImporterTest {
+
+    private static final String CAMT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <Document xmlns="urn:iso:std:iso:20022:tech:xsd:camt.053.001.02">
+              <BkToCstmrStmt>
+                <Stmt>
+                  <Acct><Id><IBAN>DE02120300000000202051</IBAN></Id></Acct>
+                  <Ntry>
+                    <Amt Ccy="EUR">23.80</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-03</Dt></BookgDt>
+                    <ValDt><Dt>2026-03-03</Dt></ValDt>
+                    <NtryDtls><TxDtls>
+                      <RltdPties><Cdtr><Nm>Hetzner Online GmbH</Nm></Cdtr></RltdPties>
+                      <RmtInf><Ustrd>Cloud Rechnung R0012345</Ustrd></RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">1500.00</Amt>
+                    <CdtDbtInd>CRDT</CdtDbtInd>
+                    <Sts>BOOK</Sts>
+                    <BookgDt><Dt>2026-03-05</Dt></BookgDt>
+                    <NtryDtls><TxDtls>
+                      <RltdPties><Dbtr><Nm>Muster AG</Nm></Dbtr></RltdPties>
+                      <RmtInf><Ustrd>RE-2026-0042</Ustrd></RmtInf>
+                    </TxDtls></NtryDtls>
+                  </Ntry>
+                  <Ntry>
+                    <Amt Ccy="EUR">9.99</Amt>
+                    <CdtDbtInd>DBIT</CdtDbtInd>
+                    <Sts>PDNG</Sts>
+                    <BookgDt><Dt>2026-03-06</Dt></BookgDt>
+                  </Ntry>
+                </Stmt>
+              </BkToCstmrStmt>
+            </Document>
+            """;
+
+    private static final String SPARKASSE_CSV = """
+            "Umsätze Girokonto";"Zeitraum: 01.03.2026 - 31.03.2026"
+
+            "Auftragskonto";"Buchungstag";"Valutadatum";"Buchungstext";"Verwendungszweck";"Beguenstigter/Zahlungspflichtiger";"Betrag";"Waehrung"
+            "DE02120300000000202051";"02.03.26";"02.03.26";"KARTENZAHLUNG";"Kaffee";"Bäckerei Schmidt";"-3,20";"EUR"
+            "DE02120300000000202051";"02.03.26";"02.03.26";"KARTENZAHLUNG";"Kaffee";"Bäckerei Schmidt";"-3,20";"EUR"
+            "DE02120300000000202051";"04.03.26";"04.03.26";"GUTSCHRIFT";"Honorar März";"Verlag GmbH";"1.234,56";"EUR"
+            "Kontostand am 31.03.2026";"";"";"";"";"";"";""
+            """;
+
+    @Autowired private BankStatementImporter importer;
+    @Autowired private BankTransactionRepository bankTransactionRepository;
+    @Autowired private ExpenseEntryRepository expenseEntryRepository;
+    @Autowired private IncomeEntryRepository incomeEntryRepository;
+    @Autowired private AllocationRuleRepository allocationRuleRepository;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManager entityManager;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = appUserRepository.save(new AppUser(
+                "bankimport@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Bank Import Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bankimport@dreistrom.de", null, List.of()));
+    }
+
+    @Test
+    void camt_booksDebitsWithSuggestion_recordsCredits_andSkipsPending() {
+        AllocationRule hosting = allocationRuleRepository.save(
+                new AllocationRule(user, "Hosting 50/50", (short) 50, (short) 50, (short) 0));
+        expenseService.create(user, new BigDecimal("23.80"), "Hosting", LocalDate.of(2026, 2, 3),
+                hosting.getId(), null, "Hetzner Online GmbH – Cloud Rechnung R0011111");
+
+        BankImportResult result = importCamt();
+
+        assertThat(result.transactions()).isEqualTo(2);
+        assertThat(result.expensesCreated()).isEqualTo(1);
+        assertThat(result.classified()).isEqualTo(1);
+        assertThat(result.incomeCreated()).isZero();
+
+        ExpenseEntry imported = expenseEntryRepository.findByUserIdAndEntryDateBetween(
+                user.getId(), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)).getFirst();
+        assertThat(imported.getCategory()).isEqualTo("Hosting");
+        assertThat(imported.getAllocationRule().getId()).isEqualTo(hosting.getId());
+        assertThat(imported.getAmount()).isEqualByComparingTo("23.80");
+        assertThat(imported.getFreiberufCents()).isEqualTo(1190L);
+
+        List<BankTransaction> rows = bankTransactionRepository
+                .findByImportBatchIdOrderByBookingDateAscIdAsc(result.importBatchId());
+        assertThat(rows).extracting(BankTransaction::getAmountCents).containsExactly(-2380L, 150000L);
+        assertThat(rows.get(0).getAccount()).isEqualTo("DE02120300000000202051");
+        assertThat(rows.get(0).getCounterparty()).isEqualTo("Hetzner Online GmbH");
+        assertThat(rows.get(0).getExpenseEntryId()).isEqualTo(imported.getId());
+        assertThat(rows.get(1).getCounterparty()).isEqualTo("Muster AG");
+        assertThat(rows.get(1).getReference()).isEqualTo("RE-2026-0042");
+        assertThat(rows.get(1).getIncomeEntryId()).isNull();
+    }
+
+    @Test
+    void reimport_skipsKnownTransactions() {
+        importCamt();
+        long expenses = expenseEntryRepository.count();
+
+        BankImportResult again = importCamt();
+
+        assertThat(again.duplicates()).isEqualTo(2);
+        assertThat(again.expensesCreated()).isZero();
+        assertThat(expenseEntryRepository.count()).isEqualTo(expenses);
+    }
+
+    @Test
+    void germanCsv_keepsRepeatedLines_andBooksCreditsToGivenStream() {
+        BankImportResult result = importer.importStatement(user.getId(),
+                new ByteArrayInputStream(SPARKASSE_CSV.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, null, IncomeStream.FREIBERUF);
+
+        assertThat(result.transactions()).isEqualTo(3);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.expensesCreated()).isEqualTo(2);
+        assertThat(result.classified()).isZero();
+        assertThat(result.incomeCreated()).isEqualTo(1);
+
+        List<ExpenseEntry> expenses = expenseEntryRepository.findByUserId(user.getId());
+        assertThat(expenses).allSatisfy(e -> {
+            assertThat(e.getCategory()).isEqualTo(ExpenseClassifier.UNCLASSIFIED_CATEGORY);
+            assertThat(e.getAmount()).isEqualByComparingTo("3.20");
+            assertThat(e.getEntryDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+        });
+
+        IncomeEntry income = incomeEntryRepository.findByUserId(user.getId()).getFirst();
+        assertThat(income.getStreamType()).isEqualTo(IncomeStream.FREIBERUF);
+        assertThat(income.getAmount()).isEqualByComparingTo("1234.56");
+        assertThat(income.getSource()).isEqualTo(BankStatementImporter.SOURCE);
+
+        BankImportResult again = importer.importStatement(user.getId(),
+                new ByteArrayInputStream(SPARKASSE_CSV.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, null, IncomeStream.FREIBERUF);
+        assertThat(again.duplicates()).isEqualTo(3);
+    }
+
+    @Test
+    void latin1Csv_withSollHabenColumns_isParsed() {
+        String csv = """
+                Buchungstag;Name;Verwendungszweck;Soll;Haben
+                15.01.2026;Telekom Deutschland;Mobilfunk Januar;49,95;
+                """;
+
+        BankImportResult result = importer.importStatement(user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.ISO_8859_1)),
+                Charset.forName("ISO-8859-1"), "DE02 1203 0000 0000 2020 51", null);
+
+        assertThat(result.expensesCreated()).isEqualTo(1);
+        entityManager.flush();
+        BankTransaction row = bankTransactionRepository.findAll().stream()
+                .filter(t -> t.getUserId().equals(user.getId()))
+                .max(Comparator.comparing(BankTransaction::getId)).orElseThrow();
+        assertThat(row.getAmountCents()).isEqualTo(-4995);
+        assertThat(row.getAccount()).isEqualTo("DE02120300000000202051");
+    }
+
+    @Test
+    void ambiguousAmount_isSkipped() {
+        String csv = """
+                Buchungstag;Name;Verwendungszweck;Betrag
+                15.01.2026;Verlag GmbH;Honorar;1.500
+                16.01.2026;Telekom Deutschland;Mobilfunk Januar;-49,95
+                """;
+
+        BankImportResult result = importer.importStatement(user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, "DE02 1203 0000 0000 2020 51", IncomeStream.FREIBERUF);
+
+        assertThat(result.transactions()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.incomeCreated()).isZero();
+    }
+
+    @Test
+    void unrecognizedFile_isRejected() {
+        assertThatThrownBy(() -> importer.importStatement(user.getId(),
+                new ByteArrayInputStream("foo,bar\n1,2\n".getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("header");
+    }
+
+    private BankImportResult importCamt() {
+        return importer.importStatement(user.getId(),
+                new ByteArrayInputStream(CAMT.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, null, null);
+    }
+}
@@ -0,0 +1,88 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.integration.service.ReconciliationMatcher.Decision;
+import de.dreistrom.integration.service.ReconciliationMatcher.OpenInvoice;
+import de.dreistrom.integration.service.ReconciliationMatcher.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconciliationMatcherTest {
+
+    private static final OpenInvoice BERATUNG = new OpenInvoice(1L, 119000L,
+            LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 15), "FR-2026-001", "Muster AG");
+    private static final OpenInvoice WARTUNG_MAERZ = new OpenInvoice(2L, 59500L,
+            LocalDate.of(2026, 3, 1), null, "GW-2026-001", "Beispiel GmbH");
+    private static final OpenInvoice WARTUNG_APRIL = new OpenInvoice(3L, 59500L,
+            LocalDate.of(2026, 3, 4), null, "GW-2026-002", "Beispiel GmbH");
+
+    @Test
+    void exactAmountAndNumber_isMatchedOnce() {
+        ReconciliationMatcher matcher = matcher(BERATUNG, WARTUNG_MAERZ);
+
+        Outcome first = matcher.match(119000L, LocalDate.of(2026, 3, 16), "MUSTER AG", "Rechnung FR 2026 001");
+        Outcome second = matcher.match(119000L, LocalDate.of(2026, 3, 17), "MUSTER AG", "Rechnung FR 2026 001");
+
+        assertThat(first.decision()).isEqualTo(Decision.MATCHED);
+        assertThat(first.candidates().getFirst().invoice()).isEqualTo(BERATUNG);
+        assertThat(first.candidates().getFirst().score()).isEqualTo(1.0);
+        assertThat(second.decision()).isEqualTo(Decision.UNMATCHED);
+    }
+
+    @Test
+    void sameAmountWithoutNumber_goesToReview() {
+        ReconciliationMatcher matcher = matcher(BERATUNG, WARTUNG_MAERZ, WARTUNG_APRIL);
+
+        Outcome outcome = matcher.match(59500L, LocalDate.of(2026, 3, 16), "Beispiel GmbH", "Wartung");
+
+        assertThat(outcome.decision()).isEqualTo(Decision.REVIEW);
+        assertThat(outcome.candidates()).extracting(c -> c.invoice().id()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void numberDisambiguatesSameAmount() {
+        ReconciliationMatcher matcher = matcher(WARTUNG_MAERZ, WARTUNG_APRIL);
+
+        Outcome outcome = matcher.match(59500L, LocalDate.of(2026, 3, 16), "Beispiel GmbH", "GW-2026-002");
+
+        assertThat(outcome.decision()).isEqualTo(Decision.MATCHED);
+        assertThat(outcome.candidates().getFirst().invoice()).isEqualTo(WARTUNG_APRIL);
+    }
+
+    @Test
+    void partialPaymentWithNumber_goesToReview() {
+        ReconciliationMatcher matcher = matcher(BERATUNG);
+
+        Outcome outcome = matcher.match(50000L, LocalDate.of(2026, 3, 15), "Muster AG", "Anzahlung FR2026001");
+
+        assertThat(outcome.decision()).isEqualTo(Decision.REVIEW);
+        assertThat(outcome.candidates()).extracting(c -> c.invoice().id()).containsExactly(1L);
+    }
+
+    @Test
+    void amountOutsideDateWindow_isUnmatched() {
+        ReconciliationMatcher matcher = matcher(BERATUNG);
+
+        assertThat(matcher.match(119000L, LocalDate.of(2026, 9, 1), "Muster AG", "Zahlung").decision())
+                .isEqualTo(Decision.UNMATCHED);
+        assertThat(matcher.match(119000L, LocalDate.of(2026, 2, 1), "Muster AG", "Zahlung").decision())
+                .isEqualTo(Decision.UNMATCHED);
+        assertThat(matcher.match(4200L, LocalDate.of(2026, 3, 15), "Finanzamt", "Erstattung").decision())
+                .isEqualTo(Decision.UNMATCHED);
+    }
+
+    @Test
+    void numberKeys_joinAdjacentTokens() {
+        assertThat(ReconciliationMatcher.numberKeys("Re. FR-2026-001 vom 01.03."))
+                .contains("FR2026001", "RE", "2026001")
+                .doesNotContain("FR2026001VOM01");
+        assertThat(ReconciliationMatcher.normalizeNumber("fr-2026/001")).isEqualTo("FR2026001");
+    }
+
+    private static ReconciliationMatcher matcher(OpenInvoice... invoices) {
+        return new ReconciliationMatcher(List.of(invoices), 0.8, 0.4, 0.15, 60);
+    }
+}
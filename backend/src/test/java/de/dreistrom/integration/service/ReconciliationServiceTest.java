@@ -0,0 +1,176 @@
+package de.dreistrom.integration.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.domain.Client;
+import de.dreistrom.income.repository.ClientRepository;
+import de.dreistrom.integration.domain.BankTransaction;
+import de.dreistrom.integration.domain.MatchStatus;
+import de.dreistrom.integration.dto.BankImportResult;
+import de.dreistrom.integration.dto.ReconciliationResult;
+import de.dreistrom.integration.dto.ReviewItemResponse;
+import de.dreistrom.integration.repository.BankTransactionRepository;
+import de.dreistrom.invoicing.domain.Invoice;
+import de.dreistrom.invoicing.domain.InvoiceStatus;
+import de.dreistrom.invoicing.domain.InvoiceStream;
+import de.dreistrom.invoicing.domain.LineItem;
+import de.dreistrom.invoicing.domain.VatTreatment;
+import de.dreistrom.invoicing.service.InvoiceService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class ReconciliationServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    @Autowired private ReconciliationService reconciliationService;
+    @Autowired private BankStatementImporter importer;
+    @Autowired private BankTransactionRepository bankTransactionRepository;
+    @Autowired private InvoiceService invoiceService;
+    @Autowired private ClientRepository clientRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManager entityManager;
+
+    private AppUser user;
+    private Invoice beratung;
+    private Invoice wartungMaerz;
+    private Invoice wartungApril;
+
+    @BeforeEach
+    void setUp() {
+        user = appUserRepository.save(new AppUser(
+                "reconcile@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Reconciliation Tester"));
+        Client muster = clientRepository.save(new Client(user, "Muster AG", IncomeStream.FREIBERUF));
+        Client beispiel = clientRepository.save(new Client(user, "Beispiel GmbH", IncomeStream.GEWERBE));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reconcile@dreistrom.de", null, List.of()));
+
+        beratung = sentInvoice(InvoiceStream.FREIBERUF, muster, LocalDate.of(2026, 3, 1),
+                LocalDate.of(2026, 3, 15), "1000.00");
+        wartungMaerz = sentInvoice(InvoiceStream.GEWERBE, beispiel, LocalDate.of(2026, 3, 1), null, "500.00");
+        wartungApril = sentInvoice(InvoiceStream.GEWERBE, beispiel, LocalDate.of(2026, 3, 4), null, "500.00");
+    }
+
+    @Test
+    void reconcile_paysConfidentMatches_andQueuesAmbiguousCredits() {
+        Map<Long, BankTransaction> credits = importCredits(
+                "16.03.26;Muster AG;Rechnung " + beratung.getNumber().replace('-', ' ') + ";1.190,00",
+                "16.03.26;Beispiel GmbH;Wartung;595,00",
+                "20.03.26;Finanzamt;Erstattung USt;42,00");
+
+        ReconciliationResult result = reconciliationService.reconcile(user.getId(), FROM, TO);
+
+        assertThat(result).isEqualTo(new ReconciliationResult(3, 1, 1, 1));
+        assertThat(invoiceService.getById(beratung.getId(), user.getId()).getStatus())
+                .isEqualTo(InvoiceStatus.PAID);
+        assertThat(invoiceService.getById(wartungMaerz.getId(), user.getId()).getStatus())
+                .isEqualTo(InvoiceStatus.SENT);
+
+        BankTransaction paid = reload(credits.get(119000L));
+        assertThat(paid.getMatchStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(paid.getInvoiceId()).isEqualTo(beratung.getId());
+        assertThat(paid.getMatchScore()).isEqualByComparingTo("1.000");
+        assertThat(reload(credits.get(4200L)).getMatchStatus()).isEqualTo(MatchStatus.UNMATCHED);
+
+        List<ReviewItemResponse> review = reconciliationService.listReview(user.getId());
+        assertThat(review).singleElement().satisfies(item -> {
+            assertThat(item.transactionId()).isEqualTo(credits.get(59500L).getId());
+            assertThat(item.amount()).isEqualByComparingTo("595.00");
+            assertThat(item.candidates()).extracting(ReviewItemResponse.Candidate::invoiceId)
+                    .containsExactly(wartungMaerz.getId(), wartungApril.getId());
+            assertThat(item.candidates().getFirst().clientName()).isEqualTo("Beispiel GmbH");
+        });
+    }
+
+    @Test
+    void rerun_keepsReviewQueue_andConfirmPaysChosenInvoice() {
+        Map<Long, BankTransaction> credits = importCredits("16.03.26;Beispiel GmbH;Wartung;595,00");
+        reconciliationService.reconcile(user.getId(), FROM, TO);
+
+        ReconciliationResult again = reconciliationService.reconcile(user.getId(), FROM, TO);
+        assertThat(again).isEqualTo(new ReconciliationResult(1, 0, 1, 0));
+        assertThat(reconciliationService.listReview(user.getId()).getFirst().candidates()).hasSize(2);
+
+        Long transactionId = credits.get(59500L).getId();
+        reconciliationService.confirm(user.getId(), transactionId, wartungApril.getId());
+
+        BankTransaction confirmed = reload(credits.get(59500L));
+        assertThat(confirmed.getMatchStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(confirmed.getInvoiceId()).isEqualTo(wartungApril.getId());
+        assertThat(confirmed.getMatchScore()).isNotNull();
+        assertThat(invoiceService.getById(wartungApril.getId(), user.getId()).getStatus())
+                .isEqualTo(InvoiceStatus.PAID);
+        assertThat(reconciliationService.listReview(user.getId())).isEmpty();
+        assertThatThrownBy(() -> reconciliationService.confirm(user.getId(), transactionId, wartungMaerz.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dismiss_leavesCreditOutOfFurtherRuns() {
+        Map<Long, BankTransaction> credits = importCredits("16.03.26;Beispiel GmbH;Wartung;595,00");
+        reconciliationService.reconcile(user.getId(), FROM, TO);
+
+        reconciliationService.dismiss(user.getId(), credits.get(59500L).getId());
+
+        assertThat(reload(credits.get(59500L)).getMatchStatus()).isEqualTo(MatchStatus.DISMISSED);
+        assertThat(reconciliationService.reconcile(user.getId(), FROM, TO).transactions()).isZero();
+        assertThat(reconciliationService.listReview(user.getId())).isEmpty();
+    }
+
+    private Invoice sentInvoice(InvoiceStream stream, Client client, LocalDate invoiceDate,
+                                LocalDate dueDate, String net) {
+        BigDecimal netTotal = new BigDecimal(net);
+        BigDecimal vat = netTotal.multiply(new BigDecimal("0.19"));
+        Invoice invoice = invoiceService.create(user, stream, client.getId(), invoiceDate, dueDate,
+                List.of(new LineItem("Leistung", BigDecimal.ONE, netTotal, new BigDecimal("19"))),
+                netTotal, vat, netTotal.add(vat), VatTreatment.REGULAR, null);
+        return invoiceService.updateStatus(invoice.getId(), user.getId(), InvoiceStatus.SENT);
+    }
+
+    /**
+     * Import credit lines {@code date;name;purpose;amount} and return the
+     * recorded transactions by amount in cents.
+     */
+    private Map<Long, BankTransaction> importCredits(String... lines) {
+        String csv = "Buchungstag;Name;Verwendungszweck;Betrag\n" + String.join("\n", lines) + "\n";
+        BankImportResult result = importer.importStatement(user.getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, "DE02120300000000202051", null);
+        return bankTransactionRepository.findByImportBatchIdOrderByBookingDateAscIdAsc(result.importBatchId())
+                .stream()
+                .collect(Collectors.toMap(BankTransaction::getAmountCents, Function.identity()));
+    }
+
+    private BankTransaction reload(BankTransaction tx) {
+        entityManager.flush();
+        entityManager.clear();
+        return bankTransactionRepository.findById(tx.getId()).orElseThrow();
+    }
+}
@@ -153,7 +153,7 @@ class InvoiceTest {
     }
 
     @Test
-    void findByNumber_returnsUniqueInvoice() {
+    void findByUserIdAndNumber_returnsUniqueInvoice() {
         List<LineItem> items = List.of(
                 new LineItem("Item", new BigDecimal("1"), new BigDecimal("500.00"), new BigDecimal("19"))
         );
@@ -163,7 +163,7 @@ class InvoiceTest {
                 new BigDecimal("500.00"), new BigDecimal("95.00"), new BigDecimal("595.00"),
                 VatTreatment.REGULAR));
 
-        assertThat(invoiceRepository.findByNumber("FR-2026-099")).isPresent();
-        assertThat(invoiceRepository.findByNumber("FR-2026-999")).isEmpty();
+        assertThat(invoiceRepository.findByUserIdAndNumber(user.getId(), "FR-2026-099")).isPresent();
+        assertThat(invoiceRepository.findByUserIdAndNumber(user.getId(), "FR-2026-999")).isEmpty();
     }
 }
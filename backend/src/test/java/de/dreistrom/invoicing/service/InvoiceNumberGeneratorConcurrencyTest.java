@@ -0,0 +1,147 @@
+package de.dreistrom.invoicing.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.invoicing.domain.InvoiceSequence;
+import de.dreistrom.invoicing.domain.InvoiceStream;
+import de.dreistrom.invoicing.repository.InvoiceSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Numbers are allocated in committed transactions from several threads, so
+ * this class is not {@code @Transactional} and cleans up after itself.
+ */
+@SpringBootTest
+class InvoiceNumberGeneratorConcurrencyTest {
+
+    private static final int USERS = 8;
+    private static final int INVOICES_PER_USER = 25;
+
+    @Autowired private InvoiceNumberGenerator generator;
+    @Autowired private InvoiceSequenceRepository sequenceRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        String password = passwordEncoder.encode("test1234");
+        for (int i = 0; i < USERS; i++) {
+            AppUser user = appUserRepository.save(new AppUser(
+                    "numbers-" + i + "@dreistrom.de", password, "Concurrent Tester " + i));
+            userIds.add(user.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            sequenceRepository.deleteAll(sequenceRepository.findAll().stream()
+                    .filter(seq -> userIds.contains(seq.getUserId()))
+                    .toList());
+            appUserRepository.deleteAllById(userIds);
+        });
+    }
+
+    @Test
+    void concurrentUsers_eachGetAGapFreeSeries() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(USERS);
+        try {
+            List<Future<List<String>>> series = new ArrayList<>();
+            for (Long userId : userIds) {
+                series.add(pool.submit(() -> IntStream.range(0, INVOICES_PER_USER)
+                        .mapToObj(i -> tx.execute(s ->
+                                generator.nextInvoiceNumber(userId, InvoiceStream.FREIBERUF, 2026)))
+                        .toList()));
+            }
+
+            List<String> expected = IntStream.rangeClosed(1, INVOICES_PER_USER)
+                    .mapToObj(n -> String.format("FR-2026-%03d", n))
+                    .toList();
+            for (Future<List<String>> numbers : series) {
+                assertThat(numbers.get(30, TimeUnit.SECONDS)).containsExactlyElementsOf(expected);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void openInvoiceTransaction_onlyBlocksItsOwnUser() throws Exception {
+        Long busyUser = userIds.get(0);
+        Long otherUser = userIds.get(1);
+        tx.executeWithoutResult(s -> generator.nextInvoiceNumber(busyUser, InvoiceStream.FREIBERUF, 2026));
+
+        CountDownLatch allocated = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> holder = pool.submit(() -> tx.execute(s -> {
+                String number = generator.nextInvoiceNumber(busyUser, InvoiceStream.FREIBERUF, 2026);
+                allocated.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return number;
+            }));
+            assertThat(allocated.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<String> other = pool.submit(() -> tx.execute(s ->
+                    generator.nextInvoiceNumber(otherUser, InvoiceStream.FREIBERUF, 2026)));
+            assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("FR-2026-001");
+
+            Future<String> same = pool.submit(() -> tx.execute(s ->
+                    generator.nextInvoiceNumber(busyUser, InvoiceStream.FREIBERUF, 2026)));
+            Thread.sleep(200);
+            assertThat(same).isNotDone();
+
+            release.countDown();
+            assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("FR-2026-002");
+            assertThat(same.get(5, TimeUnit.SECONDS)).isEqualTo("FR-2026-003");
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackInvoice_returnsItsNumber() {
+        Long userId = userIds.get(0);
+
+        tx.executeWithoutResult(s -> {
+            generator.nextInvoiceNumber(userId, InvoiceStream.GEWERBE, 2026);
+            s.setRollbackOnly();
+        });
+
+        String number = tx.execute(s -> generator.nextInvoiceNumber(userId, InvoiceStream.GEWERBE, 2026));
+        assertThat(number).isEqualTo("GW-2026-001");
+        assertThat(sequenceRepository.findAll())
+                .filteredOn(seq -> seq.getUserId().equals(userId))
+                .extracting(InvoiceSequence::getNextValue)
+                .containsExactly(2);
+    }
+}
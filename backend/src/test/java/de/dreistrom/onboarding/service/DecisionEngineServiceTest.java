@@ -1,10 +1,9 @@
 package de.dreistrom.onboarding.service;
 
-import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import de.dreistrom.income.domain.Client;
 import de.dreistrom.income.domain.ClientType;
 import de.dreistrom.income.repository.ClientRepository;
-import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.YearAggregatesService;
 import de.dreistrom.onboarding.domain.DecisionChoice;
 import de.dreistrom.onboarding.dto.KurDecisionInput;
 import de.dreistrom.onboarding.dto.KurDecisionResponse;
@@ -25,10 +24,7 @@ import static org.mockito.Mockito.when;
 class DecisionEngineServiceTest {
 
     @Mock
-    private IncomeEntryRepository incomeEntryRepository;
-
-    @Mock
-    private ExpenseEntryRepository expenseEntryRepository;
+    private YearAggregatesService yearAggregatesService;
 
     @Mock
     private ClientRepository clientRepository;
@@ -37,7 +33,7 @@ class DecisionEngineServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new DecisionEngineService(incomeEntryRepository, expenseEntryRepository, clientRepository);
+        service = new DecisionEngineService(yearAggregatesService, clientRepository);
         // Set limits via reflection since @Value won't work in unit tests
         try {
             var currentField = DecisionEngineService.class.getDeclaredField("currentYearLimitEur");
@@ -2,6 +2,7 @@ package de.dreistrom.socialinsurance.service;
 
 import de.dreistrom.common.domain.AppUser;
 import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
+import de.dreistrom.socialinsurance.event.SocialInsuranceEntryChanged;
 import de.dreistrom.socialinsurance.dto.SocialInsuranceStatus;
 import de.dreistrom.socialinsurance.dto.SocialInsuranceStatus.RiskLevel;
 import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -26,6 +28,9 @@ class SocialInsuranceMonitorServiceTest {
     @Mock
     private SocialInsuranceEntryRepository entryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SocialInsuranceMonitorService service;
 
@@ -165,6 +170,7 @@ class SocialInsuranceMonitorServiceTest {
                 new BigDecimal("5000"), new BigDecimal("3000"));
 
         verify(entryRepository).save(any(SocialInsuranceEntry.class));
+        verify(eventPublisher).publishEvent(any(SocialInsuranceEntryChanged.class));
     }
 
     @Test
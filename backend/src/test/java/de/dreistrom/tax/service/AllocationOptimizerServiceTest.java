@@ -0,0 +1,168 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.audit.repository.EventLogRepository;
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.AllocationRuleService;
+import de.dreistrom.expense.service.ExpenseService;
+import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeService;
+import de.dreistrom.tax.dto.AllocationBounds;
+import de.dreistrom.tax.dto.AllocationCandidate;
+import de.dreistrom.tax.dto.AllocationOptimizationRequest;
+import de.dreistrom.tax.dto.AllocationOptimizationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class AllocationOptimizerServiceTest {
+
+    @Autowired private AllocationOptimizerService optimizerService;
+    @Autowired private IncomeService incomeService;
+    @Autowired private ExpenseService expenseService;
+    @Autowired private AllocationRuleService allocationRuleService;
+    @Autowired private IncomeEntryRepository incomeEntryRepository;
+    @Autowired private ExpenseEntryRepository expenseEntryRepository;
+    @Autowired private AllocationRuleRepository allocationRuleRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private EventLogRepository eventLogRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    private AppUser user;
+    private AllocationRule office;
+    private AllocationRule car;
+
+    @BeforeEach
+    void setUp() {
+        incomeEntryRepository.deleteAll();
+        expenseEntryRepository.deleteAll();
+        allocationRuleRepository.deleteAll();
+        appUserRepository.deleteAll();
+        eventLogRepository.deleteAll();
+
+        user = appUserRepository.save(new AppUser(
+                "optimizer@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Optimizer Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("optimizer@dreistrom.de", null, List.of()));
+
+        incomeService.create(user, IncomeStream.FREIBERUF,
+                new BigDecimal("60000.00"), LocalDate.of(2025, 3, 1), null, null, null);
+        incomeService.create(user, IncomeStream.GEWERBE,
+                new BigDecimal("45000.00"), LocalDate.of(2025, 6, 1), null, null, null);
+
+        office = allocationRuleService.create(user, "Büro", (short) 40, (short) 40, (short) 20);
+        car = allocationRuleService.create(user, "Auto", (short) 50, (short) 20, (short) 30);
+        expenseService.create(user, new BigDecimal("12000.00"), "Miete",
+                LocalDate.of(2025, 1, 31), office.getId(), null, null);
+        expenseService.create(user, new BigDecimal("8000.00"), "Leasing",
+                LocalDate.of(2025, 2, 28), car.getId(), null, null);
+    }
+
+    @Test
+    void bestCandidate_isNoWorseThanCurrentAllocation() {
+        AllocationOptimizationResult result = optimizerService.optimize(user.getId(),
+                new AllocationOptimizationRequest(2025, List.of(
+                        new AllocationBounds(office.getId(), null, null, null, null, 10, null),
+                        new AllocationBounds(car.getId(), 20, 80, null, null, 30, 50)),
+                        5, 3));
+
+        assertThat(result.current().delta()).isEqualByComparingTo("0");
+        assertThat(result.candidates()).hasSizeLessThanOrEqualTo(3).isNotEmpty();
+
+        AllocationCandidate best = result.candidates().getFirst();
+        assertThat(best.delta()).isLessThanOrEqualTo(BigDecimal.ZERO);
+        assertThat(best.totalTax()).isEqualByComparingTo(result.current().totalTax().add(best.delta()));
+        assertThat(result.candidates())
+                .extracting(AllocationCandidate::totalTax)
+                .isSortedAccordingTo(BigDecimal::compareTo);
+
+        // Non-dominated splits never leave more private share than the bounds require
+        assertThat(best.rules()).extracting(AllocationCandidate.RuleSplit::personalPct)
+                .containsExactly(10, 30);
+        assertThat(best.rules().get(1).freiberufPct()).isBetween(20, 80);
+    }
+
+    @Test
+    void currentAllocation_matchesAggregateExpenses() {
+        AllocationOptimizationResult result = optimizerService.optimize(user.getId(),
+                new AllocationOptimizationRequest(2025, List.of(
+                        new AllocationBounds(office.getId(), null, null, null, null, null, null)),
+                        null, null));
+
+        // 40 % of 12,000 + 50 % of 8,000; 40 % of 12,000 + 20 % of 8,000
+        assertThat(result.current().freiberufExpenses()).isEqualByComparingTo("8800.00");
+        assertThat(result.current().gewerbeExpenses()).isEqualByComparingTo("6400.00");
+        assertThat(result.current().rules()).containsExactly(
+                new AllocationCandidate.RuleSplit(office.getId(), 40, 40, 20));
+    }
+
+    @Test
+    void currentAllocation_usesStoredPerEntrySplit() {
+        // Each cent rounds its 50 % Freiberuf share up on its own entry
+        for (int i = 0; i < 3; i++) {
+            expenseService.create(user, new BigDecimal("0.01"), "Parkgebühr",
+                    LocalDate.of(2025, 3, 1), car.getId(), null, null);
+        }
+
+        AllocationOptimizationResult result = optimizerService.optimize(user.getId(),
+                new AllocationOptimizationRequest(2025, List.of(
+                        new AllocationBounds(car.getId(), 50, 50, 20, 20, 30, 30)),
+                        null, null));
+
+        assertThat(result.current().freiberufExpenses()).isEqualByComparingTo("8800.03");
+        assertThat(result.current().gewerbeExpenses()).isEqualByComparingTo("6400.00");
+        assertThat(result.candidates()).singleElement().satisfies(unchanged -> {
+            assertThat(unchanged.freiberufExpenses()).isEqualByComparingTo("8800.03");
+            assertThat(unchanged.delta()).isEqualByComparingTo("0");
+        });
+    }
+
+    @Test
+    void paretoSplits_keepsOnlyUndominatedSplits() {
+        List<AllocationOptimizerService.Split> splits = AllocationOptimizerService.paretoSplits(
+                new AllocationBounds(1L, 0, 60, 0, 70, 10, 100), 10);
+
+        assertThat(splits).allSatisfy(s -> {
+            assertThat(s.personalPct()).isEqualTo(10);
+            assertThat(s.freiberufPct() + s.gewerbePct()).isEqualTo(90);
+        });
+        assertThat(splits).extracting(AllocationOptimizerService.Split::freiberufPct)
+                .containsExactly(60, 50, 40, 30, 20);
+    }
+
+    @Test
+    void rejectsRulesWithoutExpensesAndInfeasibleBounds() {
+        assertThatThrownBy(() -> optimizerService.optimize(user.getId(),
+                new AllocationOptimizationRequest(2024, List.of(
+                        new AllocationBounds(office.getId(), null, null, null, null, null, null)),
+                        null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> optimizerService.optimize(user.getId(),
+                new AllocationOptimizationRequest(2025, List.of(
+                        new AllocationBounds(office.getId(), 0, 10, 0, 10, 0, 10)),
+                        null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.expense.domain.AllocationRule;
+import de.dreistrom.expense.domain.DepreciationAsset;
+import de.dreistrom.expense.domain.ExpenseEntry;
+import de.dreistrom.expense.repository.AllocationRuleRepository;
+import de.dreistrom.expense.repository.DepreciationAssetRepository;
+import de.dreistrom.expense.repository.ExpenseEntryRepository;
+import de.dreistrom.expense.service.DepreciationService;
+import de.dreistrom.income.service.IncomeService;
+import de.dreistrom.socialinsurance.domain.SocialInsuranceEntry;
+import de.dreistrom.socialinsurance.repository.SocialInsuranceEntryRepository;
+import de.dreistrom.tax.dto.AnnualTaxPackage;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AnnualTaxPackageServiceTest {
+
+    @Autowired private AnnualTaxPackageService annualTaxPackageService;
+    @Autowired private IncomeService incomeService;
+    @Autowired private AllocationRuleRepository allocationRuleRepository;
+    @Autowired private ExpenseEntryRepository expenseEntryRepository;
+    @Autowired private DepreciationAssetRepository depreciationAssetRepository;
+    @Autowired private DepreciationService depreciationService;
+    @Autowired private SocialInsuranceEntryRepository socialInsuranceEntryRepository;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManager entityManager;
+
+    private AppUser user;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        user = appUserRepository.save(new AppUser(
+                "package@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Package Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("package@dreistrom.de", null, List.of()));
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void assemble_runsFixedNumberOfQueries() {
+        incomeService.create(user, IncomeStream.EMPLOYMENT, new BigDecimal("40000"),
+                LocalDate.of(2025, 6, 30), "Gehalt", null, null);
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("30000"),
+                LocalDate.of(2025, 4, 15), "Beratung", null, null);
+        incomeService.create(user, IncomeStream.GEWERBE, new BigDecimal("50000"),
+                LocalDate.of(2025, 8, 15), "Verkauf", null, null);
+
+        AllocationRule office = allocationRuleRepository.save(
+                new AllocationRule(user, "Büro", (short) 60, (short) 30, (short) 10));
+        AllocationRule car = allocationRuleRepository.save(
+                new AllocationRule(user, "Auto", (short) 20, (short) 70, (short) 10));
+        for (AllocationRule rule : List.of(office, car)) {
+            ExpenseEntry expense = expenseEntryRepository.save(new ExpenseEntry(user,
+                    new BigDecimal("3600.00"), rule.getName(), LocalDate.of(2025, 1, 1),
+                    rule, null, null));
+            depreciationService.materializeSchedule(depreciationAssetRepository.save(
+                    new DepreciationAsset(user, rule.getName(),
+                            LocalDate.of(2025, 1, 1), new BigDecimal("3600.00"),
+                            36, new BigDecimal("1200.00"), expense)));
+        }
+        for (int month = 1; month <= 12; month++) {
+            socialInsuranceEntryRepository.save(new SocialInsuranceEntry(user, 2025, month,
+                    new BigDecimal("30"), new BigDecimal("15"),
+                    new BigDecimal("3000.00"), new BigDecimal("2000.00")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        AnnualTaxPackage pkg = annualTaxPackageService.assemble(user.getId(), 2025);
+        long firstRun = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        annualTaxPackageService.assemble(user.getId(), 2025);
+        long secondRun = statistics.getPrepareStatementCount();
+
+        // Income totals, expense totals, scheduled AfA per stream, social insurance
+        assertThat(firstRun).isEqualTo(4);
+        assertThat(secondRun).isEqualTo(4);
+
+        // 1200 × 60 % + 1200 × 20 %; 1200 × 30 % + 1200 × 70 %
+        assertThat(pkg.anlageS().afaBetrag()).isEqualByComparingTo("960.00");
+        assertThat(pkg.anlageG().afaBetrag()).isEqualByComparingTo("1200.00");
+        assertThat(pkg.euerFreiberuf().depreciation()).isEqualByComparingTo("960.00");
+        assertThat(pkg.euerGewerbe().totalIncome()).isEqualByComparingTo("50000");
+        assertThat(pkg.vorsorgeaufwand().gesamtVorsorge()).isEqualByComparingTo(
+                new BigDecimal("36000.00").multiply(new BigDecimal("0.196")));
+    }
+}
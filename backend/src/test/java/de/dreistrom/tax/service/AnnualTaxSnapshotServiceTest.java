@@ -0,0 +1,116 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.common.domain.AppUser;
+import de.dreistrom.common.domain.IncomeStream;
+import de.dreistrom.common.repository.AppUserRepository;
+import de.dreistrom.income.service.IncomeService;
+import de.dreistrom.tax.domain.AnnualExportFormat;
+import de.dreistrom.tax.domain.AnnualTaxSnapshot;
+import de.dreistrom.tax.dto.AnnualTaxPackage;
+import de.dreistrom.tax.repository.AnnualTaxSnapshotRepository;
+import de.dreistrom.tax.repository.ExportBlobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class AnnualTaxSnapshotServiceTest {
+
+    @Autowired private AnnualTaxSnapshotService snapshotService;
+    @Autowired private AnnualTaxSnapshotRepository snapshotRepository;
+    @Autowired private ExportBlobRepository exportBlobRepository;
+    @Autowired private IncomeService incomeService;
+    @Autowired private AppUserRepository appUserRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManager entityManager;
+
+    private AppUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = appUserRepository.save(new AppUser(
+                "snapshot@dreistrom.de",
+                passwordEncoder.encode("test1234"),
+                "Snapshot Tester"));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("snapshot@dreistrom.de", null, List.of()));
+
+        incomeService.create(user, IncomeStream.FREIBERUF, new BigDecimal("40000"),
+                LocalDate.of(2024, 5, 15), "Beratung", null, null);
+    }
+
+    @Test
+    void repeatedReads_areServedFromTheSnapshot() {
+        AnnualTaxPackage first = snapshotService.getPackage(user.getId(), 2024);
+        AnnualTaxSnapshot snapshot = reload(2024);
+        byte[] csv = snapshotService.getExport(user.getId(), 2024, AnnualExportFormat.CSV, null);
+
+        AnnualTaxPackage second = snapshotService.getPackage(user.getId(), 2024);
+        byte[] csvAgain = snapshotService.getExport(user.getId(), 2024, AnnualExportFormat.CSV, null);
+        AnnualTaxSnapshot after = reload(2024);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.anlageS().einnahmen()).isEqualByComparingTo("40000");
+        assertThat(after.getBuiltAt()).isEqualTo(snapshot.getBuiltAt());
+        assertThat(csvAgain).isEqualTo(csv);
+        assertThat(after.getCsvSha256())
+                .isEqualTo(AnnualTaxSnapshotService.sha256(csv))
+                .satisfies(sha -> assertThat(exportBlobRepository.existsById(sha)).isTrue());
+    }
+
+    @Test
+    void xmlRendering_isKeptPerDisplayName() {
+        byte[] xml = snapshotService.getExport(user.getId(), 2024, AnnualExportFormat.XML, "Erika Muster");
+        byte[] renamed = snapshotService.getExport(user.getId(), 2024, AnnualExportFormat.XML, "Erika Beispiel");
+
+        assertThat(new String(renamed, StandardCharsets.UTF_8)).contains("Erika Beispiel");
+        assertThat(reload(2024).getXmlDisplayName()).isEqualTo("Erika Beispiel");
+        // The first rendering is no longer referenced by any snapshot
+        assertThat(exportBlobRepository.existsById(AnnualTaxSnapshotService.sha256(xml))).isFalse();
+    }
+
+    @Test
+    void writeInYear_marksSnapshotStale_andRebuildRerendersCachedExports() {
+        snapshotService.getPackage(user.getId(), 2024);
+        snapshotService.getPackage(user.getId(), 2023);
+        byte[] csv = snapshotService.getExport(user.getId(), 2024, AnnualExportFormat.CSV, null);
+        entityManager.flush();
+
+        incomeService.create(user, IncomeStream.GEWERBE, new BigDecimal("15000"),
+                LocalDate.of(2024, 9, 1), "Verkauf", null, null);
+
+        assertThat(reload(2024).isCurrent()).isFalse();
+        assertThat(reload(2023).isCurrent()).isTrue();
+
+        snapshotService.rebuildStale(user.getId());
+
+        AnnualTaxSnapshot rebuilt = reload(2024);
+        assertThat(rebuilt.isCurrent()).isTrue();
+        assertThat(rebuilt.getCsvSha256()).isNotNull()
+                .isNotEqualTo(AnnualTaxSnapshotService.sha256(csv));
+        assertThat(exportBlobRepository.existsById(AnnualTaxSnapshotService.sha256(csv))).isFalse();
+        assertThat(snapshotService.getPackage(user.getId(), 2024).anlageG().einnahmen())
+                .isEqualByComparingTo("15000");
+    }
+
+    private AnnualTaxSnapshot reload(int year) {
+        entityManager.flush();
+        entityManager.clear();
+        return snapshotRepository.findByUserIdAndTaxYear(user.getId(), year).orElseThrow();
+    }
+}
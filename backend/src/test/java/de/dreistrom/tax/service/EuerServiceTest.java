@@ -8,9 +8,9 @@ import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
 import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import de.dreistrom.income.domain.Client;
-import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeService;
 import de.dreistrom.tax.dto.EuerResult;
 import de.dreistrom.tax.service.EuerService.DualStreamEuer;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +36,7 @@ class EuerServiceTest {
 
     @Autowired private EuerService euerService;
     @Autowired private IncomeEntryRepository incomeEntryRepository;
+    @Autowired private IncomeService incomeService;
     @Autowired private ExpenseEntryRepository expenseEntryRepository;
     @Autowired private AllocationRuleRepository allocationRuleRepository;
     @Autowired private ClientRepository clientRepository;
@@ -80,9 +81,9 @@ class EuerServiceTest {
         void incomeOnlyWithoutExpenses() {
             Client client = clientRepository.save(
                     new Client(user, "IT Beratung", IncomeStream.FREIBERUF));
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("60000"),
-                    LocalDate.of(2024, 6, 15), "Beratung", client, null));
+                    LocalDate.of(2024, 6, 15), "Beratung", client, null);
 
             EuerResult result = euerService.generate(
                     user.getId(), IncomeStream.FREIBERUF, 2024);
@@ -94,9 +95,9 @@ class EuerServiceTest {
 
         @Test
         void incomeAndExpenses() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("80000"),
-                    LocalDate.of(2024, 6, 15), "Project", null, null));
+                    LocalDate.of(2024, 6, 15), "Project", null, null);
 
             AllocationRule rule = allocationRuleRepository.save(
                     new AllocationRule(user, "Office", (short) 100, (short) 0, (short) 0));
@@ -114,9 +115,9 @@ class EuerServiceTest {
 
         @Test
         void sharedExpensesAllocatedByRatio() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
-                    LocalDate.of(2024, 6, 15), "Consulting", null, null));
+                    LocalDate.of(2024, 6, 15), "Consulting", null, null);
 
             // 60% Freiberuf, 40% Gewerbe allocation
             AllocationRule rule = allocationRuleRepository.save(
@@ -135,12 +136,12 @@ class EuerServiceTest {
 
         @Test
         void excludesGewerbeIncome() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("30000"),
-                    LocalDate.of(2024, 3, 15), "Consulting", null, null));
-            incomeEntryRepository.save(new IncomeEntry(
+                    LocalDate.of(2024, 3, 15), "Consulting", null, null);
+            incomeService.create(
                     user, IncomeStream.GEWERBE, new BigDecimal("20000"),
-                    LocalDate.of(2024, 6, 15), "Onlineshop", null, null));
+                    LocalDate.of(2024, 6, 15), "Onlineshop", null, null);
 
             EuerResult result = euerService.generate(
                     user.getId(), IncomeStream.FREIBERUF, 2024);
@@ -155,9 +156,9 @@ class EuerServiceTest {
 
         @Test
         void gewerbeIncomeAndExpenses() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.GEWERBE, new BigDecimal("45000"),
-                    LocalDate.of(2024, 8, 15), "Onlineshop", null, null));
+                    LocalDate.of(2024, 8, 15), "Onlineshop", null, null);
 
             AllocationRule rule = allocationRuleRepository.save(
                     new AllocationRule(user, "Warehouse", (short) 0, (short) 100, (short) 0));
@@ -176,9 +177,9 @@ class EuerServiceTest {
 
         @Test
         void lossWhenExpensesExceedIncome() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.GEWERBE, new BigDecimal("5000"),
-                    LocalDate.of(2024, 6, 15), "Sales", null, null));
+                    LocalDate.of(2024, 6, 15), "Sales", null, null);
 
             AllocationRule rule = allocationRuleRepository.save(
                     new AllocationRule(user, "Equipment", (short) 0, (short) 100, (short) 0));
@@ -198,12 +199,12 @@ class EuerServiceTest {
 
         @Test
         void generatesBothStreams() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("60000"),
-                    LocalDate.of(2024, 6, 15), "Beratung", null, null));
-            incomeEntryRepository.save(new IncomeEntry(
+                    LocalDate.of(2024, 6, 15), "Beratung", null, null);
+            incomeService.create(
                     user, IncomeStream.GEWERBE, new BigDecimal("40000"),
-                    LocalDate.of(2024, 8, 15), "Verkauf", null, null));
+                    LocalDate.of(2024, 8, 15), "Verkauf", null, null);
 
             DualStreamEuer dual = euerService.generateDual(user.getId(), 2024);
 
@@ -232,12 +233,12 @@ class EuerServiceTest {
 
         @Test
         void excludesIncomeFromOtherYears() {
-            incomeEntryRepository.save(new IncomeEntry(
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
-                    LocalDate.of(2023, 6, 15), "Prior year", null, null));
-            incomeEntryRepository.save(new IncomeEntry(
+                    LocalDate.of(2023, 6, 15), "Prior year", null, null);
+            incomeService.create(
                     user, IncomeStream.FREIBERUF, new BigDecimal("20000"),
-                    LocalDate.of(2024, 3, 15), "This year", null, null));
+                    LocalDate.of(2024, 3, 15), "This year", null, null);
 
             EuerResult result = euerService.generate(
                     user.getId(), IncomeStream.FREIBERUF, 2024);
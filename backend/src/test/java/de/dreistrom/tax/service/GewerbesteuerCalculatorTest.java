@@ -19,8 +19,8 @@ class GewerbesteuerCalculatorTest {
 
     @BeforeEach
     void setUp() {
-        // Use constructor with null repos since we only test compute()
-        calculator = new GewerbesteuerCalculator(null, null);
+        // Use constructor with null dependencies since we only test compute()
+        calculator = new GewerbesteuerCalculator(null);
         ReflectionTestUtils.setField(calculator, "hebesatz", 410);
     }
 
@@ -0,0 +1,126 @@
+package de.dreistrom.tax.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.dreistrom.tax.domain.TaxYearParams;
+import de.dreistrom.tax.dto.ScenarioGridRequest;
+import de.dreistrom.tax.dto.ScenarioResult;
+import de.dreistrom.tax.dto.TaxCalculationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScenarioServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IncomeTaxCalculator incomeTaxCalculator = new IncomeTaxCalculator();
+    private ScenarioService service;
+
+    @BeforeEach
+    void setUp() {
+        GewerbesteuerCalculator gewerbesteuerCalculator = new GewerbesteuerCalculator(null);
+        ReflectionTestUtils.setField(gewerbesteuerCalculator, "hebesatz", 410);
+
+        service = new ScenarioService(incomeTaxCalculator, gewerbesteuerCalculator, objectMapper);
+        ReflectionTestUtils.setField(service, "maxScenarios", 100_000);
+        ReflectionTestUtils.setField(service, "defaultHebesatz", 410);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void paragraph35Credit_reducesIncomeTaxBeforeSoli() {
+        ScenarioResult result = service.evaluate(TaxYearParams.of2025(), 0,
+                new BigDecimal("60000"), BigDecimal.ZERO, new BigDecimal("100000"),
+                BigDecimal.ZERO, new BigDecimal("20000"), 410);
+
+        // Gewerbeertrag 80,000 − 24,500 = 55,500 → Messbetrag 1,942.50 → GewSt 7,964.25
+        assertThat(result.gewerbesteuer()).isEqualByComparingTo("7964.25");
+        assertThat(result.paragraph35Credit()).isEqualByComparingTo("7770.00");
+        assertThat(result.incomeTax())
+                .isEqualByComparingTo(result.incomeTaxBeforeCredit().subtract(new BigDecimal("7770.00")));
+        assertThat(result.solidaritaetszuschlag())
+                .isEqualByComparingTo(incomeTaxCalculator.computeSoli(TaxYearParams.of2025(), result.incomeTax()));
+        assertThat(result.totalTax()).isEqualByComparingTo(result.incomeTax()
+                .add(result.solidaritaetszuschlag()).add(result.gewerbesteuer()));
+    }
+
+    @Test
+    void withoutGewerbe_matchesPlainIncomeTaxCalculation() {
+        TaxYearParams params = TaxYearParams.of2024();
+        ScenarioResult result = service.evaluate(params, 0,
+                new BigDecimal("50000"), new BigDecimal("30000"), BigDecimal.ZERO,
+                new BigDecimal("5000"), BigDecimal.ZERO, 410);
+        TaxCalculationResult expected = incomeTaxCalculator.calculate(params,
+                new BigDecimal("50000"), new BigDecimal("30000"), BigDecimal.ZERO,
+                new BigDecimal("5000"), BigDecimal.ZERO);
+
+        assertThat(result.paragraph35Credit()).isEqualByComparingTo("0");
+        assertThat(result.incomeTax()).isEqualByComparingTo(expected.incomeTax());
+        assertThat(result.solidaritaetszuschlag()).isEqualByComparingTo(expected.solidaritaetszuschlag());
+        assertThat(result.totalTax()).isEqualByComparingTo(expected.totalTax());
+    }
+
+    @Test
+    void stream_writesEveryScenarioInGridOrder() throws Exception {
+        List<BigDecimal> gewerbe = IntStream.range(0, 50)
+                .mapToObj(i -> BigDecimal.valueOf(10_000L * i)).toList();
+        ScenarioGridRequest request = new ScenarioGridRequest(2025,
+                List.of(BigDecimal.ZERO, new BigDecimal("45000")),
+                List.of(BigDecimal.ZERO, new BigDecimal("20000"), new BigDecimal("60000")),
+                gewerbe,
+                null,
+                List.of(BigDecimal.ZERO, new BigDecimal("15000")),
+                List.of(250, 410, 490));
+
+        ScenarioService.ScenarioGrid grid = service.grid(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.stream(grid, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(grid.size()).isEqualTo(2 * 3 * 50 * 2 * 3);
+        assertThat(lines).hasSize(1800);
+
+        List<Integer> indexes = new ArrayList<>();
+        for (String line : lines) {
+            indexes.add(objectMapper.readTree(line).get("index").asInt());
+        }
+        assertThat(indexes).isEqualTo(IntStream.range(0, 1800).boxed().toList());
+
+        // Hebesatz varies fastest, employment income slowest
+        JsonNode last = objectMapper.readTree(lines[1799]);
+        assertThat(last.get("hebesatz").asInt()).isEqualTo(490);
+        assertThat(last.get("employmentIncome").decimalValue()).isEqualByComparingTo("45000");
+        assertThat(last.get("gewerbeIncome").decimalValue()).isEqualByComparingTo("490000");
+    }
+
+    @Test
+    void grid_defaultsOmittedAxes_andRejectsOversizedGrids() {
+        ScenarioService.ScenarioGrid grid = service.grid(new ScenarioGridRequest(2025,
+                null, List.of(new BigDecimal("40000")), null, null, null, null));
+
+        assertThat(grid.size()).isEqualTo(1);
+        assertThat(grid.hebesatz()).containsExactly(410);
+        assertThat(grid.gewerbeIncome()).containsExactly(BigDecimal.ZERO);
+
+        List<BigDecimal> hundred = IntStream.range(0, 100).mapToObj(BigDecimal::valueOf).toList();
+        assertThatThrownBy(() -> service.grid(new ScenarioGridRequest(2025,
+                hundred, hundred, hundred, null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.tax.domain.TaxYearParams;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The lookup path must return exactly what the §32a formula returns —
+ * same value and same scale — for every whole-euro zvE.
+ */
+class TariffTableTest {
+
+    private final IncomeTaxCalculator calculator = new IncomeTaxCalculator();
+
+    @ParameterizedTest
+    @ValueSource(ints = {2024, 2025})
+    void everyEuroUpToReichensteuer_matchesFormula(int year) {
+        TaxYearParams params = TaxYearParams.forYear(year);
+        long upper = params.zone4Upper().longValueExact() + 10_000;
+
+        List<String> mismatches = new ArrayList<>();
+        for (long zvE = 0; zvE <= upper; zvE++) {
+            BigDecimal amount = BigDecimal.valueOf(zvE);
+            BigDecimal expected = IncomeTaxCalculator.progressiveTaxFormula(params, amount);
+            BigDecimal actual = calculator.computeProgressiveTax(params, amount);
+            if (!expected.equals(actual) && mismatches.size() < 10) {
+                mismatches.add(zvE + ": " + expected + " != " + actual);
+            }
+        }
+
+        assertThat(mismatches).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1000000", "987654321", "1E+12", "5000000000000000", "1E+20"})
+    void linearTail_matchesFormula(String zvE) {
+        TaxYearParams params = TaxYearParams.of2025();
+        BigDecimal amount = new BigDecimal(zvE);
+
+        assertThat(calculator.computeProgressiveTax(params, amount))
+                .isEqualTo(IncomeTaxCalculator.progressiveTaxFormula(params, amount));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"15000.50", "45000.00", "45000.999", "-1", "0.00"})
+    void nonIntegralAndNonPositiveZvE_matchFormula(String zvE) {
+        TaxYearParams params = TaxYearParams.of2024();
+        BigDecimal amount = new BigDecimal(zvE);
+
+        assertThat(calculator.computeProgressiveTax(params, amount))
+                .isEqualTo(IncomeTaxCalculator.progressiveTaxFormula(params, amount));
+    }
+}
@@ -8,9 +8,9 @@ import de.dreistrom.expense.domain.ExpenseEntry;
 import de.dreistrom.expense.repository.AllocationRuleRepository;
 import de.dreistrom.expense.repository.ExpenseEntryRepository;
 import de.dreistrom.income.domain.Client;
-import de.dreistrom.income.domain.IncomeEntry;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
+import de.dreistrom.income.service.IncomeService;
 import de.dreistrom.tax.dto.TaxCalculationResult;
 import de.dreistrom.tax.event.TaxCalculated;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +37,7 @@ class TaxAssessmentServiceTest {
 
     @Autowired private TaxAssessmentService taxAssessmentService;
     @Autowired private IncomeEntryRepository incomeEntryRepository;
+    @Autowired private IncomeService incomeService;
     @Autowired private ExpenseEntryRepository expenseEntryRepository;
     @Autowired private AllocationRuleRepository allocationRuleRepository;
     @Autowired private ClientRepository clientRepository;
@@ -79,15 +80,15 @@ class TaxAssessmentServiceTest {
                 new Client(user, "IT Kunde", IncomeStream.FREIBERUF));
 
         // Freiberuf income: 3 entries totalling €60,000
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("20000"),
-                LocalDate.of(2024, 3, 15), "Project A", client, null));
-        incomeEntryRepository.save(new IncomeEntry(
+                LocalDate.of(2024, 3, 15), "Project A", client, null);
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("25000"),
-                LocalDate.of(2024, 6, 15), "Project B", client, null));
-        incomeEntryRepository.save(new IncomeEntry(
+                LocalDate.of(2024, 6, 15), "Project B", client, null);
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("15000"),
-                LocalDate.of(2024, 9, 15), "Project C", client, null));
+                LocalDate.of(2024, 9, 15), "Project C", client, null);
 
         // Business expenses: €12,000 allocated 100% Freiberuf
         AllocationRule rule = allocationRuleRepository.save(
@@ -113,19 +114,19 @@ class TaxAssessmentServiceTest {
                 new Client(user, "Onlineshop", IncomeStream.GEWERBE));
 
         // Employment: €45,000
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.EMPLOYMENT, new BigDecimal("45000"),
-                LocalDate.of(2024, 6, 30), "Gehalt", null, null));
+                LocalDate.of(2024, 6, 30), "Gehalt", null, null);
 
         // Freiberuf: €20,000
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("20000"),
-                LocalDate.of(2024, 4, 15), "Beratung", freiberufClient, null));
+                LocalDate.of(2024, 4, 15), "Beratung", freiberufClient, null);
 
         // Gewerbe: €15,000
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.GEWERBE, new BigDecimal("15000"),
-                LocalDate.of(2024, 8, 15), "Verkauf", gewerbeClient, null));
+                LocalDate.of(2024, 8, 15), "Verkauf", gewerbeClient, null);
 
         TaxCalculationResult result = taxAssessmentService.assess(user.getId(), 2024);
 
@@ -139,9 +140,9 @@ class TaxAssessmentServiceTest {
 
     @Test
     void publishesTaxCalculatedEvent() {
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
-                LocalDate.of(2024, 6, 15), "Beratung", null, null));
+                LocalDate.of(2024, 6, 15), "Beratung", null, null);
 
         taxAssessmentService.assess(user.getId(), 2024);
 
@@ -152,14 +153,50 @@ class TaxAssessmentServiceTest {
         assertThat(event.getTotalTax().signum()).isPositive();
     }
 
+    @Test
+    void repeatedAssessment_isServedFromCacheWithoutNewEvent() {
+        incomeService.create(
+                user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
+                LocalDate.of(2024, 6, 15), "Beratung", null, null);
+
+        TaxCalculationResult first = taxAssessmentService.assess(user.getId(), 2024);
+        TaxCalculationResult second = taxAssessmentService.assess(user.getId(), 2024);
+
+        assertThat(second).isSameAs(first);
+        assertThat(events.stream(TaxCalculated.class).count()).isEqualTo(1);
+    }
+
+    @Test
+    void incomeWrite_invalidatesCachedAssessment() {
+        incomeService.create(
+                user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
+                LocalDate.of(2024, 6, 15), "Beratung", null, null);
+        TaxCalculationResult before = taxAssessmentService.assess(user.getId(), 2024);
+
+        // A write in another year bumps the version but leaves 2024 unchanged
+        incomeService.create(
+                user, IncomeStream.FREIBERUF, new BigDecimal("5000"),
+                LocalDate.of(2023, 6, 15), "Vorjahr", null, null);
+        TaxCalculationResult unchanged = taxAssessmentService.assess(user.getId(), 2024);
+
+        incomeService.create(
+                user, IncomeStream.FREIBERUF, new BigDecimal("10000"),
+                LocalDate.of(2024, 9, 15), "Nachtrag", null, null);
+        TaxCalculationResult after = taxAssessmentService.assess(user.getId(), 2024);
+
+        assertThat(unchanged).isNotSameAs(before).isEqualTo(before);
+        assertThat(after.freiberufIncome()).isEqualByComparingTo("60000");
+        assertThat(events.stream(TaxCalculated.class).count()).isEqualTo(2);
+    }
+
     @Test
     void excludesIncomeFromOtherYears() {
-        incomeEntryRepository.save(new IncomeEntry(
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("50000"),
-                LocalDate.of(2023, 6, 15), "Prior year", null, null));
-        incomeEntryRepository.save(new IncomeEntry(
+                LocalDate.of(2023, 6, 15), "Prior year", null, null);
+        incomeService.create(
                 user, IncomeStream.FREIBERUF, new BigDecimal("10000"),
-                LocalDate.of(2024, 3, 15), "This year", null, null));
+                LocalDate.of(2024, 3, 15), "This year", null, null);
 
         TaxCalculationResult result = taxAssessmentService.assess(user.getId(), 2024);
 
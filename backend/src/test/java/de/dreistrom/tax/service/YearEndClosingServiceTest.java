@@ -0,0 +1,122 @@
+package de.dreistrom.tax.service;
+
+import de.dreistrom.expense.service.DepreciationService;
+import de.dreistrom.tax.domain.YearEndClosingRun;
+import de.dreistrom.tax.domain.YearEndClosingStatus;
+import de.dreistrom.tax.repository.YearEndClosingRunRepository;
+import de.dreistrom.tax.repository.YearEndClosingUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class YearEndClosingServiceTest {
+
+    @Mock
+    private YearEndClosingStep step;
+
+    @Mock
+    private YearEndClosingRunRepository runRepository;
+
+    @Mock
+    private YearEndClosingUserRepository closingUserRepository;
+
+    @Mock
+    private DepreciationService depreciationService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private YearEndClosingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new YearEndClosingService(step, runRepository, closingUserRepository,
+                depreciationService, meterRegistry);
+        ReflectionTestUtils.setField(service, "chunkSize", 10);
+        ReflectionTestUtils.setField(service, "dbConcurrency", 3);
+        service.start();
+
+        when(runRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void closesEveryOpenUser_withBoundedConcurrency() {
+        when(runRepository.findById(2025)).thenReturn(Optional.empty());
+        List<Long> users = LongStream.rangeClosed(1, 45).boxed().toList();
+        when(closingUserRepository.findOpenUserIds(2025)).thenReturn(users);
+
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(step.closeUser(anyLong(), eq(2025))).thenAnswer(inv -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            active.decrementAndGet();
+            return false;
+        });
+
+        YearEndClosingRun run = service.close(2025);
+
+        verify(depreciationService).materializeMissingSchedules();
+        users.forEach(userId -> verify(step).closeUser(userId, 2025));
+        assertThat(maxActive.get()).isBetween(1, 3);
+        assertThat(run.getStatus()).isEqualTo(YearEndClosingStatus.COMPLETED);
+        assertThat(run.getTotalUsers()).isEqualTo(45);
+        assertThat(run.getClosedUsers()).isEqualTo(45);
+        assertThat(meterRegistry.get("dreistrom.yearend.closed").counter().count()).isEqualTo(45);
+        assertThat(meterRegistry.get("dreistrom.yearend.remaining").gauge().value()).isZero();
+        assertThat(meterRegistry.get("dreistrom.yearend.throughput").gauge().value()).isPositive();
+    }
+
+    @Test
+    void failedUser_isCheckpointedAndDoesNotStopTheRun() {
+        when(runRepository.findById(2025)).thenReturn(Optional.empty());
+        when(closingUserRepository.findOpenUserIds(2025)).thenReturn(List.of(1L, 2L, 3L));
+        when(step.closeUser(anyLong(), eq(2025))).thenReturn(false);
+        when(step.closeUser(2L, 2025)).thenThrow(new IllegalStateException("boom"));
+
+        YearEndClosingRun run = service.close(2025);
+
+        verify(step).recordFailure(eq(2L), eq(2025), anyString());
+        verify(step, times(3)).closeUser(anyLong(), anyInt());
+        assertThat(run.getClosedUsers()).isEqualTo(2);
+        assertThat(run.getFailedUsers()).isEqualTo(1);
+        assertThat(meterRegistry.get("dreistrom.yearend.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void resumedRun_onlyClosesUsersThatAreStillOpen() {
+        YearEndClosingRun interrupted = new YearEndClosingRun(2025);
+        interrupted.start(3);
+        when(runRepository.findById(2025)).thenReturn(Optional.of(interrupted));
+        // Users 1 and 2 were checkpointed before the crash
+        when(closingUserRepository.findOpenUserIds(2025)).thenReturn(List.of(3L));
+
+        YearEndClosingRun run = service.close(2025);
+
+        verify(step).closeUser(3L, 2025);
+        verify(step, never()).closeUser(1L, 2025);
+        assertThat(run).isSameAs(interrupted);
+        assertThat(run.getStatus()).isEqualTo(YearEndClosingStatus.COMPLETED);
+        assertThat(run.getTotalUsers()).isEqualTo(1);
+    }
+}
@@ -9,7 +9,7 @@ import de.dreistrom.income.event.ThresholdType;
 import de.dreistrom.income.repository.ClientRepository;
 import de.dreistrom.income.repository.IncomeEntryRepository;
 import de.dreistrom.income.service.IncomeService;
-import de.dreistrom.vat.service.KleinunternehmerMonitor;
+import de.dreistrom.income.service.ThresholdEvaluationEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -27,6 +27,7 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,7 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
 @Transactional
 @RecordApplicationEvents
-class KleinunternehmerMonitorTest {
+class KleinunternehmerRuleTest {
 
     /** Fix clock to July 1, 2026 (day 182 of 365) for deterministic projection tests. */
     private static final Clock FIXED_CLOCK = Clock.fixed(
@@ -43,11 +44,14 @@ class KleinunternehmerMonitorTest {
     );
 
     @Autowired
-    private KleinunternehmerMonitor kleinunternehmerMonitor;
+    private KleinunternehmerRule kleinunternehmerRule;
 
     @Autowired
     private IncomeService incomeService;
 
+    @Autowired
+    private ThresholdEvaluationEngine thresholdEvaluationEngine;
+
     @Autowired
     private IncomeEntryRepository incomeEntryRepository;
 
@@ -67,7 +71,7 @@ class KleinunternehmerMonitorTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(kleinunternehmerMonitor, "clock", FIXED_CLOCK);
+        ReflectionTestUtils.setField(kleinunternehmerRule, "clock", FIXED_CLOCK);
 
         incomeEntryRepository.deleteAll();
         clientRepository.deleteAll();
@@ -82,6 +86,11 @@ class KleinunternehmerMonitorTest {
                 new UsernamePasswordAuthenticationToken("kleinunternehmer@dreistrom.de", null, List.of()));
     }
 
+    /** Evaluation runs after commit in production; test transactions never commit. */
+    private void evaluateThresholds() {
+        thresholdEvaluationEngine.evaluate(user.getId(), 2026, EnumSet.allOf(IncomeStream.class));
+    }
+
     // ── Current-year threshold (€22,000 × 80% = €17,600) ─────────────
 
     @Nested
@@ -94,6 +103,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("18000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -111,6 +122,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("15000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -124,6 +137,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("17600.00"), LocalDate.of(2026, 3, 15),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -146,6 +161,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("22000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_PROJECTED)
                     .toList();
@@ -162,6 +179,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("18000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_PROJECTED)
                     .toList();
@@ -176,6 +195,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("20000.00"), LocalDate.of(2026, 5, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_PROJECTED)
                     .toList();
@@ -202,6 +223,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("10000.00"), LocalDate.of(2026, 4, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -217,6 +240,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("50000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR
                             || a.getType() == ThresholdType.KLEINUNTERNEHMER_PROJECTED)
@@ -237,6 +262,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("15000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             long alertsBefore = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .count();
@@ -247,6 +274,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("20000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> alerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -267,6 +296,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("22000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> currentAlerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
@@ -286,6 +317,8 @@ class KleinunternehmerMonitorTest {
                     new BigDecimal("18000.00"), LocalDate.of(2026, 6, 1),
                     null, null, null);
 
+            evaluateThresholds();
+
             List<ThresholdAlert> currentAlerts = events.stream(ThresholdAlert.class)
                     .filter(a -> a.getType() == ThresholdType.KLEINUNTERNEHMER_CURRENT_YEAR)
                     .toList();
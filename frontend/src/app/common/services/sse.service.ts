@@ -21,6 +21,8 @@ export class SseService implements OnDestroy {
 
   private static readonly SSE_PATH = '/api/v1/events/stream';
   private static readonly RECONNECT_DELAY = 3000;
+  /** Combined dashboard push; its tiles are re-emitted under their own event names. */
+  private static readonly DASHBOARD_UPDATE = 'dashboard-update';
 
   private eventSource: EventSource | null = null;
   private reconnectTimeout: ReturnType<typeof setTimeout> | null = null;
@@ -109,6 +111,7 @@ export class SseService implements OnDestroy {
         for (const name of this.registeredEvents) {
           this.addEventSourceListener(name);
         }
+        this.addDashboardUpdateListener();
 
         this.eventSource.onerror = () => {
           this.eventSource?.close();
@@ -134,6 +137,26 @@ export class SseService implements OnDestroy {
     }) as EventListener);
   }
 
+  /**
+   * The backend batches dashboard tiles into one 'dashboard-update' frame
+   * ({ year, tiles: { abfaerbung: ..., 'feature-flags': ... } }).
+   * Each tile is forwarded to subscribers of its own event name.
+   */
+  private addDashboardUpdateListener(): void {
+    this.eventSource?.addEventListener(SseService.DASHBOARD_UPDATE, ((event: MessageEvent) => {
+      this.zone.run(() => {
+        try {
+          const update = JSON.parse(event.data) as { tiles?: Record<string, unknown> };
+          for (const [name, data] of Object.entries(update.tiles ?? {})) {
+            this.eventBus.next({ type: name, data });
+          }
+        } catch {
+          // Ignore malformed frames — the next update carries full tile state
+        }
+      });
+    }) as EventListener);
+  }
+
   private disconnect(): void {
     if (this.reconnectTimeout) {
       clearTimeout(this.reconnectTimeout);